@@ -0,0 +1,170 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.entity.*;
+import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.TicketStatus;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.GeoReferenceRegistry;
+import com.Cinetime.payload.business.SeatInfo;
+import com.Cinetime.repo.CityRepository;
+import com.Cinetime.repo.CountryRepository;
+import com.Cinetime.repo.DistrictRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entities and collaborators shared by the benchmarks, shaped like production data
+ * (a 12 x 20 hall, full movie records, a cinema with city and district).
+ */
+final class BenchmarkFixtures {
+
+    static final int HALL_ROWS = 12;
+    static final int SEATS_PER_ROW = 20;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Movie movie(long id) {
+        LocalDateTime now = LocalDateTime.now();
+        return Movie.builder()
+                .id(id)
+                .title("Movie " + id)
+                .slug("movie-" + id)
+                .summary("A long enough summary of the movie, about the length of the ones shown on the catalog pages.")
+                .releaseDate(LocalDate.now().minusDays(id))
+                .duration(120 + (int) (id % 40))
+                .rating(7.5)
+                .director("Director " + id)
+                .cast(List.of("Actor One", "Actor Two", "Actor Three", "Actor Four"))
+                .formats(List.of("2D", "IMAX"))
+                .genre(List.of("Drama", "Thriller"))
+                .status(MovieStatus.IN_THEATERS)
+                .posterUrl("https://res.cloudinary.com/cinetime/image/upload/v1/cinetime/movie-posters/movie_" + id + ".jpg")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    static Cinema cinema() {
+        Country country = new Country();
+        country.setId(1L);
+        country.setName("Turkiye");
+
+        City city = new City();
+        city.setId(34L);
+        city.setName("Istanbul");
+        city.setCountry(country);
+
+        District district = new District();
+        district.setId(1L);
+        district.setName("Kadikoy");
+        district.setCity(city);
+
+        LocalDateTime now = LocalDateTime.now();
+        return Cinema.builder()
+                .id(1L)
+                .name("CineTime Kadikoy")
+                .slug("cinetime-kadikoy")
+                .address("Bahariye Cd. No:1")
+                .city(city)
+                .district(district)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    static Hall hall(Cinema cinema) {
+        LocalDateTime now = LocalDateTime.now();
+        return Hall.builder()
+                .id(1L)
+                .name("IMAX Salon")
+                .seatCapacity(HALL_ROWS * SEATS_PER_ROW)
+                .isSpecial(true)
+                .cinema(cinema)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    static Showtime showtime(Movie movie, Hall hall) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate date = LocalDate.now().plusDays(1);
+        return Showtime.builder()
+                .id(1L)
+                .movie(movie)
+                .hall(hall)
+                .cinemaId(hall.getCinema().getId())
+                .date(date)
+                .startTime(LocalTime.of(20, 0))
+                .startsAt(date.atTime(20, 0))
+                .endTime(LocalTime.of(22, 15))
+                .price(260.0)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    static Ticket ticket(Showtime showtime, User user, int seat) {
+        return Ticket.builder()
+                .id((long) seat)
+                .seatLetter(String.valueOf((char) ('A' + seat / SEATS_PER_ROW)))
+                .seatNumber(seat % SEATS_PER_ROW + 1)
+                .price(260.0)
+                .status(TicketStatus.PAID)
+                .movie(showtime.getMovie())
+                .showtime(showtime)
+                .hall(showtime.getHall())
+                .user(user)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setFirstname("Ayse");
+        user.setLastname("Yilmaz");
+        user.setPhoneNumber("(555) 123-4567");
+        return user;
+    }
+
+    /**
+     * Full names ("A1", "A2", ...) of every seat in the hall, row by row.
+     */
+    static List<String> allSeatNames() {
+        List<String> seats = new ArrayList<>(HALL_ROWS * SEATS_PER_ROW);
+        for (int row = 0; row < HALL_ROWS; row++) {
+            for (int number = 1; number <= SEATS_PER_ROW; number++) {
+                seats.add(new SeatInfo(String.valueOf((char) ('A' + row)), number).getFullSeatName());
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Registry over empty geo tables, so names are resolved through the entity fallback as for new rows.
+     */
+    static GeoReferenceRegistry geoReferenceRegistry() {
+        return new GeoReferenceRegistry(emptyRepository(CountryRepository.class), emptyRepository(CityRepository.class),
+                emptyRepository(DistrictRepository.class), new CatalogVersionTracker());
+    }
+
+    //Sadece findAll(Sort) cagriliyor, diger metotlar benchmark'ta kullanilmiyor
+    private static <T> T emptyRepository(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("findAll")) {
+                return List.of();
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("equals") ? proxy == args[0]
+                        : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : type.getSimpleName();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,65 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.helpers.MetricsRegistry;
+import com.Cinetime.payload.business.SeatInfo;
+import com.Cinetime.payload.dto.request.MailRequest;
+import com.Cinetime.service.EmailService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body of the ticket confirmation email, built on the request thread before the mail is sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailContentBenchmark {
+
+    //buildEmailContent private; static final handle JIT tarafindan dogrudan cagri gibi derleniyor
+    private static final MethodHandle BUILD_EMAIL_CONTENT;
+
+    static {
+        try {
+            BUILD_EMAIL_CONTENT = MethodHandles.privateLookupIn(EmailService.class, MethodHandles.lookup())
+                    .findVirtual(EmailService.class, "buildEmailContent", MethodType.methodType(String.class, MailRequest.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private EmailService emailService;
+    private MailRequest mailRequest;
+
+    @Setup
+    public void setUp() {
+        //Mail gonderilmiyor, sender gerekmiyor
+        emailService = new EmailService(null, new MetricsRegistry());
+        mailRequest = MailRequest.builder()
+                .to("ayse.yilmaz@example.com")
+                .subject("CineTime Bilet Onayi")
+                .movieName("Movie 1")
+                .total("1040.0")
+                .cinemaName("CineTime Kadikoy")
+                .cinemaAddress("Bahariye Cd. No:1")
+                .hallName("IMAX Salon")
+                .seatInfos(List.of(new SeatInfo("F", 7), new SeatInfo("F", 8), new SeatInfo("F", 9), new SeatInfo("F", 10)))
+                .date(LocalDate.now().plusDays(1))
+                .startTime("20:00")
+                .endTime("22:15")
+                .build();
+    }
+
+    @Benchmark
+    public String buildEmailContent() throws Throwable {
+        return (String) BUILD_EMAIL_CONTENT.invokeExact(emailService, mailRequest);
+    }
+}
@@ -0,0 +1,91 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.security.JwtUtils;
+import com.Cinetime.security.TokenRevocationRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing done by {@link com.Cinetime.security.JwtAuthFilter} on every authenticated request.
+ * <p>
+ * {@code newParser} is the former per-call parser (key derivation, parser build and HMAC check every time),
+ * {@code sharedParser} reuses one parser but still verifies, {@code getVerifiedClaims} is the filter's path
+ * with the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    //Uygulamadaki gibi base64, 256 bit HS256 anahtari
+    private static final String SECRET = "Y2luZXRpbWUtYmVuY2htYXJrLXNlY3JldC1rZXktMzItYnl0ZXM=";
+    private static final String PHONE_NUMBER = "(555) 123-4567";
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private UserDetails userDetails;
+    private JwtParser sharedParser;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(new TokenRevocationRegistry(null, null, TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toSeconds(1)));
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+
+        Date now = new Date();
+        token = Jwts.builder()
+                .setSubject(PHONE_NUMBER)
+                .claim("role", "MEMBER")
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        userDetails = User.withUsername(PHONE_NUMBER).password("").roles("MEMBER").build();
+        sharedParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build();
+    }
+
+    @Benchmark
+    public Claims newParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims getVerifiedClaims() {
+        return jwtUtils.getVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public String getPhoneNumberFromToken() {
+        return jwtUtils.getPhoneNumberFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token, userDetails);
+    }
+}
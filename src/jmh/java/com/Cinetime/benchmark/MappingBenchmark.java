@@ -0,0 +1,68 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.entity.Showtime;
+import com.Cinetime.entity.Ticket;
+import com.Cinetime.entity.User;
+import com.Cinetime.helpers.MetricsRegistry;
+import com.Cinetime.payload.dto.response.ShowtimeResponse;
+import com.Cinetime.payload.dto.response.TicketResponse;
+import com.Cinetime.payload.mappers.HallMapper;
+import com.Cinetime.payload.mappers.ShowtimeMapper;
+import com.Cinetime.payload.mappers.TicketMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping of the ticket and showtime listings, including the mapping timers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private TicketMapper ticketMapper;
+    private ShowtimeMapper showtimeMapper;
+
+    private Showtime showtime;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        ticketMapper = new TicketMapper(metricsRegistry);
+        showtimeMapper = new ShowtimeMapper(new HallMapper(), BenchmarkFixtures.geoReferenceRegistry(), metricsRegistry);
+
+        showtime = BenchmarkFixtures.showtime(BenchmarkFixtures.movie(1L),
+                BenchmarkFixtures.hall(BenchmarkFixtures.cinema()));
+        User user = BenchmarkFixtures.user();
+        //Bir kullanicinin bilet sayfasi kadar
+        tickets = new ArrayList<>();
+        for (int seat = 0; seat < 20; seat++) {
+            tickets.add(BenchmarkFixtures.ticket(showtime, user, seat));
+        }
+    }
+
+    @Benchmark
+    public TicketResponse ticket() {
+        return ticketMapper.mapTicketToTicketResponse(tickets.get(0));
+    }
+
+    @Benchmark
+    public void ticketPage(Blackhole blackhole) {
+        for (Ticket ticket : tickets) {
+            blackhole.consume(ticketMapper.mapTicketToTicketResponse(ticket));
+        }
+    }
+
+    @Benchmark
+    public ShowtimeResponse showtime() {
+        return showtimeMapper.mapShowtimeToShowtimeResponse(showtime);
+    }
+}
@@ -0,0 +1,125 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.config.ResponseBodyCache;
+import com.Cinetime.entity.Movie;
+import com.Cinetime.payload.dto.response.MovieResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing a movie listing page: plain Jackson serialization, serialization plus gzip as done on a
+ * {@link ResponseBodyCache} miss, and a cache hit that only copies the stored bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final String URI = "/api/movies";
+    private static final String ETAG = "W/\"catalog-1\"";
+
+    @Param({"false", "true"})
+    private boolean acceptGzip;
+
+    private ObjectMapper objectMapper;
+    private ResponseBodyCache responseBodyCache;
+    private ResponseMessage<Page<MovieResponse>> body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseBodyCache = new ResponseBodyCache(objectMapper);
+
+        //Varsayilan sayfa boyutu
+        List<MovieResponse> movies = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            movies.add(toResponse(BenchmarkFixtures.movie(id)));
+        }
+        body = ResponseMessage.<Page<MovieResponse>>builder()
+                .message("Movies found successfully")
+                .object(new PageImpl<>(movies, PageRequest.of(0, 20), 200))
+                .httpStatus(HttpStatus.OK)
+                .build();
+
+        //Ilk istek miss: writeIfCached istegi isaretliyor, beforeBodyWrite govdeyi saklayip yaziyor
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseBodyCache.writeIfCached(request, response, ETAG);
+        responseBodyCache.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        byte[] utf8 = objectMapper.writeValueAsBytes(body);
+        if (!acceptGzip) {
+            return utf8;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(utf8);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public boolean cacheHit() throws IOException {
+        return responseBodyCache.writeIfCached(request(), new MockHttpServletResponse(), ETAG);
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        if (acceptGzip) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        }
+        return request;
+    }
+
+    private static MovieResponse toResponse(Movie movie) {
+        return MovieResponse.builder()
+                .id(movie.getId())
+                .title(movie.getTitle())
+                .slug(movie.getSlug())
+                .summary(movie.getSummary())
+                .releaseDate(movie.getReleaseDate())
+                .duration(movie.getDuration())
+                .rating(movie.getRating())
+                .director(movie.getDirector())
+                .cast(movie.getCast())
+                .formats(movie.getFormats())
+                .genre(movie.getGenre())
+                .status(movie.getStatus())
+                .createdAt(movie.getCreatedAt())
+                .updatedAt(movie.getUpdatedAt())
+                .posterUrl(movie.getPosterUrl())
+                .build();
+    }
+}
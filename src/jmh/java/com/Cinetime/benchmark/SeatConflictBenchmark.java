@@ -0,0 +1,65 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.payload.business.SeatInfo;
+import com.Cinetime.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat-conflict check of a booking against the seats already taken in the showtime, without the database:
+ * the former list scan against the hash set lookup of {@link TicketService#findOccupiedSeats}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatConflictBenchmark {
+
+    //Bos, yarim dolu ve neredeyse tamamen dolu salon
+    @Param({"0", "120", "230"})
+    private int occupied;
+
+    @Param({"1", "4", "10"})
+    private int requested;
+
+    private List<String> takenSeats;
+    private List<SeatInfo> requestedSeats;
+
+    @Setup
+    public void setUp() {
+        List<String> seats = BenchmarkFixtures.allSeatNames();
+        Collections.shuffle(seats, new Random(42));
+        takenSeats = new ArrayList<>(seats.subList(0, occupied));
+
+        //Istenen koltuklarin yarisi dolu koltuklardan, kalani bos koltuklardan
+        requestedSeats = new ArrayList<>(requested);
+        for (int i = 0; i < requested; i++) {
+            String seat = i % 2 == 0 && occupied > i ? takenSeats.get(i) : seats.get(seats.size() - 1 - i);
+            requestedSeats.add(new SeatInfo(seat.substring(0, 1), Integer.parseInt(seat.substring(1))));
+        }
+    }
+
+    @Benchmark
+    public List<String> listScan() {
+        List<String> conflicts = new ArrayList<>();
+        for (SeatInfo seat : requestedSeats) {
+            if (takenSeats.contains(seat.getFullSeatName())) {
+                conflicts.add(seat.getFullSeatName());
+            }
+        }
+        return conflicts;
+    }
+
+    @Benchmark
+    public List<String> hashSetLookup() {
+        return TicketService.findOccupiedSeats(new HashSet<>(takenSeats), requestedSeats);
+    }
+}
@@ -0,0 +1,49 @@
+package com.Cinetime.benchmark;
+
+import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Movie;
+import com.Cinetime.helpers.TicketPriceHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price calculation done for every seat of a booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketPriceBenchmark {
+
+    private TicketPriceHelper ticketPriceHelper;
+    private Hall hall;
+    private Movie movie;
+    private LocalDate weekday;
+    private LocalDate weekend;
+
+    @Setup
+    public void setUp() {
+        ticketPriceHelper = new TicketPriceHelper();
+        hall = BenchmarkFixtures.hall(BenchmarkFixtures.cinema());
+        movie = BenchmarkFixtures.movie(1L);
+        weekday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
+        weekend = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+    }
+
+    @Benchmark
+    public Double weekday() {
+        return ticketPriceHelper.calculateTicketPrice(hall, movie, LocalTime.of(20, 0), LocalTime.of(22, 15), weekday);
+    }
+
+    @Benchmark
+    public Double weekend() {
+        return ticketPriceHelper.calculateTicketPrice(hall, movie, LocalTime.of(20, 0), LocalTime.of(22, 15), weekend);
+    }
+}
@@ -0,0 +1,29 @@
+package com.Cinetime.config;
+
+import com.Cinetime.enums.CatalogAggregate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serve a GET endpoint with an ETag built from the versions of the catalog aggregates it reads.
+ * A request whose If-None-Match still matches gets a 304 before the controller method runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    CatalogAggregate[] value();
+
+    /**
+     * For responses that also depend on the clock (e.g. upcoming showtimes); the tag then changes every minute.
+     */
+    boolean timeSensitive() default false;
+
+    /**
+     * Keep the serialized JSON of successful responses in {@link ResponseBodyCache}. Meant for hot, parameter-light reads.
+     */
+    boolean cacheBody() default false;
+}
@@ -0,0 +1,51 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.CatalogVersionTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Handles {@link ConditionalGet} endpoints. The ETag is computed before the handler runs, so a matching
+ * If-None-Match is answered with 304 without touching the service or the database.
+ * For {@link ConditionalGet#cacheBody()} endpoints a body cached under the same ETag is written directly.
+ */
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final ResponseBodyCache responseBodyCache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        String etag = catalogVersionTracker.getETag(conditionalGet.value());
+        if (conditionalGet.timeSensitive()) {
+            //Dakika degisince etiket de degisiyor; "upcoming" listeleri en fazla 1 dakika eski kalabilir
+            long minute = System.currentTimeMillis() / 60_000;
+            etag = etag.substring(0, etag.length() - 1) + "." + minute + "\"";
+        }
+
+        //checkNotModified ETag header'ini da yaziyor, eslesirse 304 donuyoruz ve controller hic calismiyor
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return false;
+        }
+
+        return !conditionalGet.cacheBody() || !responseBodyCache.writeIfCached(request, response, etag);
+    }
+}
@@ -0,0 +1,52 @@
+package com.Cinetime.config;
+
+import com.Cinetime.exception.TooManyRequestsException;
+import com.Cinetime.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimited} limits. The client IP is the remote address, so behind a proxy
+ * {@code server.forward-headers-strategy} has to be set for it to be the real client.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String MESSAGE = "Too many requests, please try again later";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !rateLimiter.isEnabled()) {
+            return true;
+        }
+
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(rateLimited.value(), "ip", request.getRemoteAddr());
+        if (waitNanos == 0) {
+            //JwtAuthFilter principal'i token'dan kuruyor, burada veritabanina gidilmiyor
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                waitNanos = rateLimiter.tryAcquire(rateLimited.value(), "user", principal.id().toString());
+            }
+        }
+        if (waitNanos > 0) {
+            //Retry-After saniye cinsinden, yukari yuvarlaniyor
+            throw new TooManyRequestsException(MESSAGE, Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                    / TimeUnit.SECONDS.toNanos(1)));
+        }
+        return true;
+    }
+}
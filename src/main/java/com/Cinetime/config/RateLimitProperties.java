@@ -0,0 +1,38 @@
+package com.Cinetime.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits used by {@link RateLimited} endpoints. A limit allows {@code capacity} requests at once per key and
+ * refills completely over {@code period}, e.g. {@code app.rate-limit.limits.login.capacity=10} and
+ * {@code app.rate-limit.limits.login.period=1m}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    //Bu kadar anahtardan sonra bosta olan bucket'lar silinir, yine dolu ise en erken dolacak olanlarin onda biri
+    private int maxKeys = 100_000;
+
+    private Map<String, Limit> limits = new HashMap<>(Map.of(
+            "login", new Limit(10, Duration.ofMinutes(1)),
+            "password-reset", new Limit(5, Duration.ofMinutes(15)),
+            "booking", new Limit(20, Duration.ofMinutes(1))));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity = 10;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.Cinetime.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Throttle an endpoint with the token buckets of {@link RateLimiter}: one bucket per client IP and, for
+ * authenticated requests, one per user. An empty bucket is answered with 429 before the controller runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Name of the limit, configured under {@code app.rate-limit.limits.<name>}.
+     */
+    String value();
+}
@@ -0,0 +1,126 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.MetricsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets for {@link RateLimited} endpoints.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again (the GCRA form of
+ * a token bucket), updated with compare-and-set, so checking a request takes no lock and no database access.
+ * A bucket whose time has passed is full and carries no state; such idle buckets are dropped once a minute,
+ * and when {@code maxKeys} is reached. If the limit is still reached, a tenth of the buckets that will be full
+ * soonest are evicted, so clients that are actually being limited keep their state.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    //Anahtar siniri asildiginda silinen bucket orani (1/10)
+    private static final int EVICTION_DIVISOR = 10;
+
+    private final RateLimitProperties properties;
+    private final MetricsRegistry metricsRegistry;
+    private final LongSupplier clock;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MetricsRegistry metricsRegistry) {
+        this(properties, metricsRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MetricsRegistry metricsRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.metricsRegistry = metricsRegistry;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Take a token from the bucket of {@code key} under the given limit.
+     *
+     * @param keyType what the key identifies (ip or user), used as a metric tag
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String limitName, String keyType, String key) {
+        RateLimitProperties.Limit limit = properties.getLimits().get(limitName);
+        if (limit == null) {
+            throw new IllegalStateException("No rate limit configured for " + limitName);
+        }
+        long period = limit.getPeriod().toNanos();
+        long interval = period / Math.max(1, limit.getCapacity());
+        long now = clock.getAsLong();
+
+        AtomicLong bucket = bucket(limitName + '|' + keyType + '|' + key, now);
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt - now, 0) + interval;
+            if (next > period) {
+                long waitNanos = next - period;
+                metricsRegistry.timer("cinetime_rate_limit_rejected", "Wait imposed on rate limited requests",
+                        "limit", limitName, "key", keyType).record(waitNanos);
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        //Map'i computeIfAbsent icinde degistiremiyoruz, temizlik yeni anahtar eklemeden once
+        sweepIfDue(now);
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        boolean full = buckets.size() >= properties.getMaxKeys();
+        if ((!full && now - last < SWEEP_INTERVAL_NANOS) || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        //Dolma zamani gecmis bucket tam dolu, silmek davranisi degistirmiyor
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        if (buckets.size() >= properties.getMaxKeys()) {
+            int evicted = evictClosestToFull(Math.max(1, properties.getMaxKeys() / EVICTION_DIVISOR));
+            log.warn("Rate limiter reached {} active keys, evicted {} buckets closest to full", properties.getMaxKeys(), evicted);
+        }
+    }
+
+    //Limite takilmis istemcilerin bucket'lari en gec dolacak olanlar, onlar korunuyor
+    private int evictClosestToFull(int count) {
+        long[] fullAt = buckets.values().stream().mapToLong(AtomicLong::get).sorted().toArray();
+        if (fullAt.length == 0) {
+            return 0;
+        }
+        long threshold = fullAt[Math.min(count, fullAt.length) - 1];
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - threshold <= 0);
+        return before - buckets.size();
+    }
+}
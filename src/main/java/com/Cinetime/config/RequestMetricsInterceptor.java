@@ -0,0 +1,56 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.MetricsRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times every controller method into {@code http_server_requests_seconds}, tagged with the HTTP method,
+ * the handler pattern, the status and its outcome class.
+ */
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    static final String TIMER = "http_server_requests";
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final MetricsRegistry metricsRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        //Yakalanmayan exception'da status henuz container tarafindan 500'e cekilmemis oluyor
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        metricsRegistry.timer(TIMER, "Duration of HTTP requests handled by controller methods",
+                        "method", request.getMethod(),
+                        "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                        "status", Integer.toString(status),
+                        "outcome", outcome(status))
+                .record(elapsed);
+    }
+
+    private static String outcome(int status) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return series != null ? series.name() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,220 @@
+package com.Cinetime.config;
+
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the final JSON bytes (plain and gzip) of {@link ConditionalGet#cacheBody()} endpoints,
+ * keyed by request URI and query string. An entry is only valid for the ETag it was stored with,
+ * so any catalog write invalidates it without explicit eviction.
+ * <p>
+ * A hit is written straight to the servlet output stream by {@link ConditionalGetInterceptor} before the
+ * handler runs; a miss is serialized once here, stored, and written the same way.
+ * <p>
+ * At most {@code MAX_ENTRIES} bodies are kept; when full, the least recently used tenth is evicted.
+ */
+@ControllerAdvice
+@Slf4j
+public class ResponseBodyCache implements ResponseBodyAdvice<Object> {
+
+    private static final String CACHE_KEY_ATTRIBUTE = ResponseBodyCache.class.getName() + ".key";
+    private static final String ETAG_ATTRIBUTE = ResponseBodyCache.class.getName() + ".etag";
+
+    private static final int MAX_ENTRIES = 1024;
+    private static final int EVICTION_DIVISOR = 10;
+    //Bundan kucuk govdeleri sikistirmak CPU'ya degmiyor
+    private static final int MIN_GZIP_SIZE = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+
+    private final Map<String, CachedBody> entries = new ConcurrentHashMap<>();
+    //Son kullanim sirasi; zaman yerine sayac, ayni anda gelen isteklerde de siralama belli
+    private final AtomicLong useSequence = new AtomicLong();
+
+    private record CachedBody(String etag, byte[] utf8, byte[] gzip, AtomicLong lastUsed) {
+    }
+
+    @Autowired
+    public ResponseBodyCache(ObjectMapper objectMapper) {
+        this(objectMapper, MAX_ENTRIES);
+    }
+
+    ResponseBodyCache(ObjectMapper objectMapper, int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+
+    /**
+     * Write the cached body for this request if it was stored under the same ETag.
+     * Otherwise mark the request so that its response is stored on the way out.
+     *
+     * @return true if the response has been written
+     */
+    public boolean writeIfCached(HttpServletRequest request, HttpServletResponse response, String etag) throws IOException {
+        String key = cacheKey(request);
+        CachedBody cached = entries.get(key);
+        if (cached != null && cached.etag().equals(etag)) {
+            cached.lastUsed().set(useSequence.incrementAndGet());
+            write(cached, request, response);
+            return true;
+        }
+
+        request.setAttribute(CACHE_KEY_ATTRIBUTE, key);
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return false;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        String key = (String) httpRequest.getAttribute(CACHE_KEY_ATTRIBUTE);
+        if (key == null || !isCacheable(body)) {
+            return body;
+        }
+
+        try {
+            byte[] utf8 = objectMapper.writeValueAsBytes(body);
+            CachedBody cached = new CachedBody((String) httpRequest.getAttribute(ETAG_ATTRIBUTE), utf8,
+                    utf8.length >= MIN_GZIP_SIZE ? gzip(utf8) : null, new AtomicLong(useSequence.incrementAndGet()));
+            store(key, cached);
+            write(cached, httpRequest, servletResponse.getServletResponse());
+            //Govde yazildi, null donunce Jackson converter tekrar serialize etmiyor
+            return null;
+        } catch (IOException e) {
+            log.warn("Response body could not be cached for {}", key, e);
+            return body;
+        }
+    }
+
+    private void store(String key, CachedBody cached) {
+        //Sayfa/siralama parametreleri istemciden geliyor; sinirsiz buyumesin diye dolunca en eski kullanilanlar atiliyor
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            int evicted = evictLeastRecentlyUsed(Math.max(1, maxEntries / EVICTION_DIVISOR));
+            log.debug("Response body cache reached {} entries, evicted {} least recently used", maxEntries, evicted);
+        }
+        entries.put(key, cached);
+    }
+
+    //Sik istenen sayfalar (ilk sayfa, varsayilan siralama) kaliyor, tek seferlik parametre kombinasyonlari gidiyor
+    private int evictLeastRecentlyUsed(int count) {
+        long[] lastUsed = entries.values().stream().mapToLong(entry -> entry.lastUsed().get()).sorted().toArray();
+        if (lastUsed.length == 0) {
+            return 0;
+        }
+        long threshold = lastUsed[Math.min(count, lastUsed.length) - 1];
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.lastUsed().get() <= threshold);
+        return before - entries.size();
+    }
+
+    private static boolean isCacheable(Object body) {
+        //Hata cevaplari (or. "Failed to ...") gecici olabilir, sadece basarili cevaplari tutuyoruz
+        return body instanceof ResponseMessage<?> responseMessage
+                && (responseMessage.getHttpStatus() == null || responseMessage.getHttpStatus().is2xxSuccessful());
+    }
+
+    private static void write(CachedBody cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean gzip = cached.gzip() != null && acceptsGzip(request);
+        byte[] bytes = gzip ? cached.gzip() : cached.utf8();
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        response.flushBuffer();
+    }
+
+    //"gzip;q=0" gzip'i reddediyor; "*" yalnizca gzip ayrica yazilmamissa gecerli
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].strip().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return quality(parameters) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parameters) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double quality(String[] parameters) {
+        return Arrays.stream(parameters, 1, parameters.length)
+                .map(String::strip)
+                .filter(parameter -> parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                        && parameter.charAt(1) == '=')
+                .findFirst()
+                .map(parameter -> {
+                    try {
+                        return Double.parseDouble(parameter.substring(2).strip());
+                    } catch (NumberFormatException e) {
+                        return 0.0;
+                    }
+                })
+                .orElse(1.0);
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + '?' + query;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
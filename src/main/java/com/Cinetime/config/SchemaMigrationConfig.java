@@ -0,0 +1,32 @@
+package com.Cinetime.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the versioned schema migrations under {@code db/migration} before JPA starts,
+ * so Hibernate only validates a schema that is already up to date.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.schema-migration.enabled", havingValue = "true")
+public class SchemaMigrationConfig {
+
+    @Bean
+    public SchemaMigrator schemaMigrator(DataSource dataSource,
+                                         @Value("${app.schema-migration.location:classpath:db/migration}") String location) {
+        return new SchemaMigrator(dataSource, location);
+    }
+
+    @Configuration
+    static class EntityManagerFactoryDependsOnSchemaMigrator extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnSchemaMigrator() {
+            super(SchemaMigrator.class);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.Cinetime.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies versioned SQL migrations ({@code V<version>__<description>.sql}) in order and records them
+ * in {@value #HISTORY_TABLE}. Scripts follow Flyway's naming so they can be handed over to Flyway unchanged.
+ * <p>
+ * Scripts that only apply to one database go to a subdirectory named after it ({@code postgresql}, {@code h2})
+ * and share the version sequence, like Flyway's {@code db/migration/{vendor}} location.
+ * <p>
+ * A database that already has the schema but no history (created by {@code ddl-auto=update}) is baselined
+ * at V1 instead of running the baseline script, so V1 must stay the schema those databases had. Every later change
+ * goes to its own script written with {@code if not exists}, since {@code ddl-auto=update} may already have
+ * applied it. An applied script whose content changed fails the startup.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SchemaMigrator implements InitializingBean {
+
+    public static final String HISTORY_TABLE = "schema_migration_history";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String BASELINE_MARKER_TABLE = "cinema";
+
+    private final DataSource dataSource;
+    private final String location;
+
+    private record Migration(int version, String description, Resource resource, int checksum) {
+    }
+
+
+    @Override
+    public void afterPropertiesSet() throws SQLException, IOException {
+        migrate();
+    }
+
+    public void migrate() throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            List<Migration> migrations = resolveMigrations(vendor(connection));
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                createHistoryTable(connection);
+                lockHistoryTable(connection);
+
+                Map<Integer, Integer> applied = findApplied(connection);
+                if (applied.isEmpty() && !migrations.isEmpty() && tableExists(connection, BASELINE_MARKER_TABLE)) {
+                    Migration baseline = migrations.get(0);
+                    record(connection, baseline, "BASELINE", 0);
+                    applied.put(baseline.version(), baseline.checksum());
+                    log.info("Existing schema baselined at version {}", baseline.version());
+                }
+
+                int executed = 0;
+                for (Migration migration : migrations) {
+                    Integer checksum = applied.get(migration.version());
+                    if (checksum != null) {
+                        if (checksum != migration.checksum()) {
+                            throw new IllegalStateException("Migration V" + migration.version() + " ("
+                                    + migration.resource().getFilename() + ") was changed after it was applied");
+                        }
+                        continue;
+                    }
+
+                    long start = System.currentTimeMillis();
+                    ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.resource(), StandardCharsets.UTF_8));
+                    record(connection, migration, "SQL", (int) (System.currentTimeMillis() - start));
+                    executed++;
+                    log.info("Applied migration V{} {}", migration.version(), migration.description());
+                }
+
+                connection.commit();
+                log.info("Schema is up to date at version {} ({} migrations applied)",
+                        migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version(), executed);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private List<Migration> resolveMigrations(String vendor) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> resources = new ArrayList<>(List.of(resolver.getResources(location + "/V*__*.sql")));
+        if (resolver.getResource(location + "/" + vendor + "/").exists()) {
+            resources.addAll(List.of(resolver.getResources(location + "/" + vendor + "/V*__*.sql")));
+        }
+
+        List<Migration> migrations = new ArrayList<>();
+        Set<Integer> versions = new HashSet<>();
+        for (Resource resource : resources) {
+            Matcher matcher = SCRIPT_NAME.matcher(Objects.requireNonNull(resource.getFilename()));
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration file name: " + resource.getFilename());
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            if (!versions.add(version)) {
+                throw new IllegalStateException("Duplicate migration version: V" + version);
+            }
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), resource, checksum(resource)));
+        }
+
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        return migrations;
+    }
+
+    private static String vendor(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+    }
+
+    //Satir sonlari normalize ediliyor, Windows'ta checkout edilen script'ler farkli sayilmasin
+    private static int checksum(Resource resource) throws IOException {
+        String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                .replace("\r\n", "\n");
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + HISTORY_TABLE + " (" +
+                    "version integer not null primary key, " +
+                    "description varchar(200) not null, " +
+                    "type varchar(20) not null, " +
+                    "script varchar(200) not null, " +
+                    "checksum integer not null, " +
+                    "installed_on timestamp not null, " +
+                    "execution_time integer not null)");
+        }
+        connection.commit();
+    }
+
+    //Ayni anda baslayan iki instance'in ayni script'i iki kez calistirmamasi icin
+    private static void lockHistoryTable(Connection connection) throws SQLException {
+        if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("lock table " + HISTORY_TABLE + " in exclusive mode");
+            }
+        }
+    }
+
+    private static Map<Integer, Integer> findApplied(Connection connection) throws SQLException {
+        Map<Integer, Integer> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select version, checksum from " + HISTORY_TABLE)) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt(1), resultSet.getInt(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection connection, Migration migration, String type, int executionTime) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into " + HISTORY_TABLE +
+                " (version, description, type, script, checksum, installed_on, execution_time) values (?, ?, ?, ?, ?, ?, ?)")) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.setString(3, type);
+            statement.setString(4, migration.resource().getFilename());
+            statement.setInt(5, migration.checksum());
+            statement.setTimestamp(6, new Timestamp(System.currentTimeMillis()));
+            statement.setInt(7, executionTime);
+            statement.executeUpdate();
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+            try (ResultSet resultSet = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, new String[]{"TABLE"})) {
+                if (resultSet.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
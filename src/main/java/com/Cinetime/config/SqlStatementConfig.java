@@ -0,0 +1,50 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.SqlStatementMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement budget instrumentation: the data source is wrapped in a
+ * {@link StatementCountingDataSource} and every request is recorded by {@link SqlStatementFilter}.
+ * Outside production {@link SqlStatementHeaderAdvice} also returns the numbers as {@code X-Sql-*} headers.
+ * <p>
+ * The filter is registered here rather than as a component so that MVC test slices do not pick it up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    //Security filtrelerinden once, kimlik dogrulama sorgulari da istege sayilsin
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(
+            SqlStatementMetrics sqlStatementMetrics,
+            @Value("${app.sql-stats.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<SqlStatementFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementFilter(sqlStatementMetrics, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
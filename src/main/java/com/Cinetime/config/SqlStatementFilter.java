@@ -0,0 +1,54 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.SqlStatementMetrics;
+import com.Cinetime.helpers.SqlStatementStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records the SQL work of each request, adds it to {@link SqlStatementMetrics} under the handler pattern
+ * and logs a warning when one statement was repeated often enough to look like an N+1.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final int repeatThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+
+            String route = routeOf(request);
+            Map<String, Integer> repeated = stats.getRepeatedStatements(repeatThreshold);
+            sqlStatementMetrics.record(route, stats, !repeated.isEmpty());
+            if (!repeated.isEmpty()) {
+                log.warn("Possible N+1 on {}: {}", route, stats);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{}: {} statements, {} rows, {} ms",
+                        route, stats.getStatements(), stats.getRows(), stats.getDbTimeMillis());
+            }
+        }
+    }
+
+    //Ham URI yerine handler pattern'i, id'li path'ler tek satirda toplansin
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+    }
+}
@@ -0,0 +1,62 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.SqlStatementStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL work done so far in the request as {@code X-Sql-*} response headers. Only registered
+ * outside production, see {@code app.sql-stats.expose-headers}; headers are only added to requests recorded
+ * by {@link SqlStatementFilter}.
+ * <p>
+ * Runs before {@link ResponseBodyCache}, which writes cached bodies itself and commits the response.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.sql-stats.expose-headers", havingValue = "true", matchIfMissing = true)
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object>, Ordered {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    public static final String REPEATED_HEADER = "X-Sql-Repeated-Statements";
+
+    @Value("${app.sql-stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            headers.set(ROWS_HEADER, String.valueOf(stats.getRows()));
+            headers.set(TIME_HEADER, String.valueOf(stats.getDbTimeMillis()));
+            int repeated = stats.getRepeatedStatements(repeatThreshold).size();
+            if (repeated > 0) {
+                headers.set(REPEATED_HEADER, String.valueOf(repeated));
+            }
+        }
+        return body;
+    }
+}
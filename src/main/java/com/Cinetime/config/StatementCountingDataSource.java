@@ -0,0 +1,122 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.SqlStatementStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * Data source wrapper that records every executed statement, its rows and its duration into the
+ * {@link SqlStatementStats} of the current thread.
+ * <p>
+ * Statements are only wrapped while a recording is active; outside of one (scheduled jobs, startup)
+ * the driver's statements are handed out unchanged.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    //equals/hashCode proxy'nin kendisine ait olmali, aksi halde proxy kendisine esit sayilmiyor
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(proxy, target, method, args);
+            if (result instanceof Statement statement && SqlStatementStats.current() != null) {
+                //prepareStatement/prepareCall'da SQL ilk parametre, createStatement'ta execute'a veriliyor
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            SqlStatementStats stats = SqlStatementStats.current();
+            if (stats == null || !name.startsWith("execute")) {
+                Object result = StatementCountingDataSource.invoke(proxy, target, method, args);
+                if (stats != null && result instanceof ResultSet resultSet && name.equals("getResultSet")) {
+                    return wrapResultSet(resultSet, stats);
+                }
+                return result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result = StatementCountingDataSource.invoke(proxy, target, method, args);
+            stats.recordExecution(sql, System.nanoTime() - start);
+
+            if (result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet, stats);
+            }
+            if (result instanceof Integer count) {
+                stats.recordRows(count);
+            } else if (result instanceof Long count) {
+                stats.recordRows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    stats.recordRows(count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    stats.recordRows(count);
+                }
+            }
+            return result;
+        }
+
+        private static ResultSet wrapResultSet(ResultSet resultSet, SqlStatementStats stats) {
+            return (ResultSet) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                        Object result = StatementCountingDataSource.invoke(proxy, resultSet, method, args);
+                        if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                            stats.recordRows(1);
+                        }
+                        return result;
+                    });
+        }
+    }
+}
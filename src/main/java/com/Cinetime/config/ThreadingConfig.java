@@ -0,0 +1,58 @@
+package com.Cinetime.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Request execution mode. With {@code spring.threads.virtual.enabled=true} (the {@code virtual-threads} profile)
+ * Spring Boot runs Tomcat requests, the application task executor and the scheduler on virtual threads; this
+ * needs JDK 21 or later, on older JDKs the setting is ignored and requests stay on the platform thread pool.
+ * <p>
+ * When {@code app.db.concurrency-limit.enabled=true} database access is bounded by a
+ * {@link ConnectionLimitingDataSource} instead of by the number of request threads.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> threadingModeLogger(Environment environment) {
+        return event -> {
+            boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+            int javaVersion = Runtime.version().feature();
+            if (requested && javaVersion < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+                log.warn("Virtual threads need Java {}+, running on Java {}: requests use the platform thread pool",
+                        VIRTUAL_THREADS_MIN_JAVA_VERSION, javaVersion);
+            } else {
+                log.info("Request execution on {} threads", requested ? "virtual" : "platform");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.db.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${app.db.concurrency-limit.max-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConnections,
+            @Value("${app.db.concurrency-limit.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
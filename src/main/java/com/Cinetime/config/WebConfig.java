@@ -1,14 +1,26 @@
 package com.Cinetime.config;
 
 import com.Cinetime.converter.StringToMovieStatusConverter;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.beans.factory.annotation.Value;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<CatalogVersionTracker> catalogVersionTracker;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+    private final ObjectProvider<RateLimiter> rateLimiter;
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StringToMovieStatusConverter());
@@ -22,4 +34,16 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/image/**")
                 .addResourceLocations("file:" + uploadDir + "/");
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        //@WebMvcTest slice'larinda helper bean'leri yuklenmiyor, o durumda interceptor eklenmiyor
+        //Sure olcumu ilk sirada; 304 ile kisa kesilen istekler de sayilsin
+        metricsRegistry.ifAvailable(metrics -> registry.addInterceptor(new RequestMetricsInterceptor(metrics)));
+        //429 olcumlere dahil; ETag kontrolunden once
+        rateLimiter.ifAvailable(limiter -> registry.addInterceptor(new RateLimitInterceptor(limiter)));
+        catalogVersionTracker.ifAvailable(tracker -> registry
+                .addInterceptor(new ConditionalGetInterceptor(tracker, responseBodyCache))
+                .addPathPatterns("/api/**"));
+    }
 }
\ No newline at end of file
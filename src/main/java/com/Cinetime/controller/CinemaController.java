@@ -1,8 +1,11 @@
 package com.Cinetime.controller;
 
+import com.Cinetime.config.ConditionalGet;
+import com.Cinetime.enums.CatalogAggregate;
 import com.Cinetime.entity.Cinema;
 import com.Cinetime.payload.dto.response.CinemaHallResponse;
 import com.Cinetime.payload.dto.response.CinemaResponse;
+import com.Cinetime.payload.dto.response.NearbyCinemaResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.service.CinemaService;
 import com.Cinetime.service.HallService;
@@ -17,6 +20,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/cinemas")
 @RequiredArgsConstructor
@@ -39,6 +44,7 @@ public class CinemaController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
+    @ConditionalGet(value = {CatalogAggregate.CINEMA, CatalogAggregate.HALL}, cacheBody = true)
     public ResponseMessage<Page<CinemaResponse>> getCinemasByFilters(
             @Parameter(description = "Filter cinemas by city ID") @RequestParam(required = false) Long cityId,
             @Parameter(description = "Filter cinemas by special hall type (e.g., 'imax')") @RequestParam(required = false) String specialHall,
@@ -51,6 +57,30 @@ public class CinemaController {
     }
 
 
+    @Operation(
+            summary = "Get Nearby Cinemas",
+            description = "Returns the cinemas closest to the given coordinates, or every cinema within the given radius, " +
+                    "nearest first and with their next upcoming showtimes"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved nearby cinemas",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResponseMessage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid coordinates or radius"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/nearby")
+    @ConditionalGet(value = {CatalogAggregate.CINEMA, CatalogAggregate.SHOWTIME, CatalogAggregate.MOVIE, CatalogAggregate.HALL}, timeSensitive = true)
+    public ResponseMessage<List<NearbyCinemaResponse>> getNearbyCinemas(
+            @Parameter(description = "Latitude of the searched point", required = true) @RequestParam double lat,
+            @Parameter(description = "Longitude of the searched point", required = true) @RequestParam double lng,
+            @Parameter(description = "Only return cinemas within this distance in kilometres") @RequestParam(required = false) Double radiusKm,
+            @Parameter(description = "Maximum number of cinemas (Default:10, Max:50)") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Upcoming showtimes returned per cinema (Default:3)") @RequestParam(defaultValue = "3") int showtimes
+    ) {
+        return cinemaService.getNearbyCinemas(lat, lng, radiusKm, limit, showtimes);
+    }
+
     //C03
     @Operation(
             summary = "Get Cinema Details {C03}",
@@ -64,6 +94,7 @@ public class CinemaController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
+    @ConditionalGet(value = {CatalogAggregate.CINEMA, CatalogAggregate.HALL}, cacheBody = true)
     public ResponseMessage<Cinema> getCinemaById(
             @Parameter(description = "ID of the cinema to retrieve", required = true) @PathVariable Long id
     ) {
@@ -83,6 +114,7 @@ public class CinemaController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{cinemaId}/halls")
+    @ConditionalGet(value = {CatalogAggregate.CINEMA, CatalogAggregate.HALL}, cacheBody = true)
     public ResponseMessage<CinemaHallResponse> getCinemaHalls(
             @Parameter(description = "ID of the cinema to retrieve halls for", required = true) @PathVariable Long cinemaId
     ) {
@@ -101,6 +133,7 @@ public class CinemaController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/movie/{movieId}")
+    @ConditionalGet({CatalogAggregate.CINEMA, CatalogAggregate.SHOWTIME})
     public ResponseMessage<Page<CinemaResponse>> getCinemasByMovieId(@PathVariable Long movieId,
                                                                      @RequestParam(defaultValue = "0") int page,
                                                                      @RequestParam(defaultValue = "10") int size,
@@ -122,6 +155,7 @@ public class CinemaController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/hall/{hallName}")
+    @ConditionalGet({CatalogAggregate.CINEMA, CatalogAggregate.HALL})
     public ResponseMessage<Page<CinemaResponse>> getCinemasByHallName(@PathVariable String hallName,
                                                                     @RequestParam(defaultValue = "0") int page,
                                                                     @RequestParam(defaultValue = "10") int size,
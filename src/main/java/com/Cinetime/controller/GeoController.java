@@ -0,0 +1,61 @@
+package com.Cinetime.controller;
+
+import com.Cinetime.config.ConditionalGet;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.payload.dto.response.GeoResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.service.GeoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/geo")
+@RequiredArgsConstructor
+@Tag(name = "Geographic Reference Data", description = "APIs for countries, cities and districts")
+public class GeoController {
+
+    private final GeoService geoService;
+
+    @Operation(
+            summary = "Get Geographic Reference Data",
+            description = "Returns all countries, cities and districts"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved reference data",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResponseMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    @ConditionalGet(value = {CatalogAggregate.GEO}, cacheBody = true)
+    public ResponseMessage<GeoResponse> getGeoData() {
+        return geoService.getGeoData();
+    }
+
+    @Operation(
+            summary = "Refresh Geographic Reference Data",
+            description = "Reloads the in-memory reference data after the country, city or district tables were changed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully refreshed reference data",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ResponseMessage.class))),
+            @ApiResponse(responseCode = "401", description = "Not authorized"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/refresh")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseMessage<GeoResponse> refreshGeoData() {
+        return geoService.refreshGeoData();
+    }
+}
@@ -1,5 +1,7 @@
 package com.Cinetime.controller;
 
+import com.Cinetime.config.ConditionalGet;
+import com.Cinetime.enums.CatalogAggregate;
 import com.Cinetime.payload.dto.response.HallResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.service.HallService;
@@ -38,6 +40,7 @@ public class HallController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/special-halls")
+    @ConditionalGet(value = {CatalogAggregate.HALL}, cacheBody = true)
     public ResponseMessage<List<HallResponse>> getAllSpecialHalls() {
         return hallService.getAllSpecialHalls();
     }
@@ -45,6 +48,7 @@ public class HallController {
 
 
     @GetMapping("/{hallId}")
+    @ConditionalGet({CatalogAggregate.HALL})
     public ResponseMessage<HallResponse> getHallById(@PathVariable Long hallId) {
         return hallService.getHallById(hallId);
     }
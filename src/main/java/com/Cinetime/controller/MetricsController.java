@@ -0,0 +1,39 @@
+package com.Cinetime.controller;
+
+import com.Cinetime.service.MetricsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.metrics.prometheus.enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Metrics", description = "Prometheus scrape endpoint")
+public class MetricsController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
+
+    private final MetricsService metricsService;
+
+    @Operation(
+            summary = "Scrape Metrics",
+            description = "Returns request, hot path and SQL metrics in the Prometheus text format. " +
+                    "Requires the ADMIN role or the configured scrape token as a bearer token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully scraped metrics"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid credentials"),
+            @ApiResponse(responseCode = "403", description = "Not an admin and no valid scrape token")
+    })
+    @GetMapping(value = "/prometheus", produces = PROMETHEUS_CONTENT_TYPE)
+    public String scrape() {
+        return metricsService.scrape();
+    }
+}
@@ -1,5 +1,7 @@
 package com.Cinetime.controller;
 
+import com.Cinetime.config.ConditionalGet;
+import com.Cinetime.enums.CatalogAggregate;
 import com.Cinetime.payload.dto.request.MovieRequest;
 import com.Cinetime.payload.dto.request.MovieRequestUpdate;
 import com.Cinetime.payload.dto.response.*;
@@ -42,6 +44,7 @@ public class MovieController {
     })
 
     @GetMapping("/hall/{hallName}")
+    @ConditionalGet({CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME, CatalogAggregate.HALL})
     public ResponseMessage<Page<MovieResponse>> getMovieByHall(
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of records per page") @RequestParam(defaultValue = "10") int size,
@@ -62,6 +65,7 @@ public class MovieController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/in-theaters")
+    @ConditionalGet(value = {CatalogAggregate.MOVIE}, cacheBody = true)
     public ResponseMessage<Page<MovieResponse>> getInTheatersMovies(
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of records per page") @RequestParam(defaultValue = "10") int size,
@@ -81,6 +85,7 @@ public class MovieController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/coming-soon")
+    @ConditionalGet(value = {CatalogAggregate.MOVIE}, cacheBody = true)
     public ResponseMessage<Page<MovieResponse>> getComingSoonMovies(
             @Parameter(description = "Page number (zero-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of records per page") @RequestParam(defaultValue = "10") int size,
@@ -116,6 +121,7 @@ public class MovieController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
+    @ConditionalGet({CatalogAggregate.MOVIE})
     @Transactional(readOnly = true)
     public ResponseMessage<Page<MovieResponse>> getMoviesByQuery(
             @Parameter(description = "Search query term (searches in title and summary)")
@@ -143,6 +149,7 @@ public class MovieController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/slug/{cinemaSlug}")
+    @ConditionalGet({CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME, CatalogAggregate.CINEMA})
     public ResponseMessage<List<MovieResponseCinema>> getMoviesByCinemaSlug(
             @Parameter(description = "Cinema slug", required = true) @PathVariable String cinemaSlug,
             @Parameter(description = "Page number (zero-based)")
@@ -196,6 +203,7 @@ public class MovieController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{movieId}")
+    @ConditionalGet(value = {CatalogAggregate.MOVIE}, cacheBody = true)
     @Transactional(readOnly = true)
     public ResponseMessage<MovieResponse> getMoviesById(
             @Parameter(description = "Search id movie")
@@ -261,6 +269,7 @@ public class MovieController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/getAllMoviesByPage")
+    @ConditionalGet({CatalogAggregate.MOVIE})
     @Transactional(readOnly = true)
     public ResponseMessage<Page<MovieResponse>> getAllMoviesByPage(
             @Parameter(description = "Page number (zero-based)")
@@ -286,6 +295,7 @@ public class MovieController {
     })
 
     @GetMapping("/getMoviesByHallId/{hallId}")
+    @ConditionalGet({CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME})
     public ResponseMessage<Page<MovieResponse>> getMoviesByHallId(
             @PathVariable Long hallId,
             @Parameter(description = "Page number (zero-based)")
@@ -1,7 +1,12 @@
 package com.Cinetime.controller;
 
+import com.Cinetime.config.ConditionalGet;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.payload.dto.request.ScheduleGenerationRequest;
+import com.Cinetime.payload.dto.request.ShowtimeBulkRequest;
 import com.Cinetime.payload.dto.request.ShowtimeRequest;
 import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.dto.response.ScheduleGenerationResponse;
 import com.Cinetime.payload.dto.response.ShowtimeResponse;
 import com.Cinetime.service.ShowtimeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +21,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("api/showtime")
 @RequiredArgsConstructor
@@ -48,6 +55,7 @@ public class ShowtimeController {
             )
     })
     @GetMapping("/{showtimeId}")
+    @ConditionalGet({CatalogAggregate.SHOWTIME, CatalogAggregate.MOVIE, CatalogAggregate.HALL, CatalogAggregate.CINEMA})
     public ResponseMessage<ShowtimeResponse> getShowtimeById(@PathVariable Long showtimeId) {
         return showtimeService.getShowtimeById(showtimeId);
     }
@@ -64,6 +72,7 @@ public class ShowtimeController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/upcoming/{movieId}")
+    @ConditionalGet(value = {CatalogAggregate.SHOWTIME, CatalogAggregate.MOVIE, CatalogAggregate.HALL, CatalogAggregate.CINEMA}, timeSensitive = true)
     public ResponseMessage<Page<ShowtimeResponse>> getUpcomingShowtimes(
             @Parameter(description = "Page number (zero-based)")
             @RequestParam(value = "page", defaultValue = "0") int page,
@@ -123,7 +132,62 @@ public class ShowtimeController {
         return showtimeService.createShowtimeForMovie(showtimeRequest);
     }
 
+    @Operation(
+            summary = "Create showtimes in bulk",
+            description = "Validates and creates a whole programme (e.g. a week for every hall of a cinema) in one transaction. The request is rejected as a whole if any showtime overlaps an existing one or another showtime of the same request. Requires ADMIN or EMPLOYEE role.",
+            tags = {"Showtimes"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All showtimes successfully created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or validation error"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN or EMPLOYEE role"),
+            @ApiResponse(responseCode = "404", description = "A movie or hall of the request was not found"),
+            @ApiResponse(responseCode = "409", description = "Conflict - One or more time slots are already occupied")
+    })
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseMessage<List<ShowtimeResponse>> createShowtimesInBulk(@RequestBody @Valid ShowtimeBulkRequest showtimeBulkRequest) {
+        return showtimeService.createShowtimesInBulk(showtimeBulkRequest);
+    }
+
+    @Operation(
+            summary = "Preview a generated schedule",
+            description = "Packs the halls of a cinema with showtimes for the given movies and target show counts, respecting opening hours, cleaning buffers and existing showtimes. Nothing is saved; send the returned showtimes to /schedule/commit to save them. Requires ADMIN or EMPLOYEE role.",
+            tags = {"Showtimes"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule successfully generated"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or validation error (e.g., closing time before opening time, movie without a duration)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN or EMPLOYEE role"),
+            @ApiResponse(responseCode = "404", description = "Cinema, hall or movie not found")
+    })
+    @PostMapping("/schedule/preview")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseMessage<ScheduleGenerationResponse> previewSchedule(@RequestBody @Valid ScheduleGenerationRequest scheduleGenerationRequest) {
+        return showtimeService.previewSchedule(scheduleGenerationRequest);
+    }
+
+    @Operation(
+            summary = "Save a previewed schedule",
+            description = "Saves the showtimes returned by the preview endpoint, unchanged or edited, through the bulk creation path, " +
+                    "so exactly the reviewed programme is created. Requires ADMIN or EMPLOYEE role.",
+            tags = {"Showtimes"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Previewed showtimes successfully created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or validation error"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Requires ADMIN or EMPLOYEE role"),
+            @ApiResponse(responseCode = "404", description = "A movie or hall of the schedule was not found"),
+            @ApiResponse(responseCode = "409", description = "Conflict - The schedule was overtaken by concurrent changes")
+    })
+    @PostMapping("/schedule/commit")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseMessage<List<ShowtimeResponse>> commitSchedule(@RequestBody @Valid ShowtimeBulkRequest previewedSchedule) {
+        return showtimeService.createShowtimesInBulk(previewedSchedule);
+    }
+
     @GetMapping("/upcoming")
+    @ConditionalGet(value = {CatalogAggregate.SHOWTIME, CatalogAggregate.MOVIE, CatalogAggregate.HALL, CatalogAggregate.CINEMA}, timeSensitive = true)
     public ResponseMessage<Page<ShowtimeResponse>> getUpcomingShowtimes(
             @RequestParam Long movieId,
             @RequestParam(required = false) Long cinemaId,
@@ -1,5 +1,8 @@
 package com.Cinetime.controller;
 
+import com.Cinetime.config.RateLimited;
+import com.Cinetime.enums.ExportFormat;
+import com.Cinetime.enums.TicketStatus;
 import com.Cinetime.payload.dto.request.TicketPriceCalculationRequest;
 import com.Cinetime.payload.dto.request.TicketPurchaseGuestRequest;
 import com.Cinetime.payload.dto.request.TicketPurchaseRequest;
@@ -7,19 +10,25 @@ import com.Cinetime.payload.dto.request.TicketReserveRequest;
 import com.Cinetime.payload.dto.response.AnonymousTicketResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.payload.dto.response.TicketResponse;
+import com.Cinetime.service.ExportService;
 import com.Cinetime.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -28,6 +37,7 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final ExportService exportService;
 
 
     //T01 Return movies that an authenticated user bought and haven't used yet
@@ -57,6 +67,7 @@ public class TicketController {
 
     //T03 reserve movie ticket
     @PostMapping("/reserve-ticket")
+    @RateLimited("booking")
     @PreAuthorize("hasAnyRole('MEMBER')")
     public ResponseMessage<List<TicketResponse>> reserveTicket(@Valid
                                                                @RequestBody TicketReserveRequest request) {
@@ -84,6 +95,7 @@ public class TicketController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/buy-ticket")
+    @RateLimited("booking")
     @PreAuthorize("hasAnyRole('MEMBER')")
     public ResponseMessage<List<TicketResponse>> buyTickets(@Valid
                                                             @RequestBody TicketPurchaseRequest request) {
@@ -126,6 +138,7 @@ public class TicketController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/buy-ticket-guest")
+    @RateLimited("booking")
     public ResponseMessage<List<AnonymousTicketResponse>> buyTicketsAsGuest(@Valid @RequestBody TicketPurchaseGuestRequest request) {
         return ticketService.buyTicketsAsGuest(request);
     }
@@ -133,8 +146,34 @@ public class TicketController {
 
     //TODO: Rezerve Ticket As Guest
     @PostMapping("/reserve-ticket-guest")
+    @RateLimited("booking")
     public ResponseMessage<List<AnonymousTicketResponse>> reserveTicketsAsGuest(@Valid @RequestBody TicketPurchaseGuestRequest request) {
         return ticketService.reserveTicketAsGuest(request);
     }
 
+    //T06 Export ticket sales
+    @Operation(
+            summary = "Export Tickets {T06}",
+            description = "Stream the tickets sold in the date range as CSV or NDJSON, optionally only one cinema "
+                    + "or one status. Only ADMIN users can export."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets streamed as an attachment"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+    })
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public void exportTickets(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long cinemaId,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets." + format.getFileExtension() + "\"");
+        exportService.exportTickets(from, to, cinemaId, status, format, response.getOutputStream());
+    }
+
 }
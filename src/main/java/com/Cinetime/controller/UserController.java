@@ -1,5 +1,7 @@
 package com.Cinetime.controller;
 
+import com.Cinetime.config.RateLimited;
+import com.Cinetime.enums.ExportFormat;
 import com.Cinetime.payload.authentication.LoginRequest;
 import com.Cinetime.payload.dto.request.ForgotPasswordRequest;
 import com.Cinetime.payload.dto.request.ResetCodeRequest;
@@ -12,6 +14,7 @@ import com.Cinetime.payload.dto.response.AuthResponse;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
 import com.Cinetime.payload.dto.response.PasswordResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.service.ExportService;
 import com.Cinetime.service.passwordbusiness.PasswordResetService;
 import com.Cinetime.service.UserService;
 import com.Cinetime.service.authentication.AuthenticationService;
@@ -24,15 +27,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
@@ -42,6 +51,7 @@ public class UserController {
     private final UserService userService;
     private final AuthenticationService authenticationService;
     private final PasswordResetService passwordResetService;
+    private final ExportService exportService;
 
     //U02
     @Operation(
@@ -75,6 +85,7 @@ public class UserController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/login")
+    @RateLimited("login")
     public ResponseMessage<AuthResponse> authenticateUser(
             @Parameter(description = "Login credentials", required = true)
             @RequestBody @Valid LoginRequest loginRequest) {
@@ -92,6 +103,7 @@ public class UserController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/forgot-password")
+    @RateLimited("password-reset")
     public ResponseMessage<PasswordResponse> generateResetPasswordCode(
             @Parameter(description = "Email for password reset", required = true)
             @RequestBody @Valid ForgotPasswordRequest request) {
@@ -109,6 +121,7 @@ public class UserController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/reset-password")
+    @RateLimited("password-reset")
     public ResponseMessage<PasswordResponse> resetPassword(
             @Parameter(description = "New password and reset code", required = true)
             @RequestBody @Valid ResetPasswordRequest resetPasswordDTO) {
@@ -125,6 +138,7 @@ public class UserController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("/validate-reset-password-code")
+    @RateLimited("password-reset")
     public ResponseMessage<PasswordResponse> validateResetPasswordCode(
             @Parameter(description = "Reset code to validate", required = true)
             @RequestBody @Valid ResetCodeRequest resetCodeDTO) {
@@ -210,8 +224,8 @@ public class UserController {
     })
     @GetMapping("/users/admin")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public ResponseMessage<Page<BaseUserResponse>> getUserWithParam(
-            @Parameter(description = "Search query (searches firstname, surname, email, phone)")
+    public ResponseMessage<Slice<BaseUserResponse>> getUserWithParam(
+            @Parameter(description = "Search query: start of the first name, full name, surname, email or phone number")
             @RequestParam(required = false) String q,
             @Parameter(description = "Page number (zero-based)")
             @RequestParam(defaultValue = "0") int page,
@@ -220,8 +234,10 @@ public class UserController {
             @Parameter(description = "Field to sort by")
             @RequestParam(defaultValue = "id") String sort,
             @Parameter(description = "Sort direction (asc or desc)")
-            @RequestParam(defaultValue = "asc") String type) {
-        return userService.getUserWithParam(q, page, size, sort, type);
+            @RequestParam(defaultValue = "asc") String type,
+            @Parameter(description = "Include total elements and pages; false skips the count and only reports whether a next page exists")
+            @RequestParam(defaultValue = "true") boolean count) {
+        return userService.getUserWithParam(q, page, size, sort, type, count);
     }
 
     @Operation(
@@ -290,6 +306,32 @@ public class UserController {
     }
 
 
+    //U11
+    @Operation(
+            summary = "Export Users {U11}",
+            description = "Stream all users registered in the date range as CSV or NDJSON (Admin role can access)",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users streamed as an attachment"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+    })
+    @GetMapping("/users/admin/export")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public void exportUsers(
+            @Parameter(description = "First registration day (inclusive, yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last registration day (inclusive, yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "CSV or NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getFileExtension() + "\"");
+        exportService.exportUsers(from, to, format, response.getOutputStream());
+    }
+
     @Operation(
             summary = "Get Authenticated User Details",
             description = "Retrieves details of the currently authenticated user",
@@ -10,11 +10,12 @@ public class TicketStatusConverter implements AttributeConverter<TicketStatus, I
 
     @Override
     public Integer convertToDatabaseColumn(TicketStatus status) {
-        return status.getValue();
+        //Opsiyonel filtre parametreleri (:status IS NULL) de bu converter ile baglaniyor
+        return status == null ? null : status.getValue();
     }
 
     @Override
     public TicketStatus convertToEntityAttribute(Integer value) {
-        return TicketStatus.fromValue(value);
+        return value == null ? null : TicketStatus.fromValue(value);
     }
 }
@@ -0,0 +1,26 @@
+package com.Cinetime.entity;
+
+import com.Cinetime.enums.CatalogAggregate;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Version of a catalog aggregate shared by every instance; see {@link com.Cinetime.helpers.CatalogVersionTracker}.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "CATALOG_VERSION")
+public class CatalogVersion {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CatalogAggregate aggregate;
+
+    @Column(nullable = false)
+    private long version;
+}
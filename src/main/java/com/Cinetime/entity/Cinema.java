@@ -11,6 +11,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_cinema_city_id", columnList = "city_id"),
+        @Index(name = "idx_cinema_slug", columnList = "slug")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -27,7 +31,7 @@ public class Cinema {
     @Column(nullable = false)
     private String slug;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "district_id", nullable = false)
     private District district; //
 
@@ -40,6 +44,13 @@ public class Cinema {
     @Column
     private String email;
 
+    //Konum bilinmiyorsa bos kalabilir, yakindaki sinemalar aramasina dahil edilmez
+    @Column
+    private Double latitude;
+
+    @Column
+    private Double longitude;
+
     @OneToMany(mappedBy = "cinema")
     @JsonIgnore
     private List<Hall> halls;
@@ -50,7 +61,8 @@ public class Cinema {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    //Isimler GeoReferenceRegistry'den cozuluyor, her sinema okumasinda join'e gerek yok
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "city_id", nullable = false)
     private City city;
 
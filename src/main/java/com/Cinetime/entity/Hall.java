@@ -1,5 +1,6 @@
 package com.Cinetime.entity;
 
+import com.Cinetime.enums.HallFeature;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -15,6 +16,7 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@Table(indexes = @Index(name = "idx_hall_cinema_id", columnList = "cinema_id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -34,6 +36,9 @@ public class Hall {
 
     private Boolean isSpecial = false;
 
+    //HallFeature bitmask'i, isimden hesaplaniyor
+    private Integer features;
+
     @ManyToOne
     @JoinColumn(name = "cinema_id", nullable = false)
     private Cinema cinema;
@@ -78,24 +83,18 @@ public class Hall {
     }
 
 
-    //Eğer name bu değerleri içerirse, specialHall true olacak
+    //Eğer name bir HallFeature içerirse, specialHall true olacak
     public void setName(String name) {
         this.name = name;
-        if (name != null && (
-                name.contains("IMAX") ||
-                        name.contains("4DX") ||
-                        name.contains("GOLD CLASS") ||
-                        name.contains("VIP") ||
-                        name.contains("SCREENX") ||
-                        name.contains("STARIUM") ||
-                        name.contains("TEMPUR CINEMA") ||
-                        name.contains("D BOX") ||
-                        name.contains("SKYBOX") ||
-                        name.contains("SKY AUDITORIUM") ||
-                        name.contains("PREMIUM CINEMA") ||
-                        name.contains("MPX")
-
-        )) {
+        syncFeatures();
+    }
+
+    //Builder setName'i cagirmadigi icin kaydetmeden once tekrar hesapliyoruz
+    @PrePersist
+    @PreUpdate
+    void syncFeatures() {
+        this.features = HallFeature.maskOf(name);
+        if (features != 0) {
             this.isSpecial = true;
         }
     }
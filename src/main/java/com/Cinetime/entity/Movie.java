@@ -2,6 +2,7 @@ package com.Cinetime.entity;
 
 import com.Cinetime.converter.MovieStatusConverter;
 import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.PosterStatus;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.annotation.Nullable;
@@ -12,6 +13,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -31,7 +33,12 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
-@Table(name = "MOVIE")
+//Poster kolonlarini arka plandaki yukleme yaziyor; ayni anda yapilan bir guncelleme onlari eski degerle ezmesin
+@DynamicUpdate
+@Table(name = "MOVIE", indexes = {
+        @Index(name = "idx_movie_title", columnList = "title"),
+        @Index(name = "idx_movie_status", columnList = "status")
+})
 public class Movie {
 
     @Id
@@ -92,6 +99,16 @@ public class Movie {
     @Column(name = "poster_url")
     private String posterUrl;
 
+    //null: hic poster yuklenmedi
+    @Enumerated(EnumType.STRING)
+    @Column(name = "poster_status", length = 20)
+    private PosterStatus posterStatus;
+
+    //Son istenen yukleme; sadece onun sonucu filme yaziliyor
+    @JsonIgnore
+    @Column(name = "poster_upload_id", length = 36)
+    private String posterUploadId;
+
     @NotNull
     @Convert(converter = MovieStatusConverter.class)
     @Column(name = "status", nullable = false)
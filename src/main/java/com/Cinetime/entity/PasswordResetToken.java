@@ -0,0 +1,51 @@
+package com.Cinetime.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outstanding password reset code of a user. Only a keyed hash of the code is stored; see
+ * {@link com.Cinetime.service.passwordbusiness.PasswordResetTokenStore}.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "PASSWORD_RESET_TOKEN", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_password_reset_token_hash", columnNames = "token_hash"),
+        @UniqueConstraint(name = "uk_password_reset_token_user", columnNames = "user_id")
+}, indexes = {
+        @Index(name = "idx_password_reset_token_expires_at", columnList = "expires_at")
+})
+public class PasswordResetToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //Kullanici silinince kod da siliniyor
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
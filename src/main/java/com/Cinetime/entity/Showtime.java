@@ -19,7 +19,10 @@ import java.time.LocalTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "SHOWTIME")
+@Table(name = "SHOWTIME", indexes = {
+        @Index(name = "idx_showtime_movie_starts_at", columnList = "movie_id, starts_at"),
+        @Index(name = "idx_showtime_cinema_starts_at", columnList = "cinema_id, starts_at")
+})
 @Builder
 public class Showtime {
 
@@ -37,6 +40,14 @@ public class Showtime {
     @NotNull
     private LocalTime endTime;
 
+    //date + startTime; "siradaki gosterimler" sorgulari iki kolon uzerinde OR yerine tek kolonda range scan yapiyor
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    //hall.cinema'nin kopyasi, sinema bazli sorgular hall join'ine ihtiyac duymuyor
+    @Column(name = "cinema_id")
+    private Long cinemaId;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id", nullable = false)
@@ -61,6 +72,7 @@ public class Showtime {
 
     @PrePersist
     public void prePersist() {
+        syncSchedule();
         LocalDateTime now = LocalDateTime.now();
         if (this.createdAt == null) {
             this.createdAt = now;
@@ -72,7 +84,18 @@ public class Showtime {
 
     @PreUpdate
     public void preUpdate() {
+        syncSchedule();
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Recompute the denormalized {@code startsAt} and {@code cinemaId} columns from date, start time and hall.
+     */
+    public void syncSchedule() {
+        this.startsAt = date != null && startTime != null ? LocalDateTime.of(date, startTime) : null;
+        if (hall != null && hall.getCinema() != null) {
+            this.cinemaId = hall.getCinema().getId();
+        }
+    }
+
 }
@@ -16,7 +16,11 @@ import java.util.Objects;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "TICKET")
+@Table(name = "TICKET", indexes = {
+        @Index(name = "idx_ticket_showtime_status", columnList = "showtime_id, status"),
+        @Index(name = "idx_ticket_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_ticket_created_at", columnList = "created_at, id")
+})
 @Builder
 @ToString(exclude = "payment")
 public class Ticket {
@@ -0,0 +1,30 @@
+package com.Cinetime.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tokens of a user issued before {@code revokedAt} are no longer accepted; see
+ * {@link com.Cinetime.security.TokenRevocationRegistry}.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "TOKEN_REVOCATION", indexes = {
+        @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at")
+})
+public class TokenRevocation {
+
+    //Kullaniciya foreign key yok, silinen kullanicinin satiri tombstone olarak kaliyor
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -1,6 +1,7 @@
 package com.Cinetime.entity;
 
 import com.Cinetime.enums.Gender;
+import com.Cinetime.helpers.UserSearchKeys;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -19,7 +20,15 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "APP_USER")
+@Table(name = "APP_USER", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_app_user_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_app_user_phone_number", columnNames = "phone_number")
+}, indexes = {
+        @Index(name = "idx_app_user_search_name", columnList = "search_name"),
+        @Index(name = "idx_app_user_search_last_name", columnList = "search_last_name"),
+        @Index(name = "idx_app_user_search_email", columnList = "search_email"),
+        @Index(name = "idx_app_user_search_phone", columnList = "search_phone")
+})
 public class User {
 
 
@@ -65,8 +74,22 @@ public class User {
     @NotNull
     @Column(nullable = false)
     private LocalDateTime updatedAt;
-    @Column(nullable = true) //default
-    private String resetPasswordCode;    //TODO: Password kod resetpassword edildikten sonra DB'ye otomatik kaydedilecek. Musteriye bu kod gonderilecek.Eslesirse sifre degistirilecek
+
+    //Yonetici aramasinin anahtarlari (UserSearchKeys); kayit ve guncellemede yeniden hesaplaniyor
+    @Setter(AccessLevel.NONE)
+    @Column(length = 100)
+    private String searchName;
+
+    @Setter(AccessLevel.NONE)
+    @Column(length = 50)
+    private String searchLastName;
+
+    @Setter(AccessLevel.NONE)
+    private String searchEmail;
+
+    @Setter(AccessLevel.NONE)
+    @Column(length = 20)
+    private String searchPhone;
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
@@ -90,11 +113,20 @@ public class User {
         if (this.updatedAt == null) {
             this.updatedAt = now;
         }
+        updateSearchKeys();
     }
 
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        updateSearchKeys();
+    }
+
+    private void updateSearchKeys() {
+        this.searchName = UserSearchKeys.name(firstname, lastname);
+        this.searchLastName = UserSearchKeys.lastName(lastname);
+        this.searchEmail = UserSearchKeys.email(email);
+        this.searchPhone = UserSearchKeys.phoneNumber(phoneNumber);
     }
 
     @Override
@@ -0,0 +1,12 @@
+package com.Cinetime.enums;
+
+/**
+ * Catalog data whose read endpoints are served with version based ETags.
+ */
+public enum CatalogAggregate {
+    MOVIE,
+    CINEMA,
+    HALL,
+    SHOWTIME,
+    GEO
+}
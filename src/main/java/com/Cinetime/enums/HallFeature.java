@@ -0,0 +1,89 @@
+package com.Cinetime.enums;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Premium hall formats. A hall's formats are stored as a bitmask of {@link #getMask()} values,
+ * derived from the hall name (e.g. "IMAX", "4DX 2").
+ */
+public enum HallFeature {
+    IMAX("IMAX", 1),
+    FOUR_DX("4DX", 1 << 1),
+    GOLD_CLASS("GOLD CLASS", 1 << 2),
+    VIP("VIP", 1 << 3),
+    SCREENX("SCREENX", 1 << 4),
+    STARIUM("STARIUM", 1 << 5),
+    TEMPUR_CINEMA("TEMPUR CINEMA", 1 << 6),
+    D_BOX("D BOX", 1 << 7),
+    SKYBOX("SKYBOX", 1 << 8),
+    SKY_AUDITORIUM("SKY AUDITORIUM", 1 << 9),
+    PREMIUM_CINEMA("PREMIUM CINEMA", 1 << 10),
+    MPX("MPX", 1 << 11);
+
+    //Bitler DB'de saklaniyor, yeni format eklerken mevcut degerler degistirilmemeli
+    private final String label;
+    private final int mask;
+
+    HallFeature(String label, int mask) {
+        this.label = label;
+        this.mask = mask;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public static int maskOf(String hallName) {
+        if (hallName == null) {
+            return 0;
+        }
+        String upperName = hallName.toUpperCase(Locale.ROOT);
+        int mask = 0;
+        for (HallFeature feature : values()) {
+            if (upperName.contains(feature.label)) {
+                mask |= feature.mask;
+            }
+        }
+        return mask;
+    }
+
+    public static Set<HallFeature> fromMask(int mask) {
+        Set<HallFeature> features = EnumSet.noneOf(HallFeature.class);
+        for (HallFeature feature : values()) {
+            if ((mask & feature.mask) != 0) {
+                features.add(feature);
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Resolve a filter value such as "imax", "4dx", "gold-class" or "D_BOX" to a feature.
+     */
+    public static Optional<HallFeature> fromLabel(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        for (HallFeature feature : values()) {
+            if (normalize(feature.label).equals(normalized) || normalize(feature.name()).equals(normalized)) {
+                return Optional.of(feature);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String normalize(String value) {
+        return value.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "");
+    }
+}
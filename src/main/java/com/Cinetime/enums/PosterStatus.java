@@ -0,0 +1,10 @@
+package com.Cinetime.enums;
+
+/**
+ * State of the latest poster upload of a movie. Uploads run in the background after the movie is saved.
+ */
+public enum PosterStatus {
+    PENDING,
+    UPLOADED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.Cinetime.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PosterUploadBusyException extends RuntimeException {
+    public PosterUploadBusyException(String message) {
+        super(message);
+    }
+}
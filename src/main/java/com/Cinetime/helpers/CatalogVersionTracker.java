@@ -0,0 +1,151 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.entity.CatalogVersion;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.repo.CatalogVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-aggregate version counters of the catalog, bumped by the services on every write.
+ * ETags are built from these counters instead of hashing the response body.
+ * <p>
+ * Counters live in memory, so every tag also carries the startup epoch of this instance;
+ * tags issued before a restart never match again.
+ * <p>
+ * A write also increments the aggregate in the {@code catalog_version} table, in the writing transaction. The table
+ * is re-read at most every {@code app.catalog-version.refresh-seconds} and a changed version bumps the local
+ * counter, so ETags, cached responses and indexes of this instance follow writes made on other instances within
+ * that interval.
+ */
+@Slf4j
+@Component
+public class CatalogVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final long refreshIntervalMs;
+
+    private final Map<CatalogAggregate, AtomicLong> versions = new EnumMap<>(CatalogAggregate.class);
+    //Tablodan son okunan surumler; degisen aggregate yerelde artiriliyor (kendi yazmamiz da bir kez daha)
+    private final Map<CatalogAggregate, Long> sharedVersions = new ConcurrentHashMap<>();
+    private final AtomicLong lastRefresh = new AtomicLong(System.currentTimeMillis());
+
+    public CatalogVersionTracker(CatalogVersionRepository catalogVersionRepository,
+                                 @Value("${app.catalog-version.refresh-seconds:5}") long refreshSeconds) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.refreshIntervalMs = TimeUnit.SECONDS.toMillis(refreshSeconds);
+        for (CatalogAggregate aggregate : CatalogAggregate.values()) {
+            versions.put(aggregate, new AtomicLong());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVersions() {
+        Map<CatalogAggregate, Long> loaded = readSharedVersions();
+        List<CatalogVersion> missing = Arrays.stream(CatalogAggregate.values())
+                .filter(aggregate -> !loaded.containsKey(aggregate))
+                .map(aggregate -> new CatalogVersion(aggregate, 0L))
+                .toList();
+        if (!missing.isEmpty()) {
+            try {
+                catalogVersionRepository.saveAll(missing);
+            } catch (DataIntegrityViolationException e) {
+                //Baska bir instance ayni anda ekledi; satir var, yeterli
+                log.debug("Catalog version rows were created concurrently: {}", e.getMessage());
+            }
+        }
+        sharedVersions.putAll(loaded);
+        lastRefresh.set(System.currentTimeMillis());
+        log.info("Catalog versions loaded for {} aggregates, {} created", loaded.size(), missing.size());
+    }
+
+    public long getVersion(CatalogAggregate aggregate) {
+        refreshIfDue();
+        return versions.get(aggregate).get();
+    }
+
+    /**
+     * Bump the given aggregates once the current transaction commits (immediately without one).
+     * Bumping before commit would let a concurrent reader pair the new version with the old data.
+     * The shared version is incremented right away, inside the transaction, so a rollback undoes it.
+     */
+    public void bumpAfterCommit(CatalogAggregate... aggregates) {
+        catalogVersionRepository.increment(List.of(aggregates));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(aggregates);
+                }
+            });
+        } else {
+            bump(aggregates);
+        }
+    }
+
+    /**
+     * Strong ETag over the given aggregates, e.g. {@code "lx3k9a-12.4"}.
+     */
+    public String getETag(CatalogAggregate... aggregates) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch).append('-');
+        for (int i = 0; i < aggregates.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(getVersion(aggregates[i]));
+        }
+        return tag.append('"').toString();
+    }
+
+    private void bump(CatalogAggregate... aggregates) {
+        for (CatalogAggregate aggregate : aggregates) {
+            versions.get(aggregate).incrementAndGet();
+        }
+    }
+
+    //Istek yolunda, en fazla aralik basina bir istek sorguyu calistiriyor
+    private void refreshIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastRefresh.get();
+        if (now - last < refreshIntervalMs || !lastRefresh.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            readSharedVersions().forEach((aggregate, version) -> {
+                Long previous = sharedVersions.put(aggregate, version);
+                if (previous != null && previous != version.longValue()) {
+                    versions.get(aggregate).incrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            //Sonraki istek tekrar deniyor; o zamana kadar yerel surumler kullaniliyor
+            lastRefresh.compareAndSet(now, last);
+            log.warn("Could not refresh the catalog versions: {}", e.getMessage());
+        }
+    }
+
+    private Map<CatalogAggregate, Long> readSharedVersions() {
+        Map<CatalogAggregate, Long> shared = new EnumMap<>(CatalogAggregate.class);
+        for (Object[] row : catalogVersionRepository.findVersions()) {
+            shared.put((CatalogAggregate) row[0], (Long) row[1]);
+        }
+        return shared;
+    }
+}
@@ -0,0 +1,92 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.enums.HallFeature;
+import com.Cinetime.payload.business.CinemaHallFeature;
+import com.Cinetime.repo.CinemaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory bitmaps of cinemas per city and per hall feature.
+ * City + feature filtering becomes a {@link BitSet#and} instead of a {@code LIKE} scan over halls.
+ * <p>
+ * The index is rebuilt with a single query whenever the cinema or hall catalog version changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CinemaFeatureIndex {
+
+    private final CinemaRepository cinemaRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
+
+    private volatile Snapshot snapshot;
+
+    //Bit i, cinemaIds[i] id'li sinemayi temsil ediyor
+    private record Snapshot(String version,
+                            long[] cinemaIds,
+                            Map<Long, BitSet> cinemasByCity,
+                            Map<HallFeature, BitSet> cinemasByFeature) {
+    }
+
+
+    /**
+     * Ids of cinemas in the given city having at least one hall with the given feature, in ascending order.
+     * Null arguments are not filtered on.
+     */
+    public List<Long> findCinemaIds(Long cityId, HallFeature feature) {
+        Snapshot current = getSnapshot();
+
+        BitSet result;
+        if (cityId != null) {
+            result = (BitSet) current.cinemasByCity().getOrDefault(cityId, new BitSet()).clone();
+        } else {
+            result = new BitSet(current.cinemaIds().length);
+            result.set(0, current.cinemaIds().length);
+        }
+        if (feature != null) {
+            result.and(current.cinemasByFeature().getOrDefault(feature, new BitSet()));
+        }
+
+        return result.stream()
+                .mapToObj(index -> current.cinemaIds()[index])
+                .toList();
+    }
+
+    private Snapshot getSnapshot() {
+        String version = catalogVersionTracker.getETag(CatalogAggregate.CINEMA, CatalogAggregate.HALL);
+        Snapshot current = snapshot;
+        if (current == null || !current.version().equals(version)) {
+            current = build(version);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot build(String version) {
+        List<CinemaHallFeature> rows = cinemaRepository.findCinemaHallFeatures();
+
+        long[] cinemaIds = rows.stream()
+                .mapToLong(CinemaHallFeature::getCinemaId)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        Map<Long, BitSet> cinemasByCity = new HashMap<>();
+        Map<HallFeature, BitSet> cinemasByFeature = new EnumMap<>(HallFeature.class);
+        for (CinemaHallFeature row : rows) {
+            int index = Arrays.binarySearch(cinemaIds, row.getCinemaId());
+            cinemasByCity.computeIfAbsent(row.getCityId(), cityId -> new BitSet()).set(index);
+            for (HallFeature feature : HallFeature.fromMask(row.getFeatureMask())) {
+                cinemasByFeature.computeIfAbsent(feature, f -> new BitSet()).set(index);
+            }
+        }
+
+        log.debug("Cinema feature index rebuilt for {} cinemas", cinemaIds.length);
+        return new Snapshot(version, cinemaIds, cinemasByCity, cinemasByFeature);
+    }
+}
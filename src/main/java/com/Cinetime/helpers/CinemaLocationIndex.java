@@ -0,0 +1,202 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.payload.business.CinemaDistance;
+import com.Cinetime.payload.business.CinemaLocation;
+import com.Cinetime.repo.CinemaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory uniform grid of cinema coordinates for "cinemas near me" searches.
+ * A search only measures distances to cinemas in the grid cells around the searched point
+ * instead of every cinema in the database.
+ * <p>
+ * The index is rebuilt with a single query whenever the cinema catalog version changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CinemaLocationIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    //~5.5 km'lik hucreler, sehir ici aramalarda bir iki halka yetiyor
+    private static final double CELL_DEGREES = 0.05;
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final CinemaRepository cinemaRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(String version, Map<Long, List<CinemaLocation>> cells, List<CinemaLocation> locations) {
+    }
+
+
+    /**
+     * The {@code limit} cinemas closest to the given point, nearest first.
+     */
+    public List<CinemaDistance> findNearest(double latitude, double longitude, int limit) {
+        Snapshot current = getSnapshot();
+        if (limit <= 0 || current.locations().isEmpty()) {
+            return List.of();
+        }
+
+        int row = row(latitude);
+        int column = column(longitude);
+        List<CinemaDistance> found = new ArrayList<>();
+        int seen = 0;
+
+        for (int ring = 0; ; ring++) {
+            //Halka bos hucrelerden daha pahaliya geliyorsa hepsini taramak daha ucuz
+            if ((long) (2 * ring + 1) * (2 * ring + 1) > 4L * current.cells().size()) {
+                return nearestOf(current.locations(), latitude, longitude, limit);
+            }
+
+            for (List<CinemaLocation> cell : ringCells(current, row, column, ring)) {
+                for (CinemaLocation location : cell) {
+                    found.add(distanceTo(location, latitude, longitude));
+                }
+                seen += cell.size();
+            }
+
+            found.sort(Comparator.comparingDouble(CinemaDistance::getDistanceKm));
+            //Bu halkanin disindaki her sinema en az ring hucre uzakta
+            if (seen == current.locations().size()
+                    || (found.size() >= limit && found.get(limit - 1).getDistanceKm() <= minDistanceOutside(latitude, ring))) {
+                return List.copyOf(found.subList(0, Math.min(limit, found.size())));
+            }
+        }
+    }
+
+    /**
+     * Cinemas within {@code radiusKm} of the given point, nearest first and at most {@code limit} of them.
+     */
+    public List<CinemaDistance> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        Snapshot current = getSnapshot();
+        if (limit <= 0 || current.locations().isEmpty()) {
+            return List.of();
+        }
+
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + latitudeSpan);
+        double longitudeSpan = farthestLatitude >= 90 ? 180 : latitudeSpan / Math.cos(Math.toRadians(farthestLatitude));
+
+        int fromRow = row(latitude - latitudeSpan);
+        int toRow = row(latitude + latitudeSpan);
+        int columnCount = longitudeSpan >= 180 ? COLUMNS : column(longitude + longitudeSpan) - column(longitude - longitudeSpan) + 1;
+        if (columnCount <= 0) {
+            columnCount += COLUMNS;
+        }
+
+        Collection<CinemaLocation> candidates;
+        if ((long) (toRow - fromRow + 1) * columnCount > current.cells().size()) {
+            candidates = current.locations();
+        } else {
+            candidates = new ArrayList<>();
+            int fromColumn = longitudeSpan >= 180 ? 0 : column(longitude - longitudeSpan);
+            for (int r = fromRow; r <= toRow; r++) {
+                for (int c = 0; c < columnCount; c++) {
+                    candidates.addAll(current.cells().getOrDefault(key(r, Math.floorMod(fromColumn + c, COLUMNS)), List.of()));
+                }
+            }
+        }
+
+        return candidates.stream()
+                .map(location -> distanceTo(location, latitude, longitude))
+                .filter(match -> match.getDistanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(CinemaDistance::getDistanceKm))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Great-circle distance between two points in kilometres (haversine formula).
+     */
+    public static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private Snapshot getSnapshot() {
+        String version = catalogVersionTracker.getETag(CatalogAggregate.CINEMA);
+        Snapshot current = snapshot;
+        if (current == null || !current.version().equals(version)) {
+            current = build(version);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot build(String version) {
+        List<CinemaLocation> locations = cinemaRepository.findCinemaLocations();
+
+        Map<Long, List<CinemaLocation>> cells = new HashMap<>();
+        for (CinemaLocation location : locations) {
+            cells.computeIfAbsent(key(row(location.getLatitude()), column(location.getLongitude())), key -> new ArrayList<>())
+                    .add(location);
+        }
+
+        log.debug("Cinema location index rebuilt for {} cinemas in {} cells", locations.size(), cells.size());
+        return new Snapshot(version, cells, List.copyOf(locations));
+    }
+
+    private static List<List<CinemaLocation>> ringCells(Snapshot snapshot, int row, int column, int ring) {
+        List<List<CinemaLocation>> cells = new ArrayList<>();
+        for (int r = row - ring; r <= row + ring; r++) {
+            if (r < 0 || r >= ROWS) {
+                continue;
+            }
+            //Ust ve alt kenarda tum satir, aradaki satirlarda sadece iki uc hucre
+            int step = (r == row - ring || r == row + ring) ? 1 : Math.max(1, 2 * ring);
+            for (int c = column - ring; c <= column + ring; c += step) {
+                List<CinemaLocation> cell = snapshot.cells().get(key(r, Math.floorMod(c, COLUMNS)));
+                if (cell != null) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static List<CinemaDistance> nearestOf(Collection<CinemaLocation> locations, double latitude, double longitude, int limit) {
+        return locations.stream()
+                .map(location -> distanceTo(location, latitude, longitude))
+                .sorted(Comparator.comparingDouble(CinemaDistance::getDistanceKm))
+                .limit(limit)
+                .toList();
+    }
+
+    //Boylam hucreleri kutuplara dogru daraldigi icin halkanin en dar yerini esas aliyoruz
+    private static double minDistanceOutside(double latitude, int ring) {
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + (ring + 1) * CELL_DEGREES);
+        return ring * CELL_DEGREES * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private static CinemaDistance distanceTo(CinemaLocation location, double latitude, double longitude) {
+        return new CinemaDistance(location.getCinemaId(),
+                distanceKm(latitude, longitude, location.getLatitude(), location.getLongitude()));
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+    }
+
+    private static long key(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+}
@@ -0,0 +1,110 @@
+package com.Cinetime.helpers;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter of strings with 4-bit counters, safe for concurrent use.
+ * <p>
+ * {@link #mightContain} never answers false for a value that was added and not removed as often. A counter
+ * that reaches 15 stays there, so overflow can only cause false positives. Removing a value that was never
+ * added breaks that guarantee for other values and must not happen.
+ */
+public class CountingBloomFilter {
+
+    static final int COUNTER_BITS = 4;
+    static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+
+    /**
+     * @param expectedInsertions values the filter is sized for; more are allowed but raise the false positive rate
+     * @param falsePositiveRate  target false positive rate at {@code expectedInsertions}
+     */
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(Math.max(1, words));
+        this.counters = (long) this.words.length() * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / n * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash1 = hash(value, 0);
+        long hash2 = hash(value, 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            update(index(hash1, hash2, i), 1);
+        }
+    }
+
+    public void remove(String value) {
+        long hash1 = hash(value, 0);
+        long hash2 = hash(value, 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            update(index(hash1, hash2, i), -1);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0);
+        long hash2 = hash(value, 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long index = index(hash1, hash2, i);
+            if (counter(words.get((int) (index / COUNTERS_PER_WORD)), index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getCounters() {
+        return counters;
+    }
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    private long index(long hash1, long hash2, int i) {
+        return Math.floorMod(hash1 + i * hash2, counters);
+    }
+
+    //Sayac 0'in altina inmiyor, 15'e ulasinca da bir daha degismiyor
+    private void update(long index, int delta) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long updated = current + ((long) delta << shift);
+            if (words.compareAndSet(word, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static long counter(long word, long index) {
+        return (word >>> ((index % COUNTERS_PER_WORD) * COUNTER_BITS)) & MAX_COUNT;
+    }
+
+    //FNV-1a, ardindan murmur3 fmix64 ile karistiriliyor
+    private static long hash(String value, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
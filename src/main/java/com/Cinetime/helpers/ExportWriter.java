@@ -0,0 +1,103 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.enums.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Writes export rows to a stream as they are read: CSV with a header line, or NDJSON (one JSON object per line).
+ * Output goes through a fixed-size buffer, so memory use does not depend on the number of rows.
+ */
+public class ExportWriter<T> implements Closeable {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final SequenceWriter jsonWriter;
+    private final Function<T, Object[]> csvValues;
+    private long rows;
+
+    public ExportWriter(ExportFormat format, OutputStream out, ObjectMapper objectMapper, Class<T> type,
+                        String[] csvColumns, Function<T, Object[]> csvValues) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.csvValues = csvValues;
+        if (format == ExportFormat.NDJSON) {
+            //Her satirdan sonra flush edilirse her kayit ayri bir paket olarak gidiyor
+            this.jsonWriter = objectMapper.writerFor(type)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+        } else {
+            this.jsonWriter = null;
+            writeCsvLine(csvColumns);
+        }
+    }
+
+    public void write(T row) throws IOException {
+        if (jsonWriter != null) {
+            jsonWriter.write(row);
+        } else {
+            writeCsvLine(csvValues.apply(row));
+        }
+        rows++;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (jsonWriter != null) {
+            //Ayirici sadece kayitlarin arasina yaziliyor; son satir da newline ile bitmeli
+            jsonWriter.flush();
+            if (rows > 0) {
+                writer.write('\n');
+            }
+            jsonWriter.close();
+        }
+        writer.close();
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                writeCsvValue(text, true);
+            } else if (value != null) {
+                writeCsvValue(value instanceof Enum<?> constant ? constant.name() : value.toString(), false);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    //RFC 4180; =, +, - veya @ ile baslayan metinler tablo programinda formul olarak calismasin diye ' ile basliyor
+    private void writeCsvValue(String value, boolean text) throws IOException {
+        boolean formula = text && !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
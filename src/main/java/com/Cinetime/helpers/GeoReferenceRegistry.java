@@ -0,0 +1,142 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.entity.City;
+import com.Cinetime.entity.Country;
+import com.Cinetime.entity.District;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.payload.dto.response.CityResponse;
+import com.Cinetime.payload.dto.response.CountryResponse;
+import com.Cinetime.payload.dto.response.DistrictResponse;
+import com.Cinetime.payload.dto.response.GeoResponse;
+import com.Cinetime.repo.CityRepository;
+import com.Cinetime.repo.CountryRepository;
+import com.Cinetime.repo.DistrictRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable in-memory snapshot of countries, cities and districts.
+ * Mappers resolve names from id-indexed arrays here instead of joining or lazy-loading the geo tables per row.
+ * <p>
+ * The snapshot is loaded at startup and rebuilt whenever the geo catalog version changes, see {@link #refresh()}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeoReferenceRegistry {
+
+    //Id'ler IDENTITY ile uretildigi icin diziler kucuk kaliyor, bu sinirin ustundeki id'ler entity'den cozuluyor
+    private static final int MAX_INDEXED_ID = 1 << 20;
+
+    private final CountryRepository countryRepository;
+    private final CityRepository cityRepository;
+    private final DistrictRepository districtRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
+
+    private volatile Snapshot snapshot;
+
+    //names[id] o id'li kaydin adi, olmayan id'ler icin null
+    private record Snapshot(String version,
+                            String[] countryNames,
+                            String[] cityNames,
+                            String[] districtNames,
+                            GeoResponse geoData) {
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        getSnapshot();
+    }
+
+    public GeoResponse getGeoData() {
+        return getSnapshot().geoData();
+    }
+
+    public String getCountryName(Country country) {
+        return country == null ? null : resolve(getSnapshot().countryNames(), country.getId(), country::getName);
+    }
+
+    public String getCityName(City city) {
+        return city == null ? null : resolve(getSnapshot().cityNames(), city.getId(), city::getName);
+    }
+
+    public String getDistrictName(District district) {
+        return district == null ? null : resolve(getSnapshot().districtNames(), district.getId(), district::getName);
+    }
+
+    /**
+     * Reload the snapshot after the geo tables were changed (after commit when called inside a transaction).
+     */
+    public void refresh() {
+        catalogVersionTracker.bumpAfterCommit(CatalogAggregate.GEO);
+    }
+
+    //Snapshot'tan sonra eklenen bir kayit icin entity'nin kendisine donuyoruz
+    private static String resolve(String[] names, Long id, Supplier<String> fallback) {
+        if (id != null && id >= 0 && id < names.length && names[id.intValue()] != null) {
+            return names[id.intValue()];
+        }
+        return fallback.get();
+    }
+
+    private Snapshot getSnapshot() {
+        String version = catalogVersionTracker.getETag(CatalogAggregate.GEO);
+        Snapshot current = snapshot;
+        if (current == null || !current.version().equals(version)) {
+            current = build(version);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot build(String version) {
+        Sort byName = Sort.by("name");
+
+        List<CountryResponse> countries = countryRepository.findAll(byName).stream()
+                .map(country -> new CountryResponse(country.getId(), country.getName()))
+                .toList();
+        List<CityResponse> cities = cityRepository.findAll(byName).stream()
+                .map(city -> new CityResponse(city.getId(), city.getName(),
+                        city.getCountry() != null ? city.getCountry().getId() : null))
+                .toList();
+        List<DistrictResponse> districts = districtRepository.findAll(byName).stream()
+                .map(district -> new DistrictResponse(district.getId(), district.getName(),
+                        district.getCity() != null ? district.getCity().getId() : null))
+                .toList();
+
+        log.debug("Geo reference data loaded: {} countries, {} cities, {} districts",
+                countries.size(), cities.size(), districts.size());
+        return new Snapshot(version,
+                index(countries, CountryResponse::getId, CountryResponse::getName),
+                index(cities, CityResponse::getId, CityResponse::getName),
+                index(districts, DistrictResponse::getId, DistrictResponse::getName),
+                new GeoResponse(countries, cities, districts));
+    }
+
+    private static <T> String[] index(List<T> rows, Function<T, Long> idOf, Function<T, String> nameOf) {
+        int length = rows.stream()
+                .mapToLong(idOf::apply)
+                .filter(id -> id >= 0 && id < MAX_INDEXED_ID)
+                .mapToInt(id -> (int) id + 1)
+                .max()
+                .orElse(0);
+
+        String[] names = new String[length];
+        for (T row : rows) {
+            long id = idOf.apply(row);
+            if (id >= 0 && id < length) {
+                names[(int) id] = nameOf.apply(row);
+            }
+        }
+        return names;
+    }
+}
@@ -1,6 +1,12 @@
 package com.Cinetime.helpers;
 
+import com.Cinetime.exception.PasswordHashingBusyException;
+import com.Cinetime.exception.PosterUploadBusyException;
+import com.Cinetime.exception.TooManyRequestsException;
 import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.messages.ErrorMessages;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -26,4 +32,48 @@ public class GlobalExceptionHandler {
                         .object(errors)
                         .build());
     }
+
+    //Uygulama kontrollerini asan es zamanli yazmalar (ayni e-posta, ayni koltuk) veritabani kisitina takiliyor
+    @ExceptionHandler
+    public ResponseEntity<ResponseMessage<Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ResponseMessage.builder()
+                        .message(ErrorMessages.DATA_CONFLICT)
+                        .httpStatus(HttpStatus.CONFLICT)
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ResponseMessage<Object>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ResponseMessage.builder()
+                        .message(ex.getMessage())
+                        .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ResponseMessage<Object>> handlePosterUploadBusy(PosterUploadBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ResponseMessage.builder()
+                        .message(ex.getMessage())
+                        .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                        .build());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ResponseMessage<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ResponseMessage.builder()
+                        .message(ex.getMessage())
+                        .httpStatus(HttpStatus.TOO_MANY_REQUESTS)
+                        .build());
+    }
 }
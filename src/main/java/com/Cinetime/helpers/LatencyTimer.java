@@ -0,0 +1,119 @@
+package com.Cinetime.helpers;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latency histogram of one timer series: count, total time, recent maximum and cumulative counts per
+ * fixed bucket, exported in the Prometheus histogram format so percentiles can be computed with
+ * {@code histogram_quantile} on the server side.
+ */
+public class LatencyTimer {
+
+    //Saniye cinsinden ust sinirlar; mikro saniyelik mapper surelerinden SMTP/upload surelerine kadar
+    static final double[] BUCKET_BOUNDS = {
+            0.000_01, 0.000_05, 0.000_1, 0.000_5,
+            0.001, 0.002_5, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5,
+            1, 2.5, 5, 10, 30
+    };
+
+    //Prometheus "le" label degerleri, 1.0E-4 yerine 0.0001
+    static final String[] BUCKET_LABELS = new String[BUCKET_BOUNDS.length];
+
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (long) (BUCKET_BOUNDS[i] * 1_000_000_000L);
+            BUCKET_LABELS[i] = BigDecimal.valueOf(BUCKET_BOUNDS[i]).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    //Max degeri bu sure boyunca tutuluyor, sonra sifirlaniyor; eski bir uc deger sonsuza kadar gorunmesin
+    private static final long MAX_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    //Son eleman +Inf bucket'i
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile long maxWindowStart = System.nanoTime();
+
+    public LatencyTimer() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+
+    public void record(long elapsedNanos) {
+        if (elapsedNanos < 0) {
+            return;
+        }
+        buckets[bucketIndex(elapsedNanos)].increment();
+        count.increment();
+        totalNanos.add(elapsedNanos);
+        rotateMax();
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    public <T> T record(Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getTotalSeconds() {
+        return totalNanos.sum() / 1e9;
+    }
+
+    public double getMaxSeconds() {
+        rotateMax();
+        return maxNanos.get() / 1e9;
+    }
+
+    /**
+     * @return cumulative counts per bucket of {@link #BUCKET_BOUNDS}, the last element being the +Inf bucket
+     */
+    public long[] getCumulativeBucketCounts() {
+        long[] cumulative = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            cumulative[i] = running;
+        }
+        return cumulative;
+    }
+
+    private static int bucketIndex(long nanos) {
+        int low = 0;
+        int high = BUCKET_BOUNDS_NANOS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BUCKET_BOUNDS_NANOS[mid] < nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void rotateMax() {
+        long now = System.nanoTime();
+        if (now - maxWindowStart > MAX_WINDOW_NANOS) {
+            maxWindowStart = now;
+            maxNanos.set(0);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.Cinetime.helpers;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the latency timers of the application, written out in the Prometheus text format by
+ * {@link com.Cinetime.service.MetricsService}.
+ * <p>
+ * A timer is identified by its name and its tags (label name/value pairs). Names follow the Prometheus
+ * conventions and get the {@code _seconds} suffix on export, e.g. {@code cinetime_seat_check} is exported
+ * as {@code cinetime_seat_check_seconds_bucket}, {@code _count}, {@code _sum} and {@code _max}.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+    //Ayni isimdeki tum seriler; anahtar Prometheus label metni (method="GET",status="200")
+    private record Family(String help, Map<String, LatencyTimer> series) {
+    }
+
+
+    /**
+     * Get or create the timer with the given name and tags.
+     *
+     * @param tags alternating label names and values
+     */
+    public LatencyTimer timer(String name, String help, String... tags) {
+        Family family = families.computeIfAbsent(name, key -> new Family(help, new ConcurrentHashMap<>()));
+        return family.series().computeIfAbsent(labels(tags), key -> new LatencyTimer());
+    }
+
+    /**
+     * Append every timer as a Prometheus histogram plus a {@code _max} gauge.
+     */
+    public void scrape(StringBuilder out) {
+        new TreeMap<>(families).forEach((name, family) -> {
+            String metric = name + "_seconds";
+            Map<String, LatencyTimer> series = new TreeMap<>(family.series());
+
+            appendHeader(out, metric, family.help(), "histogram");
+            series.forEach((labels, timer) -> {
+                long[] buckets = timer.getCumulativeBucketCounts();
+                for (int i = 0; i < LatencyTimer.BUCKET_BOUNDS.length; i++) {
+                    appendSample(out, metric + "_bucket",
+                            withLabel(labels, "le", LatencyTimer.BUCKET_LABELS[i]), buckets[i]);
+                }
+                long count = buckets[buckets.length - 1];
+                appendSample(out, metric + "_bucket", withLabel(labels, "le", "+Inf"), count);
+                appendSample(out, metric + "_count", labels, count);
+                appendSample(out, metric + "_sum", labels, timer.getTotalSeconds());
+            });
+
+            appendHeader(out, metric + "_max", family.help() + " (maximum over the last two minutes)", "gauge");
+            series.forEach((labels, timer) -> appendSample(out, metric + "_max", labels, timer.getMaxSeconds()));
+        });
+    }
+
+    public static void appendHeader(StringBuilder out, String metric, String help, String type) {
+        out.append("# HELP ").append(metric).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    public static void appendSample(StringBuilder out, String metric, String labels, double value) {
+        out.append(metric);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * @param tags alternating label names and values
+     * @return the Prometheus label text without braces
+     */
+    public static String labels(String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be name/value pairs");
+        }
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < tags.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(tags[i]).append("=\"").append(escape(tags[i + 1])).append('"');
+        }
+        return labels.toString();
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + '"';
+        return labels.isEmpty() ? label : labels + ',' + label;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,158 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Movie;
+import com.Cinetime.payload.business.ShowtimeSlot;
+import com.Cinetime.payload.dto.request.ShowtimeRequest;
+import com.Cinetime.payload.dto.response.ScheduleGenerationResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Greedy interval packing of showtimes into halls.
+ * <p>
+ * For every day the hall that becomes free first is filled with the movie that still has the most shows left
+ * for that day and fits before closing time. A hall's next start is the end of the placed show plus the cleaning
+ * buffer, rounded up to {@link #SLOT_GRANULARITY_MINUTES}. Existing showtimes are taken from the schedule index,
+ * and the produced programme keeps the cleaning buffer to them on both sides. Runs in O(S log H) per day for S shows and H halls.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShowtimeScheduleGenerator {
+
+    private static final int SLOT_GRANULARITY_MINUTES = 5;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ShowtimeScheduleIndex showtimeScheduleIndex;
+
+    private static final class HallCursor {
+        private final Hall hall;
+        private int nextStart;
+
+        private HallCursor(Hall hall, int nextStart) {
+            this.hall = hall;
+            this.nextStart = nextStart;
+        }
+    }
+
+
+    /**
+     * @param movies       movies in priority order, ties between equal remaining counts go to the earlier one;
+     *                     every movie must have a positive duration
+     * @param targetShows  movieId -> number of shows wanted over the whole period
+     */
+    public ScheduleGenerationResponse generate(List<Hall> halls,
+                                               List<Movie> movies,
+                                               Map<Long, Integer> targetShows,
+                                               LocalDate startDate,
+                                               int days,
+                                               LocalTime openingTime,
+                                               LocalTime closingTime,
+                                               int cleaningBufferMinutes) {
+
+        LocalDate endDate = startDate.plusDays(days - 1L);
+        showtimeScheduleIndex.warmUp(halls.stream().map(Hall::getId).toList(), startDate, endDate);
+
+        //Dakika cinsinden calisiyoruz, LocalTime.plusMinutes gece yarisinda basa sariyor
+        int opening = toMinutes(openingTime);
+        int closing = toMinutes(closingTime);
+
+        Map<Long, Integer> remaining = new LinkedHashMap<>();
+        movies.forEach(movie -> remaining.put(movie.getId(), targetShows.getOrDefault(movie.getId(), 0)));
+
+        List<ShowtimeRequest> showtimes = new ArrayList<>();
+        for (int dayIndex = 0; dayIndex < days; dayIndex++) {
+            LocalDate date = startDate.plusDays(dayIndex);
+            int daysLeft = days - dayIndex;
+
+            //Kalan gosterimleri kalan gunlere esit dagitiyoruz; sigmayanlar sonraki gunlere devrediyor
+            Map<Long, Integer> dailyQuota = new HashMap<>();
+            remaining.forEach((movieId, count) -> dailyQuota.put(movieId, (count + daysLeft - 1) / daysLeft));
+
+            PriorityQueue<HallCursor> cursors = new PriorityQueue<>(
+                    Comparator.<HallCursor>comparingInt(cursor -> cursor.nextStart)
+                            .thenComparing(cursor -> cursor.hall.getId()));
+            halls.forEach(hall -> cursors.add(new HallCursor(hall, opening)));
+
+            while (!cursors.isEmpty()) {
+                HallCursor cursor = cursors.poll();
+                Movie movie = pickMovie(movies, dailyQuota, cursor.nextStart, closing);
+                if (movie == null) {
+                    continue;
+                }
+
+                int start = cursor.nextStart;
+                int end = start + movie.getDuration();
+                //Mevcut gosterimlerle arada da temizlik payi kalmali, araligi iki yandan genisletiyoruz
+                Optional<ShowtimeSlot> conflict = showtimeScheduleIndex.findConflict(cursor.hall.getId(), date,
+                        toTime(Math.max(0, start - cleaningBufferMinutes)), toTimeCapped(end + cleaningBufferMinutes), null);
+
+                if (conflict.isPresent()) {
+                    //Mevcut gosterimin arkasina atlayip salonu tekrar siraya koyuyoruz
+                    cursor.nextStart = roundUp(toMinutes(conflict.get().getEndTime()) + cleaningBufferMinutes);
+                } else {
+                    showtimes.add(ShowtimeRequest.builder()
+                            .movieId(movie.getId())
+                            .hallId(cursor.hall.getId())
+                            .date(date)
+                            .startTime(toTime(start))
+                            .endTime(toTime(end))
+                            .build());
+                    dailyQuota.merge(movie.getId(), -1, Integer::sum);
+                    remaining.merge(movie.getId(), -1, Integer::sum);
+                    cursor.nextStart = roundUp(end + cleaningBufferMinutes);
+                }
+
+                if (cursor.nextStart < closing) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        Map<Long, Integer> unscheduled = new LinkedHashMap<>();
+        remaining.forEach((movieId, count) -> {
+            if (count > 0) {
+                unscheduled.put(movieId, count);
+            }
+        });
+
+        return ScheduleGenerationResponse.builder()
+                .showtimes(showtimes)
+                .unscheduledShows(unscheduled)
+                .build();
+    }
+
+    private Movie pickMovie(List<Movie> movies, Map<Long, Integer> dailyQuota, int start, int closing) {
+        Movie best = null;
+        int bestQuota = 0;
+        for (Movie movie : movies) {
+            int quota = dailyQuota.getOrDefault(movie.getId(), 0);
+            if (quota > bestQuota && start + movie.getDuration() <= closing) {
+                best = movie;
+                bestQuota = quota;
+            }
+        }
+        return best;
+    }
+
+    private static int roundUp(int minutes) {
+        return (minutes + SLOT_GRANULARITY_MINUTES - 1) / SLOT_GRANULARITY_MINUTES * SLOT_GRANULARITY_MINUTES;
+    }
+
+    private static int toMinutes(LocalTime time) {
+        return (time.toSecondOfDay() + 59) / 60;
+    }
+
+    private static LocalTime toTime(int minutes) {
+        return LocalTime.of(minutes / 60, minutes % 60);
+    }
+
+    //Gece yarisini gecen bitis gunun sonuna cekiliyor
+    private static LocalTime toTimeCapped(int minutes) {
+        return minutes >= MINUTES_PER_DAY ? LocalTime.MAX : toTime(minutes);
+    }
+}
@@ -0,0 +1,266 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.entity.Showtime;
+import com.Cinetime.payload.business.ShowtimeSlot;
+import com.Cinetime.repo.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of showtime slots per hall and date.
+ * A hall-day is loaded from the DB the first time it is needed and is kept in sync on writes,
+ * so conflict checks no longer need a COUNT query per showtime.
+ * <p>
+ * Slots of a hall-day are kept sorted by start time. Showtimes of a hall do not overlap, so a conflict check
+ * looks at the last slot starting before the end of the new range (and the one before it, when that slot is
+ * the excluded one): O(log n). Days whose legacy data contains overlapping showtimes are marked and scanned.
+ * At most {@link #MAX_CACHED_DAYS} hall-days are kept; beyond that the days furthest in the future are dropped
+ * and loaded again when needed.
+ * <p>
+ * A write that commits while its hall-day is being loaded marks the day, and the loaded snapshot is then
+ * not kept, so the index never caches a day without a committed showtime of this instance. The index is
+ * per instance: showtimes created by another instance are only seen once the day is loaded again. It is
+ * therefore used for previews and fast rejection; inserts re-check their slots against the database
+ * while holding a lock on the hall ({@code ShowtimeService}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShowtimeScheduleIndex {
+
+    static final int MAX_CACHED_DAYS = 20_000;
+    //Sinir asilinca bu kadarina iniliyor; her yeni gunde siralama yapilmasin
+    private static final int CACHED_DAYS_AFTER_EVICTION = MAX_CACHED_DAYS * 9 / 10;
+
+    private final ShowtimeRepository showtimeRepository;
+
+    private final Map<HallDay, DaySchedule> schedules = new ConcurrentHashMap<>();
+    //Gun bazinda son yazmanin sirasi; yukleme sirasinda gelen yazmalari fark etmek icin
+    private final Map<HallDay, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+    //Hangi gunlere dokundugu bilinmeyen yazmalar (film silme) butun gunleri isaretliyor
+    private final AtomicLong lastGlobalWrite = new AtomicLong();
+
+    private record HallDay(Long hallId, LocalDate date) {
+    }
+
+    private static final class DaySchedule {
+        private final NavigableMap<LocalTime, ShowtimeSlot> slots = new ConcurrentSkipListMap<>();
+        //Eski verilerde ust uste binen gosterim varsa tek bakis yetmiyor; isaret kalici
+        private volatile boolean overlapping;
+    }
+
+
+    public boolean hasConflict(Long hallId, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludedShowtimeId) {
+        return findConflict(hallId, date, startTime, endTime, excludedShowtimeId).isPresent();
+    }
+
+    /**
+     * Find the slot overlapping the given range in a hall, ignoring {@code excludedShowtimeId} (used for updates).
+     */
+    public Optional<ShowtimeSlot> findConflict(Long hallId, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludedShowtimeId) {
+        DaySchedule day = getSchedule(hallId, date);
+
+        if (day.overlapping) {
+            for (ShowtimeSlot slot : day.slots.headMap(endTime, false).descendingMap().values()) {
+                if (!Objects.equals(excludedShowtimeId, slot.getShowtimeId()) && slot.overlaps(startTime, endTime)) {
+                    return Optional.of(slot);
+                }
+            }
+            return Optional.empty();
+        }
+
+        //Slotlar ust uste binmiyor: endTime'dan once baslayan son slot cakismiyorsa oncekiler de cakismiyor
+        Map.Entry<LocalTime, ShowtimeSlot> entry = day.slots.lowerEntry(endTime);
+        for (int candidates = 0; candidates < 2 && entry != null; candidates++) {
+            ShowtimeSlot slot = entry.getValue();
+            if (!slot.getEndTime().isAfter(startTime)) {
+                return Optional.empty();
+            }
+            if (!Objects.equals(excludedShowtimeId, slot.getShowtimeId())) {
+                return Optional.of(slot);
+            }
+            entry = day.slots.lowerEntry(entry.getKey());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Load every hall-day in the given range with a single query.
+     * Used by bulk scheduling so that a whole weekly programme is validated without further round trips.
+     */
+    public void warmUp(Collection<Long> hallIds, LocalDate fromDate, LocalDate toDate) {
+        List<Long> missingHallIds = hallIds.stream()
+                .filter(hallId -> fromDate.datesUntil(toDate.plusDays(1))
+                        .anyMatch(date -> !schedules.containsKey(new HallDay(hallId, date))))
+                .distinct()
+                .toList();
+
+        if (missingHallIds.isEmpty()) {
+            return;
+        }
+
+        long loadedAfter = writeSequence.get();
+        Map<HallDay, DaySchedule> loaded = new HashMap<>();
+        for (Long hallId : missingHallIds) {
+            fromDate.datesUntil(toDate.plusDays(1))
+                    .forEach(date -> loaded.put(new HallDay(hallId, date), new DaySchedule()));
+        }
+        for (ShowtimeSlot slot : showtimeRepository.findSlotsByHallIdsAndDateBetween(missingHallIds, fromDate, toDate)) {
+            putSlot(loaded.get(new HallDay(slot.getHallId(), slot.getDate())), slot);
+        }
+
+        evictStaleDays();
+        loaded.forEach((key, day) -> install(key, day, loadedAfter));
+        log.debug("Showtime schedule index warmed up for {} halls between {} and {}", missingHallIds.size(), fromDate, toDate);
+    }
+
+    /**
+     * Record saved showtimes in the index. Inside a transaction the index is only updated after commit,
+     * so a rolled back insert never leaves a phantom slot behind.
+     */
+    public void addAfterCommit(Collection<Showtime> showtimes) {
+        List<ShowtimeSlot> slots = showtimes.stream()
+                .map(ShowtimeScheduleIndex::toSlot)
+                .toList();
+
+        afterCommit(() -> slots.forEach(this::add));
+    }
+
+    public void add(ShowtimeSlot slot) {
+        HallDay key = new HallDay(slot.getHallId(), slot.getDate());
+        //Once isaretleniyor: o sirada yuklenen gun bu yazmayi gormemis olabilir ve saklanmaz
+        lastWrites.merge(key, writeSequence.incrementAndGet(), Math::max);
+        //Yuklenmemis gunu simdi yuklemiyoruz, ilk ihtiyac aninda DB'den zaten guncel haliyle gelecek
+        DaySchedule day = schedules.get(key);
+        if (day != null) {
+            putSlot(day, slot);
+        }
+    }
+
+    /**
+     * Drop every loaded slot of a movie once the current transaction commits (immediately without one),
+     * e.g. after its showtimes were removed by a cascade delete. A rolled back delete keeps the slots.
+     */
+    public void evictMovieAfterCommit(Long movieId) {
+        afterCommit(() -> evictMovie(movieId));
+    }
+
+    public void evictMovie(Long movieId) {
+        //Hangi gunlerin yuklenmekte oldugu bilinmiyor; o sirada okunan butun gunler saklanmiyor
+        lastGlobalWrite.accumulateAndGet(writeSequence.incrementAndGet(), Math::max);
+        schedules.values().forEach(day -> day.slots.values()
+                .removeIf(slot -> Objects.equals(slot.getMovieId(), movieId)));
+    }
+
+    private DaySchedule getSchedule(Long hallId, LocalDate date) {
+        HallDay key = new HallDay(hallId, date);
+        DaySchedule loaded = null;
+        //Yukleme sirasinda ayni gune yazma geldiyse bir kez daha yukleniyor, yeni sorgu o kaydi goruyor
+        for (int attempt = 0; attempt < 2; attempt++) {
+            DaySchedule day = schedules.get(key);
+            if (day != null) {
+                return day;
+            }
+
+            //DB cagrisi computeIfAbsent icinde yapilmiyor, map'in kilidini tutmamak icin
+            long loadedAfter = writeSequence.get();
+            loaded = new DaySchedule();
+            for (ShowtimeSlot slot : showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(hallId), date, date)) {
+                putSlot(loaded, slot);
+            }
+
+            evictStaleDays();
+            if (install(key, loaded, loadedAfter)) {
+                return schedules.getOrDefault(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Cache a hall-day loaded from the DB, unless a write was recorded for it after {@code loadedAfter}:
+     * that write may have committed after the query read the day.
+     *
+     * @return false if the snapshot was not kept because of such a write
+     */
+    private boolean install(HallDay key, DaySchedule loaded, long loadedAfter) {
+        if (schedules.putIfAbsent(key, loaded) != null) {
+            return true;
+        }
+        //Yazma putIfAbsent'ten once geldiyse gunu bulamamis olabilir; ekledikten sonra tekrar bakiyoruz
+        if (Math.max(lastWrites.getOrDefault(key, 0L), lastGlobalWrite.get()) > loadedAfter) {
+            schedules.remove(key, loaded);
+            return false;
+        }
+        return true;
+    }
+
+    //Eski verilerde ayni baslangic saatli cakisan gosterimler olabilir, daha gec biteni tutuyoruz
+    private static void putSlot(DaySchedule day, ShowtimeSlot slot) {
+        LocalTime start = slot.getStartTime();
+        if (day.slots.containsKey(start)) {
+            day.overlapping = true;
+        }
+        day.slots.merge(start, slot, (current, candidate) ->
+                candidate.getEndTime().isAfter(current.getEndTime()) ? candidate : current);
+
+        Map.Entry<LocalTime, ShowtimeSlot> lower = day.slots.lowerEntry(start);
+        Map.Entry<LocalTime, ShowtimeSlot> higher = day.slots.higherEntry(start);
+        if ((lower != null && lower.getValue().getEndTime().isAfter(start))
+                || (higher != null && slot.getEndTime().isAfter(higher.getKey()))) {
+            day.overlapping = true;
+        }
+    }
+
+    private void evictStaleDays() {
+        LocalDate today = LocalDate.now();
+        schedules.keySet().removeIf(key -> key.date().isBefore(today));
+        lastWrites.keySet().removeIf(key -> key.date().isBefore(today));
+
+        //Ileri tarihli gunler de birikmesin; en uzaktakiler atiliyor, gerekince yeniden yukleniyor
+        int excess = schedules.size() - CACHED_DAYS_AFTER_EVICTION;
+        if (schedules.size() > MAX_CACHED_DAYS) {
+            schedules.keySet().stream()
+                    .sorted(Comparator.comparing(HallDay::date).reversed())
+                    .limit(excess)
+                    .toList()
+                    .forEach(schedules::remove);
+            log.debug("Showtime schedule index dropped {} hall-days furthest in the future", excess);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static ShowtimeSlot toSlot(Showtime showtime) {
+        return ShowtimeSlot.builder()
+                .showtimeId(showtime.getId())
+                .hallId(showtime.getHall().getId())
+                .movieId(showtime.getMovie().getId())
+                .date(showtime.getDate())
+                .startTime(showtime.getStartTime())
+                .endTime(showtime.getEndTime())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.Cinetime.helpers;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the SQL work done per route ({@code "GET /api/cinemas/{id}"}), fed by the request filter
+ * in {@link com.Cinetime.config.SqlStatementConfig}. Routes are handler patterns, never raw URIs,
+ * so the number of entries stays bounded.
+ */
+@Component
+public class SqlStatementMetrics {
+
+    private final Map<String, RouteTotals> routes = new ConcurrentHashMap<>();
+
+    private static final class RouteTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder suspectedNPlusOne = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+    }
+
+    /**
+     * Totals of one route at the time of the call.
+     */
+    public record RouteSnapshot(long requests,
+                                long statements,
+                                long rows,
+                                long dbTimeNanos,
+                                long suspectedNPlusOne,
+                                long maxStatements) {
+    }
+
+
+    public void record(String route, SqlStatementStats stats, boolean suspectedNPlusOne) {
+        RouteTotals totals = routes.computeIfAbsent(route, key -> new RouteTotals());
+        totals.requests.increment();
+        totals.statements.add(stats.getStatements());
+        totals.rows.add(stats.getRows());
+        totals.nanos.add(stats.getDbTimeNanos());
+        if (suspectedNPlusOne) {
+            totals.suspectedNPlusOne.increment();
+        }
+        totals.maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+    }
+
+    public Map<String, RouteSnapshot> getSnapshot() {
+        Map<String, RouteSnapshot> snapshot = new TreeMap<>();
+        routes.forEach((route, totals) -> snapshot.put(route, new RouteSnapshot(
+                totals.requests.sum(),
+                totals.statements.sum(),
+                totals.rows.sum(),
+                totals.nanos.sum(),
+                totals.suspectedNPlusOne.sum(),
+                totals.maxStatements.get())));
+        return snapshot;
+    }
+}
@@ -0,0 +1,104 @@
+package com.Cinetime.helpers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements, fetched or updated rows and database time of the current thread between {@link #start()}
+ * and {@link #stop()}. Filled by the counting data source in {@link com.Cinetime.config.SqlStatementConfig}.
+ * <p>
+ * The same SQL text executed several times in one unit of work (a request or a test call) is reported by
+ * {@link #getRepeatedStatements(int)} as a likely N+1.
+ */
+public class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    //SQL metni -> calistirilma sayisi, ilk calistirilma sirasiyla
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+
+
+    /**
+     * Start a new recording on the current thread, replacing the previous one.
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the recording of the current thread, or null when nothing is recorded
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public void recordExecution(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public void recordRows(long count) {
+        if (count > 0) {
+            rows += count;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeNanos() {
+        return nanos;
+    }
+
+    public long getDbTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public Map<String, Integer> getExecutions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    /**
+     * @return the statements executed at least {@code threshold} times, with their execution counts
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append(statements).append(" statements, ")
+                .append(rows).append(" rows, ")
+                .append(getDbTimeMillis()).append(" ms");
+        executions.forEach((sql, count) -> builder.append(System.lineSeparator())
+                .append("  ").append(count).append(" x ").append(sql));
+        return builder.toString();
+    }
+}
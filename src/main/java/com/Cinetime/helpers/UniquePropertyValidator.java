@@ -4,24 +4,55 @@ import com.Cinetime.repo.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import static com.Cinetime.helpers.UserIdentityFilter.Property.EMAIL;
+import static com.Cinetime.helpers.UserIdentityFilter.Property.PHONE_NUMBER;
+
 @Component
 @RequiredArgsConstructor
 public class UniquePropertyValidator {
 
     private final UserRepository userRepository;
+    private final UserIdentityFilter userIdentityFilter;
 
 
     //Property checker to be used for creating user only.
     public boolean uniquePropertyChecker(String email, String phoneNumber) {
-        return !userRepository.existsByEmail(email) && !userRepository.existsByPhoneNumber(phoneNumber);
+        return !emailExists(email) && !phoneNumberExists(phoneNumber);
     }
 
     public boolean isEmailUniqueForUpdate(String email, Long userId) {
-        return !userRepository.existsByEmailAndIdNot(email, userId);
+        if (!userIdentityFilter.mightExist(EMAIL, email)) {
+            return true;
+        }
+        boolean exists = userRepository.existsByEmailAndIdNot(email, userId);
+        userIdentityFilter.recordLookup(EMAIL, exists);
+        return !exists;
     }
 
     public boolean isPhoneNumberUniqueForUpdate(String phoneNumber, Long userId) {
-        return !userRepository.existsByPhoneNumberAndIdNot(phoneNumber, userId);
+        if (!userIdentityFilter.mightExist(PHONE_NUMBER, phoneNumber)) {
+            return true;
+        }
+        boolean exists = userRepository.existsByPhoneNumberAndIdNot(phoneNumber, userId);
+        userIdentityFilter.recordLookup(PHONE_NUMBER, exists);
+        return !exists;
+    }
+
+    private boolean emailExists(String email) {
+        if (!userIdentityFilter.mightExist(EMAIL, email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        userIdentityFilter.recordLookup(EMAIL, exists);
+        return exists;
     }
-}
 
+    private boolean phoneNumberExists(String phoneNumber) {
+        if (!userIdentityFilter.mightExist(PHONE_NUMBER, phoneNumber)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByPhoneNumber(phoneNumber);
+        userIdentityFilter.recordLookup(PHONE_NUMBER, exists);
+        return exists;
+    }
+}
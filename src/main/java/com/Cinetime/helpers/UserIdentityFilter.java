@@ -0,0 +1,215 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.repo.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Counting Bloom filters of the emails and phone numbers in {@code app_user}, used by
+ * {@link UniquePropertyValidator} to answer "not taken" without a query. Only possible matches go to the database.
+ * <p>
+ * The filters are built at startup and kept up to date by {@link com.Cinetime.service.UserService} after each
+ * commit. Values replaced by an update stay in the filter until the next restart, which costs a query but
+ * never a wrong answer. Users written outside the application (or by another instance) are not seen until
+ * a restart; a duplicate let through that way is rejected by the unique indexes on {@code app_user} when it is
+ * inserted, and the request gets a 409.
+ */
+@Slf4j
+@Component
+public class UserIdentityFilter {
+
+    public enum Property {
+        EMAIL, PHONE_NUMBER
+    }
+
+    static final int WARM_UP_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long minExpectedUsers;
+    private final double falsePositiveRate;
+
+    private record Filters(CountingBloomFilter emails, CountingBloomFilter phoneNumbers) {
+
+        CountingBloomFilter of(Property property) {
+            return property == Property.EMAIL ? emails : phoneNumbers;
+        }
+    }
+
+    //Hazir olana kadar null, tum kontroller veritabanina gidiyor
+    private volatile Filters active;
+    //Baslangicta doldurulan filtreler; o sirada commit edilen eklemeler buraya da yaziliyor
+    private volatile Filters building;
+
+    private final LongAdder[] skipped = {new LongAdder(), new LongAdder()};
+    private final LongAdder[] confirmed = {new LongAdder(), new LongAdder()};
+    private final LongAdder[] falsePositives = {new LongAdder(), new LongAdder()};
+
+    public UserIdentityFilter(UserRepository userRepository,
+                              @Value("${app.unique-filter.enabled:true}") boolean enabled,
+                              @Value("${app.unique-filter.expected-users:100000}") long minExpectedUsers,
+                              @Value("${app.unique-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.minExpectedUsers = minExpectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long users = userRepository.count();
+        //Buyume payi; beklenenden fazla kayitta yanlis pozitif orani artiyor ama sonuc yanlis olmuyor
+        long expected = Math.max(minExpectedUsers, users + users / 4);
+        Filters filters = new Filters(new CountingBloomFilter(expected, falsePositiveRate),
+                new CountingBloomFilter(expected, falsePositiveRate));
+        building = filters;
+
+        long afterId = 0;
+        long loaded = 0;
+        List<Object[]> page;
+        do {
+            page = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, WARM_UP_PAGE_SIZE));
+            for (Object[] row : page) {
+                add(filters, (String) row[1], (String) row[2]);
+                afterId = (Long) row[0];
+            }
+            loaded += page.size();
+        } while (page.size() == WARM_UP_PAGE_SIZE);
+
+        active = filters;
+        building = null;
+        log.info("User identity filters built from {} users ({} counters, {} hashes each)",
+                loaded, filters.emails().getCounters(), filters.emails().getHashes());
+    }
+
+    /**
+     * @return false if no user has the value, true if one might (the caller then asks the database)
+     */
+    public boolean mightExist(Property property, String value) {
+        Filters filters = active;
+        if (filters == null || value == null) {
+            return true;
+        }
+        if (!filters.of(property).mightContain(normalize(property, value))) {
+            skipped[property.ordinal()].increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record the database answer for a value the filter let through.
+     */
+    public void recordLookup(Property property, boolean exists) {
+        if (active == null) {
+            return;
+        }
+        (exists ? confirmed : falsePositives)[property.ordinal()].increment();
+    }
+
+    /**
+     * Add a user's email and phone number once the current transaction commits.
+     */
+    public void addAfterCommit(String email, String phoneNumber) {
+        afterCommit(() -> apply(filters -> add(filters, email, phoneNumber)));
+    }
+
+    /**
+     * Remove a deleted user's email and phone number once the current transaction commits.
+     */
+    public void removeAfterCommit(String email, String phoneNumber) {
+        afterCommit(() -> {
+            //Doldurma sirasinda silinen kullanici taranmamis olabilir; cikarmak baska degerleri bozabilir
+            if (building == null && active != null) {
+                remove(active, email, phoneNumber);
+            }
+        });
+    }
+
+    public void scrape(StringBuilder out) {
+        if (active == null) {
+            return;
+        }
+        String lookups = "cinetime_unique_filter_lookups_total";
+        MetricsRegistry.appendHeader(out, lookups,
+                "Uniqueness checks by filter result: skipped (no query), confirmed or false_positive", "counter");
+        for (Property property : Property.values()) {
+            int i = property.ordinal();
+            String name = property.name().toLowerCase(Locale.ROOT);
+            MetricsRegistry.appendSample(out, lookups, MetricsRegistry.labels("property", name, "result", "skipped"), skipped[i].sum());
+            MetricsRegistry.appendSample(out, lookups, MetricsRegistry.labels("property", name, "result", "confirmed"), confirmed[i].sum());
+            MetricsRegistry.appendSample(out, lookups, MetricsRegistry.labels("property", name, "result", "false_positive"), falsePositives[i].sum());
+        }
+
+        String ratio = "cinetime_unique_filter_false_positive_ratio";
+        MetricsRegistry.appendHeader(out, ratio, "Share of values not in use that the filter still sent to the database", "gauge");
+        for (Property property : Property.values()) {
+            int i = property.ordinal();
+            long negatives = skipped[i].sum() + falsePositives[i].sum();
+            MetricsRegistry.appendSample(out, ratio, MetricsRegistry.labels("property", property.name().toLowerCase(Locale.ROOT)),
+                    negatives == 0 ? 0 : (double) falsePositives[i].sum() / negatives);
+        }
+    }
+
+    //Esit degerler ayni anahtara dusuyor; daha genis eslesme sadece fazladan sorgu demek
+    static String normalize(Property property, String value) {
+        return property == Property.EMAIL ? UserSearchKeys.email(value) : UserSearchKeys.phoneNumber(value);
+    }
+
+    //Once building okunuyor: null ise ya doldurma baslamadan commit edildi (tarama goruyor) ya da active hazir
+    private void apply(Consumer<Filters> change) {
+        Filters pending = building;
+        Filters current = active;
+        if (pending != null) {
+            change.accept(pending);
+        }
+        if (current != null && current != pending) {
+            change.accept(current);
+        }
+    }
+
+    private static void add(Filters filters, String email, String phoneNumber) {
+        if (email != null) {
+            filters.emails().add(normalize(Property.EMAIL, email));
+        }
+        if (phoneNumber != null) {
+            filters.phoneNumbers().add(normalize(Property.PHONE_NUMBER, phoneNumber));
+        }
+    }
+
+    private static void remove(Filters filters, String email, String phoneNumber) {
+        if (email != null) {
+            filters.emails().remove(normalize(Property.EMAIL, email));
+        }
+        if (phoneNumber != null) {
+            filters.phoneNumbers().remove(normalize(Property.PHONE_NUMBER, phoneNumber));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
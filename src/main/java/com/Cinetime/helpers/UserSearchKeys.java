@@ -0,0 +1,83 @@
+package com.Cinetime.helpers;
+
+import java.util.Locale;
+
+/**
+ * Normalised forms of the user fields the admin search matches on. {@link com.Cinetime.entity.User} stores
+ * them in its {@code search_*} columns and the search normalises the query the same way, so a prefix match
+ * on an indexed column replaces case-insensitive substring scans.
+ */
+public final class UserSearchKeys {
+
+    public enum Kind {
+        NAME, EMAIL, PHONE_NUMBER
+    }
+
+    //Telefon aramasi icin en az bu kadar rakam gerekiyor; daha kisa sayilar isim/e-posta gibi aranir
+    static final int MIN_PHONE_DIGITS = 3;
+
+    private UserSearchKeys() {
+    }
+
+    public static String name(String firstname, String lastname) {
+        return lower(firstname) + " " + lower(lastname);
+    }
+
+    public static String lastName(String lastname) {
+        return lower(lastname);
+    }
+
+    public static String email(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String phoneNumber(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Which key a search query is matched against: phone numbers by their digits ("(555) 12", "55512"),
+     * anything with an {@code @} by email, everything else by first name, full name or last name.
+     */
+    public static Kind kindOf(String query) {
+        if (query.indexOf('@') >= 0) {
+            return Kind.EMAIL;
+        }
+        int digits = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c != '(' && c != ')' && c != '-' && c != '+' && c != ' ') {
+                return Kind.NAME;
+            }
+        }
+        return digits >= MIN_PHONE_DIGITS ? Kind.PHONE_NUMBER : Kind.NAME;
+    }
+
+    /**
+     * The query in the form of the key it is matched against.
+     */
+    public static String normalize(Kind kind, String query) {
+        return switch (kind) {
+            case EMAIL -> email(query);
+            case PHONE_NUMBER -> phoneNumber(query);
+            //Bosluklar tek bosluga indiriliyor, "john  doe" de tam ada uyuyor
+            case NAME -> query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
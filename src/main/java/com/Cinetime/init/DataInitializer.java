@@ -1,8 +1,10 @@
 package com.Cinetime.init;
 
 import com.Cinetime.entity.*;
+import com.Cinetime.enums.CatalogAggregate;
 import com.Cinetime.enums.Gender;
 import com.Cinetime.enums.RoleName;
+import com.Cinetime.helpers.CatalogVersionTracker;
 import com.Cinetime.repo.*;
 import com.Cinetime.service.RoleService;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +35,7 @@ public class DataInitializer implements CommandLineRunner {
     private final PasswordEncoder passwordEncoder;
     private final RoleService roleService;
     private final ShowtimeRepository showtimeRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
     @Value("${Admin.Email}")
     private String adminEmail;
     @Value("${Admin.Password}")
@@ -54,6 +57,8 @@ public class DataInitializer implements CommandLineRunner {
         // Initialize only if data doesn't exist
         if (cityRepository.count() == 0 || cinemaRepository.count() == 0 || hallRepository.count() == 0) {
             initializeData();
+            //Katalog onbellekleri ve indeksleri commit sonrasi yeniden kurulsun
+            catalogVersionTracker.bumpAfterCommit(CatalogAggregate.values());
         } else {
             logger.info("Database already contains data. Skipping initialization.");
         }
@@ -111,7 +116,8 @@ public class DataInitializer implements CommandLineRunner {
                 cities.get("Istanbul"),
                 "Caferağa Mah. Moda Cad. No:123",
                 "(212) 555-1234",
-                "kadikoy@cinetime.com"
+                "kadikoy@cinetime.com",
+                40.9903, 29.0270
         );
 
         Cinema besiktasGold = createCinemaIfNotExists(
@@ -121,7 +127,8 @@ public class DataInitializer implements CommandLineRunner {
                 cities.get("Istanbul"),
                 "Sinanpaşa Mah. Ortabahçe Cad. No:456",
                 "(212) 555-5678",
-                "besiktas@cinetime.com"
+                "besiktas@cinetime.com",
+                41.0422, 29.0083
         );
 
         Cinema ankaraPremium = createCinemaIfNotExists(
@@ -131,7 +138,8 @@ public class DataInitializer implements CommandLineRunner {
                 cities.get("Ankara"),
                 "Kızılay Mah. Atatürk Bulvarı No:789",
                 "(312) 555-9012",
-                "ankara@cinetime.com"
+                "ankara@cinetime.com",
+                39.9208, 32.8541
         );
 
         // Step 5: Create halls
@@ -304,8 +312,18 @@ public class DataInitializer implements CommandLineRunner {
                 });
     }
 
-    private Cinema createCinemaIfNotExists(String name, String slug, District district, City city, String address, String phone, String email) {
+    private Cinema createCinemaIfNotExists(String name, String slug, District district, City city, String address, String phone, String email,
+                                           Double latitude, Double longitude) {
         return cinemaRepository.findBySlug(slug)
+                .map(existing -> {
+                    //Konum kolonlari sonradan eklendi, eski kayitlari dolduruyoruz
+                    if (existing.getLatitude() == null || existing.getLongitude() == null) {
+                        existing.setLatitude(latitude);
+                        existing.setLongitude(longitude);
+                        return cinemaRepository.save(existing);
+                    }
+                    return existing;
+                })
                 .orElseGet(() -> {
                     Cinema cinema = new Cinema();
                     cinema.setName(name);
@@ -315,6 +333,8 @@ public class DataInitializer implements CommandLineRunner {
                     cinema.setAddress(address);
                     cinema.setPhone(phone);
                     cinema.setEmail(email);
+                    cinema.setLatitude(latitude);
+                    cinema.setLongitude(longitude);
                     cinema.setCreatedAt(LocalDateTime.now());
                     cinema.setUpdatedAt(LocalDateTime.now());
                     return cinemaRepository.save(cinema);
@@ -0,0 +1,562 @@
+package com.Cinetime.init;
+
+import com.Cinetime.entity.Hall;
+import com.Cinetime.enums.Gender;
+import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.PaymentStatus;
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.enums.TicketStatus;
+import com.Cinetime.helpers.TicketPriceHelper;
+import com.Cinetime.helpers.UserSearchKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a large synthetic dataset (geo, cinemas, halls, movies, users, showtimes, payments and tickets)
+ * for scale and benchmark runs, e.g.
+ * {@code java -jar cinetime.jar --spring.profiles.active=docker,synthetic-data --app.synthetic-data.tickets=1000000}.
+ * <p>
+ * Rows are streamed through batched JDBC inserts with explicit ids and committed per batch, so memory use does
+ * not grow with the dataset. Every row is derived from the seed and its own index, so the same settings always
+ * load the same data. The run is skipped when the synthetic rows are already present.
+ * <p>
+ * The first synthetic cinema is the completion marker: it is inserted under {@value #PENDING_MARKER_SLUG} and
+ * renamed to {@value #MARKER_SLUG} in the last commit, so a failed run is detected instead of being taken as loaded.
+ */
+@Component
+@Profile("synthetic-data")
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    static final String MARKER_SLUG = "synthetic-cinema-0";
+    static final String PENDING_MARKER_SLUG = "synthetic-cinema-0-loading";
+
+    private static final int SEATS_PER_ROW = 10;
+    private static final int[] HALL_CAPACITIES = {80, 100, 120, 150, 160, 180, 200};
+    private static final String[] SPECIAL_HALLS = {"IMAX", "4DX", "GOLD CLASS", "SCREENX", "PREMIUM"};
+    //Seanslar arasi 3 saat 15 dakika, en uzun film (180 dk) sonraki seansa tasmiyor
+    private static final LocalTime[] SLOTS = {LocalTime.of(10, 0), LocalTime.of(13, 15), LocalTime.of(16, 30), LocalTime.of(19, 45)};
+    private static final String[] FORMATS = {"2D", "3D", "IMAX", "4DX"};
+    private static final String[] GENRES = {"Action", "Adventure", "Animation", "Comedy", "Crime", "Drama", "Fantasy",
+            "Horror", "Romance", "Sci-Fi", "Thriller", "Documentary"};
+    private static final String[] FIRST_NAMES = {"Ahmet", "Ayse", "Mehmet", "Fatma", "Mustafa", "Zeynep", "Ali", "Elif",
+            "Hasan", "Merve", "Huseyin", "Esra", "Ibrahim", "Selin", "Emre", "Deniz"};
+    private static final String[] LAST_NAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Yildirim",
+            "Ozturk", "Aydin", "Ozdemir", "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara"};
+
+    //Her tablo icin ayri rastgele sayi akisi
+    private static final int CINEMA = 1;
+    private static final int HALL = 2;
+    private static final int MOVIE = 3;
+    private static final int USER = 4;
+    private static final int SHOWTIME = 5;
+    private static final int TICKET = 6;
+    private static final String[] TABLES = {"country", "city", "district", "cinema", "hall", "movie", "role", "app_user",
+            "showtime", "payment", "ticket"};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final SyntheticDataProperties properties;
+
+    private final TicketPriceHelper ticketPriceHelper = new TicketPriceHelper();
+
+
+    @Override
+    public void run(String... args) throws SQLException {
+        generate();
+    }
+
+    public void generate() throws SQLException {
+        validate();
+        try (Connection connection = dataSource.getConnection()) {
+            if (cinemaExists(connection, MARKER_SLUG)) {
+                log.info("Synthetic dataset is already loaded, skipping");
+                return;
+            }
+            if (cinemaExists(connection, PENDING_MARKER_SLUG)) {
+                throw new IllegalStateException("A previous synthetic data load did not complete; "
+                        + "remove its rows (cinema slug " + PENDING_MARKER_SLUG + ") before loading again");
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long start = System.currentTimeMillis();
+                new Load(connection).run();
+                log.info("Synthetic dataset loaded in {} s", (System.currentTimeMillis() - start) / 1000);
+            } catch (SQLException | RuntimeException e) {
+                //Onceki batch'ler commit edildi; yarim kalan veri elle temizlenmeli
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void validate() {
+        if (properties.getCities() < 1 || properties.getDistrictsPerCity() < 1 || properties.getCinemas() < 1
+                || properties.getHalls() < 1 || properties.getMovies() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Synthetic data needs at least one city, district, cinema, hall and movie");
+        }
+        if (properties.getTickets() > 0 && (properties.getUsers() < 1 || properties.getShowtimes() < 1)) {
+            throw new IllegalArgumentException("Synthetic tickets need at least one user and one showtime");
+        }
+        if (properties.getAnchorDate() == null) {
+            throw new IllegalArgumentException("Synthetic data needs an anchor date close to the run date "
+                    + "(app.synthetic-data.anchor-date / SYNTHETIC_ANCHOR_DATE)");
+        }
+    }
+
+    private static boolean cinemaExists(Connection connection, String slug) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select count(*) from cinema where slug = ?")) {
+            statement.setString(1, slug);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1) > 0;
+            }
+        }
+    }
+
+    //Satir kendi indeksinden turetilen tohumla uretiliyor; batch boyutu ve yukleme sirasi sonucu degistirmiyor
+    private SplittableRandom random(int table, long index) {
+        return new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + table * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private record ShowtimeRow(long id, int hall, int movie, LocalDate date, LocalTime startTime, double price) {
+    }
+
+    /**
+     * State of one load: connection, id offsets of the tables and the hall and movie attributes
+     * the showtimes and tickets are derived from.
+     */
+    private final class Load {
+
+        private final Connection connection;
+        private final boolean postgres;
+        private final LocalDate anchor;
+        private final LocalDateTime createdAt;
+        private final List<BatchInsert> inserts = new ArrayList<>();
+
+        private long countryId;
+        private long cityBase;
+        private long districtBase;
+        private long cinemaBase;
+        private long hallBase;
+        private long movieBase;
+        private long userBase;
+        private long showtimeBase;
+        private long paymentId;
+        private long ticketId;
+
+        private final int[] hallCapacity;
+        private final boolean[] hallSpecial;
+        private final int[] movieDuration;
+        private final LocalDate firstShowtimeDate;
+
+        private final Hall specialHall = Hall.builder().isSpecial(true).build();
+        private final Hall standardHall = Hall.builder().isSpecial(false).build();
+
+        Load(Connection connection) throws SQLException {
+            this.connection = connection;
+            this.postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            this.anchor = properties.getAnchorDate();
+            this.createdAt = anchor.minusYears(1).atStartOfDay();
+            this.hallCapacity = new int[properties.getHalls()];
+            this.hallSpecial = new boolean[properties.getHalls()];
+            this.movieDuration = new int[properties.getMovies()];
+
+            long slotsPerDay = (long) properties.getHalls() * SLOTS.length;
+            long days = (properties.getShowtimes() + slotsPerDay - 1) / slotsPerDay;
+            this.firstShowtimeDate = anchor.minusDays(days / 2);
+        }
+
+        void run() throws SQLException {
+            countryId = maxId("country") + 1;
+            cityBase = maxId("city");
+            districtBase = maxId("district");
+            cinemaBase = maxId("cinema");
+            hallBase = maxId("hall");
+            movieBase = maxId("movie");
+            userBase = maxId("app_user");
+            showtimeBase = maxId("showtime");
+            paymentId = maxId("payment");
+            ticketId = maxId("ticket");
+
+            loadGeo();
+            loadCinemas();
+            loadHalls();
+            loadMovies();
+            loadUsers();
+            loadShowtimes();
+            loadTickets();
+
+            for (BatchInsert insert : inserts) {
+                insert.close();
+            }
+            resetIdentities();
+            completeMarker();
+        }
+
+        private void loadGeo() throws SQLException {
+            BatchInsert countries = insert("country", "id, name");
+            countries.add(countryId, "Synthetic Country");
+            countries.flush();
+
+            BatchInsert cities = insert("city", "id, name, country_id");
+            for (int i = 0; i < properties.getCities(); i++) {
+                cities.add(cityBase + 1 + i, "Synthetic City " + (i + 1), countryId);
+            }
+
+            BatchInsert districts = insert("district", "id, name, city_id");
+            for (int i = 0; i < properties.getCities() * properties.getDistrictsPerCity(); i++) {
+                int city = i / properties.getDistrictsPerCity();
+                districts.add(districtBase + 1 + i, "District " + (city + 1) + "-" + (i % properties.getDistrictsPerCity() + 1),
+                        cityBase + 1 + city);
+            }
+            cities.flush();
+            districts.flush();
+        }
+
+        private void loadCinemas() throws SQLException {
+            BatchInsert cinemas = insert("cinema",
+                    "id, name, slug, address, phone, email, latitude, longitude, city_id, district_id, created_at, updated_at");
+            for (int i = 0; i < properties.getCinemas(); i++) {
+                SplittableRandom random = random(CINEMA, i);
+                int city = i % properties.getCities();
+                int district = city * properties.getDistrictsPerCity() + random.nextInt(properties.getDistrictsPerCity());
+                cinemas.add(cinemaBase + 1 + i,
+                        "CineTime Synthetic " + (i + 1),
+                        i == 0 ? PENDING_MARKER_SLUG : "synthetic-cinema-" + i,
+                        "Synthetic Cad. No:" + (1 + random.nextInt(500)),
+                        String.format("(2%02d) 555-%04d", random.nextInt(100), i % 10_000),
+                        "cinema" + i + "@synthetic.cinetime",
+                        36 + random.nextDouble() * 6,
+                        26 + random.nextDouble() * 19,
+                        cityBase + 1 + city,
+                        districtBase + 1 + district,
+                        createdAt, createdAt);
+            }
+            cinemas.flush();
+        }
+
+        private void loadHalls() throws SQLException {
+            BatchInsert halls = insert("hall", "id, name, seat_capacity, is_special, cinema_id, created_at, updated_at");
+            for (int i = 0; i < properties.getHalls(); i++) {
+                SplittableRandom random = random(HALL, i);
+                hallCapacity[i] = HALL_CAPACITIES[random.nextInt(HALL_CAPACITIES.length)];
+                hallSpecial[i] = random.nextInt(4) == 0;
+                String name = hallSpecial[i] ? SPECIAL_HALLS[random.nextInt(SPECIAL_HALLS.length)] + " " + (i / properties.getCinemas() + 1)
+                        : "Standard " + (i / properties.getCinemas() + 1);
+                halls.add(hallBase + 1 + i, name, hallCapacity[i], hallSpecial[i],
+                        cinemaBase + 1 + i % properties.getCinemas(), createdAt, createdAt);
+            }
+            halls.flush();
+        }
+
+        private void loadMovies() throws SQLException {
+            BatchInsert movies = insert("movie", "id, title, slug, summary, release_date, duration, rating, director, "
+                    + "cast_list, formats, genre, status, created_at, updated_at", 8, 9, 10);
+            for (int i = 0; i < properties.getMovies(); i++) {
+                SplittableRandom random = random(MOVIE, i);
+                boolean comingSoon = i % 10 == 0;
+                movieDuration[i] = 80 + random.nextInt(101);
+                movies.add(movieBase + 1 + i,
+                        "Synthetic Movie " + (i + 1),
+                        "synthetic-movie-" + i,
+                        "Synthetic movie number " + (i + 1) + " used for scale tests.",
+                        comingSoon ? anchor.plusDays(1 + random.nextInt(90)) : anchor.minusDays(random.nextInt(730)),
+                        movieDuration[i],
+                        (30 + random.nextInt(66)) / 10.0,
+                        "Director " + (1 + random.nextInt(2_000)),
+                        jsonArray(random, "Actor ", 50_000, 4),
+                        pick(random, FORMATS, 1 + random.nextInt(3)),
+                        pick(random, GENRES, 1 + random.nextInt(3)),
+                        (comingSoon ? MovieStatus.COMING_SOON : MovieStatus.IN_THEATERS).getValue(),
+                        createdAt, createdAt);
+            }
+            movies.flush();
+        }
+
+        private void loadUsers() throws SQLException {
+            long memberRoleId = memberRoleId();
+            String passwordHash = passwordEncoder.encode(properties.getUserPassword());
+
+            BatchInsert users = insert("app_user", "id, firstname, lastname, email, phone_number, password, gender, "
+                    + "date_of_birth, built_in, role_id, created_at, updated_at, "
+                    + "search_name, search_last_name, search_email, search_phone");
+            for (int i = 0; i < properties.getUsers(); i++) {
+                SplittableRandom random = random(USER, i);
+                String firstname = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastname = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String email = "user" + i + "@synthetic.cinetime";
+                //7xx alan kodlari gercek/seed kullanicilarla cakismiyor
+                String phoneNumber = String.format("(%03d) %03d-%04d", 700 + i / 10_000_000, i / 10_000 % 1_000, i % 10_000);
+                users.add(userBase + 1 + i,
+                        firstname,
+                        lastname,
+                        email,
+                        phoneNumber,
+                        passwordHash,
+                        (random.nextBoolean() ? Gender.MALE : Gender.FEMALE).name(),
+                        anchor.minusYears(18 + random.nextInt(50)).minusDays(random.nextInt(365)),
+                        false,
+                        memberRoleId,
+                        createdAt, createdAt,
+                        //Entity callback'leri calismadigi icin arama anahtarlari burada hesaplaniyor
+                        UserSearchKeys.name(firstname, lastname),
+                        UserSearchKeys.lastName(lastname),
+                        UserSearchKeys.email(email),
+                        UserSearchKeys.phoneNumber(phoneNumber));
+            }
+            users.flush();
+        }
+
+        private void loadShowtimes() throws SQLException {
+            BatchInsert showtimes = insert("showtime", "id, date, start_time, end_time, starts_at, cinema_id, hall_id, "
+                    + "movie_id, price, created_at, updated_at");
+            for (long i = 0; i < properties.getShowtimes(); i++) {
+                ShowtimeRow showtime = showtime(i);
+                showtimes.add(showtime.id(),
+                        showtime.date(),
+                        showtime.startTime(),
+                        showtime.startTime().plusMinutes(movieDuration[showtime.movie()]),
+                        showtime.date().atTime(showtime.startTime()),
+                        cinemaBase + 1 + showtime.hall() % properties.getCinemas(),
+                        hallBase + 1 + showtime.hall(),
+                        movieBase + 1 + showtime.movie(),
+                        showtime.price(),
+                        createdAt, createdAt);
+            }
+            showtimes.flush();
+        }
+
+        //Her salon gunde SLOTS kadar seans; film secimi populer filmlere agirlikli
+        private ShowtimeRow showtime(long index) {
+            int hall = (int) (index % properties.getHalls());
+            long slot = index / properties.getHalls();
+            LocalDate date = firstShowtimeDate.plusDays(slot / SLOTS.length);
+            LocalTime startTime = SLOTS[(int) (slot % SLOTS.length)];
+
+            SplittableRandom random = random(SHOWTIME, index);
+            double popularity = random.nextDouble();
+            int movie = (int) (properties.getMovies() * popularity * popularity);
+            double price = ticketPriceHelper.calculateTicketPrice(hallSpecial[hall] ? specialHall : standardHall, null,
+                    startTime, null, date);
+            return new ShowtimeRow(showtimeBase + 1 + index, hall, movie, date, startTime, price);
+        }
+
+        //Biletler seanslara esit dagitiliyor; bir seanstaki koltuklar rastgele bir koltuktan itibaren ardisik ve tekil
+        private void loadTickets() throws SQLException {
+            BatchInsert payments = insert("payment", "id, amount, status, user_id");
+            BatchInsert tickets = insert("ticket", "id, seat_letter, seat_number, price, status, showtime_id, movie_id, "
+                    + "hall_id, user_id, payment_id, created_at, updated_at");
+            tickets.after(payments);
+
+            long perShowtime = properties.getShowtimes() == 0 ? 0 : properties.getTickets() / properties.getShowtimes();
+            long remainder = properties.getShowtimes() == 0 ? 0 : properties.getTickets() % properties.getShowtimes();
+            long capped = 0;
+
+            for (long s = 0; s < properties.getShowtimes() && properties.getTickets() > 0; s++) {
+                ShowtimeRow showtime = showtime(s);
+                int capacity = hallCapacity[showtime.hall()];
+                long wanted = perShowtime + (s < remainder ? 1 : 0);
+                int count = (int) Math.min(wanted, capacity);
+                capped += wanted - count;
+
+                SplittableRandom random = random(TICKET, s);
+                int firstSeat = random.nextInt(capacity);
+                LocalDateTime startsAt = showtime.date().atTime(showtime.startTime());
+                int sold = 0;
+                while (sold < count) {
+                    int group = Math.min(count - sold, 1 + random.nextInt(4));
+                    long userId = userBase + 1 + random.nextInt(properties.getUsers());
+                    int outcome = random.nextInt(20);
+                    TicketStatus status = outcome == 0 ? TicketStatus.RESERVED : outcome == 1 ? TicketStatus.CANCELLED : TicketStatus.PAID;
+                    PaymentStatus paymentStatus = status == TicketStatus.RESERVED ? PaymentStatus.PENDING
+                            : status == TicketStatus.CANCELLED ? PaymentStatus.FAILED : PaymentStatus.SUCCESS;
+                    LocalDateTime boughtAt = startsAt.minusMinutes(30 + random.nextInt(14 * 24 * 60));
+
+                    payments.add(++paymentId, showtime.price() * group, paymentStatus.getValue(), userId);
+                    for (int g = 0; g < group; g++) {
+                        int seat = (firstSeat + sold + g) % capacity;
+                        tickets.add(++ticketId,
+                                String.valueOf((char) ('A' + seat / SEATS_PER_ROW)),
+                                seat % SEATS_PER_ROW + 1,
+                                showtime.price(),
+                                status.getValue(),
+                                showtime.id(),
+                                movieBase + 1 + showtime.movie(),
+                                hallBase + 1 + showtime.hall(),
+                                userId,
+                                paymentId,
+                                boughtAt, boughtAt);
+                    }
+                    sold += group;
+                }
+            }
+            tickets.flush();
+            if (capped > 0) {
+                log.warn("{} synthetic tickets were not created because the showtimes were full", capped);
+            }
+        }
+
+        private long memberRoleId() throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement("select id from role where role_name = ?")) {
+                statement.setString(1, RoleName.MEMBER.name());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return resultSet.getLong(1);
+                    }
+                }
+            }
+            long id = maxId("role") + 1;
+            BatchInsert roles = insert("role", "id, role_name");
+            roles.add(id, RoleName.MEMBER.name());
+            roles.flush();
+            return id;
+        }
+
+        private long maxId(String table) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+
+        //Id'ler elle verildi; uygulamanin sonraki insert'leri bunlarla cakismasin
+        private void resetIdentities() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                for (String table : TABLES) {
+                    long next = maxId(table) + 1;
+                    if (postgres) {
+                        statement.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'), " + next + ", false)");
+                        statement.execute("analyze " + table);
+                    } else {
+                        statement.execute("alter table " + table + " alter column id restart with " + next);
+                    }
+                }
+            }
+            connection.commit();
+        }
+
+        //Son commit; bundan once kesilen bir yukleme bir sonraki calistirmada fark ediliyor
+        private void completeMarker() throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement("update cinema set slug = ? where slug = ?")) {
+                statement.setString(1, MARKER_SLUG);
+                statement.setString(2, PENDING_MARKER_SLUG);
+                statement.executeUpdate();
+            }
+            connection.commit();
+        }
+
+        private BatchInsert insert(String table, String columns, int... jsonColumns) throws SQLException {
+            BatchInsert insert = new BatchInsert(table, columns, jsonColumns);
+            inserts.add(insert);
+            return insert;
+        }
+
+        private String jsonArray(SplittableRandom random, String prefix, int bound, int size) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                json.append(i == 0 ? "\"" : ",\"").append(prefix).append(1 + random.nextInt(bound)).append('"');
+            }
+            return json.append(']').toString();
+        }
+
+        private String pick(SplittableRandom random, String[] values, int size) {
+            int first = random.nextInt(values.length);
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                json.append(i == 0 ? "\"" : ",\"").append(values[(first + i) % values.length]).append('"');
+            }
+            return json.append(']').toString();
+        }
+
+        /**
+         * Batched insert into one table, committed every {@code batchSize} rows.
+         */
+        private final class BatchInsert implements AutoCloseable {
+
+            private final String table;
+            private final PreparedStatement statement;
+            private BatchInsert parent;
+            private int pending;
+            private long rows;
+
+            BatchInsert(String table, String columns, int... jsonColumns) throws SQLException {
+                this.table = table;
+                int count = columns.split(",").length;
+                StringBuilder values = new StringBuilder();
+                for (int i = 0; i < count; i++) {
+                    boolean json = false;
+                    for (int column : jsonColumns) {
+                        json |= column == i;
+                    }
+                    values.append(i == 0 ? "" : ", ")
+                            .append(!json ? "?" : postgres ? "cast(? as jsonb)" : "? format json");
+                }
+                this.statement = connection.prepareStatement("insert into " + table + " (" + columns + ") values (" + values + ")");
+            }
+
+            //Yabanci anahtar: bu tablonun batch'inden once parent tablonunki yazilmali
+            void after(BatchInsert parent) {
+                this.parent = parent;
+            }
+
+            void add(Object... values) throws SQLException {
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                statement.addBatch();
+                if (++pending == properties.getBatchSize()) {
+                    flush();
+                }
+            }
+
+            void flush() throws SQLException {
+                if (parent != null) {
+                    parent.flush();
+                }
+                if (pending == 0) {
+                    return;
+                }
+                statement.executeBatch();
+                connection.commit();
+                long before = rows;
+                rows += pending;
+                pending = 0;
+                if (rows / 1_000_000 != before / 1_000_000) {
+                    log.info("Synthetic {}: {} rows", table, rows);
+                }
+            }
+
+            @Override
+            public void close() throws SQLException {
+                flush();
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.Cinetime.init;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of the dataset loaded by {@link SyntheticDataGenerator}. The same seed and anchor date
+ * always produce the same rows.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.synthetic-data")
+public class SyntheticDataProperties {
+
+    private long seed = 42;
+
+    //Seanslarin ortasindaki gun, zorunlu. Calistirma gunune yakin secilmeli: gosterimler bu gunun etrafina yayiliyor,
+    //vizyona girecek filmler sonrasinda. Gecmis bir tarihle yaklasan seans sorgulari bos doner
+    private LocalDate anchorDate;
+
+    private int cities = 81;
+    private int districtsPerCity = 12;
+    private int cinemas = 500;
+    private int halls = 5_000;
+    private int movies = 20_000;
+    private int users = 5_000_000;
+    private long showtimes = 2_000_000;
+    private long tickets = 50_000_000;
+
+    //Tum kullanicilar ayni sifreyle giris yapabiliyor, hash bir kez hesaplaniyor
+    private String userPassword = "Synthetic123!";
+
+    private int batchSize = 5_000;
+}
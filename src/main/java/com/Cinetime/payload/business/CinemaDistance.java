@@ -0,0 +1,18 @@
+package com.Cinetime.payload.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cinema matched by a location search and its great-circle distance to the searched point.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CinemaDistance {
+
+    private Long cinemaId;
+    private double distanceKm;
+
+}
@@ -0,0 +1,27 @@
+package com.Cinetime.payload.business;
+
+import com.Cinetime.enums.HallFeature;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cinema/hall row used to build the in-memory cinema feature index.
+ * Hall fields are null for cinemas without halls.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CinemaHallFeature {
+
+    private Long cinemaId;
+    private Long cityId;
+    private String hallName;
+    private Integer hallFeatures;
+
+
+    //Eski kayitlarda features kolonu bos olabilir, o zaman isimden hesapliyoruz
+    public int getFeatureMask() {
+        return hallFeatures != null ? hallFeatures : HallFeature.maskOf(hallName);
+    }
+}
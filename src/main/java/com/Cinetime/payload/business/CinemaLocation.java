@@ -0,0 +1,19 @@
+package com.Cinetime.payload.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Coordinates of a cinema, used to build the in-memory cinema location index.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CinemaLocation {
+
+    private Long cinemaId;
+    private Double latitude;
+    private Double longitude;
+
+}
@@ -0,0 +1,33 @@
+package com.Cinetime.payload.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight view of a showtime's time slot in a hall.
+ * Used by the schedule index instead of loading full Showtime entities.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ShowtimeSlot {
+
+    private Long showtimeId;
+    private Long hallId;
+    private Long movieId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+
+    //Ayni mantik: existsByHallIdAndDateAndTimeOverlap -> (:startTime < s.endTime AND :endTime > s.startTime)
+    public boolean overlaps(LocalTime start, LocalTime end) {
+        return start.isBefore(endTime) && end.isAfter(startTime);
+    }
+}
@@ -0,0 +1,49 @@
+package com.Cinetime.payload.business;
+
+import com.Cinetime.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One line of the ticket export with the showtime, movie, hall and cinema it belongs to,
+ * read as a projection so no Ticket entities are loaded.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketExportRow {
+
+    public static final String[] COLUMNS = {"id", "createdAt", "status", "price", "seatLetter", "seatNumber",
+            "showtimeId", "showtimeDate", "showtimeStartTime", "movieId", "movieTitle", "cinemaId", "cinemaName",
+            "hallId", "hallName", "userId", "anonymousUserId"};
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private TicketStatus status;
+    private Double price;
+    private String seatLetter;
+    private Integer seatNumber;
+    private Long showtimeId;
+    private LocalDate showtimeDate;
+    private LocalTime showtimeStartTime;
+    private Long movieId;
+    private String movieTitle;
+    private Long cinemaId;
+    private String cinemaName;
+    private Long hallId;
+    private String hallName;
+    private Long userId;
+    private Long anonymousUserId;
+
+
+    //COLUMNS ile ayni sirada
+    public Object[] toCsvValues() {
+        return new Object[]{id, createdAt, status, price, seatLetter, seatNumber, showtimeId, showtimeDate,
+                showtimeStartTime, movieId, movieTitle, cinemaId, cinemaName, hallId, hallName, userId, anonymousUserId};
+    }
+}
@@ -0,0 +1,39 @@
+package com.Cinetime.payload.business;
+
+import com.Cinetime.enums.Gender;
+import com.Cinetime.enums.RoleName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One line of the user export, read as a projection so no User entities are loaded.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserExportRow {
+
+    public static final String[] COLUMNS = {"id", "firstname", "lastname", "email", "phoneNumber", "gender",
+            "dateOfBirth", "role", "builtIn", "createdAt"};
+
+    private Long id;
+    private String firstname;
+    private String lastname;
+    private String email;
+    private String phoneNumber;
+    private Gender gender;
+    private LocalDate dateOfBirth;
+    private RoleName role;
+    private Boolean builtIn;
+    private LocalDateTime createdAt;
+
+
+    //COLUMNS ile ayni sirada
+    public Object[] toCsvValues() {
+        return new Object[]{id, firstname, lastname, email, phoneNumber, gender, dateOfBirth, role, builtIn, createdAt};
+    }
+}
@@ -0,0 +1,23 @@
+package com.Cinetime.payload.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MovieShowTargetRequest {
+
+    @NotNull(message = "Movie ID cannot be empty")
+    private Long movieId;
+
+    @NotNull(message = "Target show count cannot be empty")
+    @Min(value = 1, message = "Target show count must be at least 1")
+    private Integer targetShowCount;
+
+}
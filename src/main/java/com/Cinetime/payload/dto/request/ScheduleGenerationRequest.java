@@ -0,0 +1,50 @@
+package com.Cinetime.payload.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleGenerationRequest {
+
+    @NotNull(message = "Cinema ID cannot be empty")
+    private Long cinemaId;
+
+    //Bos birakilirsa sinemanin tum salonlari kullanilir
+    private List<Long> hallIds;
+
+    @Future(message = "Schedule start date cannot be in the past")
+    @NotNull(message = "Schedule start date cannot be empty")
+    private LocalDate startDate;
+
+    @Min(value = 1, message = "Schedule must cover at least 1 day")
+    @Max(value = 14, message = "Schedule cannot cover more than 14 days")
+    @Builder.Default
+    private int days = 7;
+
+    @NotNull(message = "Hall opening time cannot be empty")
+    private LocalTime openingTime;
+
+    //Gece yarisini gecen kapanis saatleri desteklenmiyor, en gec 23:59
+    @NotNull(message = "Hall closing time cannot be empty")
+    private LocalTime closingTime;
+
+    @Min(value = 0, message = "Cleaning buffer cannot be negative")
+    @Builder.Default
+    private int cleaningBufferMinutes = 15;
+
+    @Valid
+    @NotEmpty(message = "Movie list cannot be empty")
+    private List<MovieShowTargetRequest> movies;
+
+}
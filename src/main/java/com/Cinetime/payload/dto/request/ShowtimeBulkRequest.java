@@ -0,0 +1,22 @@
+package com.Cinetime.payload.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ShowtimeBulkRequest {
+
+    @Valid
+    @NotEmpty(message = "Showtime list cannot be empty")
+    private List<ShowtimeRequest> showtimes;
+
+}
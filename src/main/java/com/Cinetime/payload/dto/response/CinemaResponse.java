@@ -19,5 +19,7 @@ public class CinemaResponse {
     private String email;
     private String district;
     private String city;
+    private Double latitude;
+    private Double longitude;
 
 }
@@ -0,0 +1,15 @@
+package com.Cinetime.payload.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CountryResponse {
+    private Long id;
+    private String name;
+}
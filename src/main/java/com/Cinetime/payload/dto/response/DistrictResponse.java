@@ -0,0 +1,16 @@
+package com.Cinetime.payload.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DistrictResponse {
+    private Long id;
+    private String name;
+    private Long cityId;
+}
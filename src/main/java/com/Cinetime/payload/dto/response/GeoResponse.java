@@ -0,0 +1,19 @@
+package com.Cinetime.payload.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GeoResponse {
+    private List<CountryResponse> countries;
+    private List<CityResponse> cities;
+    private List<DistrictResponse> districts;
+
+}
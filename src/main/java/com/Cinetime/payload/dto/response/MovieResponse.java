@@ -1,6 +1,7 @@
 package com.Cinetime.payload.dto.response;
 
 import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.PosterStatus;
 import lombok.Builder;
 import lombok.Data;
 
@@ -26,13 +27,15 @@ public class MovieResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String posterUrl;
+    private PosterStatus posterStatus;
 
 
     // Parametreli constructor'ı doğru şekilde düzenliyoruz
     public MovieResponse(Long id, String title, String slug, String summary, LocalDate releaseDate,
                          Integer duration, Double rating, String director,
                          List<String> cast, List<String> formats, List<String> genre, MovieStatus status,
-                         LocalDateTime createdAt, LocalDateTime updatedAt, String posterUrl
+                         LocalDateTime createdAt, LocalDateTime updatedAt, String posterUrl,
+                         PosterStatus posterStatus
     ) {
         this.id = id;
         this.title = title;
@@ -49,6 +52,7 @@ public class MovieResponse {
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
         this.posterUrl = posterUrl;
+        this.posterStatus = posterStatus;
 
     }
 }
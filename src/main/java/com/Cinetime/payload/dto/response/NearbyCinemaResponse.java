@@ -0,0 +1,19 @@
+package com.Cinetime.payload.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NearbyCinemaResponse {
+    private CinemaResponse cinema;
+    private Double distanceKm;
+    private List<ShowtimeResponse> upcomingShowtimes;
+
+}
@@ -0,0 +1,24 @@
+package com.Cinetime.payload.dto.response;
+
+import com.Cinetime.payload.dto.request.ShowtimeRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScheduleGenerationResponse {
+
+    //Commit edilince /api/showtime/bulk ile ayni yoldan kaydedilen gosterimler
+    private List<ShowtimeRequest> showtimes;
+
+    //movieId -> salonlara sigmayan gosterim sayisi
+    private Map<Long, Integer> unscheduledShows;
+
+}
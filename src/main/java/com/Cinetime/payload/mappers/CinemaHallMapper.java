@@ -1,9 +1,11 @@
 package com.Cinetime.payload.mappers;
 
 import com.Cinetime.entity.Cinema;
+import com.Cinetime.helpers.GeoReferenceRegistry;
 import com.Cinetime.payload.dto.response.CinemaHallResponse;
 import com.Cinetime.payload.dto.response.HallResponse;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
@@ -11,8 +13,11 @@ import java.util.List;
 
 @Data
 @Component
+@RequiredArgsConstructor
 public class CinemaHallMapper {
 
+    private final GeoReferenceRegistry geoReferenceRegistry;
+
     public CinemaHallResponse mapToCinemaHallResponse(Cinema cinema, List<HallResponse> hallResponses) {
         if (cinema == null) {
             return null;
@@ -22,8 +27,8 @@ public class CinemaHallMapper {
                 .cinemaId(cinema.getId())
                 .cinemaName(cinema.getName())
                 .address(cinema.getAddress())  // Adding more cinema details could be useful
-                .city(cinema.getCity() != null ? cinema.getCity().getName() : null)
-                .district(cinema.getDistrict() != null ? cinema.getDistrict().getName() : null)
+                .city(geoReferenceRegistry.getCityName(cinema.getCity()))
+                .district(geoReferenceRegistry.getDistrictName(cinema.getDistrict()))
                 .halls(hallResponses != null ? hallResponses : Collections.emptyList())
                 .build();
     }
@@ -1,13 +1,19 @@
 package com.Cinetime.payload.mappers;
 
 import com.Cinetime.entity.Cinema;
+import com.Cinetime.helpers.GeoReferenceRegistry;
 import com.Cinetime.payload.dto.response.CinemaResponse;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Data
 @Component
+@RequiredArgsConstructor
 public class CinemaMapper {
+
+    private final GeoReferenceRegistry geoReferenceRegistry;
+
     public CinemaResponse mapCinemaToCinemaResponse(Cinema cinema) {
 
         return CinemaResponse.builder()
@@ -17,8 +23,10 @@ public class CinemaMapper {
                 .address(cinema.getAddress())
                 .phone(cinema.getPhone())
                 .email(cinema.getEmail())
-                .district(cinema.getDistrict().getName())
-                .city(cinema.getCity().getName())
+                .district(geoReferenceRegistry.getDistrictName(cinema.getDistrict()))
+                .city(geoReferenceRegistry.getCityName(cinema.getCity()))
+                .latitude(cinema.getLatitude())
+                .longitude(cinema.getLongitude())
                 .build();
     }
 }
@@ -65,6 +65,7 @@ public class MovieMapper {
                 .createdAt(movie.getCreatedAt())
                 .updatedAt(movie.getUpdatedAt())
                 .posterUrl(movie.getPosterUrl())
+                .posterStatus(movie.getPosterStatus())
                 .build();
     }
 
@@ -3,25 +3,39 @@ package com.Cinetime.payload.mappers;
 import com.Cinetime.entity.Hall;
 import com.Cinetime.entity.Movie;
 import com.Cinetime.entity.Showtime;
+import com.Cinetime.helpers.GeoReferenceRegistry;
+import com.Cinetime.helpers.LatencyTimer;
+import com.Cinetime.helpers.MetricsRegistry;
 import com.Cinetime.payload.dto.request.ShowtimeRequest;
 import com.Cinetime.payload.dto.response.CinemaResponse;
 import com.Cinetime.payload.dto.response.HallResponse;
 import com.Cinetime.payload.dto.response.MovieResponse;
 import com.Cinetime.payload.dto.response.ShowtimeResponse;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
 @Component
 @Data
-@RequiredArgsConstructor
 public class ShowtimeMapper {
 
     private final HallMapper hallMapper;
+    private final GeoReferenceRegistry geoReferenceRegistry;
+    private final LatencyTimer mappingTimer;
+
+    public ShowtimeMapper(HallMapper hallMapper, GeoReferenceRegistry geoReferenceRegistry, MetricsRegistry metricsRegistry) {
+        this.hallMapper = hallMapper;
+        this.geoReferenceRegistry = geoReferenceRegistry;
+        this.mappingTimer = metricsRegistry.timer("cinetime_mapping", "Duration of mapping entities to responses",
+                "mapper", "showtime");
+    }
 
 
     public ShowtimeResponse mapShowtimeToShowtimeResponse(Showtime showtime) {
+        return mappingTimer.record(() -> toShowtimeResponse(showtime));
+    }
+
+    private ShowtimeResponse toShowtimeResponse(Showtime showtime) {
         return ShowtimeResponse.builder()
                 .id(showtime.getId())
                 .date(showtime.getDate())
@@ -55,10 +69,8 @@ public class ShowtimeMapper {
                         .id(showtime.getHall().getCinema().getId())
                         .name(showtime.getHall().getCinema().getName())
                         .address(showtime.getHall().getCinema().getAddress())
-                        .city(showtime.getHall().getCinema().getCity() != null ?
-                                showtime.getHall().getCinema().getCity().getName() : null)
-                        .district(showtime.getHall().getCinema().getDistrict() != null ?
-                                showtime.getHall().getCinema().getDistrict().getName() : null)
+                        .city(geoReferenceRegistry.getCityName(showtime.getHall().getCinema().getCity()))
+                        .district(geoReferenceRegistry.getDistrictName(showtime.getHall().getCinema().getDistrict()))
                         .build())
                 .price(showtime.getPrice())
                 .createdAt(showtime.getCreatedAt())
@@ -1,6 +1,8 @@
 package com.Cinetime.payload.mappers;
 
 import com.Cinetime.entity.*;
+import com.Cinetime.helpers.LatencyTimer;
+import com.Cinetime.helpers.MetricsRegistry;
 import com.Cinetime.payload.dto.response.AnonymousTicketResponse;
 import com.Cinetime.payload.dto.response.TicketResponse;
 import lombok.Data;
@@ -10,8 +12,27 @@ import org.springframework.stereotype.Component;
 @Data
 public class TicketMapper {
 
+    //Sayfa basina yuzlerce kez cagriliyor, timer her seferinde registry'den aranmasin
+    private final LatencyTimer mappingTimer;
+
+    public TicketMapper(MetricsRegistry metricsRegistry) {
+        this.mappingTimer = metricsRegistry.timer("cinetime_mapping", "Duration of mapping entities to responses",
+                "mapper", "ticket");
+    }
+
 
     public TicketResponse mapTicketToTicketResponse(Ticket ticket) {
+        return mappingTimer.record(() -> toTicketResponse(ticket));
+    }
+
+    public AnonymousTicketResponse mapTicketToAnonymousTicketResponse(Ticket ticket, String retrievalId) {
+        return AnonymousTicketResponse.builder()
+                .retrievalId(retrievalId)
+                .ticketResponse(mapTicketToTicketResponse(ticket))
+                .build();
+    }
+
+    private TicketResponse toTicketResponse(Ticket ticket) {
         return TicketResponse.builder()
                 .id(ticket.getId())
                 .seatLetter(ticket.getSeatLetter())
@@ -29,11 +50,4 @@ public class TicketMapper {
                 .createdAt(ticket.getCreatedAt())
                 .build();
     }
-
-    public AnonymousTicketResponse mapTicketToAnonymousTicketResponse(Ticket ticket, String retrievalId) {
-        return AnonymousTicketResponse.builder()
-                .retrievalId(retrievalId)
-                .ticketResponse(mapTicketToTicketResponse(ticket))
-                .build();
-    }
 }
@@ -16,11 +16,17 @@ public class ErrorMessages {
     public static final String UNAUTHORIZED_USER_UPDATE = "Employee type of user trying to update non-member user";
     public static final String DUPLICATE_EMAIL = "User with this email already exists";
     public static final String DUPLICATE_PHONE_NUMBER = "User with this phone number already exists";
+    public static final String DATA_CONFLICT = "The request conflicts with existing data";
     public static final String AUTHENTICATION_NOT_FOUND = "Authentication not found with the provided Phone Number, this indicates a system error";
     public static final String PAYMENT_ERROR = "Unexpected error occured during payment";
     public static final String NO_SEAT_SPECIFIED = "No seats specified for the given ticket request";
 
     public static final String SEATS_ARE_OCCUPIED = "The following seats are already occupied:  ";
     public static final String BAD_CREDENTIALS = "Invalid credentials";
+    public static final String SHOWTIME_CONFLICT = "Another showtime already exists in this hall for the given time range: ";
+    public static final String INVALID_SHOWTIME_RANGE = "Showtime end time must be after start time: ";
+    public static final String INVALID_OPENING_HOURS = "Hall closing time must be after opening time";
+    public static final String INVALID_MOVIE_DURATION = "Movie has no valid duration and cannot be scheduled: ";
+    public static final String INVALID_COORDINATES = "Latitude must be between -90 and 90, longitude between -180 and 180 and radius must be positive";
 
 }
@@ -18,8 +18,12 @@ public class SuccessMessages {
 
 
     public static final String CINEMA_FOUND = "Cinemas has been found successfully";
+    public static final String GEO_DATA_FOUND = "Geographic reference data has been found successfully";
+    public static final String GEO_DATA_REFRESHED = "Geographic reference data has been refreshed successfully";
     public static final String SHOWTIME_FOUND = "Showtime has been found successfully";
     public static final String SHOWTIME_CREATED_SUCCESSFULLY = "Showtime has been created successfully";
+    public static final String SHOWTIMES_CREATED_SUCCESSFULLY = "Showtimes have been created successfully";
+    public static final String SCHEDULE_GENERATED_SUCCESSFULLY = "Schedule has been generated successfully";
     public static final String TICKET_PRICE_FOUND_SUCCESSFULLY = "Ticket price has been found successfully";
     public static final String TICKET_PRICE_CALCULATED_SUCCESSFULLY = "Ticket price has been calculated successfully";
     public static final String TICKET_RESERVED_SUCCESSFULLY_AS_GUEST = "Ticket reserved successfully as guest";
@@ -0,0 +1,27 @@
+package com.Cinetime.repo;
+
+import com.Cinetime.entity.CatalogVersion;
+import com.Cinetime.enums.CatalogAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, CatalogAggregate> {
+
+    //[aggregate, version] ciftleri
+    @Query("SELECT v.aggregate, v.version FROM CatalogVersion v")
+    List<Object[]> findVersions();
+
+    //Yazan transaction'a katiliyor; satir kilidi commit'e kadar tutuluyor
+    @Transactional
+    @Modifying
+    @Query("UPDATE CatalogVersion v SET v.version = v.version + 1 WHERE v.aggregate IN :aggregates")
+    int increment(@Param("aggregates") Collection<CatalogAggregate> aggregates);
+}
@@ -1,13 +1,18 @@
 package com.Cinetime.repo;
 
 import com.Cinetime.entity.Cinema;
+import com.Cinetime.payload.business.CinemaHallFeature;
+import com.Cinetime.payload.business.CinemaLocation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -29,6 +34,26 @@ public interface CinemaRepository extends JpaRepository<Cinema, Long> {
 
     Optional<Cinema> findBySlug(String slug);
 
+    //Entity olarak donen detay endpoint'i sehir ve ilceyi de serialize ediyor
+    @Override
+    @EntityGraph(attributePaths = {"city", "district"})
+    Optional<Cinema> findById(Long id);
+
     @Query("SELECT DISTINCT c FROM Cinema c JOIN c.halls h WHERE LOWER(h.name) LIKE LOWER(CONCAT('%', :hallName, '%'))")
     Page<Cinema> findCinemasByHallName(@Param("hallName") String hallName, Pageable pageable);
+
+    Page<Cinema> findByIdIn(Collection<Long> ids, Pageable pageable);
+
+    @Query("""
+                SELECT new com.Cinetime.payload.business.CinemaHallFeature(c.id, c.city.id, h.name, h.features)
+                FROM Cinema c LEFT JOIN c.halls h
+            """)
+    List<CinemaHallFeature> findCinemaHallFeatures();
+
+    @Query("""
+                SELECT new com.Cinetime.payload.business.CinemaLocation(c.id, c.latitude, c.longitude)
+                FROM Cinema c
+                WHERE c.latitude IS NOT NULL AND c.longitude IS NOT NULL
+            """)
+    List<CinemaLocation> findCinemaLocations();
 }
@@ -3,11 +3,14 @@ package com.Cinetime.repo;
 import com.Cinetime.entity.Hall;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,5 +21,12 @@ public interface HallRepository extends JpaRepository<Hall, Long> {
 
     Optional<Hall> findByNameAndCinemaId(String name, Long id);
 
+    List<Hall> findByCinemaId(Long cinemaId);
+
+    //Seans eklerken salon satiri kilitleniyor; ayni salona ayni anda eklenen seanslar sirayla kontrol ediliyor.
+    //id sirasi, birden fazla salonu kilitleyen istekler birbirini beklerken deadlock olmasin diye
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hall h WHERE h.id IN :ids ORDER BY h.id")
+    List<Hall> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 
 }
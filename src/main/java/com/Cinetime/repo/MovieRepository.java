@@ -3,13 +3,16 @@ package com.Cinetime.repo;
 import com.Cinetime.entity.Movie;
 import com.Cinetime.entity.Showtime;
 import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.PosterStatus;
 import com.Cinetime.payload.dto.response.MovieResponse;
 import com.Cinetime.payload.dto.response.MovieResponseCinema;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -49,7 +52,24 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT DISTINCT m FROM Movie m JOIN m.showtimes s WHERE s.hall.id = :hallId")
     Page<Movie> findMoviesByHallId(@Param("hallId") Long hallId, Pageable pageable);
 
+    @Query("SELECT m.posterUrl FROM Movie m WHERE m.id = :id")
+    Optional<String> findPosterUrlById(@Param("id") Long id);
+
+    //Acilista yarim kalan yuklemeler icin: film id, yukleme id'si, son guncelleme
+    @Query("SELECT m.id, m.posterUploadId, m.updatedAt FROM Movie m WHERE m.posterStatus = :status")
+    List<Object[]> findPosterUploadsByStatus(@Param("status") PosterStatus status);
+
+    //Arka plandaki poster yuklemesi cagiriyor; eslesme yoksa film silinmis ya da yeni bir poster istenmis
+    @Transactional
+    @Modifying
+    @Query("UPDATE Movie m SET m.posterUrl = :posterUrl, m.posterStatus = :status " +
+            "WHERE m.id = :id AND m.posterUploadId = :uploadId")
+    int completePosterUpload(@Param("id") Long id, @Param("uploadId") String uploadId,
+                             @Param("posterUrl") String posterUrl, @Param("status") PosterStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Movie m SET m.posterStatus = :status WHERE m.id = :id AND m.posterUploadId = :uploadId")
+    int updatePosterStatus(@Param("id") Long id, @Param("uploadId") String uploadId,
+                           @Param("status") PosterStatus status);
 }
-
-
-
@@ -0,0 +1,39 @@
+package com.Cinetime.repo;
+
+import com.Cinetime.entity.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+
+    //[tokenHash, userId, expiresAt, attempts] dortlusu
+    @Query("SELECT t.tokenHash, t.user.id, t.expiresAt, t.attempts FROM PasswordResetToken t WHERE t.expiresAt > :now")
+    List<Object[]> findActive(@Param("now") LocalDateTime now);
+
+    //[userId, expiresAt, attempts] uclusu; baska instance'ta uretilmis kod icin
+    @Query("SELECT t.user.id, t.expiresAt, t.attempts FROM PasswordResetToken t WHERE t.tokenHash = :tokenHash AND t.expiresAt > :now")
+    List<Object[]> findActiveByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.attempts = t.attempts + 1 WHERE t.tokenHash = :tokenHash")
+    int incrementAttempts(@Param("tokenHash") String tokenHash);
+}
@@ -1,32 +1,39 @@
 package com.Cinetime.repo;
 
 import com.Cinetime.entity.Showtime;
+import com.Cinetime.payload.business.ShowtimeSlot;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
+    //Bilet satarken seans satiri kilitleniyor; ayni seansa ayni anda gelen satislar koltuklari sirayla kontrol ediyor
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Showtime s WHERE s.id = :id")
+    Optional<Showtime> findByIdForUpdate(@Param("id") Long id);
 
+    //(movie_id, starts_at) index'i uzerinden range scan
     @Query("""
                 SELECT s FROM Showtime s
-                WHERE s.movie.id = :movieId 
-                AND (s.date > :today OR 
-                     (s.date = :today AND s.startTime > :now))
-                ORDER BY s.date, s.startTime
+                WHERE s.movie.id = :movieId
+                AND s.startsAt > :now
+                ORDER BY s.startsAt
             """)
     Page<Showtime> findUpcomingShowtimesByMovieId(
             @Param("movieId") Long movieId,
-            @Param("today") LocalDate today,
-            @Param("now") LocalTime now,
+            @Param("now") LocalDateTime now,
             Pageable pageable
     );
 
@@ -64,22 +71,49 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
             @Param("endTime") LocalTime endTime
     );
 
+    @Query("""
+                SELECT new com.Cinetime.payload.business.ShowtimeSlot(s.id, s.hall.id, s.movie.id, s.date, s.startTime, s.endTime)
+                FROM Showtime s
+                WHERE s.hall.id IN :hallIds
+                  AND s.date BETWEEN :fromDate AND :toDate
+            """)
+    List<ShowtimeSlot> findSlotsByHallIdsAndDateBetween(
+            @Param("hallIds") Collection<Long> hallIds,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
     @Query("SELECT s.price FROM Showtime s WHERE s.id = :showtimeId")
     Double findShowtimePriceByshowtimeId(Long showtimeId);
 
+    //(cinema_id, starts_at) index'i uzerinden range scan, sinemasiz arama icin findUpcomingShowtimesByMovieId
     @Query("""
-                SELECT s FROM Showtime s 
-                WHERE s.movie.id = :movieId 
-                AND (:cinemaId IS NULL OR s.hall.cinema.id = :cinemaId)
-                AND (s.date > :today OR 
-                     (s.date = :today AND s.startTime > :now))
-                ORDER BY s.date, s.startTime
+                SELECT s FROM Showtime s
+                WHERE s.cinemaId = :cinemaId
+                AND s.movie.id = :movieId
+                AND s.startsAt > :now
+                ORDER BY s.startsAt
             """)
     Page<Showtime> findUpcomingShowtimesByMovieAndCinema(
             @Param("movieId") Long movieId,
             @Param("cinemaId") Long cinemaId,
-            @Param("today") LocalDate today,
-            @Param("now") LocalTime now,
+            @Param("now") LocalDateTime now,
             Pageable pageable
     );
+
+    @Query("""
+                SELECT s FROM Showtime s
+                JOIN FETCH s.movie
+                JOIN FETCH s.hall h
+                JOIN FETCH h.cinema c
+                WHERE s.cinemaId IN :cinemaIds
+                AND s.startsAt > :now
+                AND s.startsAt < :until
+                ORDER BY s.startsAt
+            """)
+    List<Showtime> findUpcomingShowtimesByCinemaIds(
+            @Param("cinemaIds") Collection<Long> cinemaIds,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until
+    );
 }
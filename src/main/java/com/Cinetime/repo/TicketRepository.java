@@ -5,14 +5,20 @@ import com.Cinetime.entity.Ticket;
 import com.Cinetime.entity.User;
 import com.Cinetime.enums.TicketStatus;
 import com.Cinetime.payload.business.SeatInfo;
+import com.Cinetime.payload.business.TicketExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -34,4 +40,18 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     @Query("SELECT new com.Cinetime.payload.business.SeatInfo(t.seatLetter, t.seatNumber) FROM Ticket t WHERE t.showtime.id = :showtimeId AND t.status IN :statuses")
     List<SeatInfo> findOccupiedSeatInfoByShowtimeAndStatus(@Param("showtimeId") Long showtimeId, @Param("statuses") List<TicketStatus> statuses);
+
+    //Disa aktarim: tarih araligi idx_ticket_created_at ile okunuyor, satirlar imlecten parca parca geliyor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = UserRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.Cinetime.payload.business.TicketExportRow(t.id, t.createdAt, t.status, t.price, t.seatLetter, " +
+            "t.seatNumber, s.id, s.date, s.startTime, m.id, m.title, c.id, c.name, h.id, h.name, t.user.id, t.anonymousUser.id) " +
+            "FROM Ticket t JOIN t.showtime s JOIN t.movie m JOIN t.hall h JOIN h.cinema c " +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to " +
+            "AND (:cinemaId IS NULL OR c.id = :cinemaId) AND (:status IS NULL OR t.status = :status) " +
+            "ORDER BY t.createdAt, t.id")
+    Stream<TicketExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                             @Param("cinemaId") Long cinemaId, @Param("status") TicketStatus status);
 }
@@ -0,0 +1,23 @@
+package com.Cinetime.repo;
+
+import com.Cinetime.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    //[userId, revokedAt] ciftleri
+    @Query("SELECT t.userId, t.revokedAt FROM TokenRevocation t WHERE t.revokedAt > :since")
+    List<Object[]> findRevokedAfter(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation t WHERE t.revokedAt <= :before")
+    int deleteRevokedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,17 +1,27 @@
 package com.Cinetime.repo;
 
 import com.Cinetime.entity.User;
-import org.springframework.data.domain.Page;
+import com.Cinetime.payload.business.UserExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    String EXPORT_FETCH_SIZE = "1000";
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -20,17 +30,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByPhoneNumber(String phoneNumber);
 
-    Optional<User> findByResetPasswordCode(String resetCode);
+    //Yonetici aramasi: UserSearchKeys ile normalize edilmis anahtarlarda onek eslesmesi, COUNT ayri sorgu
+    Slice<User> findAllBy(Pageable pageable);
+
+    Slice<User> findBySearchNameStartingWithOrSearchLastNameStartingWith(String name, String lastName, Pageable pageable);
+
+    long countBySearchNameStartingWithOrSearchLastNameStartingWith(String name, String lastName);
+
+    Slice<User> findBySearchEmailStartingWith(String email, Pageable pageable);
 
-    @Query("SELECT u FROM User u WHERE " +
-            "(:query IS NULL OR " +
-            "LOWER(u.firstname) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(u.lastname) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(CAST(u.phoneNumber AS string)) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<User> searchUsers(@Param("query") String query, Pageable pageable);
+    long countBySearchEmailStartingWith(String email);
+
+    Slice<User> findBySearchPhoneStartingWith(String phone, Pageable pageable);
+
+    long countBySearchPhoneStartingWith(String phone);
 
     boolean existsByEmailAndIdNot(String email, Long userId);
 
     boolean existsByPhoneNumberAndIdNot(String phoneNumber, Long userId);
+
+    //[id, email, phoneNumber] uclusu, id sirasiyla sayfa sayfa okunuyor
+    @Query("SELECT u.id, u.email, u.phoneNumber FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //Disa aktarim: projeksiyon entity yuklemiyor, satirlar imlecten EXPORT_FETCH_SIZE'lik parcalarla okunuyor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.Cinetime.payload.business.UserExportRow(u.id, u.firstname, u.lastname, u.email, u.phoneNumber, " +
+            "u.gender, u.dateOfBirth, r.roleName, u.builtIn, u.createdAt) " +
+            "FROM User u JOIN u.role r WHERE u.createdAt >= :from AND u.createdAt < :to ORDER BY u.id")
+    Stream<UserExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
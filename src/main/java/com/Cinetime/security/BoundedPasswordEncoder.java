@@ -0,0 +1,168 @@
+package com.Cinetime.security;
+
+import com.Cinetime.exception.PasswordHashingBusyException;
+import com.Cinetime.helpers.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Password encoder that runs the delegate (BCrypt) on a small dedicated thread pool with a bounded queue.
+ * <p>
+ * Hashing is CPU bound, so a burst of logins would otherwise occupy every request thread. Here at most
+ * {@code threads} hashes run at once and {@code queueCapacity} wait; further calls, and calls that wait longer
+ * than {@code maxWaitMillis}, fail fast with {@link PasswordHashingBusyException} (503) and other requests keep
+ * their threads and CPU.
+ * <p>
+ * Each instance is a separate bulkhead named by {@code pool}; login and the other hashing paths use their own,
+ * so a login storm does not reject registrations or password changes.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    static final String BUSY_MESSAGE = "The server is busy processing passwords, please try again";
+
+    private final PasswordEncoder delegate;
+    private final String pool;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    //null ise (or. unit testlerde) sure olculmuyor
+    private final MetricsRegistry metricsRegistry;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, String pool, int threads, int queueCapacity, long maxWaitMillis,
+                                  MetricsRegistry metricsRegistry) {
+        if (threads < 1 || queueCapacity < 1 || maxWaitMillis < 1) {
+            throw new IllegalArgumentException("threads, queueCapacity and maxWaitMillis must be positive");
+        }
+        this.delegate = delegate;
+        this.pool = pool;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(pool),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.metricsRegistry = metricsRegistry;
+        logger.info("Password hashing pool '{}' on {} threads, queue capacity {}, max wait {} ms",
+                pool, threads, queueCapacity, maxWaitMillis);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * @return the number of hashes waiting for a thread
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(String operation, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record("cinetime_password_hash_queue_wait", "Time a password hash waited for a hashing thread",
+                        startedAt - submittedAt, "operation", operation);
+                try {
+                    return hashing.get();
+                } finally {
+                    record("cinetime_password_hash", "Password hashing and verification time",
+                            System.nanoTime() - startedAt, "operation", operation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy(operation, "queue_full", submittedAt);
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancel(future);
+            throw busy(operation, "timeout", submittedAt);
+        } catch (InterruptedException e) {
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw busy(operation, "interrupted", submittedAt);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    //Kuyrukta bekleyen is kuyruktan cikariliyor; calismaya baslamis BCrypt kesilemiyor, bitmesi bekleniyor
+    private void cancel(Future<?> future) {
+        future.cancel(false);
+        if (future instanceof Runnable task) {
+            executor.remove(task);
+        }
+    }
+
+    private PasswordHashingBusyException busy(String operation, String reason, long submittedAt) {
+        record("cinetime_password_hash_rejected", "Time until a password hash was rejected",
+                System.nanoTime() - submittedAt, "operation", operation, "reason", reason);
+        logger.debug("Password {} rejected by pool '{}': {}", operation, pool, reason);
+        return new PasswordHashingBusyException(BUSY_MESSAGE);
+    }
+
+    private void record(String name, String help, long nanos, String... tags) {
+        if (metricsRegistry != null) {
+            String[] poolTags = new String[tags.length + 2];
+            poolTags[0] = "pool";
+            poolTags[1] = pool;
+            System.arraycopy(tags, 0, poolTags, 2, tags.length);
+            metricsRegistry.timer(name, help, poolTags).record(nanos);
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final String pool;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private HashingThreadFactory(String pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + pool + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
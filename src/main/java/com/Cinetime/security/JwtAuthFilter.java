@@ -1,35 +1,51 @@
 package com.Cinetime.security;
 
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.helpers.MetricsRegistry;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * JWT authentication filter that intercepts requests and validates JWT tokens.
  * This filter extracts and validates tokens from the Authorization header.
+ * <p>
+ * The principal is built from the user id and role claims, so authenticated requests need no database access;
+ * only tokens issued before the user id claim existed are resolved through {@link UserDetailsServiceImpl}.
+ * Write requests and staff tokens additionally check that the user still exists, so a user deleted on another
+ * instance cannot act before the revocation reaches this one.
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtils jwtUtils;
+    //@WebMvcTest slice'larinda registry yok, o durumda sure olculmuyor
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
 
-    public JwtAuthFilter(UserDetailsServiceImpl userDetailsService, JwtUtils jwtUtils) {
+    public JwtAuthFilter(UserDetailsServiceImpl userDetailsService, JwtUtils jwtUtils,
+                         ObjectProvider<MetricsRegistry> metricsRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtUtils = jwtUtils;
+        this.metricsRegistry = metricsRegistry;
     }
 
     @Override
@@ -42,27 +58,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             // Process token if present
             if (jwt != null) {
-                String phoneNumber = jwtUtils.getPhoneNumberFromToken(jwt);
+                // Signature and expiry are verified here, null for an invalid token
+                Claims claims = timed("verify", () -> jwtUtils.getVerifiedClaims(jwt));
 
-                // Only proceed if we have a phoneNumber and no authentication is already set
-                if (phoneNumber != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(phoneNumber);
+                // Only proceed if the token is valid and no authentication is already set
+                if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserPrincipal principal = jwtUtils.getPrincipal(claims);
+                    if (principal == null) {
+                        principal = loadPrincipal(claims.getSubject());
+                    }
 
-                    // Validate the token against user details
-                    if (jwtUtils.validateToken(jwt, userDetails)) {
+                    if (!jwtUtils.isRevoked(principal.id(), claims)
+                            && (!requiresExistingUser(request, principal) || jwtUtils.userExists(principal.id()))) {
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(
-                                        userDetails,
+                                        principal,
                                         null,
-                                        userDetails.getAuthorities());
+                                        principal.getAuthorities());
 
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                         // Set authentication in security context
                         SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.debug("User authenticated with phone number: {}", phoneNumber);
+                        logger.debug("User authenticated with phone number: {}", principal.phoneNumber());
                     } else {
-                        logger.debug("Invalid JWT token for phone number: {}", phoneNumber);
+                        logger.debug("Revoked JWT token for user id: {}", principal.id());
                     }
                 }
             }
@@ -74,4 +94,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    //Okuma istekleri sorgusuz; yazma ve personel istekleri silinmis kullanicinin token'iyla yapilmasin
+    private static boolean requiresExistingUser(HttpServletRequest request, UserPrincipal principal) {
+        return !SAFE_METHODS.contains(request.getMethod())
+                || principal.role() == RoleName.ADMIN || principal.role() == RoleName.EMPLOYEE;
+    }
+
+    //uid claim'i olmayan eski tokenlar icin kullanici telefon numarasindan yukleniyor
+    private UserPrincipal loadPrincipal(String phoneNumber) {
+        return UserPrincipal.of(((UserDetailsImpl) userDetailsService.loadUserByUsername(phoneNumber)).getUser());
+    }
+
+    private <T> T timed(String operation, Supplier<T> parse) {
+        MetricsRegistry registry = metricsRegistry.getIfAvailable();
+        if (registry == null) {
+            return parse.get();
+        }
+        return registry.timer("cinetime_jwt_parse", "Duration of parsing and verifying JWT tokens",
+                "operation", operation).record(parse);
+    }
 }
\ No newline at end of file
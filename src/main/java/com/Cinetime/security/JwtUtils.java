@@ -1,7 +1,9 @@
 package com.Cinetime.security;
 
+import com.Cinetime.enums.RoleName;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -32,18 +34,52 @@ public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+
+    //Aktif oturum sayisinin ustunde; dolarsa suresi gecenler atilip bastan basliyor
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 50_000;
+
     @Value("${app.jwt-secret}")
     private String jwtSecret;
 
     @Value("${app.jwt-expiration-milliseconds}")
     private long jwtExpirationMs;
 
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(VERIFIED_TOKEN_CACHE_SIZE);
+
+    //Secret alan enjeksiyonuyla geldigi icin ilk kullanimda kuruluyor; JwtParser thread-safe
+    private volatile Key signingKey;
+    private volatile JwtParser jwtParser;
+
+    public JwtUtils(TokenRevocationRegistry tokenRevocationRegistry) {
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
     /**
      * Get the signing key from the base64-encoded secret.
      */
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signingKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getJwtParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 
     /**
@@ -64,18 +100,72 @@ public class JwtUtils {
 
 
         String phoneNumber = authentication.getName();
-        Date currentDate = new Date();
+        Long userId = userDetails.getUser().getId();
+        Date currentDate = tokenRevocationRegistry.issuedAt(userId, new Date());
         Date expireDate = new Date(currentDate.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
                 .setSubject(phoneNumber)
-                .claim("role", role)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role)
                 .setIssuedAt(currentDate)
                 .setExpiration(expireDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify the signature and expiry of the token and return its claims.
+     *
+     * @return the claims, or null if the token is invalid or expired
+     */
+    public Claims getVerifiedClaims(String token) {
+        try {
+            return getAllClaimsFromToken(token);
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        } catch (MalformedJwtException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            logger.error("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("JWT validation error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Build the principal from verified claims.
+     *
+     * @return the principal, or null for tokens issued without the user id claim
+     */
+    public UserPrincipal getPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new UserPrincipal(userId.longValue(), claims.getSubject(), RoleName.valueOf(role));
+    }
+
+    /**
+     * Check whether the user's tokens issued up to the token's issued-at were revoked.
+     */
+    public boolean isRevoked(Long userId, Claims claims) {
+        return tokenRevocationRegistry.isRevoked(userId, claims.getIssuedAt());
+    }
+
+    /**
+     * Check with a query that the token's user still exists.
+     */
+    public boolean userExists(Long userId) {
+        return tokenRevocationRegistry.exists(userId);
+    }
+
     /**
      * Extract username(phoneNumber) from token.
      */
@@ -97,14 +187,19 @@ public class JwtUtils {
     }
 
     /**
-     * Parse token and extract all claims.
+     * Parse token and extract all claims. The signature is verified on the first call for a token,
+     * later calls are served from the verified-token cache until the token expires.
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long now = System.currentTimeMillis();
+        Claims claims = StringUtils.hasText(token) ? verifiedTokenCache.get(token, now) : null;
+        if (claims == null) {
+            claims = getJwtParser()
+                    .parseClaimsJws(token)
+                    .getBody();
+            verifiedTokenCache.put(token, claims, now);
+        }
+        return claims;
     }
 
     /**
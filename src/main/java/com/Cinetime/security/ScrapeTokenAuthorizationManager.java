@@ -0,0 +1,41 @@
+package com.Cinetime.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Grants access to requests carrying {@code Authorization: Bearer <token>} with the configured scrape token,
+ * the way Prometheus sends {@code authorization.credentials}. Without a configured token nothing is granted.
+ */
+public class ScrapeTokenAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final byte[] token;
+
+    public ScrapeTokenAuthorizationManager(String token) {
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(matches(context.getRequest()));
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token == null || header == null || !header.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        //Sabit sureli karsilastirma, token tahmin edilemesin
+        return MessageDigest.isEqual(token, header.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,12 +1,19 @@
 package com.Cinetime.security;
 
+import com.Cinetime.helpers.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -95,7 +102,9 @@ public class SecurityConfig {
      * and authorization rules.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   DaoAuthenticationProvider authenticationProvider,
+                                                   @Value("${app.metrics.prometheus.scrape-token:}") String scrapeToken) throws Exception {
         logger.debug("Configuring SecurityFilterChain");
 
         http
@@ -112,12 +121,17 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/cinemas/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/movies").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/movies/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/geo").permitAll()
+                        //Metrikler admin'e ya da scrape token'i ile gelen Prometheus'a acik
+                        .requestMatchers(HttpMethod.GET, "/api/metrics/prometheus").access(AuthorizationManagers.anyOf(
+                                AuthorityAuthorizationManager.hasRole("ADMIN"),
+                                new ScrapeTokenAuthorizationManager(scrapeToken)))
 
 
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -147,22 +161,46 @@ public class SecurityConfig {
 
     /**
      * Configure the authentication provider with user details service
-     * and password encoder.
+     * and the login password encoder.
      */
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(@Qualifier("loginPasswordEncoder") PasswordEncoder loginPasswordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(loginPasswordEncoder);
         return authProvider;
     }
 
     /**
-     * Configure the password encoder.
+     * Configure the password encoder used for registration, user management and password changes.
+     * BCrypt runs on a bounded pool so that a burst of hashing cannot take every request thread;
+     * see {@link BoundedPasswordEncoder}.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Primary
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password-hashing.threads:1}") int threads,
+            @Value("${app.password-hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${app.password-hashing.max-wait-ms:3000}") long maxWaitMillis,
+            ObjectProvider<MetricsRegistry> metricsRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), "default", threads, queueCapacity, maxWaitMillis,
+                metricsRegistry.getIfAvailable());
+    }
+
+    /**
+     * Configure the password encoder used by login, on its own bounded pool so that a login storm
+     * does not reject the other hashing paths.
+     */
+    @Bean
+    public PasswordEncoder loginPasswordEncoder(
+            @Value("${app.password-hashing.login.threads:0}") int threads,
+            @Value("${app.password-hashing.login.queue-capacity:32}") int queueCapacity,
+            @Value("${app.password-hashing.login.max-wait-ms:3000}") long maxWaitMillis,
+            ObjectProvider<MetricsRegistry> metricsRegistry) {
+        //0: diger istekler icin bir cekirdek birakiliyor
+        int hashingThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), "login", hashingThreads, queueCapacity, maxWaitMillis,
+                metricsRegistry.getIfAvailable());
     }
 
     /**
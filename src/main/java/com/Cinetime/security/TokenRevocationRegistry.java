@@ -0,0 +1,178 @@
+package com.Cinetime.security;
+
+import com.Cinetime.entity.TokenRevocation;
+import com.Cinetime.repo.TokenRevocationRepository;
+import com.Cinetime.repo.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens revoked before their expiry: per user id, the earliest issued-at a token must have to be accepted.
+ * Revoking a user (password or phone number change, deletion) rejects every token issued so far without a
+ * per-request query; entries are dropped once all the tokens they cover have expired anyway.
+ * <p>
+ * Revocations are written to the {@code token_revocation} table in the revoking transaction; a deleted user keeps
+ * its row as a tombstone. The table is loaded at startup and re-read at most every
+ * {@code app.token-revocation.refresh-seconds}, so a revocation made on another instance applies here within that
+ * interval. Requests that must not wait for it check that the user still exists ({@link #exists(Long)}).
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    //Yenileme bir onceki yenilemeden biraz geriden okuyor; gec commit edilen satirlar kacmasin
+    static final long REFRESH_OVERLAP_MS = TimeUnit.MINUTES.toMillis(1);
+    static final long PURGE_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final UserRepository userRepository;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final long tokenLifetimeMs;
+    private final long refreshIntervalMs;
+
+    //userId -> bu saniyeden once uretilmis tokenlar gecersiz (epoch saniye, JWT iat hassasiyeti)
+    private final Map<Long, Long> minIssuedAt = new ConcurrentHashMap<>();
+    private final AtomicLong lastRefresh = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public TokenRevocationRegistry(UserRepository userRepository,
+                                   TokenRevocationRepository tokenRevocationRepository,
+                                   @Value("${app.jwt-expiration-milliseconds}") long tokenLifetimeMs,
+                                   @Value("${app.token-revocation.refresh-seconds:15}") long refreshSeconds) {
+        this.userRepository = userRepository;
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.refreshIntervalMs = TimeUnit.SECONDS.toMillis(refreshSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        long now = System.currentTimeMillis();
+        int loaded = load(now - tokenLifetimeMs);
+        lastRefresh.set(now);
+        logger.info("Token revocation set restored with {} revocations", loaded);
+    }
+
+    /**
+     * Record the revocation in the current transaction and apply it to this instance once the transaction
+     * commits (immediately without one). Revoking before commit would let a login in between get a token for
+     * the old credentials.
+     */
+    public void revokeAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        tokenRevocationRepository.save(new TokenRevocation(userId, toLocalDateTime(now)));
+        purgeExpiredIfDue(now);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revoke(userId);
+                }
+            });
+        } else {
+            revoke(userId);
+        }
+    }
+
+    public void revoke(Long userId) {
+        revokeAt(userId, System.currentTimeMillis());
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        refreshIfDue();
+        Long min = minIssuedAt.get(userId);
+        return min != null && (issuedAt == null || issuedAt.getTime() / 1000 < min);
+    }
+
+    /**
+     * Check with a query that the user still exists. A missing user is revoked, so later requests with its
+     * tokens are rejected without a query.
+     */
+    public boolean exists(Long userId) {
+        if (userRepository.existsById(userId)) {
+            return true;
+        }
+        revoke(userId);
+        return false;
+    }
+
+    /**
+     * Issued-at for a new token of the user: {@code now}, or the start of the next second right after a
+     * revocation so that the new token is not rejected with the old ones.
+     */
+    public Date issuedAt(Long userId, Date now) {
+        Long min = userId == null ? null : minIssuedAt.get(userId);
+        return min != null && min * 1000 > now.getTime() ? new Date(min * 1000) : now;
+    }
+
+    public int size() {
+        return minIssuedAt.size();
+    }
+
+    //Istek yolunda, en fazla aralik basina bir istek sorguyu calistiriyor
+    private void refreshIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastRefresh.get();
+        if (now - last < refreshIntervalMs || !lastRefresh.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            int loaded = load(last - REFRESH_OVERLAP_MS);
+            logger.debug("Token revocation set refreshed with {} revocations", loaded);
+        } catch (RuntimeException e) {
+            //Sonraki yenileme ayni araligi tekrar okuyor
+            lastRefresh.compareAndSet(now, last);
+            logger.warn("Could not refresh the token revocation set: {}", e.getMessage());
+        }
+    }
+
+    private int load(long sinceMillis) {
+        List<Object[]> revocations = tokenRevocationRepository.findRevokedAfter(toLocalDateTime(sinceMillis));
+        for (Object[] revocation : revocations) {
+            revokeAt((Long) revocation[0], ((LocalDateTime) revocation[1]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return revocations.size();
+    }
+
+    private void purgeExpiredIfDue(long now) {
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_MS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        int purged = tokenRevocationRepository.deleteRevokedBefore(toLocalDateTime(now - tokenLifetimeMs));
+        if (purged > 0) {
+            logger.debug("Purged {} expired token revocations", purged);
+        }
+    }
+
+    //Ayni saniyede uretilmis eski tokenlar da gecersiz sayiliyor
+    private void revokeAt(Long userId, long epochMillis) {
+        minIssuedAt.merge(userId, epochMillis / 1000 + 1, Math::max);
+        long expired = (System.currentTimeMillis() - tokenLifetimeMs) / 1000;
+        minIssuedAt.values().removeIf(min -> min <= expired);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,58 @@
+package com.Cinetime.security;
+
+import com.Cinetime.entity.User;
+import com.Cinetime.enums.RoleName;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of a request authenticated with a JWT, built from the token claims without loading the user.
+ * Code that only needs the caller's identity uses {@link com.Cinetime.service.SecurityService#getCurrentPrincipal()};
+ * the {@code User} entity is loaded on demand by {@link com.Cinetime.service.SecurityService#getCurrentUser()}.
+ */
+public record UserPrincipal(Long id, String phoneNumber, RoleName role) implements UserDetails {
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getPhoneNumber(),
+                user.getRole() != null && user.getRole().getRoleName() != null ? user.getRole().getRoleName() : RoleName.ANONYMOUS);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return phoneNumber;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
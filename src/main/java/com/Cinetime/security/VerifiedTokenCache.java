@@ -0,0 +1,91 @@
+package com.Cinetime.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claims of the tokens whose signature was already verified on this node, keyed by the SHA-256 digest of the
+ * token so the tokens themselves are not kept in memory. An entry is served until the token's expiry, so a token
+ * is verified once per node instead of on every request.
+ * <p>
+ * When full, expired entries are dropped first, then the tenth of the entries closest to expiry.
+ */
+public class VerifiedTokenCache {
+
+    private static final int EVICTION_DIVISOR = 10;
+
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+
+    /**
+     * @return the verified claims of the token, or null if it is not cached or has expired
+     */
+    public Claims get(String token, long nowMillis) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    /**
+     * Store the claims of a token that has just been verified. Tokens without an expiry are not cached.
+     */
+    public void put(String token, Claims claims, long nowMillis) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() <= nowMillis) {
+            return;
+        }
+        //Once suresi dolanlar atiliyor, yine doluysa bitmek uzere olanlar; aktif oturumlar tekrar dogrulanmasin
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+            if (entries.size() >= maxEntries) {
+                evictClosestToExpiry(Math.max(1, maxEntries / EVICTION_DIVISOR));
+            }
+        }
+        entries.put(digest(token), new Entry(claims, expiration.getTime()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictClosestToExpiry(int count) {
+        long[] expiresAt = entries.values().stream().mapToLong(Entry::expiresAtMillis).sorted().toArray();
+        if (expiresAt.length == 0) {
+            return;
+        }
+        long threshold = expiresAt[Math.min(count, expiresAt.length) - 1];
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= threshold);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,18 +2,27 @@ package com.Cinetime.service;
 
 import com.Cinetime.entity.Cinema;
 import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Showtime;
+import com.Cinetime.enums.HallFeature;
+import com.Cinetime.helpers.CinemaFeatureIndex;
+import com.Cinetime.helpers.CinemaLocationIndex;
 import com.Cinetime.helpers.PageableHelper;
+import com.Cinetime.payload.business.CinemaDistance;
 import com.Cinetime.payload.dto.response.CinemaHallResponse;
 import com.Cinetime.payload.dto.response.CinemaResponse;
 import com.Cinetime.payload.dto.response.HallResponse;
+import com.Cinetime.payload.dto.response.NearbyCinemaResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.dto.response.ShowtimeResponse;
 import com.Cinetime.payload.mappers.CinemaHallMapper;
 import com.Cinetime.payload.mappers.CinemaMapper;
 import com.Cinetime.payload.mappers.HallMapper;
+import com.Cinetime.payload.mappers.ShowtimeMapper;
 import com.Cinetime.payload.messages.ErrorMessages;
 import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.CinemaRepository;
 import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.repo.ShowtimeRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,9 +30,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +45,13 @@ public class CinemaService {
     private final CinemaHallMapper cinemaHallMapper;
     private final MovieRepository movieRepository;
     private final CinemaMapper cinemaMapper;
+    private final CinemaFeatureIndex cinemaFeatureIndex;
+    private final CinemaLocationIndex cinemaLocationIndex;
+    private final ShowtimeRepository showtimeRepository;
+    private final ShowtimeMapper showtimeMapper;
+
+    private static final int MAX_NEARBY_CINEMAS = 50;
+    private static final int UPCOMING_SHOWTIME_DAYS = 1;
 
 
     //C01
@@ -42,9 +59,17 @@ public class CinemaService {
 
 
         Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
-        String formattedSpecialHall = (specialHallName != null) ? "%" + specialHallName + "%" : null;
-
-        Page<Cinema> cinemasPage = cinemaRepository.findCinemasByFilters(cityId, formattedSpecialHall, pageable);
+        Optional<HallFeature> feature = HallFeature.fromLabel(specialHallName);
+
+        Page<Cinema> cinemasPage;
+        if (specialHallName != null && feature.isEmpty()) {
+            //Bilinen bir salon formati degil, isim aramasina donuyoruz
+            cinemasPage = cinemaRepository.findCinemasByFilters(cityId, "%" + specialHallName + "%", pageable);
+        } else if (cityId == null && feature.isEmpty()) {
+            cinemasPage = cinemaRepository.findAll(pageable);
+        } else {
+            cinemasPage = findCinemasByIds(cinemaFeatureIndex.findCinemaIds(cityId, feature.orElse(null)), pageable);
+        }
 
 
         List<Cinema> cinemas = cinemasPage.getContent();
@@ -142,7 +167,10 @@ public class CinemaService {
 
         Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
 
-        Page<Cinema> cinemasPage = cinemaRepository.findCinemasByHallName(hallName, pageable);
+        Optional<HallFeature> feature = HallFeature.fromLabel(hallName);
+        Page<Cinema> cinemasPage = feature.isPresent()
+                ? findCinemasByIds(cinemaFeatureIndex.findCinemaIds(null, feature.get()), pageable)
+                : cinemaRepository.findCinemasByHallName(hallName, pageable);
 
         if (cinemasPage.isEmpty()) {
             return ResponseMessage.<Page<CinemaResponse>>builder()
@@ -157,5 +185,72 @@ public class CinemaService {
                 .object(cinemasPage.map(cinemaMapper::mapCinemaToCinemaResponse))
                 .build();
     }
-}
 
+    /**
+     * Cinemas closest to the given point, or within {@code radiusKm} of it when a radius is given,
+     * each with its next {@code showtimeLimit} showtimes of today and tomorrow.
+     */
+    public ResponseMessage<List<NearbyCinemaResponse>> getNearbyCinemas(double latitude, double longitude, Double radiusKm,
+                                                                        int limit, int showtimeLimit) {
+
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180
+                || (radiusKm != null && !(radiusKm > 0))) {
+            return ResponseMessage.<List<NearbyCinemaResponse>>builder()
+                    .message(ErrorMessages.INVALID_COORDINATES)
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
+        int cappedLimit = Math.min(Math.max(limit, 1), MAX_NEARBY_CINEMAS);
+        List<CinemaDistance> matches = radiusKm != null
+                ? cinemaLocationIndex.findWithinRadius(latitude, longitude, radiusKm, cappedLimit)
+                : cinemaLocationIndex.findNearest(latitude, longitude, cappedLimit);
+
+        if (matches.isEmpty()) {
+            return ResponseMessage.<List<NearbyCinemaResponse>>builder()
+                    .message(ErrorMessages.CINEMA_NOT_FOUND)
+                    .httpStatus(HttpStatus.NO_CONTENT)
+                    .build();
+        }
+
+        List<Long> cinemaIds = matches.stream().map(CinemaDistance::getCinemaId).toList();
+        Map<Long, Cinema> cinemasById = cinemaRepository.findAllById(cinemaIds).stream()
+                .collect(Collectors.toMap(Cinema::getId, Function.identity()));
+
+        //Tum sinemalarin gosterimleri tek sorguda, siniri burada uyguluyoruz
+        Map<Long, List<ShowtimeResponse>> showtimesByCinema = new HashMap<>();
+        if (showtimeLimit > 0) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Showtime showtime : showtimeRepository.findUpcomingShowtimesByCinemaIds(
+                    cinemaIds, now, now.toLocalDate().plusDays(UPCOMING_SHOWTIME_DAYS + 1).atStartOfDay())) {
+                List<ShowtimeResponse> cinemaShowtimes = showtimesByCinema
+                        .computeIfAbsent(showtime.getCinemaId(), id -> new ArrayList<>());
+                if (cinemaShowtimes.size() < showtimeLimit) {
+                    cinemaShowtimes.add(showtimeMapper.mapShowtimeToShowtimeResponse(showtime));
+                }
+            }
+        }
+
+        List<NearbyCinemaResponse> nearbyCinemas = matches.stream()
+                .filter(match -> cinemasById.containsKey(match.getCinemaId()))
+                .map(match -> NearbyCinemaResponse.builder()
+                        .cinema(cinemaMapper.mapCinemaToCinemaResponse(cinemasById.get(match.getCinemaId())))
+                        .distanceKm(Math.round(match.getDistanceKm() * 100) / 100.0)
+                        .upcomingShowtimes(showtimesByCinema.getOrDefault(match.getCinemaId(), List.of()))
+                        .build())
+                .toList();
+
+        return ResponseMessage.<List<NearbyCinemaResponse>>builder()
+                .message(SuccessMessages.CINEMA_FOUND)
+                .httpStatus(HttpStatus.OK)
+                .object(nearbyCinemas)
+                .build();
+    }
+
+    private Page<Cinema> findCinemasByIds(List<Long> cinemaIds, Pageable pageable) {
+        if (cinemaIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return cinemaRepository.findByIdIn(cinemaIds, pageable);
+    }
+}
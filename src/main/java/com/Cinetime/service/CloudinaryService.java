@@ -1,13 +1,16 @@
 package com.Cinetime.service;
 
+import com.Cinetime.helpers.MetricsRegistry;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Map;
@@ -18,6 +21,7 @@ import java.util.Map;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class CloudinaryService {
 
     @Value("${cloudinary.cloud-name}")
@@ -31,6 +35,8 @@ public class CloudinaryService {
 
     private Cloudinary cloudinary;
 
+    private final MetricsRegistry metricsRegistry;
+
     @PostConstruct
     public void init() {
         cloudinary = new Cloudinary(ObjectUtils.asMap(
@@ -44,16 +50,14 @@ public class CloudinaryService {
     }
 
     /**
-     * Upload movie poster with automatic optimization
+     * Upload movie poster with automatic optimization. The file is streamed from disk, not read into memory.
      *
-     * @param file    The image file to upload
+     * @param file    The staged image file to upload (see {@link PosterUploadService})
      * @param movieId The movie ID for naming
      * @return The secure URL of the uploaded image
      * @throws IOException if upload fails
      */
-    public String uploadMoviePoster(MultipartFile file, Long movieId) throws IOException {
-        validateFile(file);
-
+    public String uploadMoviePoster(File file, Long movieId) throws IOException {
         try {
             Map<String, Object> uploadParams = ObjectUtils.asMap(
                     "folder", "cinetime/movie-posters",
@@ -68,7 +72,7 @@ public class CloudinaryService {
                     "fetch_format", "auto",
                     "tags", Arrays.asList("movie", "poster", "cinetime"));
 
-            Map<String, Object> result = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<String, Object> result = timedUpload(file, uploadParams);
             String imageUrl = (String) result.get("secure_url");
             String publicId = (String) result.get("public_id");
 
@@ -83,6 +87,21 @@ public class CloudinaryService {
         }
     }
 
+    //Yukleme suresi, Cloudinary'nin basarisiz cevaplari da dahil
+    private Map<String, Object> timedUpload(File file, Map<String, Object> uploadParams) throws IOException {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            Map<String, Object> result = cloudinary.uploader().upload(file, uploadParams);
+            outcome = "success";
+            return result;
+        } finally {
+            metricsRegistry.timer("cinetime_poster_upload", "Duration of uploading a movie poster to Cloudinary",
+                            "outcome", outcome)
+                    .record(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Delete movie poster from Cloudinary
      *
@@ -121,35 +140,12 @@ public class CloudinaryService {
         }
     }
 
-    /**
-     * Update movie poster - uploads new image and deletes old one
-     *
-     * @param newFile     The new image file
-     * @param movieId     The movie ID
-     * @param oldImageUrl The URL of the old image to delete
-     * @return The URL of the new uploaded image
-     * @throws IOException if upload fails
-     */
-    public String updateMoviePoster(MultipartFile newFile, Long movieId, String oldImageUrl) throws IOException {
-        // Upload new image first (fail fast if this doesn't work)
-        String newImageUrl = uploadMoviePoster(newFile, movieId);
-
-        // Delete old image (don't fail the update if this fails)
-        if (oldImageUrl != null && !oldImageUrl.trim().isEmpty()) {
-            boolean deleted = deleteMoviePoster(oldImageUrl);
-            if (!deleted) {
-                log.warn("Failed to delete old image during update: {}", oldImageUrl);
-                // Continue anyway - we have the new image uploaded
-            }
-        }
-
-        return newImageUrl;
-    }
-
     /**
      * Validate uploaded file meets our requirements
+     *
+     * @throws IllegalArgumentException if the file is missing, too large or not a supported image type
      */
-    private void validateFile(MultipartFile file) {
+    public void validatePoster(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File cannot be null or empty");
         }
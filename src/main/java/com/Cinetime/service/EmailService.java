@@ -1,6 +1,7 @@
 package com.Cinetime.service;
 
 
+import com.Cinetime.helpers.MetricsRegistry;
 import com.Cinetime.payload.business.SeatInfo;
 import com.Cinetime.payload.dto.request.MailRequest;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     private final JavaMailSender emailSender;
+    private final MetricsRegistry metricsRegistry;
 
     public void sendPasswordResetEmail(String email, String resetCode) {
         try {
@@ -34,7 +36,7 @@ public class EmailService {
             // Add logging before sending
             logger.info("Attempting to send email to: {}", email);
 
-            emailSender.send(message);
+            send(message, "password_reset");
 
             logger.info("Email sent successfully to: {}", email);
         } catch (MailAuthenticationException authEx) {
@@ -57,7 +59,7 @@ public class EmailService {
             message.setSubject(mailRequest.getSubject());
             message.setText(buildEmailContent(mailRequest)); // Extract to method
 
-            emailSender.send(message); // THIS IS MISSING!
+            send(message, "ticket_confirmation");
             logger.info("Ticket confirmation email sent successfully to: {}", mailRequest.getTo());
         } catch (MailAuthenticationException authEx) {
             logger.error("Mail authentication failed: {}", authEx.getMessage());
@@ -71,6 +73,20 @@ public class EmailService {
         }
     }
 
+    //SMTP suresi basarili ve basarisiz gonderimler icin ayri serilerde
+    private void send(SimpleMailMessage message, String type) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            emailSender.send(message);
+            outcome = "success";
+        } finally {
+            metricsRegistry.timer("cinetime_email_send", "Duration of sending an email over SMTP",
+                            "type", type, "outcome", outcome)
+                    .record(System.nanoTime() - start);
+        }
+    }
+
     private String buildEmailContent(MailRequest mailRequest) {
         StringBuilder content = new StringBuilder();
         content.append("Sayın Müşterimiz,\n\n");
@@ -0,0 +1,89 @@
+package com.Cinetime.service;
+
+import com.Cinetime.enums.ExportFormat;
+import com.Cinetime.enums.TicketStatus;
+import com.Cinetime.helpers.ExportWriter;
+import com.Cinetime.payload.business.TicketExportRow;
+import com.Cinetime.payload.business.UserExportRow;
+import com.Cinetime.repo.TicketRepository;
+import com.Cinetime.repo.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams users and tickets to an output stream as CSV or NDJSON. Rows are read as projections through a
+ * forward-only cursor and written as they arrive, so an export of any size runs in constant memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    //Tarih verilmezse tum kayitlar; iki ucu da veritabaninin timestamp araliginda
+    static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param from first registration day, inclusive (null for no lower bound)
+     * @param to   last registration day, inclusive (null for no upper bound)
+     * @return number of users written
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserExportRow> rows = userRepository.streamExportRows(start(from), end(to));
+             ExportWriter<UserExportRow> writer = new ExportWriter<>(format, out, objectMapper, UserExportRow.class,
+                     UserExportRow.COLUMNS, UserExportRow::toCsvValues)) {
+            long written = writeAll(rows, writer);
+            log.info("Exported {} users as {}", written, format);
+            return written;
+        }
+    }
+
+    /**
+     * @param from     first sale day, inclusive (null for no lower bound)
+     * @param to       last sale day, inclusive (null for no upper bound)
+     * @param cinemaId only tickets of this cinema (null for all)
+     * @param status   only tickets in this status (null for all)
+     * @return number of tickets written
+     */
+    @Transactional(readOnly = true)
+    public long exportTickets(LocalDate from, LocalDate to, Long cinemaId, TicketStatus status, ExportFormat format,
+                              OutputStream out) throws IOException {
+        try (Stream<TicketExportRow> rows = ticketRepository.streamExportRows(start(from), end(to), cinemaId, status);
+             ExportWriter<TicketExportRow> writer = new ExportWriter<>(format, out, objectMapper, TicketExportRow.class,
+                     TicketExportRow.COLUMNS, TicketExportRow::toCsvValues)) {
+            long written = writeAll(rows, writer);
+            log.info("Exported {} tickets as {}", written, format);
+            return written;
+        }
+    }
+
+    private static <T> long writeAll(Stream<T> rows, ExportWriter<T> writer) throws IOException {
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+            writer.write(iterator.next());
+        }
+        return writer.getRows();
+    }
+
+    private static LocalDateTime start(LocalDate from) {
+        return from == null ? EARLIEST : from.atStartOfDay();
+    }
+
+    private static LocalDateTime end(LocalDate to) {
+        return to == null ? LATEST : to.plusDays(1).atStartOfDay();
+    }
+}
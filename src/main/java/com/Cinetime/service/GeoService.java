@@ -0,0 +1,36 @@
+package com.Cinetime.service;
+
+import com.Cinetime.helpers.GeoReferenceRegistry;
+import com.Cinetime.payload.dto.response.GeoResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.messages.SuccessMessages;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class GeoService {
+
+    private final GeoReferenceRegistry geoReferenceRegistry;
+
+
+    public ResponseMessage<GeoResponse> getGeoData() {
+        return ResponseMessage.<GeoResponse>builder()
+                .message(SuccessMessages.GEO_DATA_FOUND)
+                .httpStatus(HttpStatus.OK)
+                .object(geoReferenceRegistry.getGeoData())
+                .build();
+    }
+
+    //Ulke/sehir/ilce tablolari elle degistirildiginde snapshot'i yeniletmek icin
+    public ResponseMessage<GeoResponse> refreshGeoData() {
+        geoReferenceRegistry.refresh();
+
+        return ResponseMessage.<GeoResponse>builder()
+                .message(SuccessMessages.GEO_DATA_REFRESHED)
+                .httpStatus(HttpStatus.OK)
+                .object(geoReferenceRegistry.getGeoData())
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.Cinetime.service;
+
+import com.Cinetime.helpers.MetricsRegistry;
+import com.Cinetime.helpers.SqlStatementMetrics;
+import com.Cinetime.helpers.UserIdentityFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+@Service
+@RequiredArgsConstructor
+public class MetricsService {
+
+    private final MetricsRegistry metricsRegistry;
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final UserIdentityFilter userIdentityFilter;
+
+
+    /**
+     * All timers, the per-route SQL totals and the uniqueness filter hit rates in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        metricsRegistry.scrape(out);
+
+        Map<String, SqlStatementMetrics.RouteSnapshot> routes = sqlStatementMetrics.getSnapshot();
+        appendSqlMetric(out, routes, "cinetime_sql_requests_total", "Requests recorded by the SQL statement filter",
+                "counter", SqlStatementMetrics.RouteSnapshot::requests);
+        appendSqlMetric(out, routes, "cinetime_sql_statements_total", "SQL statements executed",
+                "counter", SqlStatementMetrics.RouteSnapshot::statements);
+        appendSqlMetric(out, routes, "cinetime_sql_rows_total", "Rows fetched or updated",
+                "counter", SqlStatementMetrics.RouteSnapshot::rows);
+        appendSqlMetric(out, routes, "cinetime_sql_time_seconds_total", "Time spent executing SQL statements",
+                "counter", route -> route.dbTimeNanos() / 1e9);
+        appendSqlMetric(out, routes, "cinetime_sql_suspected_n_plus_one_total", "Requests that repeated one statement",
+                "counter", SqlStatementMetrics.RouteSnapshot::suspectedNPlusOne);
+        appendSqlMetric(out, routes, "cinetime_sql_statements_max", "Most SQL statements executed by one request",
+                "gauge", SqlStatementMetrics.RouteSnapshot::maxStatements);
+        userIdentityFilter.scrape(out);
+        return out.toString();
+    }
+
+    private static void appendSqlMetric(StringBuilder out, Map<String, SqlStatementMetrics.RouteSnapshot> routes,
+                                        String metric, String help, String type,
+                                        ToDoubleFunction<SqlStatementMetrics.RouteSnapshot> value) {
+        if (routes.isEmpty()) {
+            return;
+        }
+        MetricsRegistry.appendHeader(out, metric, help, type);
+        routes.forEach((route, snapshot) ->
+                MetricsRegistry.appendSample(out, metric, MetricsRegistry.labels("route", route), value.applyAsDouble(snapshot)));
+    }
+}
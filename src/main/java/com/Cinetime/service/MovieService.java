@@ -1,7 +1,9 @@
 package com.Cinetime.service;
 
 import com.Cinetime.entity.Showtime;
+import com.Cinetime.helpers.CatalogVersionTracker;
 import com.Cinetime.helpers.MovieHelperUpdate;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
 import com.Cinetime.payload.dto.request.MovieRequestUpdate;
 import com.Cinetime.payload.dto.response.MovieResponse;
 import com.Cinetime.payload.dto.response.MovieResponseCinema;
@@ -11,7 +13,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.Cinetime.entity.Movie;
+import com.Cinetime.enums.CatalogAggregate;
 import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.exception.PosterUploadBusyException;
 import com.Cinetime.exception.ResourceNotFoundException;
 import com.Cinetime.helpers.MovieHelper;
 import com.Cinetime.helpers.PageableHelper;
@@ -23,6 +27,7 @@ import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.repo.HallRepository;
 import com.Cinetime.repo.MovieRepository;
 import com.Cinetime.repo.ShowtimeRepository;
+import com.Cinetime.service.PosterUploadService.StagedPoster;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -47,6 +52,9 @@ public class MovieService {
     private final ShowtimeService showtimeService;
     private final MovieHelperUpdate movieHelperUpdate;
     private final CloudinaryService cloudinaryService;
+    private final ShowtimeScheduleIndex showtimeScheduleIndex;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final PosterUploadService posterUploadService;
 
     public ResponseMessage<Page<MovieResponse>> getMovieByHall(int page, int size, String sort, String type, String hallName) {
         Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
@@ -109,34 +117,30 @@ public class MovieService {
         newMovie.setCreatedAt(LocalDateTime.now());
         newMovie.setUpdatedAt(LocalDateTime.now());
 
+        StagedPoster poster = null;
         try {
-            // Save movie first to get the ID (needed for image naming)
-            Movie savedMovie = movieRepository.save(newMovie);
-
-            // Handle poster image upload if provided
+            // Poster is only staged here; it is uploaded in the background after commit
             if (movieRequest.getPosterImage() != null && !movieRequest.getPosterImage().isEmpty()) {
                 try {
-                    // Upload to cloud storage
-                    String imageUrl = cloudinaryService.uploadMoviePoster(
-                            movieRequest.getPosterImage(),
-                            savedMovie.getId()
-                    );
-
-                    // Update movie with image URL
-                    savedMovie.setPosterUrl(imageUrl);
-                    savedMovie = movieRepository.save(savedMovie);
-
-                    log.info("Movie created successfully with poster: ID={}, URL={}",
-                            savedMovie.getId(), imageUrl);
-
-                } catch (IOException e) {
-                    // CRITICAL: If image upload fails, we need to clean up
-                    log.error("Image upload failed for movie ID: {}", savedMovie.getId(), e);
+                    poster = posterUploadService.stage(movieRequest.getPosterImage());
+                } catch (IOException | IllegalArgumentException e) {
+                    log.error("Poster could not be accepted for new movie: {}", e.getMessage());
                     return ResponseMessage.<MovieResponse>builder()
                             .message("Failed to upload movie poster: " + e.getMessage())
                             .httpStatus(HttpStatus.BAD_REQUEST)
                             .build();
                 }
+                posterUploadService.markPending(newMovie, poster);
+            }
+
+            Movie savedMovie = movieRepository.save(newMovie);
+            catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE);
+
+            if (poster != null) {
+                posterUploadService.uploadAfterCommit(savedMovie.getId(), poster);
+                //Dosya artik yukleyicinin; rollback olursa onu o siliyor
+                poster = null;
+                log.info("Movie created, poster upload queued: ID={}", savedMovie.getId());
             }
 
             return ResponseMessage.<MovieResponse>builder()
@@ -145,8 +149,14 @@ public class MovieService {
                     .object(movieMapper.mapMovieToMovieResponse(savedMovie))
                     .build();
 
+        } catch (PosterUploadBusyException e) {
+            //503 + Retry-After, GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Failed to create movie", e);
+            if (poster != null) {
+                posterUploadService.discard(poster);
+            }
             return ResponseMessage.<MovieResponse>builder()
                     .message("Failed to create movie: " + e.getMessage())
                     .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -233,7 +243,6 @@ public class MovieService {
             }
 
             Movie existingMovie = existingMovieOptional.get();
-            String oldImageUrl = existingMovie.getPosterUrl();
 
             // Handle showtime update if provided
             if (movieRequest.getShowtimeId() != null) {
@@ -260,18 +269,15 @@ public class MovieService {
             // Update basic fields
             updateMovieFields(existingMovie, movieRequest);
 
-            // Handle image upload
+            // Handle image upload: staged here, uploaded in the background after commit
             if (movieRequest.getPosterImage() != null && !movieRequest.getPosterImage().isEmpty()) {
                 try {
-                    String newImageUrl = cloudinaryService.updateMoviePoster(
-                            movieRequest.getPosterImage(),
-                            movieId,
-                            oldImageUrl
-                    );
-                    existingMovie.setPosterUrl(newImageUrl);
-                    log.info("Movie poster updated successfully: ID={}, New URL={}", movieId, newImageUrl);
-                } catch (IOException e) {
-                    log.error("Failed to update movie poster for ID: {}", movieId, e);
+                    StagedPoster poster = posterUploadService.stage(movieRequest.getPosterImage());
+                    posterUploadService.markPending(existingMovie, poster);
+                    posterUploadService.uploadAfterCommit(movieId, poster);
+                    log.info("Movie poster upload queued: ID={}", movieId);
+                } catch (IOException | IllegalArgumentException e) {
+                    log.error("Poster could not be accepted for movie ID: {}: {}", movieId, e.getMessage());
                     return ResponseMessage.<MovieResponse>builder()
                             .message("Failed to update movie poster: " + e.getMessage())
                             .httpStatus(HttpStatus.BAD_REQUEST)
@@ -282,6 +288,7 @@ public class MovieService {
             // Save and return
             existingMovie.setUpdatedAt(LocalDateTime.now());
             Movie updatedMovie = movieRepository.save(existingMovie);
+            catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE);
 
             return ResponseMessage.<MovieResponse>builder()
                     .message(SuccessMessages.MOVIE_UPDATE)
@@ -301,6 +308,8 @@ public class MovieService {
                     .message(e.getMessage())
                     .httpStatus(HttpStatus.NOT_FOUND)
                     .build();
+        } catch (PosterUploadBusyException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update movie ID: {}", movieId, e);
             return ResponseMessage.<MovieResponse>builder()
@@ -335,6 +344,9 @@ public class MovieService {
 
             // Delete movie from database
             movieRepository.deleteById(movieId);
+            showtimeScheduleIndex.evictMovieAfterCommit(movieId);
+            //Gosterimler cascade ile silindi
+            catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME);
 
             log.info("Movie deleted successfully: ID={}", movieId);
 
@@ -0,0 +1,312 @@
+package com.Cinetime.service;
+
+import com.Cinetime.entity.Movie;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.enums.PosterStatus;
+import com.Cinetime.exception.PosterUploadBusyException;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.repo.MovieRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Uploads movie posters to Cloudinary in the background.
+ * <p>
+ * The request only validates the file and moves it to a local staging directory; the movie is saved with
+ * {@link PosterStatus#PENDING}. Once the transaction commits, the upload runs on a small bounded pool with
+ * retries, and the result is written to the movie with a single conditional update. Only the latest upload
+ * of a movie can complete: a superseded upload (or one whose movie was deleted) removes its image again.
+ * <p>
+ * Uploads still queued at shutdown are dropped, their staged files are kept. At the next start
+ * {@link #recoverPendingUploads()} queues them again, or marks the movie {@code FAILED} when the file is gone.
+ */
+@Slf4j
+@Service
+public class PosterUploadService implements DisposableBean {
+
+    /**
+     * A poster file waiting in the staging directory, identified by the upload id stored on the movie.
+     */
+    public record StagedPoster(String uploadId, Path path) {
+    }
+
+    private final CloudinaryService cloudinaryService;
+    private final MovieRepository movieRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final Path stagingDir;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Duration staleAfter;
+    //Bu andan once yazilmis staging dosyalari onceki calistirmalardan kalmis
+    private final long startedAt = System.currentTimeMillis();
+    private final ThreadPoolExecutor executor;
+
+    public PosterUploadService(CloudinaryService cloudinaryService, MovieRepository movieRepository,
+                               CatalogVersionTracker catalogVersionTracker,
+                               @Value("${app.poster-upload.staging-dir:${java.io.tmpdir}/cinetime-poster-staging}") String stagingDir,
+                               @Value("${app.poster-upload.threads:2}") int threads,
+                               @Value("${app.poster-upload.queue-capacity:100}") int queueCapacity,
+                               @Value("${app.poster-upload.max-attempts:3}") int maxAttempts,
+                               @Value("${app.poster-upload.retry-delay-ms:2000}") long retryDelayMillis,
+                               @Value("${app.poster-upload.stale-after-minutes:30}") long staleAfterMinutes) throws IOException {
+        if (threads < 1 || queueCapacity < 1 || maxAttempts < 1 || retryDelayMillis < 0 || staleAfterMinutes < 0) {
+            throw new IllegalArgumentException("threads, queueCapacity and maxAttempts must be positive, "
+                    + "retryDelayMillis and staleAfterMinutes must not be negative");
+        }
+        this.cloudinaryService = cloudinaryService;
+        this.movieRepository = movieRepository;
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.stagingDir = Files.createDirectories(Paths.get(stagingDir));
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.staleAfter = Duration.ofMinutes(staleAfterMinutes);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new UploadThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Poster uploads on {} threads, queue capacity {}, staged in {}", threads, queueCapacity, this.stagingDir);
+    }
+
+    /**
+     * Validate the file and move it to the staging directory.
+     *
+     * @throws IllegalArgumentException   if the file is not an acceptable poster
+     * @throws PosterUploadBusyException if the upload queue is full (503, the client may retry later)
+     * @throws IOException               if the file cannot be written to the staging directory
+     */
+    public StagedPoster stage(MultipartFile file) throws IOException {
+        cloudinaryService.validatePoster(file);
+        //Kuyruk doluysa dosya hic alinmiyor; commit'ten sonra reddedilen yukleme sadece FAILED olabiliyor
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new PosterUploadBusyException("Too many poster uploads in progress, please try again later");
+        }
+        String uploadId = UUID.randomUUID().toString();
+        Path path = stagingDir.resolve(uploadId + extension(file.getOriginalFilename()));
+        //Servlet container'in diske yazdigi parca tasiniyor (rename), icerik bellege alinmiyor
+        file.transferTo(path);
+        return new StagedPoster(uploadId, path);
+    }
+
+    /**
+     * Resume the uploads an earlier run left behind. A {@code PENDING} movie whose file is still in the staging
+     * directory is queued again; one without a file is marked {@code FAILED} once it has not been updated for
+     * {@code app.poster-upload.stale-after-minutes} (a recent one may still be uploading on another instance).
+     * Staged files of earlier runs that no pending movie refers to are deleted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingUploads() {
+        Map<String, Path> stagedFiles = stagedFilesBefore(startedAt);
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        int requeued = 0;
+        int failed = 0;
+        try {
+            for (Object[] pending : movieRepository.findPosterUploadsByStatus(PosterStatus.PENDING)) {
+                Long movieId = (Long) pending[0];
+                String uploadId = (String) pending[1];
+                LocalDateTime updatedAt = (LocalDateTime) pending[2];
+                Path path = uploadId == null ? null : stagedFiles.remove(uploadId);
+                if (path != null) {
+                    submit(movieId, new StagedPoster(uploadId, path));
+                    requeued++;
+                } else if ((updatedAt == null || updatedAt.isBefore(staleBefore))
+                        && movieRepository.updatePosterStatus(movieId, uploadId, PosterStatus.FAILED) > 0) {
+                    failed++;
+                }
+            }
+        } catch (RuntimeException e) {
+            //Dosyalar silinmiyor, bir sonraki acilis tekrar deniyor
+            log.warn("Could not recover pending poster uploads: {}", e.getMessage());
+            return;
+        }
+        if (failed > 0) {
+            catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE);
+        }
+        stagedFiles.values().forEach(path -> discard(new StagedPoster(null, path)));
+        log.info("Poster uploads recovered: {} queued again, {} marked failed, {} orphaned files deleted",
+                requeued, failed, stagedFiles.size());
+    }
+
+    /**
+     * Mark the movie as waiting for this upload; call before saving it.
+     */
+    public void markPending(Movie movie, StagedPoster poster) {
+        movie.setPosterStatus(PosterStatus.PENDING);
+        movie.setPosterUploadId(poster.uploadId());
+    }
+
+    /**
+     * Queue the upload once the current transaction commits (immediately without one).
+     * The staged file is deleted if the transaction rolls back.
+     */
+    public void uploadAfterCommit(Long movieId, StagedPoster poster) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        submit(movieId, poster);
+                    } else {
+                        discard(poster);
+                    }
+                }
+            });
+        } else {
+            submit(movieId, poster);
+        }
+    }
+
+    /**
+     * Delete a staged file that will not be uploaded.
+     */
+    public void discard(StagedPoster poster) {
+        try {
+            Files.deleteIfExists(poster.path());
+        } catch (IOException e) {
+            log.warn("Could not delete staged poster {}", poster.path(), e);
+        }
+    }
+
+    /**
+     * @return the number of uploads waiting for a thread
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long movieId, StagedPoster poster) {
+        try {
+            executor.execute(() -> upload(movieId, poster));
+        } catch (RejectedExecutionException e) {
+            log.warn("Poster upload queue is full, upload for movie {} dropped", movieId);
+            discard(poster);
+            //afterCompletion icindeki sorgular biten transaction'a katiliyor; sonuc baska bir thread'de yaziliyor
+            CompletableFuture.runAsync(() -> complete(movieId, poster, null));
+        }
+    }
+
+    //Dosya adi yukleme id'si ve uzantidan olusuyor (bkz. stage)
+    private Map<String, Path> stagedFilesBefore(long epochMillis) {
+        Map<String, Path> files = new HashMap<>();
+        try (Stream<Path> paths = Files.list(stagingDir)) {
+            paths.filter(path -> path.toFile().lastModified() < epochMillis)
+                    .forEach(path -> {
+                        String name = path.getFileName().toString();
+                        int dot = name.indexOf('.');
+                        files.put(dot < 0 ? name : name.substring(0, dot), path);
+                    });
+        } catch (IOException e) {
+            log.warn("Could not list the poster staging directory {}", stagingDir, e);
+        }
+        return files;
+    }
+
+    void upload(Long movieId, StagedPoster poster) {
+        String url = null;
+        try {
+            url = uploadWithRetry(movieId, poster);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Poster upload for movie {} interrupted", movieId);
+        } finally {
+            discard(poster);
+        }
+        complete(movieId, poster, url);
+    }
+
+    //Bekleme her denemede iki katina cikiyor
+    private String uploadWithRetry(Long movieId, StagedPoster poster) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return cloudinaryService.uploadMoviePoster(poster.path().toFile(), movieId);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Poster upload for movie {} failed after {} attempts", movieId, attempt);
+                    return null;
+                }
+                long delay = retryDelayMillis << (attempt - 1);
+                log.warn("Poster upload for movie {} failed (attempt {}/{}), retrying in {} ms",
+                        movieId, attempt, maxAttempts, delay);
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    //Veritabani sadece burada, ag islemi bittikten sonra kullaniliyor
+    private void complete(Long movieId, StagedPoster poster, String url) {
+        try {
+            if (url == null) {
+                if (movieRepository.updatePosterStatus(movieId, poster.uploadId(), PosterStatus.FAILED) > 0) {
+                    catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE);
+                }
+                return;
+            }
+
+            String previousUrl = movieRepository.findPosterUrlById(movieId).orElse(null);
+            if (movieRepository.completePosterUpload(movieId, poster.uploadId(), url, PosterStatus.UPLOADED) == 0) {
+                log.info("Poster upload for movie {} was superseded, deleting {}", movieId, url);
+                cloudinaryService.deleteMoviePoster(url);
+                return;
+            }
+            catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE);
+            log.info("Movie poster updated: ID={}, URL={}", movieId, url);
+
+            if (previousUrl != null && !previousUrl.equals(url) && !cloudinaryService.deleteMoviePoster(previousUrl)) {
+                log.warn("Failed to delete previous poster of movie {}: {}", movieId, previousUrl);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not record poster upload result for movie {}", movieId, e);
+        }
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filename.substring(dot).toLowerCase(Locale.ROOT);
+        //Dosya adi istemciden geliyor; yalnizca basit uzantilar kullaniliyor
+        return extension.matches("\\.[a-z0-9]{1,5}") ? extension : "";
+    }
+
+    private static final class UploadThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "poster-upload-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,22 +1,74 @@
 package com.Cinetime.service;
 
 import com.Cinetime.entity.User;
+import com.Cinetime.repo.UserRepository;
 import com.Cinetime.security.UserDetailsImpl;
+import com.Cinetime.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class SecurityService {
 
+    static final String CURRENT_USER_ATTRIBUTE = SecurityService.class.getName() + ".currentUser";
 
-    public User getCurrentUser() {
+    private final UserRepository userRepository;
+
+    /**
+     * Identity of the authenticated user (id, phone number, role), read from the security context without
+     * a query. Use this instead of {@link #getCurrentUser()} whenever the entity itself is not needed.
+     *
+     * @return the principal, or null if not authenticated
+     */
+    public UserPrincipal getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
-            return ((UserDetailsImpl) authentication.getPrincipal()).getUser();
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return UserPrincipal.of(userDetails.getUser());
         }
         return null;
     }
+
+    /**
+     * The authenticated user entity. Requests authenticated with a JWT only carry a {@link UserPrincipal},
+     * so the entity is loaded here, at most once per request. The memoized entity stays attached through the
+     * request's open-in-view session; without it, later transactions of the same request get it detached.
+     *
+     * @return the user, or null if not authenticated or the account no longer exists
+     */
+    public User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getUser();
+        }
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return null;
+        }
+
+        //Istek disinda (zamanlanmis is, test) her cagri yeniden yukluyor
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return userRepository.findById(principal.id()).orElse(null);
+        }
+        @SuppressWarnings("unchecked")
+        Optional<User> memo = (Optional<User>) request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        //Bulunamayan kullanici da saklaniyor, ayni istekte tekrar sorgulanmasin
+        if (memo == null) {
+            memo = userRepository.findById(principal.id());
+            request.setAttribute(CURRENT_USER_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo.orElse(null);
+    }
 }
@@ -3,10 +3,19 @@ package com.Cinetime.service;
 import com.Cinetime.entity.Hall;
 import com.Cinetime.entity.Movie;
 import com.Cinetime.entity.Showtime;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.helpers.CatalogVersionTracker;
 import com.Cinetime.helpers.PageableHelper;
+import com.Cinetime.helpers.ShowtimeScheduleGenerator;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
 import com.Cinetime.helpers.TicketPriceHelper;
+import com.Cinetime.payload.business.ShowtimeSlot;
+import com.Cinetime.payload.dto.request.MovieShowTargetRequest;
+import com.Cinetime.payload.dto.request.ScheduleGenerationRequest;
+import com.Cinetime.payload.dto.request.ShowtimeBulkRequest;
 import com.Cinetime.payload.dto.request.ShowtimeRequest;
 import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.dto.response.ScheduleGenerationResponse;
 import com.Cinetime.payload.dto.response.ShowtimeResponse;
 import com.Cinetime.payload.mappers.ShowtimeMapper;
 import com.Cinetime.payload.messages.ErrorMessages;
@@ -20,10 +29,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,16 +48,18 @@ public class ShowtimeService {
     private final MovieRepository movieRepository;
     private final HallRepository hallRepository;
     private final TicketPriceHelper ticketPriceHelper;
+    private final ShowtimeScheduleIndex showtimeScheduleIndex;
+    private final ShowtimeScheduleGenerator showtimeScheduleGenerator;
+    private final CatalogVersionTracker catalogVersionTracker;
 
     public ResponseMessage<Page<ShowtimeResponse>> getUpcomingShowtimesForMovieAndCinema(int page, int size, String sort, String type, Long movieId) {
 
         Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
         // Şu anki tarih saatinden sonrasında olan tüm showtime'ları alıyoruz
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
+        LocalDateTime now = LocalDateTime.now();
 
 
-        Page<Showtime> showtimes = showtimeRepository.findUpcomingShowtimesByMovieId(movieId, today, now, pageable);
+        Page<Showtime> showtimes = showtimeRepository.findUpcomingShowtimesByMovieId(movieId, now, pageable);
 
         if (showtimes.isEmpty()) {
             return ResponseMessage.<Page<ShowtimeResponse>>builder()
@@ -63,11 +78,12 @@ public class ShowtimeService {
 
     public void showtimeCheck(Long hallId, LocalDate date, LocalTime startTime, LocalTime endTime) throws BadRequestException {
 
-        boolean hasConflict = showtimeRepository.existsByHallIdAndDateAndTimeOverlap(
+        boolean hasConflict = showtimeScheduleIndex.hasConflict(
                 hallId,
                 date,
                 startTime,
-                endTime
+                endTime,
+                null
         );
         if (hasConflict) {
             throw new BadRequestException("Bu saat aralığında bu salonda başka bir gösterim mevcut.");
@@ -75,12 +91,12 @@ public class ShowtimeService {
     }
 
     public void showtimeUpdateCheck(Long showtimeId, Long hallId, LocalDate date, LocalTime startTime, LocalTime endTime) throws BadRequestException {
-        boolean hasConflict = showtimeRepository.existsConflictForUpdate(
-                showtimeId,
+        boolean hasConflict = showtimeScheduleIndex.hasConflict(
                 hallId,
                 date,
                 startTime,
-                endTime
+                endTime,
+                showtimeId
         );
 
         if (hasConflict) {
@@ -107,6 +123,11 @@ public class ShowtimeService {
 
     }
 
+    /**
+     * Insert a single showtime. The hall is locked for the rest of the transaction and the slot is checked
+     * against the database, so concurrent inserts on any instance cannot both take the same time range.
+     */
+    @Transactional
     public ResponseMessage<ShowtimeResponse> createShowtimeForMovie(ShowtimeRequest showtimeRequest) {
 
         Optional<Movie> movieOptional = movieRepository.findById(showtimeRequest.getMovieId());
@@ -119,7 +140,9 @@ public class ShowtimeService {
 
         Movie movie = movieOptional.get();
 
-        Optional<Hall> hallOptional = hallRepository.findById(showtimeRequest.getHallId());
+        Optional<Hall> hallOptional = hallRepository.findAllByIdForUpdate(List.of(showtimeRequest.getHallId()))
+                .stream()
+                .findFirst();
         if (hallOptional.isEmpty()) {
             return ResponseMessage.<ShowtimeResponse>builder()
                     .message(ErrorMessages.HALL_NOT_FOUND)
@@ -132,6 +155,14 @@ public class ShowtimeService {
         LocalTime startTime = showtimeRequest.getStartTime();
         LocalTime endTime = showtimeRequest.getEndTime();
 
+        Optional<ShowtimeSlot> conflict = findOverlap(
+                showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(hall.getId()), date, date), startTime, endTime);
+        if (conflict.isPresent()) {
+            return ResponseMessage.<ShowtimeResponse>builder()
+                    .message(ErrorMessages.SHOWTIME_CONFLICT + describeSlot(conflict.get()))
+                    .httpStatus(HttpStatus.CONFLICT)
+                    .build();
+        }
 
         Double showtimePrice = ticketPriceHelper.calculateTicketPrice(hall, movie, startTime, endTime, date);
 
@@ -139,6 +170,8 @@ public class ShowtimeService {
 
 
         showtimeRepository.save(showtime);
+        showtimeScheduleIndex.addAfterCommit(List.of(showtime));
+        catalogVersionTracker.bumpAfterCommit(CatalogAggregate.SHOWTIME);
 
         return ResponseMessage.<ShowtimeResponse>builder()
                 .message(SuccessMessages.SHOWTIME_CREATED_SUCCESSFULLY)
@@ -152,20 +185,19 @@ public class ShowtimeService {
             int page, int size, String sort, String type, Long movieId, Long cinemaId) {
 
         Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
+        LocalDateTime now = LocalDateTime.now();
 
         Page<Showtime> showtimes;
 
         if (cinemaId != null) {
             // Filter showtimes by movie, cinema, and current/future time
             showtimes = showtimeRepository.findUpcomingShowtimesByMovieAndCinema(
-                    movieId, cinemaId, today, now, pageable
+                    movieId, cinemaId, now, pageable
             );
         } else {
             // Fall back to existing method if no cinema is specified
             showtimes = showtimeRepository.findUpcomingShowtimesByMovieId(
-                    movieId, today, now, pageable
+                    movieId, now, pageable
             );
         }
 
@@ -182,4 +214,194 @@ public class ShowtimeService {
                 .message("Showtimes found successfully")
                 .build();
     }
+
+    /**
+     * Validate and insert a whole programme (e.g. a week for every hall of a cinema) in one transaction.
+     * The halls are locked, their showtimes in the date range are loaded with one query and the batch is
+     * checked in a single sorted pass, against both existing showtimes and the other entries of the batch.
+     */
+    @Transactional
+    public ResponseMessage<List<ShowtimeResponse>> createShowtimesInBulk(ShowtimeBulkRequest bulkRequest) {
+
+        List<ShowtimeRequest> requests = bulkRequest.getShowtimes();
+
+        Set<Long> movieIds = requests.stream().map(ShowtimeRequest::getMovieId).collect(Collectors.toSet());
+        Map<Long, Movie> movies = movieRepository.findAllById(movieIds)
+                .stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        if (movies.size() != movieIds.size()) {
+            return ResponseMessage.<List<ShowtimeResponse>>builder()
+                    .message(ErrorMessages.MOVIE_NOT_FOUND)
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+
+        Set<Long> hallIds = requests.stream().map(ShowtimeRequest::getHallId).collect(Collectors.toSet());
+        Map<Long, Hall> halls = hallRepository.findAllByIdForUpdate(hallIds)
+                .stream()
+                .collect(Collectors.toMap(Hall::getId, Function.identity()));
+        if (halls.size() != hallIds.size()) {
+            return ResponseMessage.<List<ShowtimeResponse>>builder()
+                    .message(ErrorMessages.HALL_NOT_FOUND)
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+
+        List<String> errors = findScheduleErrors(requests, hallIds);
+        if (!errors.isEmpty()) {
+            return ResponseMessage.<List<ShowtimeResponse>>builder()
+                    .message(String.join("; ", errors))
+                    .httpStatus(HttpStatus.CONFLICT)
+                    .build();
+        }
+
+        List<Showtime> showtimes = requests.stream()
+                .map(request -> {
+                    Movie movie = movies.get(request.getMovieId());
+                    Hall hall = halls.get(request.getHallId());
+                    Double price = ticketPriceHelper.calculateTicketPrice(
+                            hall, movie, request.getStartTime(), request.getEndTime(), request.getDate());
+                    return showtimeMapper.mapShowtimeRequestToShowtime(request, movie, hall, price);
+                })
+                .toList();
+
+        List<Showtime> savedShowtimes = showtimeRepository.saveAll(showtimes);
+        showtimeScheduleIndex.addAfterCommit(savedShowtimes);
+        catalogVersionTracker.bumpAfterCommit(CatalogAggregate.SHOWTIME);
+
+        return ResponseMessage.<List<ShowtimeResponse>>builder()
+                .message(SuccessMessages.SHOWTIMES_CREATED_SUCCESSFULLY)
+                .httpStatus(HttpStatus.CREATED)
+                .object(savedShowtimes.stream().map(showtimeMapper::mapShowtimeToShowtimeResponse).toList())
+                .build();
+    }
+
+    /**
+     * Generate a conflict-free programme for the halls of a cinema without saving it.
+     */
+    public ResponseMessage<ScheduleGenerationResponse> previewSchedule(ScheduleGenerationRequest scheduleRequest) {
+
+        if (!scheduleRequest.getClosingTime().isAfter(scheduleRequest.getOpeningTime())) {
+            return ResponseMessage.<ScheduleGenerationResponse>builder()
+                    .message(ErrorMessages.INVALID_OPENING_HOURS)
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
+        List<Hall> halls = hallRepository.findByCinemaId(scheduleRequest.getCinemaId());
+        if (scheduleRequest.getHallIds() != null && !scheduleRequest.getHallIds().isEmpty()) {
+            Set<Long> requestedHallIds = new HashSet<>(scheduleRequest.getHallIds());
+            halls = halls.stream().filter(hall -> requestedHallIds.contains(hall.getId())).toList();
+            if (halls.size() != requestedHallIds.size()) {
+                return ResponseMessage.<ScheduleGenerationResponse>builder()
+                        .message(ErrorMessages.HALL_NOT_FOUND)
+                        .httpStatus(HttpStatus.NOT_FOUND)
+                        .build();
+            }
+        }
+        if (halls.isEmpty()) {
+            return ResponseMessage.<ScheduleGenerationResponse>builder()
+                    .message(ErrorMessages.CINEMA_NOT_FOUND)
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+
+        //Ayni film birden fazla kez gelirse hedefler toplaniyor
+        Map<Long, Integer> targetShows = scheduleRequest.getMovies().stream()
+                .collect(Collectors.toMap(MovieShowTargetRequest::getMovieId, MovieShowTargetRequest::getTargetShowCount,
+                        Integer::sum, LinkedHashMap::new));
+        Map<Long, Movie> moviesById = movieRepository.findAllById(targetShows.keySet())
+                .stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        if (moviesById.size() != targetShows.size()) {
+            return ResponseMessage.<ScheduleGenerationResponse>builder()
+                    .message(ErrorMessages.MOVIE_NOT_FOUND)
+                    .httpStatus(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+        List<Movie> movies = targetShows.keySet().stream().map(moviesById::get).toList();
+        Optional<Movie> withoutDuration = movies.stream()
+                .filter(movie -> movie.getDuration() == null || movie.getDuration() <= 0)
+                .findFirst();
+        if (withoutDuration.isPresent()) {
+            return ResponseMessage.<ScheduleGenerationResponse>builder()
+                    .message(ErrorMessages.INVALID_MOVIE_DURATION + withoutDuration.get().getId())
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
+        ScheduleGenerationResponse schedule = showtimeScheduleGenerator.generate(
+                halls,
+                movies,
+                targetShows,
+                scheduleRequest.getStartDate(),
+                scheduleRequest.getDays(),
+                scheduleRequest.getOpeningTime(),
+                scheduleRequest.getClosingTime(),
+                scheduleRequest.getCleaningBufferMinutes());
+
+        return ResponseMessage.<ScheduleGenerationResponse>builder()
+                .message(SuccessMessages.SCHEDULE_GENERATED_SUCCESSFULLY)
+                .httpStatus(HttpStatus.OK)
+                .object(schedule)
+                .build();
+    }
+
+    private List<String> findScheduleErrors(List<ShowtimeRequest> requests, Set<Long> hallIds) {
+        List<String> errors = new ArrayList<>();
+
+        LocalDate fromDate = requests.stream().map(ShowtimeRequest::getDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate toDate = requests.stream().map(ShowtimeRequest::getDate).max(Comparator.naturalOrder()).orElseThrow();
+        //Indeks bu instance'a ozel; kontrol salonlar kilitliyken veritabanindaki guncel seanslarla yapiliyor
+        Map<Long, Map<LocalDate, List<ShowtimeSlot>>> existing = showtimeRepository
+                .findSlotsByHallIdsAndDateBetween(hallIds, fromDate, toDate)
+                .stream()
+                .collect(Collectors.groupingBy(ShowtimeSlot::getHallId, Collectors.groupingBy(ShowtimeSlot::getDate)));
+
+        //Salon, gun ve baslangic saatine gore siraliyoruz; boylece batch icindeki cakismalar komsu kayitlarda ortaya cikiyor
+        List<ShowtimeRequest> sorted = requests.stream()
+                .sorted(Comparator.comparing(ShowtimeRequest::getHallId)
+                        .thenComparing(ShowtimeRequest::getDate)
+                        .thenComparing(ShowtimeRequest::getStartTime))
+                .toList();
+
+        ShowtimeRequest latestEnding = null;
+        for (ShowtimeRequest request : sorted) {
+            if (!request.getEndTime().isAfter(request.getStartTime())) {
+                errors.add(ErrorMessages.INVALID_SHOWTIME_RANGE + describeRequest(request));
+                continue;
+            }
+
+            boolean sameHallDay = latestEnding != null
+                    && latestEnding.getHallId().equals(request.getHallId())
+                    && latestEnding.getDate().equals(request.getDate());
+
+            if (sameHallDay && latestEnding.getEndTime().isAfter(request.getStartTime())) {
+                errors.add(ErrorMessages.SHOWTIME_CONFLICT + describeRequest(latestEnding) + " / " + describeRequest(request));
+            } else {
+                List<ShowtimeSlot> slots = existing.getOrDefault(request.getHallId(), Map.of()).getOrDefault(request.getDate(), List.of());
+                findOverlap(slots, request.getStartTime(), request.getEndTime())
+                        .ifPresent(slot -> errors.add(ErrorMessages.SHOWTIME_CONFLICT + describeSlot(slot) + " / " + describeRequest(request)));
+            }
+
+            if (!sameHallDay || request.getEndTime().isAfter(latestEnding.getEndTime())) {
+                latestEnding = request;
+            }
+        }
+        return errors;
+    }
+
+    private static Optional<ShowtimeSlot> findOverlap(List<ShowtimeSlot> slots, LocalTime startTime, LocalTime endTime) {
+        return slots.stream()
+                .filter(slot -> slot.overlaps(startTime, endTime))
+                .findFirst();
+    }
+
+    private String describeRequest(ShowtimeRequest request) {
+        return "hall " + request.getHallId() + " " + request.getDate() + " " + request.getStartTime() + "-" + request.getEndTime();
+    }
+
+    private String describeSlot(ShowtimeSlot slot) {
+        return "hall " + slot.getHallId() + " " + slot.getDate() + " " + slot.getStartTime() + "-" + slot.getEndTime();
+    }
 }
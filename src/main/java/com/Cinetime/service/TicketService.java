@@ -3,6 +3,8 @@ package com.Cinetime.service;
 import com.Cinetime.entity.*;
 import com.Cinetime.enums.PaymentStatus;
 import com.Cinetime.enums.TicketStatus;
+import com.Cinetime.helpers.LatencyTimer;
+import com.Cinetime.helpers.MetricsRegistry;
 import com.Cinetime.helpers.PageableHelper;
 import com.Cinetime.payload.business.SeatInfo;
 import com.Cinetime.payload.dto.request.*;
@@ -35,6 +37,7 @@ public class TicketService {
     private final PaymentRepository paymentRepository;
     private final AnonymousUserRepository anonymousUserRepository;
     private final EmailService emailService;
+    private final MetricsRegistry metricsRegistry;
 
     //T01 Return movies that an authenticated user bought and haven't used yet
     public ResponseMessage<Page<TicketResponse>> getCurrentTickets(int page, int size, String sort, String type) {
@@ -88,7 +91,7 @@ public class TicketService {
 
         Movie movie = movieOptional.get();
 
-        Optional<Showtime> showTimeOptional = showtimeRepository.findById(request.getShowtimeId());
+        Optional<Showtime> showTimeOptional = showtimeRepository.findByIdForUpdate(request.getShowtimeId());
 
         if (showTimeOptional.isEmpty()) {
             return ResponseMessage.<List<TicketResponse>>builder()
@@ -110,13 +113,7 @@ public class TicketService {
                     .httpStatus(HttpStatus.BAD_REQUEST)
                     .build();
         }
-        List<String> takenSeats = ticketRepository
-                .findOccupiedSeatsByShowtimeAndStatus(showtime.getId(), List.of(TicketStatus.PAID, TicketStatus.RESERVED));
-
-        List<String> alreadyReservedSeats = requestedSeats
-                .stream()
-                .map(SeatInfo::getFullSeatName)
-                .filter(takenSeats::contains).toList();
+        List<String> alreadyReservedSeats = findOccupiedRequestedSeats(showtime.getId(), requestedSeats);
 
         if (!alreadyReservedSeats.isEmpty()) {
             return ResponseMessage.<List<TicketResponse>>builder()
@@ -189,7 +186,7 @@ public class TicketService {
 
         Movie movie = movieOptional.get();
 
-        Optional<Showtime> showTimeOptional = showtimeRepository.findById(request.getShowtimeId());
+        Optional<Showtime> showTimeOptional = showtimeRepository.findByIdForUpdate(request.getShowtimeId());
 
         if (showTimeOptional.isEmpty()) {
             return ResponseMessage.<List<TicketResponse>>builder()
@@ -211,13 +208,7 @@ public class TicketService {
                     .httpStatus(HttpStatus.BAD_REQUEST)
                     .build();
         }
-        List<String> takenSeats = ticketRepository
-                .findOccupiedSeatsByShowtimeAndStatus(showtime.getId(), List.of(TicketStatus.PAID, TicketStatus.RESERVED));
-
-        List<String> alreadyReservedSeats = requestedSeats
-                .stream()
-                .map(SeatInfo::getFullSeatName)
-                .filter(takenSeats::contains).toList();
+        List<String> alreadyReservedSeats = findOccupiedRequestedSeats(showtime.getId(), requestedSeats);
 
         if (!alreadyReservedSeats.isEmpty()) {
             return ResponseMessage.<List<TicketResponse>>builder()
@@ -332,7 +323,7 @@ public class TicketService {
 
         Movie movie = movieOptional.get();
 
-        Optional<Showtime> showTimeOptional = showtimeRepository.findById(request.getShowtimeId());
+        Optional<Showtime> showTimeOptional = showtimeRepository.findByIdForUpdate(request.getShowtimeId());
 
         if (showTimeOptional.isEmpty()) {
             return ResponseMessage.<List<AnonymousTicketResponse>>builder()
@@ -355,13 +346,7 @@ public class TicketService {
 
         List<SeatInfo> requestedSeats = request.getSeatInfos();
 
-        List<String> takenSeats = ticketRepository
-                .findOccupiedSeatsByShowtimeAndStatus(showtime.getId(), List.of(TicketStatus.PAID, TicketStatus.RESERVED));
-
-        List<String> alreadyReservedSeats = requestedSeats
-                .stream()
-                .map(SeatInfo::getFullSeatName)
-                .filter(takenSeats::contains).toList();
+        List<String> alreadyReservedSeats = findOccupiedRequestedSeats(showtime.getId(), requestedSeats);
 
         if (!alreadyReservedSeats.isEmpty()) {
             return ResponseMessage.<List<AnonymousTicketResponse>>builder()
@@ -476,6 +461,25 @@ public class TicketService {
         emailService.sendMail(mailRequest);
     }
 
+    //Istenen koltuklardan PAID/RESERVED bilete sahip olanlar, istek sirasiyla
+    private List<String> findOccupiedRequestedSeats(Long showtimeId, List<SeatInfo> requestedSeats) {
+        LatencyTimer timer = metricsRegistry.timer("cinetime_seat_check", "Duration of the seat conflict check on booking");
+        return timer.record(() -> findOccupiedSeats(new HashSet<>(ticketRepository
+                        .findOccupiedSeatsByShowtimeAndStatus(showtimeId, List.of(TicketStatus.PAID, TicketStatus.RESERVED))),
+                requestedSeats));
+    }
+
+    /**
+     * Full names of the requested seats that are already taken, in request order.
+     */
+    public static List<String> findOccupiedSeats(Set<String> takenSeats, List<SeatInfo> requestedSeats) {
+        return requestedSeats
+                .stream()
+                .map(SeatInfo::getFullSeatName)
+                .filter(takenSeats::contains).toList();
+    }
+
+    @Transactional
     public ResponseMessage<List<AnonymousTicketResponse>> reserveTicketAsGuest(TicketPurchaseGuestRequest request) {
         //TODO: Burayi bir private method icine alip parametrelere gore reserve ya da buy olmasini saglayip kod karmasikligindan kurtulacagiz.
         Optional<Movie> movieOptional = movieRepository.findByTitle(request.getMovieName());
@@ -489,7 +493,7 @@ public class TicketService {
 
         Movie movie = movieOptional.get();
 
-        Optional<Showtime> showTimeOptional = showtimeRepository.findById(request.getShowtimeId());
+        Optional<Showtime> showTimeOptional = showtimeRepository.findByIdForUpdate(request.getShowtimeId());
 
         if (showTimeOptional.isEmpty()) {
             return ResponseMessage.<List<AnonymousTicketResponse>>builder()
@@ -512,13 +516,7 @@ public class TicketService {
 
         List<SeatInfo> requestedSeats = request.getSeatInfos();
 
-        List<String> takenSeats = ticketRepository
-                .findOccupiedSeatsByShowtimeAndStatus(showtime.getId(), List.of(TicketStatus.PAID, TicketStatus.RESERVED));
-
-        List<String> alreadyReservedSeats = requestedSeats
-                .stream()
-                .map(SeatInfo::getFullSeatName)
-                .filter(takenSeats::contains).toList();
+        List<String> alreadyReservedSeats = findOccupiedRequestedSeats(showtime.getId(), requestedSeats);
 
         if (!alreadyReservedSeats.isEmpty()) {
             return ResponseMessage.<List<AnonymousTicketResponse>>builder()
@@ -1,17 +1,14 @@
 package com.Cinetime.service;
 
 import com.Cinetime.entity.Cinema;
-import com.Cinetime.entity.User;
 import com.Cinetime.entity.UserCinemaFavorite;
 import com.Cinetime.helpers.PageableHelper;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.repo.UserCinemaFavoriteRepository;
-import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -22,31 +19,27 @@ public class UserCinemaFavoriteService {
 
     private final UserCinemaFavoriteRepository userCinemaFavoriteRepository;
     private final PageableHelper pageableHelper;
-    private final UserRepository userRepository;
+    private final SecurityService securityService;
 
     public ResponseMessage<List<Cinema>> getUserFavoriteCinemas(int page, int size, String sort, String type) {
 
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            //Kimlik token'dan geliyor, kullanici tekrar yuklenmiyor
+            UserPrincipal principal = securityService.getCurrentPrincipal();
 
-            String phoneNumber = authentication.getName();
-
-            Optional<User> userOptional = userRepository.findByPhoneNumber(phoneNumber);
-
-            if (userOptional.isEmpty()) {
+            if (principal == null) {
 
                 return ResponseMessage.<List<Cinema>>builder()
                         .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
                         .message("User authentication failed, this indicates a system error.")
-                        //Userın olması lazım cunku zaten authenticationdan phoeneNumber ile getiriyoruz zaten. Yoksa baska bir hata var.
+                        //Principal'in olması lazım cunku endpoint authentication istiyor. Yoksa baska bir hata var.
                         .build();
             }
-            User user = userOptional.get();
 
             Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
 
             List<Cinema> favoriteCinemas = userCinemaFavoriteRepository
-                    .findByUser(user, pageable)
+                    .findByUserId(principal.id(), pageable)
                     .stream()
                     .map(UserCinemaFavorite::getCinema)
                     .toList();
@@ -13,10 +13,13 @@ import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.repo.UserRepository;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
+import com.Cinetime.security.TokenRevocationRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +28,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 
+import java.util.Objects;
 import java.util.Optional;
 
 
@@ -41,6 +45,8 @@ public class UserService {
     private final TicketHelper ticketHelper;
     private final PageableHelper pageableHelper;
     private final SecurityService securityService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserIdentityFilter userIdentityFilter;
 
 
     @Transactional
@@ -65,6 +71,7 @@ public class UserService {
 
         user.setBuiltIn(false);
         User savedUser = userRepository.save(user);
+        userIdentityFilter.addAfterCommit(user.getEmail(), user.getPhoneNumber());
 
 
         //Entity -> DTO
@@ -107,6 +114,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userIdentityFilter.addAfterCommit(user.getEmail(), user.getPhoneNumber());
 
         return ResponseMessage.<BaseUserResponse>builder()
                 .message(SuccessMessages.USER_CREATE)
@@ -140,8 +148,15 @@ public class UserService {
                     .build();
         }
 
+        boolean credentialsChanged = changesCredentials(userUpdateRequest, user);
+        String previousEmail = user.getEmail();
+        String previousPhoneNumber = user.getPhoneNumber();
         User updatedUser = updateUserHelper.updateUserIfUpdatesExistInRequest(userUpdateRequest, user);
         userRepository.save(updatedUser);
+        addChangedIdentity(previousEmail, previousPhoneNumber, updatedUser);
+        if (credentialsChanged) {
+            tokenRevocationRegistry.revokeAfterCommit(updatedUser.getId());
+        }
 
         return ResponseMessage.<BaseUserResponse>builder()
                 .message(SuccessMessages.USER_UPDATE)
@@ -187,6 +202,8 @@ public class UserService {
         BaseUserResponse userResponse = userMapper.mapUserToBaseUserResponse(user);
 
         userRepository.delete(user);
+        tokenRevocationRegistry.revokeAfterCommit(user.getId());
+        userIdentityFilter.removeAfterCommit(user.getEmail(), user.getPhoneNumber());
 
         SecurityContextHolder.clearContext(); //Sildikten sonra securitycontexti temizliyoruz
 
@@ -197,26 +214,57 @@ public class UserService {
                 .build();
     }
 
-    public ResponseMessage<Page<BaseUserResponse>> getUserWithParam(String q, int page, int size, String sort, String type) {
+    /**
+     * Admin user search by prefix of the first name, full name, last name, email or phone number digits.
+     *
+     * @param withTotal false skips the COUNT query and returns a {@link Slice} that only knows whether a next
+     *                  page exists; true returns a {@link Page}
+     */
+    public ResponseMessage<Slice<BaseUserResponse>> getUserWithParam(String q, int page, int size, String sort, String type,
+                                                                     boolean withTotal) {
 
         try {
             Pageable pageable = pageableHelper.pageableSort(page, size, sort, type);
-            Page<User> users = userRepository.searchUsers(q, pageable);
-            Page<BaseUserResponse> userResponses = users.map(userMapper::mapUserToBaseUserResponse);
+            Slice<User> users = searchUsers(q, pageable, withTotal);
+            Slice<BaseUserResponse> userResponses = users.map(userMapper::mapUserToBaseUserResponse);
 
-            return ResponseMessage.<Page<BaseUserResponse>>builder()
+            return ResponseMessage.<Slice<BaseUserResponse>>builder()
                     .message("Users retrieved successfully")
                     .httpStatus(HttpStatus.OK)
                     .object(userResponses)
                     .build();
         } catch (Exception e) {
-            return ResponseMessage.<Page<BaseUserResponse>>builder()
+            return ResponseMessage.<Slice<BaseUserResponse>>builder()
                     .message("Failed to retrieve users: " + e.getMessage())
                     .httpStatus(HttpStatus.INTERNAL_SERVER_ERROR)
                     .build();
         }
     }
 
+    private Slice<User> searchUsers(String q, Pageable pageable, boolean withTotal) {
+        if (!StringUtils.hasText(q)) {
+            Slice<User> users = userRepository.findAllBy(pageable);
+            return withTotal ? PageableExecutionUtils.getPage(users.getContent(), pageable, userRepository::count) : users;
+        }
+
+        UserSearchKeys.Kind kind = UserSearchKeys.kindOf(q);
+        String key = UserSearchKeys.normalize(kind, q);
+        Slice<User> users = switch (kind) {
+            case EMAIL -> userRepository.findBySearchEmailStartingWith(key, pageable);
+            case PHONE_NUMBER -> userRepository.findBySearchPhoneStartingWith(key, pageable);
+            case NAME -> userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(key, key, pageable);
+        };
+        if (!withTotal) {
+            return users;
+        }
+        //Sayfa dolu degilse toplam zaten belli, COUNT sadece gerektiginde calisiyor
+        return PageableExecutionUtils.getPage(users.getContent(), pageable, () -> switch (kind) {
+            case EMAIL -> userRepository.countBySearchEmailStartingWith(key);
+            case PHONE_NUMBER -> userRepository.countBySearchPhoneStartingWith(key);
+            case NAME -> userRepository.countBySearchNameStartingWithOrSearchLastNameStartingWith(key, key);
+        });
+    }
+
     public ResponseMessage<BaseUserResponse> getUserById(Long userId) {
 
 
@@ -304,10 +352,17 @@ public class UserService {
         }
 
         //Update for fields that changes been made
+        boolean credentialsChanged = changesCredentials(userUpdateRequest, userToBeUpdated);
+        String previousEmail = userToBeUpdated.getEmail();
+        String previousPhoneNumber = userToBeUpdated.getPhoneNumber();
         User user = updateUserHelper.updateUserIfUpdatesExistInRequest(userUpdateRequest, userToBeUpdated);
 
         //Save it to DB
         User userUpdated = userRepository.save(user);
+        addChangedIdentity(previousEmail, previousPhoneNumber, user);
+        if (credentialsChanged) {
+            tokenRevocationRegistry.revokeAfterCommit(userId);
+        }
 
         BaseUserResponse userResponse = userMapper.mapUserToBaseUserResponse(userUpdated);
 
@@ -350,4 +405,19 @@ public class UserService {
                 !request.getPhoneNumber().equals(user.getPhoneNumber()) &&
                 !uniquePropertyValidator.isPhoneNumberUniqueForUpdate(request.getPhoneNumber(), user.getId());
     }
+
+    //Sifre veya telefon numarasi degisiyorsa eski tokenlar iptal ediliyor
+    private boolean changesCredentials(UserUpdateRequest request, User user) {
+        return StringUtils.hasText(request.getPassword()) ||
+                (StringUtils.hasText(request.getPhoneNumber()) && !request.getPhoneNumber().equals(user.getPhoneNumber()));
+    }
+
+    //Sadece yeni degerler ekleniyor; eskiler filtrede kaliyor ve yalnizca fazladan bir sorguya yol aciyor
+    private void addChangedIdentity(String previousEmail, String previousPhoneNumber, User user) {
+        String email = Objects.equals(previousEmail, user.getEmail()) ? null : user.getEmail();
+        String phoneNumber = Objects.equals(previousPhoneNumber, user.getPhoneNumber()) ? null : user.getPhoneNumber();
+        if (email != null || phoneNumber != null) {
+            userIdentityFilter.addAfterCommit(email, phoneNumber);
+        }
+    }
 }
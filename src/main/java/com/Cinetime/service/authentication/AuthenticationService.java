@@ -1,5 +1,6 @@
 package com.Cinetime.service.authentication;
 
+import com.Cinetime.exception.PasswordHashingBusyException;
 import com.Cinetime.payload.authentication.LoginRequest;
 import com.Cinetime.payload.dto.response.AuthResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
@@ -68,6 +69,10 @@ public class AuthenticationService {
                     .httpStatus(HttpStatus.UNAUTHORIZED)
                     .build();
 
+        } catch (PasswordHashingBusyException e) {
+            //Genel 500 cevabina donusmesin, GlobalExceptionHandler 503 + Retry-After donuyor
+            throw e;
+
         } catch (Exception e) {
             return ResponseMessage.<AuthResponse>builder()
                     .message("Authentication failed")
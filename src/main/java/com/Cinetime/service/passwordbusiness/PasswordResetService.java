@@ -8,6 +8,7 @@ import com.Cinetime.payload.dto.response.PasswordResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.TokenRevocationRegistry;
 import com.Cinetime.service.EmailService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -25,15 +26,21 @@ import java.util.Random;
 @RequiredArgsConstructor
 public class PasswordResetService {
 
+    //Crockford base32: karistirilabilecek I, L, O ve U yok. 10 karakter 50 bit; kodlar tahminle bulunamiyor
+    static final String RESET_CODE_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    static final int RESET_CODE_LENGTH = 10;
+
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final Random random = new SecureRandom();
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final PasswordResetTokenStore passwordResetTokenStore;
 
     @Transactional
     public ResponseMessage<PasswordResponse> generateResetPasswordCode(ForgotPasswordRequest request) {
         // Always generate code and simulate work to prevent timing attacks
-        String resetCode = String.format("%06d", random.nextInt(1000000));
+        String resetCode = newResetCode();
 
         Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
 
@@ -41,16 +48,15 @@ public class PasswordResetService {
             User user = userOptional.get();
 
             try {
-                // Send email first - only save code if email succeeds
+                // Send email first - only store the code if email succeeds
                 emailService.sendPasswordResetEmail(request.getEmail(), resetCode);
 
-                // Only set and save if email was successful
-                user.setResetPasswordCode(resetCode);
-                userRepository.save(user);
+                // Replaces the previous code of the user
+                passwordResetTokenStore.issue(user, resetCode);
 
             } catch (Exception e) {
                 log.error("Failed to send password reset email to {}: {}", request.getEmail(), e.getMessage());
-                // Don't save the code if email failed
+                // Don't store the code if email failed
             }
         } else {
             // Simulate email sending delay for invalid emails
@@ -68,9 +74,8 @@ public class PasswordResetService {
                 .build();
     }
 
-
     public ResponseMessage<PasswordResponse> resetPassword(ResetPasswordRequest request) {
-        Optional<User> userOptional = userRepository.findByResetPasswordCode(request.getResetCode());
+        Optional<User> userOptional = findUserByResetCode(request.getResetCode());
 
         //Double defense
         if (userOptional.isEmpty()) {
@@ -91,9 +96,17 @@ public class PasswordResetService {
         }
 
 
+        //Ayni kodla es zamanli ikinci istek burada eleniyor
+        if (!passwordResetTokenStore.consume(request.getResetCode())) {
+            return ResponseMessage.<PasswordResponse>builder()
+                    .message("Invalid reset code or already used")
+                    .httpStatus(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        user.setResetPasswordCode(null);
         userRepository.save(user);
+        tokenRevocationRegistry.revokeAfterCommit(user.getId());
 
 
         return ResponseMessage.<PasswordResponse>builder()
@@ -103,7 +116,7 @@ public class PasswordResetService {
     }
 
     public ResponseMessage<PasswordResponse> validateResetPasswordCode(ResetCodeRequest request) {
-        Optional<User> userOptional = userRepository.findByResetPasswordCode(request.getResetCode());
+        Optional<User> userOptional = findUserByResetCode(request.getResetCode());
 
         if (userOptional.isEmpty()) {
             return ResponseMessage.<PasswordResponse>builder()
@@ -121,4 +134,23 @@ public class PasswordResetService {
                 .object(passwordResponse)
                 .build();
     }
+
+    //Bilinmeyen, suresi dolmus veya deneme hakki bitmis kodda veritabanina gidilmiyor
+    private Optional<User> findUserByResetCode(String resetCode) {
+        Long userId = passwordResetTokenStore.verify(resetCode);
+        return userId == null ? Optional.empty() : userRepository.findById(userId);
+    }
+
+    //Kod kullanicilar arasinda tekil; aktif bir kodla cakisirsa yenisi uretiliyor
+    private String newResetCode() {
+        String resetCode;
+        do {
+            StringBuilder code = new StringBuilder(RESET_CODE_LENGTH);
+            for (int i = 0; i < RESET_CODE_LENGTH; i++) {
+                code.append(RESET_CODE_ALPHABET.charAt(random.nextInt(RESET_CODE_ALPHABET.length())));
+            }
+            resetCode = code.toString();
+        } while (passwordResetTokenStore.isActive(resetCode));
+        return resetCode;
+    }
 }
@@ -0,0 +1,219 @@
+package com.Cinetime.service.passwordbusiness;
+
+import com.Cinetime.entity.PasswordResetToken;
+import com.Cinetime.entity.User;
+import com.Cinetime.repo.PasswordResetTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outstanding password reset codes: one per user, valid for {@code app.password-reset.ttl-minutes}, usable once
+ * and for at most {@code app.password-reset.max-attempts} validate/reset calls.
+ * <p>
+ * Codes are looked up by their HMAC in an in-memory index. The {@code password_reset_token} table is the
+ * source of truth: it is loaded at startup, a code missing from the index (issued on another instance) is looked
+ * up there and cached, and a code is used up by deleting its row, so only one instance can consume it. Expired
+ * rows are deleted in bulk at most once a minute.
+ */
+@Slf4j
+@Component
+public class PasswordResetTokenStore {
+
+    static final long PURGE_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private record Entry(Long userId, long expiresAtMillis, AtomicInteger attempts) {
+    }
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final SecretKeySpec hashKey;
+    private final long ttlMs;
+    private final int maxAttempts;
+
+    //tokenHash -> kod sahibi, son gecerlilik ve deneme sayisi
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public PasswordResetTokenStore(PasswordResetTokenRepository passwordResetTokenRepository,
+                                   @Value("${app.password-reset.token-secret:${app.jwt-secret}}") String tokenSecret,
+                                   @Value("${app.password-reset.ttl-minutes:15}") long ttlMinutes,
+                                   @Value("${app.password-reset.max-attempts:5}") int maxAttempts) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.hashKey = new SecretKeySpec(tokenSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.ttlMs = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.maxAttempts = maxAttempts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveTokens() {
+        List<Object[]> active = passwordResetTokenRepository.findActive(LocalDateTime.now());
+        for (Object[] token : active) {
+            tokens.put((String) token[0], new Entry((Long) token[1], toMillis((LocalDateTime) token[2]),
+                    new AtomicInteger((Integer) token[3])));
+        }
+        log.info("Loaded {} active password reset codes", active.size());
+    }
+
+    public boolean isActive(String code) {
+        Entry entry = StringUtils.hasText(code) ? tokens.get(hash(code)) : null;
+        return entry != null && entry.expiresAtMillis() > System.currentTimeMillis();
+    }
+
+    /**
+     * Store a new code for the user, replacing the previous one. The index is updated when the current
+     * transaction commits.
+     */
+    @Transactional
+    public void issue(User user, String code) {
+        long now = System.currentTimeMillis();
+        purgeExpiredIfDue(now);
+
+        String tokenHash = hash(code);
+        Entry entry = new Entry(user.getId(), now + ttlMs, new AtomicInteger());
+        passwordResetTokenRepository.deleteByUserId(user.getId());
+        passwordResetTokenRepository.save(PasswordResetToken.builder()
+                .user(user)
+                .tokenHash(tokenHash)
+                .expiresAt(toLocalDateTime(entry.expiresAtMillis()))
+                .build());
+
+        afterCommit(() -> {
+            tokens.values().removeIf(existing -> existing.userId().equals(user.getId()));
+            tokens.put(tokenHash, entry);
+        });
+    }
+
+    /**
+     * Count an attempt on the code.
+     *
+     * @return the id of the user the code was issued to, or null if it is unknown, expired or out of attempts
+     */
+    @Transactional
+    public Long verify(String code) {
+        if (!StringUtils.hasText(code)) {
+            return null;
+        }
+        String tokenHash = hash(code);
+        Entry entry = tokens.get(tokenHash);
+        if (entry == null) {
+            entry = load(tokenHash);
+            if (entry == null) {
+                return null;
+            }
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            //Satir toplu temizlikte siliniyor
+            tokens.remove(tokenHash, entry);
+            return null;
+        }
+        if (entry.attempts().incrementAndGet() > maxAttempts) {
+            tokens.remove(tokenHash, entry);
+            passwordResetTokenRepository.deleteByTokenHash(tokenHash);
+            log.warn("Password reset code of user {} invalidated after {} attempts", entry.userId(), maxAttempts);
+            return null;
+        }
+        passwordResetTokenRepository.incrementAttempts(tokenHash);
+        return entry.userId();
+    }
+
+    /**
+     * Use up the code.
+     *
+     * @return false if it was already used (or replaced) in the meantime
+     */
+    @Transactional
+    public boolean consume(String code) {
+        if (!StringUtils.hasText(code)) {
+            return false;
+        }
+        String tokenHash = hash(code);
+        tokens.remove(tokenHash);
+        //Satiri silen tek istek kodu kullanabiliyor, hangi instance'ta olursa olsun
+        return passwordResetTokenRepository.deleteByTokenHash(tokenHash) > 0;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private Entry load(String tokenHash) {
+        List<Object[]> rows = passwordResetTokenRepository.findActiveByTokenHash(tokenHash, LocalDateTime.now());
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        Entry entry = new Entry((Long) row[0], toMillis((LocalDateTime) row[1]), new AtomicInteger((Integer) row[2]));
+        Entry cached = tokens.putIfAbsent(tokenHash, entry);
+        return cached != null ? cached : entry;
+    }
+
+    private void purgeExpiredIfDue(long now) {
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_MS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        tokens.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int purged = passwordResetTokenRepository.deleteExpired(toLocalDateTime(now));
+        if (purged > 0) {
+            log.debug("Purged {} expired password reset codes", purged);
+        }
+    }
+
+    //Kod kisa; anahtarsiz bir hash sizan tablodan kolayca geri cevrilebilirdi.
+    //Kullanici kodu kucuk harfle ya da bosluklu yazabiliyor
+    private String hash(String code) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashKey);
+            String normalized = code.strip().toUpperCase(Locale.ROOT);
+            return HexFormat.of().formatHex(mac.doFinal(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot hash password reset code", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
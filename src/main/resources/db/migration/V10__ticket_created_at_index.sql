@@ -0,0 +1,2 @@
+-- Ticket export reads a created_at range in (created_at, id) order without sorting
+create index if not exists idx_ticket_created_at on ticket (created_at, id);
@@ -0,0 +1,5 @@
+-- Posters are uploaded in the background after the movie is saved; the movie records the latest upload and its state.
+alter table movie add column if not exists poster_status varchar(20);
+alter table movie add column if not exists poster_upload_id varchar(36);
+
+update movie set poster_status = 'UPLOADED' where poster_url is not null and poster_status is null;
@@ -0,0 +1,10 @@
+-- Token revocations shared by every instance: tokens of the user issued before revoked_at are rejected.
+-- No foreign key, the row of a deleted user stays as a tombstone until the user's last token has expired.
+create table if not exists token_revocation (
+    revoked_at timestamp(6) not null,
+    user_id bigint not null,
+    primary key (user_id)
+);
+
+-- Periodic refresh of the recent revocations and bulk purge of the expired ones
+create index if not exists idx_token_revocation_revoked_at on token_revocation (revoked_at);
@@ -0,0 +1,7 @@
+-- Email and phone number (the login key) are unique per user. The uniqueness prefilter only sees the writes
+-- of its own instance, so the database has the final say. Duplicates already in the table must be merged first.
+create unique index if not exists uk_app_user_email on app_user (email);
+create unique index if not exists uk_app_user_phone_number on app_user (phone_number);
+
+-- The unique index serves the phone number lookups
+drop index if exists idx_app_user_phone_number;
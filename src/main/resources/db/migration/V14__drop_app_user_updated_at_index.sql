@@ -0,0 +1,3 @@
+-- Token revocations are restored from token_revocation (V12); nothing reads app_user by updated_at any more,
+-- and the index only slowed down every user update
+drop index if exists idx_app_user_updated_at;
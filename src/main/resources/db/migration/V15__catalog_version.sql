@@ -0,0 +1,8 @@
+-- Catalog versions shared by every instance: a write increments its aggregate in the writing transaction, the
+-- instances re-read the table and drop their ETags and cached responses when a version changed.
+-- Rows are created at startup for every aggregate.
+create table if not exists catalog_version (
+    aggregate varchar(20) not null,
+    version bigint not null,
+    primary key (aggregate)
+);
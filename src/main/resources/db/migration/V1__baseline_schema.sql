@@ -0,0 +1,275 @@
+-- Baseline schema, as previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Constraint names are Hibernate's generated ones so existing databases stay identical.
+
+create table anonymous_user (
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    email varchar(255) not null,
+    full_name varchar(255) not null,
+    phone_number varchar(255) not null,
+    retrieval_code varchar(255) unique,
+    primary key (id)
+);
+
+create table app_user (
+    built_in boolean,
+    date_of_birth date not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    role_id bigint not null,
+    updated_at timestamp(6) not null,
+    firstname varchar(20),
+    lastname varchar(20),
+    email varchar(255),
+    gender varchar(255) not null check (gender in ('MALE','FEMALE')),
+    password varchar(255) not null,
+    phone_number varchar(255) not null,
+    reset_password_code varchar(255),
+    primary key (id)
+);
+
+create table cinema (
+    city_id bigint not null,
+    created_at timestamp(6) not null,
+    district_id bigint not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    address varchar(255) not null,
+    email varchar(255),
+    name varchar(255) not null,
+    phone varchar(255),
+    slug varchar(255) not null,
+    primary key (id)
+);
+
+create table city (
+    country_id bigint not null,
+    id bigserial not null,
+    name varchar(30) not null,
+    primary key (id)
+);
+
+create table country (
+    id bigserial not null,
+    name varchar(30) not null,
+    primary key (id)
+);
+
+create table district (
+    city_id bigint not null,
+    id bigserial not null,
+    name varchar(30) not null,
+    primary key (id)
+);
+
+create table hall (
+    is_special boolean,
+    seat_capacity integer not null,
+    cinema_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table movie (
+    duration integer not null,
+    rating float(53),
+    release_date date not null,
+    status integer not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    slug varchar(50) not null,
+    title varchar(100) not null,
+    summary varchar(300) not null,
+    director varchar(255) not null,
+    poster_url varchar(255),
+    cast_list jsonb not null,
+    formats jsonb not null,
+    genre jsonb not null,
+    primary key (id)
+);
+
+create table payment (
+    amount float(53) not null,
+    status integer not null,
+    anonymous_user_id bigint,
+    id bigserial not null,
+    user_id bigint,
+    primary key (id)
+);
+
+create table role (
+    id bigserial not null,
+    role_name varchar(255) not null unique check (role_name in ('ANONYMOUS','MEMBER','EMPLOYEE','ADMIN')),
+    primary key (id)
+);
+
+create table showtime (
+    date date not null,
+    end_time time(6) not null,
+    price float(53),
+    start_time time(6) not null,
+    created_at timestamp(6) not null,
+    hall_id bigint not null,
+    id bigserial not null,
+    movie_id bigint not null,
+    updated_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table ticket (
+    price float(53) not null,
+    seat_number integer not null,
+    status integer not null,
+    anonymous_user_id bigint,
+    created_at timestamp(6),
+    hall_id bigint not null,
+    id bigserial not null,
+    movie_id bigint not null,
+    payment_id bigint not null,
+    showtime_id bigint not null,
+    updated_at timestamp(6),
+    user_id bigint,
+    seat_letter varchar(255) not null,
+    primary key (id)
+);
+
+create table user_cinema_favorite (
+    cinema_id bigint not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    unique (user_id, cinema_id)
+);
+
+create table user_movie_favorite (
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    movie_id bigint not null,
+    updated_at timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    unique (user_id, movie_id)
+);
+
+create table userrole (
+    id bigserial not null,
+    role_id bigint,
+    user_id bigint,
+    primary key (id)
+);
+
+alter table if exists app_user
+   add constraint FK49hx9nj6onfot1fxtonj986ab
+   foreign key (role_id)
+   references role;
+
+alter table if exists cinema
+   add constraint FK2lxd9v0mo9e6r5aq9qpadm19s
+   foreign key (city_id)
+   references city;
+
+alter table if exists cinema
+   add constraint FKa06a9xgddw3mv7ihlxrp8x9fp
+   foreign key (district_id)
+   references district;
+
+alter table if exists city
+   add constraint FKrpd7j1p7yxr784adkx4pyepba
+   foreign key (country_id)
+   references country;
+
+alter table if exists district
+   add constraint FKsgx09prp6sk2f0we38bf2dtal
+   foreign key (city_id)
+   references city;
+
+alter table if exists hall
+   add constraint FKte75ikgkdmhfutuupvx2lhknr
+   foreign key (cinema_id)
+   references cinema;
+
+alter table if exists payment
+   add constraint FKb7rjhgmvli3bjt2amugge4buk
+   foreign key (anonymous_user_id)
+   references anonymous_user;
+
+alter table if exists payment
+   add constraint FKjs1fo45o9f0ld1sgn2023tgy7
+   foreign key (user_id)
+   references app_user;
+
+alter table if exists showtime
+   add constraint FK5562r2xn3fyu9dpxfll24qx4s
+   foreign key (hall_id)
+   references hall;
+
+alter table if exists showtime
+   add constraint FK8i90asti16tydhva795c3qwj2
+   foreign key (movie_id)
+   references movie;
+
+alter table if exists ticket
+   add constraint FKt1atb91nnqi3h05qrs59hxhqs
+   foreign key (anonymous_user_id)
+   references anonymous_user;
+
+alter table if exists ticket
+   add constraint FKeqlnaerr1lryqwtb1euxudflh
+   foreign key (hall_id)
+   references hall;
+
+alter table if exists ticket
+   add constraint FK76th994c74fm9ohowlu53yfpx
+   foreign key (movie_id)
+   references movie;
+
+alter table if exists ticket
+   add constraint FKksvt4tgnlwi1n5ckvd8lcgws5
+   foreign key (payment_id)
+   references payment;
+
+alter table if exists ticket
+   add constraint FKcy6kx0fhbmd7y6gia8th4e0fu
+   foreign key (showtime_id)
+   references showtime;
+
+alter table if exists ticket
+   add constraint FKemcfkpg53qt9pdg5y6rtq35wf
+   foreign key (user_id)
+   references app_user;
+
+alter table if exists user_cinema_favorite
+   add constraint FK8h3ik2r8lijjyq9pi5gbbmte
+   foreign key (cinema_id)
+   references cinema;
+
+alter table if exists user_cinema_favorite
+   add constraint FKcwkxdbo9ia9v2wutqx9epogdy
+   foreign key (user_id)
+   references app_user;
+
+alter table if exists user_movie_favorite
+   add constraint FK5s7uuok9igbn9il48fi6fqiyi
+   foreign key (movie_id)
+   references movie;
+
+alter table if exists user_movie_favorite
+   add constraint FKg10e33197hrqdg8uk7dt8hyn2
+   foreign key (user_id)
+   references app_user;
+
+alter table if exists userrole
+   add constraint FKf9a7cojfuvf40x6co16kxa1jb
+   foreign key (role_id)
+   references role;
+
+alter table if exists userrole
+   add constraint FKnv6q4hbhl0cev56pu0bx5bxum
+   foreign key (user_id)
+   references app_user;
@@ -0,0 +1,7 @@
+-- Hall formats are stored as a HallFeature bitmask; halls saved before this stay null and are
+-- classified by name when the cinema feature index is built.
+alter table hall add column if not exists features integer;
+
+-- Cinema listings by city and halls of a cinema
+create index if not exists idx_cinema_city_id on cinema (city_id);
+create index if not exists idx_hall_cinema_id on hall (cinema_id);
@@ -0,0 +1,3 @@
+-- Coordinates for the nearby cinema search; cinemas without a location are left out of it
+alter table cinema add column if not exists latitude float(53);
+alter table cinema add column if not exists longitude float(53);
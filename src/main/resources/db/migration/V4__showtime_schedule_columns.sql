@@ -0,0 +1,13 @@
+-- Upcoming showtime queries filter one start timestamp and the cinema instead of date/time columns joined through hall.
+-- The application keeps both columns up to date (Showtime.syncSchedule).
+alter table showtime add column if not exists starts_at timestamp(6);
+alter table showtime add column if not exists cinema_id bigint;
+
+create index if not exists idx_showtime_movie_starts_at on showtime (movie_id, starts_at);
+create index if not exists idx_showtime_cinema_starts_at on showtime (cinema_id, starts_at);
+
+-- Existing showtimes are filled in once here
+update showtime s set
+    starts_at = s.date + s.start_time,
+    cinema_id = (select h.cinema_id from hall h where h.id = s.hall_id)
+where s.starts_at is null or s.cinema_id is null;
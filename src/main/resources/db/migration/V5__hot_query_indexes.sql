@@ -0,0 +1,16 @@
+-- Indexes for the hot lookups that ddl-auto never created
+
+-- Occupied seats of a showtime, tickets of a user by status
+create index if not exists idx_ticket_showtime_status on ticket (showtime_id, status);
+create index if not exists idx_ticket_user_status on ticket (user_id, status);
+
+-- Movie lookup by exact title, in theaters / coming soon listings
+create index if not exists idx_movie_title on movie (title);
+create index if not exists idx_movie_status on movie (status);
+
+-- Login / duplicate checks by phone number, password reset by code
+create index if not exists idx_app_user_phone_number on app_user (phone_number);
+create index if not exists idx_app_user_reset_password_code on app_user (reset_password_code);
+
+-- Cinema pages are addressed by slug
+create index if not exists idx_cinema_slug on cinema (slug);
@@ -0,0 +1,2 @@
+-- Token revocation set is restored at startup from the users changed within the token lifetime
+create index if not exists idx_app_user_updated_at on app_user (updated_at);
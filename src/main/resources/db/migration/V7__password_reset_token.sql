@@ -0,0 +1,20 @@
+-- Password reset codes move out of app_user: stored as keyed hashes with an expiry and an attempt count.
+-- Codes issued before this migration are dropped; users request a new one.
+create table if not exists password_reset_token (
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    id bigserial not null,
+    user_id bigint not null,
+    token_hash varchar(64) not null,
+    primary key (id),
+    constraint uk_password_reset_token_hash unique (token_hash),
+    constraint uk_password_reset_token_user unique (user_id),
+    constraint fk_password_reset_token_user foreign key (user_id) references app_user on delete cascade
+);
+
+-- Startup reload of the active codes and bulk purge of the expired ones
+create index if not exists idx_password_reset_token_expires_at on password_reset_token (expires_at);
+
+drop index if exists idx_app_user_reset_password_code;
+alter table app_user drop column if exists reset_password_code;
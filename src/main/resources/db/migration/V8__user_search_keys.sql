@@ -0,0 +1,17 @@
+-- Admin user search matches prefixes of normalised keys instead of LOWER(...) LIKE '%q%' over the raw columns.
+-- The application keeps the keys up to date (User.prePersist/preUpdate); existing rows are filled here.
+alter table app_user add column if not exists search_name varchar(100);
+alter table app_user add column if not exists search_last_name varchar(50);
+alter table app_user add column if not exists search_email varchar(255);
+alter table app_user add column if not exists search_phone varchar(20);
+
+update app_user set
+    search_name = lower(trim(coalesce(firstname, ''))) || ' ' || lower(trim(coalesce(lastname, ''))),
+    search_last_name = lower(trim(coalesce(lastname, ''))),
+    search_email = lower(trim(email)),
+    search_phone = regexp_replace(phone_number, '[^0-9]', '', 'g');
+
+create index if not exists idx_app_user_search_name on app_user (search_name);
+create index if not exists idx_app_user_search_last_name on app_user (search_last_name);
+create index if not exists idx_app_user_search_email on app_user (search_email);
+create index if not exists idx_app_user_search_phone on app_user (search_phone);
@@ -0,0 +1,11 @@
+-- Under a non-C collation PostgreSQL only uses a b-tree for LIKE 'prefix%' when it is built with the
+-- pattern operator class, so the search key indexes of V8 are rebuilt that way.
+drop index if exists idx_app_user_search_name;
+drop index if exists idx_app_user_search_last_name;
+drop index if exists idx_app_user_search_email;
+drop index if exists idx_app_user_search_phone;
+
+create index idx_app_user_search_name on app_user (search_name varchar_pattern_ops);
+create index idx_app_user_search_last_name on app_user (search_last_name varchar_pattern_ops);
+create index idx_app_user_search_email on app_user (search_email varchar_pattern_ops);
+create index idx_app_user_search_phone on app_user (search_phone varchar_pattern_ops);
@@ -0,0 +1,86 @@
+package com.Cinetime.config;
+
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.exception.TooManyRequestsException;
+import com.Cinetime.helpers.MetricsRegistry;
+import com.Cinetime.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RateLimitInterceptor Tests")
+class RateLimitInterceptorTest {
+
+    private RateLimitProperties properties;
+    private RateLimitInterceptor interceptor;
+    private HandlerMethod handler;
+
+    static class Endpoints {
+        @RateLimited("booking")
+        void buy() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        properties = new RateLimitProperties();
+        properties.setLimits(Map.of("booking", new RateLimitProperties.Limit(1, Duration.ofMinutes(1))));
+        interceptor = new RateLimitInterceptor(new RateLimiter(properties, new MetricsRegistry()));
+        handler = new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod("buy"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest requestFrom(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tickets/buy-ticket");
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should reject with the seconds to wait once the IP bucket is empty")
+    void preHandle_IpLimit() {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(requestFrom("10.0.0.1"), response, handler)).isTrue();
+
+        // When / Then
+        assertThatThrownBy(() -> interceptor.preHandle(requestFrom("10.0.0.1"), response, handler))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(60));
+        assertThat(interceptor.preHandle(requestFrom("10.0.0.2"), response, handler)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should also limit an authenticated user across IPs and skip limits when disabled")
+    void preHandle_UserLimit() {
+        // Given
+        UserPrincipal principal = new UserPrincipal(7L, "(555) 123-4567", RoleName.MEMBER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(requestFrom("10.0.0.1"), response, handler)).isTrue();
+
+        // When / Then
+        assertThatThrownBy(() -> interceptor.preHandle(requestFrom("10.0.0.2"), response, handler))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        properties.setEnabled(false);
+        assertThat(interceptor.preHandle(requestFrom("10.0.0.2"), response, handler)).isTrue();
+    }
+}
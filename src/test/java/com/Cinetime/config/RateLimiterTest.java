@@ -0,0 +1,110 @@
+package com.Cinetime.config;
+
+import com.Cinetime.helpers.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        //3 istek, 3 saniyede tamamen doluyor: saniyede bir token
+        properties.setLimits(Map.of("login", new RateLimitProperties.Limit(3, Duration.ofSeconds(3))));
+        rateLimiter = new RateLimiter(properties, metricsRegistry, now::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then report the wait for the next token")
+    void tryAcquire_Burst() {
+        // When
+        long first = rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        long second = rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        long third = rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        long fourth = rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("login", "ip", "10.0.0.2")).isZero();
+        assertThat(metricsRegistry.timer("cinetime_rate_limit_rejected", "", "limit", "login", "key", "ip").getCount())
+                .isEqualTo(1);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire("login", "ip", "10.0.0.1")).isZero();
+        assertThat(rateLimiter.tryAcquire("login", "ip", "10.0.0.1")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should drop idle buckets on the periodic sweep and when the key limit is reached")
+    void tryAcquire_EvictsIdleKeys() {
+        // Given
+        properties.setMaxKeys(3);
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.2");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.3");
+
+        // When
+        //Iki bucket dolmus durumda, ucuncusu hala bos
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.3");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.3");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.4");
+
+        // Then
+        assertThat(rateLimiter.size()).isEqualTo(2);
+
+        // When
+        now.addAndGet(RateLimiter.SWEEP_INTERVAL_NANOS);
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.5");
+
+        // Then
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the buckets closest to full, not the limited ones, when no bucket is idle")
+    void tryAcquire_EvictsClosestToFull() {
+        // Given
+        properties.setMaxKeys(3);
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.1");
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.2");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        rateLimiter.tryAcquire("login", "ip", "10.0.0.3");
+
+        // When
+        //Hicbir bucket bosta degil; en erken dolacak olan 10.0.0.2
+        long newKey = rateLimiter.tryAcquire("login", "ip", "10.0.0.4");
+
+        // Then
+        assertThat(newKey).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(3);
+        assertThat(rateLimiter.tryAcquire("login", "ip", "10.0.0.1")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should fail for a limit that is not configured")
+    void tryAcquire_UnknownLimit() {
+        assertThatThrownBy(() -> rateLimiter.tryAcquire("unknown", "ip", "10.0.0.1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.Cinetime.config;
+
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ResponseBodyCache Tests")
+class ResponseBodyCacheTest {
+
+    private static final String ETAG = "\"epoch-1\"";
+
+    private final ResponseBodyCache cache = new ResponseBodyCache(new ObjectMapper(), 10);
+
+    //Interceptor ve advice'in bir istekteki sirasi; true: cevap onbellekten yazildi
+    private boolean serve(String uri, String acceptEncoding, MockHttpServletResponse response) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (cache.writeIfCached(request, response, ETAG)) {
+            return true;
+        }
+        ResponseMessage<String> body = ResponseMessage.<String>builder()
+                .httpStatus(HttpStatus.OK)
+                .object("x".repeat(2000))
+                .build();
+        cache.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+        return false;
+    }
+
+    private boolean serve(String uri) throws Exception {
+        return serve(uri, null, new MockHttpServletResponse());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entries instead of the whole cache when full")
+    void store_EvictsLeastRecentlyUsed() throws Exception {
+        // Given: ilk sayfa her seferinde tekrar isteniyor
+        for (int page = 0; page < 10; page++) {
+            serve("/api/movies?page=" + page);
+            assertThat(serve("/api/movies?page=0")).isTrue();
+        }
+
+        // When
+        serve("/api/movies?page=10");
+
+        // Then
+        assertThat(serve("/api/movies?page=0")).isTrue();
+        assertThat(serve("/api/movies?page=9")).isTrue();
+        assertThat(serve("/api/movies?page=10")).isTrue();
+        assertThat(serve("/api/movies?page=1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only send gzip to clients that accept it with a positive quality")
+    void write_AcceptEncoding() throws Exception {
+        serve("/api/movies");
+
+        assertThat(contentEncoding("gzip, deflate")).isEqualTo("gzip");
+        assertThat(contentEncoding("GZIP")).isEqualTo("gzip");
+        assertThat(contentEncoding("deflate, *")).isEqualTo("gzip");
+        assertThat(contentEncoding("gzip;q=0, deflate")).isNull();
+        assertThat(contentEncoding("gzip; q=0.0")).isNull();
+        assertThat(contentEncoding("*, gzip;q=0")).isNull();
+        assertThat(contentEncoding("x-gzip-experimental")).isNull();
+        assertThat(contentEncoding(null)).isNull();
+    }
+
+    private String contentEncoding(String acceptEncoding) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(serve("/api/movies", acceptEncoding, response)).isTrue();
+        return response.getHeader(HttpHeaders.CONTENT_ENCODING);
+    }
+}
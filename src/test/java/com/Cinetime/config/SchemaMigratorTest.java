@@ -0,0 +1,91 @@
+package com.Cinetime.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SchemaMigrator Tests")
+class SchemaMigratorTest {
+
+    private static SingleConnectionDataSource database() {
+        return new SingleConnectionDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "sa", "", true);
+    }
+
+    private static boolean columnExists(JdbcTemplate jdbc, String table, String column) {
+        return jdbc.queryForObject("select count(*) from information_schema.columns where table_name = ? and column_name = ?",
+                Integer.class, table, column) > 0;
+    }
+
+    private static boolean indexExists(JdbcTemplate jdbc, String index) {
+        return jdbc.queryForObject("select count(*) from information_schema.indexes where index_name = ?",
+                Integer.class, index) > 0;
+    }
+
+    @Test
+    @DisplayName("Should baseline a schema created by ddl-auto, apply every later migration to it and fill the new columns")
+    void migrate_ExistingSchema() throws Exception {
+        // Given: migration gecmisi olmayan, ddl-auto ile kurulmus eski sema
+        SingleConnectionDataSource dataSource = database();
+        ScriptUtils.executeSqlScript(dataSource.getConnection(), new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into country (id, name) values (1, 'Turkey')");
+        jdbc.update("insert into city (id, country_id, name) values (1, 1, 'Istanbul')");
+        jdbc.update("insert into district (id, city_id, name) values (1, 1, 'Kadikoy')");
+        jdbc.update("insert into cinema (id, city_id, district_id, address, name, slug, created_at, updated_at) " +
+                "values (7, 1, 1, 'Address', 'Cinema', 'cinema', now(), now())");
+        jdbc.update("insert into hall (id, cinema_id, seat_capacity, name, created_at, updated_at) values (3, 7, 100, 'Hall 1', now(), now())");
+        jdbc.update("insert into movie (id, duration, release_date, status, slug, title, summary, director, cast_list, formats, genre, created_at, updated_at) " +
+                "values (5, 120, date '2025-01-01', 0, 'movie', 'Movie', 'Summary', 'Director', json '[]', json '[]', json '[]', now(), now())");
+        jdbc.update("insert into showtime (id, hall_id, movie_id, date, start_time, end_time, created_at, updated_at) " +
+                "values (9, 3, 5, date '2025-06-01', time '20:30:00', time '22:30:00', now(), now())");
+
+        // When
+        new SchemaMigrator(dataSource, "classpath:db/migration").migrate();
+
+        // Then
+        assertThat(jdbc.queryForObject("select type from " + SchemaMigrator.HISTORY_TABLE + " where version = 1", String.class))
+                .isEqualTo("BASELINE");
+        assertThat(jdbc.queryForObject("select count(*) from " + SchemaMigrator.HISTORY_TABLE + " where type = 'SQL'", Integer.class))
+                .isPositive();
+        assertThat(columnExists(jdbc, "hall", "features")).isTrue();
+        assertThat(columnExists(jdbc, "cinema", "latitude")).isTrue();
+        assertThat(columnExists(jdbc, "showtime", "starts_at")).isTrue();
+        assertThat(columnExists(jdbc, "showtime", "cinema_id")).isTrue();
+        assertThat(indexExists(jdbc, "idx_cinema_city_id")).isTrue();
+        assertThat(indexExists(jdbc, "idx_hall_cinema_id")).isTrue();
+        assertThat(indexExists(jdbc, "idx_showtime_cinema_starts_at")).isTrue();
+        assertThat(indexExists(jdbc, "uk_app_user_email")).isTrue();
+        assertThat(indexExists(jdbc, "uk_app_user_phone_number")).isTrue();
+        assertThat(indexExists(jdbc, "idx_app_user_updated_at")).isFalse();
+        assertThat(jdbc.queryForObject("select starts_at from showtime where id = 9", LocalDateTime.class))
+                .isEqualTo(LocalDateTime.of(2025, 6, 1, 20, 30));
+        assertThat(jdbc.queryForObject("select cinema_id from showtime where id = 9", Long.class)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the schema is already up to date")
+    void migrate_SecondRun() throws Exception {
+        // Given
+        SingleConnectionDataSource dataSource = database();
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, "classpath:db/migration");
+        migrator.migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Integer applied = jdbc.queryForObject("select count(*) from " + SchemaMigrator.HISTORY_TABLE, Integer.class);
+
+        // When
+        migrator.migrate();
+
+        // Then
+        assertThat(jdbc.queryForObject("select count(*) from " + SchemaMigrator.HISTORY_TABLE, Integer.class)).isEqualTo(applied);
+    }
+}
@@ -10,6 +10,7 @@ import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.security.JwtAuthFilter;
 import com.Cinetime.security.JwtUtils;
 import com.Cinetime.security.UserDetailsServiceImpl;
+import com.Cinetime.service.ExportService;
 import com.Cinetime.service.UserService;
 import com.Cinetime.service.authentication.AuthenticationService;
 import com.Cinetime.service.passwordbusiness.PasswordResetService;
@@ -52,6 +53,9 @@ class CreateUserTest {
     @MockBean
     private PasswordResetService passwordResetService;
 
+    @MockBean
+    private ExportService exportService;
+
     // Mock all security-related dependencies
     @MockBean
     private UserDetailsServiceImpl userDetailsService;
@@ -0,0 +1,99 @@
+package com.Cinetime.controller;
+
+import com.Cinetime.config.ConditionalGetInterceptor;
+import com.Cinetime.config.ResponseBodyCache;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.payload.dto.response.HallResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.repo.CatalogVersionRepository;
+import com.Cinetime.service.HallService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Hall Controller - Conditional GET Tests")
+class HallConditionalGetTest {
+
+    @Mock
+    private HallService hallService;
+
+    @InjectMocks
+    private HallController hallController;
+
+    private CatalogVersionTracker catalogVersionTracker;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersionTracker = new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5);
+        mockMvc = MockMvcBuilders.standaloneSetup(hallController)
+                .addInterceptors(new ConditionalGetInterceptor(catalogVersionTracker, new ResponseBodyCache(new ObjectMapper())))
+                .build();
+    }
+
+    private void givenHallExists() {
+        when(hallService.getHallById(1L)).thenReturn(ResponseMessage.<HallResponse>builder()
+                .httpStatus(HttpStatus.OK)
+                .object(HallResponse.builder().id(1L).name("Hall 1").build())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should return the body with an ETag built from the hall version")
+    void getHallById_ShouldReturnETag() throws Exception {
+        // Given
+        givenHallExists();
+
+        // When & Then
+        mockMvc.perform(get("/api/halls/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionTracker.getETag(CatalogAggregate.HALL)))
+                .andExpect(jsonPath("$.object.name").value("Hall 1"));
+    }
+
+    @Test
+    @DisplayName("Should return 304 without calling the service when the ETag still matches")
+    void getHallById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        String etag = catalogVersionTracker.getETag(CatalogAggregate.HALL);
+
+        // When & Then
+        mockMvc.perform(get("/api/halls/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verifyNoInteractions(hallService);
+    }
+
+    @Test
+    @DisplayName("Should return the body again after the hall version was bumped")
+    void getHallById_AfterWrite_ShouldReturnNewBody() throws Exception {
+        // Given
+        givenHallExists();
+        String staleEtag = catalogVersionTracker.getETag(CatalogAggregate.HALL);
+        catalogVersionTracker.bumpAfterCommit(CatalogAggregate.HALL);
+
+        // When & Then
+        String newEtag = mockMvc.perform(get("/api/halls/1").header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(staleEtag);
+        verify(hallService).getHallById(1L);
+    }
+}
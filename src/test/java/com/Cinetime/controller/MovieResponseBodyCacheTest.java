@@ -0,0 +1,140 @@
+package com.Cinetime.controller;
+
+import com.Cinetime.config.ConditionalGetInterceptor;
+import com.Cinetime.config.ResponseBodyCache;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.payload.dto.response.MovieResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.repo.CatalogVersionRepository;
+import com.Cinetime.service.MovieService;
+import com.Cinetime.service.ShowtimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movie Controller - Response Body Cache Tests")
+class MovieResponseBodyCacheTest {
+
+    @Mock
+    private MovieService movieService;
+
+    @Mock
+    private ShowtimeService showtimeService;
+
+    @InjectMocks
+    private MovieController movieController;
+
+    private CatalogVersionTracker catalogVersionTracker;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersionTracker = new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5);
+        ResponseBodyCache responseBodyCache = new ResponseBodyCache(new ObjectMapper().findAndRegisterModules());
+        mockMvc = MockMvcBuilders.standaloneSetup(movieController)
+                .addInterceptors(new ConditionalGetInterceptor(catalogVersionTracker, responseBodyCache))
+                .setControllerAdvice(responseBodyCache)
+                .build();
+
+        Page<MovieResponse> movies = new PageImpl<>(List.of(
+                MovieResponse.builder().id(1L).title("Movie 1").summary("x".repeat(2000)).build()), PageRequest.of(0, 10), 1);
+        when(movieService.getInTheatersMovies(0, 10, "releaseDate", "asc"))
+                .thenReturn(ResponseMessage.<Page<MovieResponse>>builder()
+                        .message("Movies found successfully")
+                        .httpStatus(HttpStatus.OK)
+                        .object(movies)
+                        .build());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cached bytes without calling the service")
+    void getInTheatersMovies_SecondCall_ShouldBeServedFromCache() throws Exception {
+        // When
+        String first = mockMvc.perform(get("/api/movies/in-theaters"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/api/movies/in-theaters"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersionTracker.getETag(CatalogAggregate.MOVIE)))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(first).contains("\"title\":\"Movie 1\"");
+        assertThat(second).isEqualTo(first);
+        verify(movieService, times(1)).getInTheatersMovies(0, 10, "releaseDate", "asc");
+    }
+
+    @Test
+    @DisplayName("Should serve the gzip bytes to clients that accept gzip")
+    void getInTheatersMovies_WithGzip_ShouldReturnCompressedBody() throws Exception {
+        // Given
+        String plain = mockMvc.perform(get("/api/movies/in-theaters"))
+                .andReturn().getResponse().getContentAsString();
+
+        // When
+        byte[] compressed = mockMvc.perform(get("/api/movies/in-theaters").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+        assertThat(compressed.length).isLessThan(plain.length());
+    }
+
+    @Test
+    @DisplayName("Should serve the plain bytes to clients that refuse gzip")
+    void getInTheatersMovies_WithGzipRefused_ShouldReturnPlainBody() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/movies/in-theaters")).andExpect(status().isOk());
+
+        // When
+        String body = mockMvc.perform(get("/api/movies/in-theaters").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(body).contains("\"title\":\"Movie 1\"");
+    }
+
+    @Test
+    @DisplayName("Should call the service again once the movie version was bumped")
+    void getInTheatersMovies_AfterWrite_ShouldRefreshCache() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/movies/in-theaters")).andExpect(status().isOk());
+
+        // When
+        catalogVersionTracker.bumpAfterCommit(CatalogAggregate.MOVIE);
+        mockMvc.perform(get("/api/movies/in-theaters")).andExpect(status().isOk());
+
+        // Then
+        verify(movieService, times(2)).getInTheatersMovies(0, 10, "releaseDate", "asc");
+    }
+}
@@ -0,0 +1,63 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.repo.CatalogVersionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogVersionTracker Tests")
+class CatalogVersionTrackerTest {
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private static List<Object[]> versions(long movie, long cinema) {
+        return List.of(new Object[]{CatalogAggregate.MOVIE, movie}, new Object[]{CatalogAggregate.CINEMA, cinema});
+    }
+
+    @Test
+    @DisplayName("Should change the ETag when another instance wrote the aggregate")
+    void getETag_WriteOnAnotherInstance() {
+        // Given: yenileme her istekte
+        CatalogVersionTracker tracker = new CatalogVersionTracker(catalogVersionRepository, 0);
+        when(catalogVersionRepository.findVersions())
+                .thenReturn(versions(3, 1))
+                .thenReturn(versions(3, 1))
+                .thenReturn(versions(4, 1));
+        tracker.loadVersions();
+        String before = tracker.getETag(CatalogAggregate.MOVIE);
+
+        // When
+        String after = tracker.getETag(CatalogAggregate.MOVIE);
+
+        // Then
+        assertThat(after).isNotEqualTo(before);
+        assertThat(tracker.getVersion(CatalogAggregate.CINEMA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record the write in the shared table and create missing rows at startup")
+    void bumpAfterCommit_SharedVersion() {
+        // Given
+        CatalogVersionTracker tracker = new CatalogVersionTracker(catalogVersionRepository, 60);
+        when(catalogVersionRepository.findVersions()).thenReturn(versions(0, 0));
+        tracker.loadVersions();
+
+        // When
+        tracker.bumpAfterCommit(CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME);
+
+        // Then
+        verify(catalogVersionRepository).saveAll(argThat(rows -> rows.spliterator().getExactSizeIfKnown() == 3));
+        verify(catalogVersionRepository).increment(List.of(CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME));
+        assertThat(tracker.getVersion(CatalogAggregate.MOVIE)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.enums.ExportFormat;
+import com.Cinetime.enums.Gender;
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.payload.business.UserExportRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExportWriter Tests")
+class ExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final UserExportRow john = new UserExportRow(1L, "John", "Doe", "john.doe@example.com", "(555) 123-4567",
+            Gender.MALE, LocalDate.of(1990, 1, 15), RoleName.MEMBER, false, LocalDateTime.of(2024, 3, 1, 10, 30));
+
+    private final UserExportRow tricky = new UserExportRow(2L, "=HYPERLINK(\"x\")", "O'Neil, Jr", "line\nbreak@example.com",
+            null, Gender.FEMALE, null, RoleName.ADMIN, true, null);
+
+    @Test
+    @DisplayName("Should write a header and one RFC 4180 line per row, neutralising formulas")
+    void csv() throws IOException {
+        // When
+        String csv = export(ExportFormat.CSV, List.of(john, tricky));
+
+        // Then
+        assertThat(csv.split("\r\n", -1)).containsExactly(
+                "id,firstname,lastname,email,phoneNumber,gender,dateOfBirth,role,builtIn,createdAt",
+                "1,John,Doe,john.doe@example.com,(555) 123-4567,MALE,1990-01-15,MEMBER,false,2024-03-01T10:30",
+                "2,\"'=HYPERLINK(\"\"x\"\")\",\"O'Neil, Jr\",\"line\nbreak@example.com\",,FEMALE,,ADMIN,true,",
+                "");
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void ndjson() throws IOException {
+        // When
+        String ndjson = export(ExportFormat.NDJSON, List.of(john, tricky));
+
+        // Then
+        String[] lines = ndjson.split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("email").asText()).isEqualTo("john.doe@example.com");
+        assertThat(first.get("createdAt").asText()).isEqualTo("2024-03-01T10:30:00");
+        assertThat(objectMapper.readTree(lines[1]).get("email").asText()).isEqualTo("line\nbreak@example.com");
+    }
+
+    @Test
+    @DisplayName("Should write only the header, or nothing, when there are no rows")
+    void empty() throws IOException {
+        assertThat(export(ExportFormat.CSV, List.of())).startsWith("id,firstname").endsWith("createdAt\r\n");
+        assertThat(export(ExportFormat.NDJSON, List.of())).isEmpty();
+    }
+
+    private String export(ExportFormat format, List<UserExportRow> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter<UserExportRow> writer = new ExportWriter<>(format, out, objectMapper, UserExportRow.class,
+                UserExportRow.COLUMNS, UserExportRow::toCsvValues)) {
+            for (UserExportRow row : rows) {
+                writer.write(row);
+            }
+            assertThat(writer.getRows()).isEqualTo(rows.size());
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.payload.business.ShowtimeSlot;
+import com.Cinetime.repo.ShowtimeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShowtimeScheduleIndex Tests")
+class ShowtimeScheduleIndexTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    private final LocalDate date = LocalDate.now().plusDays(2);
+
+    private ShowtimeSlot slot(long showtimeId, int startHour, int endHour) {
+        return ShowtimeSlot.builder()
+                .showtimeId(showtimeId)
+                .hallId(1L)
+                .movieId(1L)
+                .date(date)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should not keep a snapshot loaded while a showtime of the same day was committed")
+    void findConflict_WriteDuringLoad() {
+        // Given: sorgu calisirken ayni gune bir seans commit ediliyor, ilk sonuc onu gormuyor
+        ShowtimeScheduleIndex index = new ShowtimeScheduleIndex(showtimeRepository);
+        ShowtimeSlot committed = slot(7L, 14, 16);
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(1L), date, date))
+                .thenAnswer(invocation -> {
+                    index.add(committed);
+                    return List.of();
+                })
+                .thenReturn(List.of(committed));
+
+        // When
+        boolean firstCheck = index.hasConflict(1L, date, LocalTime.of(15, 0), LocalTime.of(17, 0), null);
+        boolean secondCheck = index.hasConflict(1L, date, LocalTime.of(15, 0), LocalTime.of(17, 0), null);
+
+        // Then
+        assertThat(firstCheck).isTrue();
+        assertThat(secondCheck).isTrue();
+        verify(showtimeRepository, times(2)).findSlotsByHallIdsAndDateBetween(List.of(1L), date, date);
+    }
+
+    @Test
+    @DisplayName("Should find a long showtime that started before the latest one of the day")
+    void findConflict_OverlapBeforePreviousSlot() {
+        // Given: eski verilerde 10-16 ve 12-13 ayni salonda ust uste
+        ShowtimeScheduleIndex index = new ShowtimeScheduleIndex(showtimeRepository);
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(1L), date, date))
+                .thenReturn(List.of(slot(1L, 10, 16), slot(2L, 12, 13)));
+
+        // When & Then
+        assertThat(index.findConflict(1L, date, LocalTime.of(14, 0), LocalTime.of(15, 0), null))
+                .hasValueSatisfying(conflict -> assertThat(conflict.getShowtimeId()).isEqualTo(1L));
+        assertThat(index.findConflict(1L, date, LocalTime.of(14, 0), LocalTime.of(15, 0), 1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should look past the excluded showtime to the one before it")
+    void findConflict_ExcludedSlot() {
+        // Given
+        ShowtimeScheduleIndex index = new ShowtimeScheduleIndex(showtimeRepository);
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(1L), date, date))
+                .thenReturn(List.of(slot(1L, 10, 12), slot(2L, 12, 14), slot(3L, 16, 18)));
+
+        // When & Then
+        assertThat(index.findConflict(1L, date, LocalTime.of(11, 0), LocalTime.of(13, 0), 2L))
+                .hasValueSatisfying(conflict -> assertThat(conflict.getShowtimeId()).isEqualTo(1L));
+        assertThat(index.findConflict(1L, date, LocalTime.of(12, 0), LocalTime.of(16, 0), 2L)).isEmpty();
+        assertThat(index.findConflict(1L, date, LocalTime.of(14, 0), LocalTime.of(16, 0), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not keep a snapshot loaded while a movie was being evicted")
+    void evictMovie_DuringLoad() {
+        // Given: sorgu silinen filmin gosterimini hala goruyor
+        ShowtimeScheduleIndex index = new ShowtimeScheduleIndex(showtimeRepository);
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(1L), date, date))
+                .thenAnswer(invocation -> {
+                    index.evictMovie(1L);
+                    return List.of(slot(7L, 14, 16));
+                })
+                .thenReturn(List.of());
+
+        // When
+        boolean conflict = index.hasConflict(1L, date, LocalTime.of(15, 0), LocalTime.of(17, 0), null);
+
+        // Then
+        assertThat(conflict).isFalse();
+    }
+}
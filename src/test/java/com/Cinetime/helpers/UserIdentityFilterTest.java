@@ -0,0 +1,158 @@
+package com.Cinetime.helpers;
+
+import com.Cinetime.helpers.UserIdentityFilter.Property;
+import com.Cinetime.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdentityFilter Tests")
+class UserIdentityFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new UserIdentityFilter(userRepository, true, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should send every check to the database until the filters are built")
+    void mightExist_BeforeWarmUp() {
+        // When
+        boolean email = filter.mightExist(Property.EMAIL, "free@example.com");
+        boolean phone = filter.mightExist(Property.PHONE_NUMBER, "(555) 000-0000");
+
+        // Then
+        assertThat(email).isTrue();
+        assertThat(phone).isTrue();
+        assertThat(scrape()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load all users page by page and answer existing values as possible matches")
+    void warmUp_LoadsAllPages() {
+        // Given
+        List<Object[]> firstPage = new ArrayList<>();
+        for (long id = 1; id <= UserIdentityFilter.WARM_UP_PAGE_SIZE; id++) {
+            firstPage.add(new Object[]{id, "user" + id + "@example.com", String.format("(555) %03d-%04d", id / 10000, id % 10000)});
+        }
+        List<Object[]> lastPage = List.<Object[]>of(new Object[]{20_001L, "Last.User@Example.com", "(555) 999-9999"});
+        when(userRepository.count()).thenReturn((long) UserIdentityFilter.WARM_UP_PAGE_SIZE + 1);
+        when(userRepository.findIdentitiesAfter(anyLong(), any(Pageable.class))).thenReturn(firstPage).thenReturn(lastPage);
+
+        // When
+        filter.warmUp();
+
+        // Then
+        for (long id = 1; id <= UserIdentityFilter.WARM_UP_PAGE_SIZE; id++) {
+            assertThat(filter.mightExist(Property.EMAIL, "user" + id + "@example.com")).isTrue();
+        }
+        assertThat(filter.mightExist(Property.EMAIL, " last.user@example.com")).isTrue();
+        assertThat(filter.mightExist(Property.PHONE_NUMBER, "555-999-9999")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip the query for unused values and count false positives")
+    void mightExist_CountsLookups() {
+        // Given
+        warmUpWith(List.<Object[]>of(new Object[]{1L, "taken@example.com", "(555) 111-1111"}));
+
+        // When
+        long skipped = 0;
+        for (int i = 0; i < 1000; i++) {
+            String email = "free" + i + "@example.com";
+            if (filter.mightExist(Property.EMAIL, email)) {
+                filter.recordLookup(Property.EMAIL, false);
+            } else {
+                skipped++;
+            }
+        }
+        filter.mightExist(Property.EMAIL, "taken@example.com");
+        filter.recordLookup(Property.EMAIL, true);
+
+        // Then
+        assertThat(skipped).isGreaterThan(950);
+        String metrics = scrape();
+        assertThat(metrics)
+                .contains("cinetime_unique_filter_lookups_total{property=\"email\",result=\"skipped\"} " + skipped)
+                .contains("cinetime_unique_filter_lookups_total{property=\"email\",result=\"confirmed\"} 1")
+                .contains("cinetime_unique_filter_lookups_total{property=\"email\",result=\"false_positive\"} " + (1000 - skipped))
+                .contains("cinetime_unique_filter_false_positive_ratio{property=\"phone_number\"} 0");
+    }
+
+    @Test
+    @DisplayName("Should track users added and removed after startup")
+    void addAndRemove() {
+        // Given
+        warmUpWith(List.of());
+
+        // When
+        filter.addAfterCommit("new@example.com", "(555) 222-2222");
+        boolean added = filter.mightExist(Property.EMAIL, "NEW@example.com")
+                && filter.mightExist(Property.PHONE_NUMBER, "5552222222");
+        filter.removeAfterCommit("new@example.com", "(555) 222-2222");
+
+        // Then
+        assertThat(added).isTrue();
+        assertThat(filter.mightExist(Property.EMAIL, "new@example.com")).isFalse();
+        assertThat(filter.mightExist(Property.PHONE_NUMBER, "(555) 222-2222")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep a value present while any of its additions remain and never drop below zero")
+    void countingBloomFilter_Counts() {
+        // Given
+        CountingBloomFilter bloomFilter = new CountingBloomFilter(100, 0.01);
+        bloomFilter.add("a@example.com");
+        bloomFilter.add("a@example.com");
+
+        // When
+        bloomFilter.remove("a@example.com");
+        boolean afterOneRemove = bloomFilter.mightContain("a@example.com");
+        bloomFilter.remove("a@example.com");
+        bloomFilter.remove("a@example.com");
+        bloomFilter.add("a@example.com");
+
+        // Then
+        assertThat(afterOneRemove).isTrue();
+        assertThat(bloomFilter.mightContain("a@example.com")).isTrue();
+
+        //15'e ulasan sayac doygun kaliyor, silmeler degeri kaybettirmiyor
+        for (int i = 0; i < 20; i++) {
+            bloomFilter.add("b@example.com");
+        }
+        for (int i = 0; i < 20; i++) {
+            bloomFilter.remove("b@example.com");
+        }
+        assertThat(bloomFilter.mightContain("b@example.com")).isTrue();
+    }
+
+    private void warmUpWith(List<Object[]> users) {
+        when(userRepository.count()).thenReturn((long) users.size());
+        when(userRepository.findIdentitiesAfter(anyLong(), any(Pageable.class))).thenReturn(users);
+        filter.warmUp();
+    }
+
+    private String scrape() {
+        StringBuilder out = new StringBuilder();
+        filter.scrape(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,169 @@
+package com.Cinetime.init;
+
+import com.Cinetime.config.SchemaMigrator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SyntheticDataGenerator Tests")
+class SyntheticDataGeneratorTest {
+
+    private static SyntheticDataProperties properties(long seed) {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setSeed(seed);
+        properties.setAnchorDate(LocalDate.of(2025, 6, 1));
+        properties.setCities(3);
+        properties.setDistrictsPerCity(2);
+        properties.setCinemas(4);
+        properties.setHalls(10);
+        properties.setMovies(20);
+        properties.setUsers(50);
+        properties.setShowtimes(100);
+        properties.setTickets(3_000);
+        properties.setBatchSize(64);
+        return properties;
+    }
+
+    //Migration'lardan kurulan, PostgreSQL modunda bos bir veritabani
+    private static SingleConnectionDataSource database() throws Exception {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "sa", "", true);
+        new SchemaMigrator(dataSource, "classpath:db/migration").migrate();
+        return dataSource;
+    }
+
+    private static SyntheticDataGenerator generator(SingleConnectionDataSource dataSource, long seed) {
+        return new SyntheticDataGenerator(dataSource, new BCryptPasswordEncoder(4), properties(seed));
+    }
+
+    private static List<String> fingerprint(JdbcTemplate jdbc) {
+        List<String> rows = jdbc.queryForList(
+                "select concat_ws('|', id, showtime_id, seat_letter, seat_number, user_id, payment_id, status, price) from ticket order by id",
+                String.class);
+        rows.addAll(jdbc.queryForList(
+                "select concat_ws('|', id, hall_id, movie_id, cinema_id, date, start_time, end_time, price) from showtime order by id",
+                String.class));
+        rows.addAll(jdbc.queryForList("select concat_ws('|', id, email, phone_number, firstname) from app_user order by id", String.class));
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Should load the configured counts without selling a seat twice")
+    void generate_Counts() throws Exception {
+        // Given
+        SingleConnectionDataSource dataSource = database();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // When
+        generator(dataSource, 42).generate();
+
+        // Then
+        assertThat(jdbc.queryForObject("select count(*) from district", Long.class)).isEqualTo(6);
+        assertThat(jdbc.queryForObject("select count(*) from cinema", Long.class)).isEqualTo(4);
+        assertThat(jdbc.queryForObject("select count(*) from hall", Long.class)).isEqualTo(10);
+        assertThat(jdbc.queryForObject("select count(*) from movie", Long.class)).isEqualTo(20);
+        assertThat(jdbc.queryForObject("select count(*) from app_user", Long.class)).isEqualTo(50);
+        assertThat(jdbc.queryForObject("select count(*) from showtime", Long.class)).isEqualTo(100);
+        assertThat(jdbc.queryForObject("select count(*) from ticket", Long.class)).isEqualTo(3_000);
+        assertThat(jdbc.queryForObject("""
+                select count(*) from (
+                    select showtime_id, seat_letter, seat_number from ticket
+                    group by showtime_id, seat_letter, seat_number having count(*) > 1) duplicates
+                """, Long.class)).isZero();
+        assertThat(jdbc.queryForObject("""
+                select count(*) from showtime s join hall h on h.id = s.hall_id
+                where s.cinema_id <> h.cinema_id or s.starts_at <> cast(s.date as timestamp) + s.start_time
+                """, Long.class)).isZero();
+        assertThat(jdbc.queryForObject("""
+                select count(*) from payment p
+                where p.amount <> (select sum(t.price) from ticket t where t.payment_id = p.id)
+                """, Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load the same rows for the same seed")
+    void generate_Deterministic() throws Exception {
+        // Given
+        SingleConnectionDataSource first = database();
+        SingleConnectionDataSource second = database();
+        SingleConnectionDataSource otherSeed = database();
+
+        // When
+        generator(first, 42).generate();
+        generator(second, 42).generate();
+        generator(otherSeed, 43).generate();
+
+        // Then
+        List<String> expected = fingerprint(new JdbcTemplate(first));
+        assertThat(fingerprint(new JdbcTemplate(second))).isEqualTo(expected);
+        assertThat(fingerprint(new JdbcTemplate(otherSeed))).isNotEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should skip a second run and keep identity columns ahead of the generated ids")
+    void generate_SecondRun() throws Exception {
+        // Given
+        SingleConnectionDataSource dataSource = database();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        generator(dataSource, 42).generate();
+
+        // When
+        generator(dataSource, 42).generate();
+        jdbc.update("insert into country (name) values ('Added later')");
+
+        // Then
+        assertThat(jdbc.queryForObject("select count(*) from ticket", Long.class)).isEqualTo(3_000);
+        assertThat(jdbc.queryForObject("select count(*) from cinema where slug = ?", Long.class,
+                SyntheticDataGenerator.MARKER_SLUG)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("select id from country where name = 'Added later'", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should refuse to skip or reload over a run that did not complete")
+    void generate_FailedRun() throws Exception {
+        // Given: kullanicilar yuklenirken kesilen bir calistirma, sinemalar commit edilmis
+        SingleConnectionDataSource dataSource = database();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        PasswordEncoder failing = mock(PasswordEncoder.class);
+        when(failing.encode(anyString())).thenThrow(new IllegalStateException("hashing failed"));
+        assertThatThrownBy(() -> new SyntheticDataGenerator(dataSource, failing, properties(42)).generate())
+                .hasMessage("hashing failed");
+
+        // When / Then
+        assertThat(jdbc.queryForObject("select count(*) from cinema", Long.class)).isEqualTo(4);
+        assertThatThrownBy(() -> generator(dataSource, 42).generate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(SyntheticDataGenerator.PENDING_MARKER_SLUG);
+        assertThat(jdbc.queryForObject("select count(*) from cinema where slug = ?", Long.class,
+                SyntheticDataGenerator.MARKER_SLUG)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse to run without an anchor date")
+    void generate_WithoutAnchorDate() throws Exception {
+        // Given
+        SingleConnectionDataSource dataSource = database();
+        SyntheticDataProperties properties = properties(42);
+        properties.setAnchorDate(null);
+
+        // When / Then
+        assertThatThrownBy(() -> new SyntheticDataGenerator(dataSource, new BCryptPasswordEncoder(4), properties).generate())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("anchor date");
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select count(*) from cinema", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,443 @@
+package com.Cinetime.loadtest;
+
+import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Movie;
+import com.Cinetime.entity.Role;
+import com.Cinetime.entity.Showtime;
+import com.Cinetime.entity.User;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.enums.Gender;
+import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.enums.TicketStatus;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.repo.HallRepository;
+import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.repo.ShowtimeRepository;
+import com.Cinetime.repo.UserRepository;
+import com.Cinetime.service.RoleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Booking rush against the full application on an in-memory database: seeded members log in, open a showtime,
+ * read its occupied seats and buy adjacent free seats, retrying on a conflict. Reports throughput, latency
+ * percentiles per step, the conflict rate and seats sold twice, and writes the report to
+ * {@code target/loadtest/} so runs before and after a change can be compared.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -P loadtest test}. Settings are system properties,
+ * e.g. {@code -Dloadtest.users=5000 -Dloadtest.concurrency=400 -Dloadtest.baseline=target/loadtest/baseline.json}.
+ * <p>
+ * {@code -Dloadtest.threads=virtual} runs the server on virtual threads with the database semaphore of the
+ * {@code virtual-threads} profile (JDK 21+, skipped otherwise) and {@code -Dloadtest.mail-latency-ms} makes the
+ * confirmation email block like an SMTP round trip. Platform and virtual threads at 2,000 concurrent clients:
+ * <pre>
+ * mvn -P loadtest test -Dloadtest.concurrency=2000 -Dloadtest.mail-latency-ms=200 -Dloadtest.threads=platform
+ * mvn -P loadtest test -Dloadtest.concurrency=2000 -Dloadtest.mail-latency-ms=200 -Dloadtest.threads=virtual \
+ *     -Dloadtest.baseline=target/loadtest/booking-platform-latest.json
+ * </pre>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.jwt-secret=bG9hZC10ZXN0LXNlY3JldC1rZXktZm9yLWxvY2FsLXJ1bnMtb25seQ==",
+        "app.jwt-expiration-milliseconds=3600000",
+        "Admin.Email=admin@loadtest.local",
+        "Admin.Password=Admin123!",
+        "Admin.PhoneNumber=(500) 000-0000",
+        "User.Email=member@loadtest.local",
+        "User.Password=Member123!",
+        "User.PhoneNumber=(500) 000-0001",
+        "cloudinary.cloud-name=loadtest",
+        "cloudinary.api-key=loadtest",
+        "cloudinary.api-secret=loadtest",
+        "spring.jpa.show-sql=false",
+        //Production varsayilani gibi; test profili kapatiyor ama showtime detayi lazy iliskileri view'da okuyor
+        "spring.jpa.open-in-view=true",
+        "logging.level.com.Cinetime=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "app.sql-stats.expose-headers=false",
+        //Booking yolu olculuyor; tum sanal alicilarin girisi kuyruga sigsin, login bulkhead'i devreye girmesin
+        "app.password-hashing.login.queue-capacity=100000",
+        "app.password-hashing.login.max-wait-ms=600000",
+        //Tum sanal alicilar ayni IP'den geliyor
+        "app.rate-limit.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Booking load test")
+class BookingLoadTest {
+
+    static final String JOURNEY = "journey";
+    private static final List<String> STEPS = List.of("login", "showtime", "occupiedSeats", "buy", JOURNEY);
+
+    private static final String PASSWORD = "LoadTest123!";
+    private static final int SEATS_PER_ROW = 10;
+
+    private static final String THREADS = System.getProperty("loadtest.threads", "platform");
+    private static final long MAIL_LATENCY_MS = Long.getLong("loadtest.mail-latency-ms", 0L);
+
+    private final int users = Integer.getInteger("loadtest.users", 2000);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final int showtimes = Integer.getInteger("loadtest.showtimes", 10);
+    private final int maxSeatsPerBooking = Integer.getInteger("loadtest.max-seats", 4);
+    private final int maxRetries = Integer.getInteger("loadtest.max-retries", 2);
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final String baseline = System.getProperty("loadtest.baseline");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private HallRepository hallRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient httpClient;
+
+    //virtual-threads profilindeki ayarlar; havuz boyutu H2 icin varsayilan 10
+    @DynamicPropertySource
+    static void threadingMode(DynamicPropertyRegistry registry) {
+        boolean virtual = THREADS.equals("virtual");
+        registry.add("spring.threads.virtual.enabled", () -> virtual);
+        registry.add("app.db.concurrency-limit.enabled", () -> virtual);
+        registry.add("server.tomcat.max-connections", () -> virtual ? 10_000 : 8_192);
+        registry.add("server.tomcat.accept-count", () -> virtual ? 1_000 : 100);
+    }
+
+    /**
+     * Confirmation emails are accepted and dropped after the configured latency, so the run needs no SMTP server.
+     */
+    @TestConfiguration
+    static class OfflineMail {
+
+        @Bean
+        JavaMailSender loadTestMailSender() {
+            return new JavaMailSenderImpl() {
+                @Override
+                public void send(SimpleMailMessage... simpleMessages) {
+                    simulateSmtp();
+                }
+
+                @Override
+                public void send(MimeMessage... mimeMessages) {
+                    simulateSmtp();
+                }
+            };
+        }
+    }
+
+    private static void simulateSmtp() {
+        if (MAIL_LATENCY_MS > 0) {
+            try {
+                Thread.sleep(MAIL_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Seat(String letter, int number) {
+        String fullName() {
+            return letter + number;
+        }
+    }
+
+    private record ShowtimeInfo(long id, int rows) {
+    }
+
+
+    @Test
+    @DisplayName("Concurrent buyers should never get the same seat")
+    void bookingRush() throws Exception {
+        // Given
+        assumeTrue(!THREADS.equals("virtual") || Runtime.version().feature() >= 21, "virtual threads need JDK 21+");
+        List<String> phoneNumbers = seedMembers();
+        List<ShowtimeInfo> showtimeInfos = seedShowtimes();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 8)))
+                .build();
+
+        // When
+        LoadTestReport.Recorder recorder = new LoadTestReport.Recorder();
+        AtomicLong journeys = new AtomicLong();
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            String phoneNumber = phoneNumbers.get(i);
+            SplittableRandom random = new SplittableRandom(seed + i);
+            ShowtimeInfo showtime = showtimeInfos.get(random.nextInt(showtimeInfos.size()));
+            virtualUsers.execute(() -> {
+                runJourney(phoneNumber, showtime, random, recorder);
+                journeys.incrementAndGet();
+            });
+        }
+        virtualUsers.shutdown();
+        assertThat(virtualUsers.awaitTermination(30, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - start;
+
+        // Then
+        LoadTestReport report = recorder.toReport(elapsed, journeys.get(), STEPS);
+        report.setStartedAt(LocalDateTime.now().minusNanos(elapsed).toString());
+        report.getSettings().putAll(Map.of("users", users, "concurrency", concurrency, "showtimes", showtimes,
+                "maxSeats", maxSeatsPerBooking, "maxRetries", maxRetries, "seed", seed,
+                "threads", THREADS, "mailLatencyMs", MAIL_LATENCY_MS));
+        List<String> doubleBooked = findDoubleBookedSeats();
+        report.setDoubleBookedSeats(doubleBooked.subList(0, Math.min(20, doubleBooked.size())));
+        report.setDoubleBookings(doubleBooked.size());
+
+        Path directory = Path.of("target", "loadtest");
+        report.write(directory.resolve("booking-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+        report.write(directory.resolve("booking-latest.json"));
+        report.write(directory.resolve("booking-" + THREADS + "-latest.json"));
+        LoadTestReport baselineReport = baseline != null && Files.exists(Path.of(baseline)) ? LoadTestReport.read(Path.of(baseline)) : null;
+        System.out.println(report.format(baselineReport));
+
+        assertThat(report.getErrors()).as("failed requests").isZero();
+        assertThat(report.getDoubleBookings()).as("seats sold more than once").isZero();
+    }
+
+    private void runJourney(String phoneNumber, ShowtimeInfo showtime, SplittableRandom random, LoadTestReport.Recorder recorder) {
+        long journeyStart = System.nanoTime();
+        try {
+            JsonNode login = call(recorder, "login", "POST", "/api/login", null,
+                    Map.of("phoneNumber", phoneNumber, "password", PASSWORD));
+            //Login cevabi "Bearer ..." seklinde, header'a oldugu gibi yaziliyor
+            String authorization = login.path("object").path("token").asText();
+
+            JsonNode details = call(recorder, "showtime", "GET", "/api/showtime/" + showtime.id(), authorization, null).path("object");
+            String movieName = details.path("movie").path("title").asText();
+            double price = details.path("price").asDouble();
+
+            int wanted = 1 + random.nextInt(maxSeatsPerBooking);
+            for (int attempt = 0; attempt <= maxRetries; attempt++) {
+                Set<String> occupied = new HashSet<>();
+                call(recorder, "occupiedSeats", "GET", "/api/seat/getOccupiedSeats/" + showtime.id(), authorization, null)
+                        .path("object").forEach(seat -> occupied.add(seat.path("fullSeatName").asText()));
+
+                List<Seat> seats = pickAdjacentFreeSeats(showtime.rows(), occupied, wanted, random);
+                if (seats.isEmpty()) {
+                    recorder.recordSoldOut();
+                    break;
+                }
+
+                JsonNode purchase = call(recorder, "buy", "POST", "/api/tickets/buy-ticket", authorization, Map.of(
+                        "movieName", movieName,
+                        "showtimeId", showtime.id(),
+                        "ticketPrice", price * seats.size(),
+                        "seatInfos", seats.stream().map(seat -> Map.of("seatLetter", seat.letter(), "seatNumber", seat.number())).toList()));
+                HttpStatus status = HttpStatus.valueOf(purchase.path("httpStatus").asText(HttpStatus.OK.name()));
+                if (status == HttpStatus.CONFLICT) {
+                    recorder.recordPurchase(false, seats.size());
+                    continue;
+                }
+                if (!status.is2xxSuccessful()) {
+                    throw new IllegalStateException("Purchase failed: " + purchase.path("message").asText());
+                }
+                recorder.recordPurchase(true, seats.size());
+                break;
+            }
+            recorder.recordStep(JOURNEY, System.nanoTime() - journeyStart);
+        } catch (Exception e) {
+            recorder.recordError(e);
+        }
+    }
+
+    private JsonNode call(LoadTestReport.Recorder recorder, String step, String method, String path, String authorization, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        recorder.recordStep(step, System.nanoTime() - start);
+        if (response.statusCode() / 100 != 2) {
+            String error = new String(response.body(), StandardCharsets.UTF_8);
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": "
+                    + error.substring(0, Math.min(200, error.length())));
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    //Rastgele bir bos koltuktan baslayip ayni sirada yan yana bos koltuklari topluyor; ilk istekler ayni bolgeye yigilsin diye orta siralar tercih ediliyor
+    private static List<Seat> pickAdjacentFreeSeats(int rows, Set<String> occupied, int wanted, SplittableRandom random) {
+        int firstRow = random.nextInt(Math.max(1, rows / 3), Math.max(2, rows - rows / 3));
+        for (int offset = 0; offset < rows; offset++) {
+            int row = (firstRow + offset) % rows;
+            String letter = String.valueOf((char) ('A' + row));
+            int startNumber = 1 + random.nextInt(SEATS_PER_ROW);
+            for (int shift = 0; shift < SEATS_PER_ROW; shift++) {
+                int number = (startNumber + shift - 1) % SEATS_PER_ROW + 1;
+                List<Seat> seats = new ArrayList<>(wanted);
+                for (int n = number; n <= SEATS_PER_ROW && seats.size() < wanted; n++) {
+                    Seat seat = new Seat(letter, n);
+                    if (occupied.contains(seat.fullName())) {
+                        break;
+                    }
+                    seats.add(seat);
+                }
+                if (!seats.isEmpty()) {
+                    return seats;
+                }
+            }
+        }
+        return List.of();
+    }
+
+    private List<String> seedMembers() {
+        Role memberRole = roleService.getRole(RoleName.MEMBER);
+        //BCrypt bilerek tek sefer; login adimi yine her istekte dogrulama maliyetini olcuyor
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<String> phoneNumbers = new ArrayList<>(users);
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String phoneNumber = String.format("(6%02d) %03d-%04d", i / 10_000_000 % 100, i / 10_000 % 1000, i % 10_000);
+            phoneNumbers.add(phoneNumber);
+            batch.add(User.builder()
+                    .firstname("Load")
+                    .lastname("User" + i)
+                    .email("load.user" + i + "@loadtest.local")
+                    .phoneNumber(phoneNumber)
+                    .password(passwordHash)
+                    .gender(Gender.FEMALE)
+                    .dateOfBirth(LocalDate.of(1990, 1, 1))
+                    .role(memberRole)
+                    .builtIn(false)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            if (batch.size() == 500) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+        return phoneNumbers;
+    }
+
+    private List<ShowtimeInfo> seedShowtimes() {
+        LocalDateTime now = LocalDateTime.now();
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Load Test Premiere")
+                .slug("load-test-premiere")
+                .summary("Premiere night used by the booking load test.")
+                .releaseDate(LocalDate.now())
+                .duration(120)
+                .rating(8.0)
+                .director("Load Test")
+                .cast(List.of("Cast"))
+                .formats(List.of("2D"))
+                .genre(List.of("Drama"))
+                .status(MovieStatus.IN_THEATERS)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        List<Hall> halls = hallRepository.findAll();
+        List<ShowtimeInfo> infos = new ArrayList<>(showtimes);
+        for (int i = 0; i < showtimes; i++) {
+            Hall hall = halls.get(i % halls.size());
+            Showtime showtime = showtimeRepository.save(Showtime.builder()
+                    .movie(movie)
+                    .hall(hall)
+                    .date(LocalDate.now().plusDays(1 + i / halls.size()))
+                    .startTime(LocalTime.of(20, 0))
+                    .endTime(LocalTime.of(22, 0))
+                    .price(200.0)
+                    .build());
+            infos.add(new ShowtimeInfo(showtime.getId(), Math.max(1, hall.getSeatCapacity() / SEATS_PER_ROW)));
+        }
+        catalogVersionTracker.bumpAfterCommit(CatalogAggregate.values());
+        return infos;
+    }
+
+    private List<String> findDoubleBookedSeats() {
+        return jdbcTemplate.query("""
+                        select showtime_id, seat_letter, seat_number, count(*) as sold
+                        from ticket
+                        where status in (?, ?)
+                        group by showtime_id, seat_letter, seat_number
+                        having count(*) > 1
+                        order by showtime_id, seat_letter, seat_number
+                        """,
+                (rs, rowNum) -> "showtime " + rs.getLong("showtime_id") + " seat " + rs.getString("seat_letter")
+                        + rs.getInt("seat_number") + " x" + rs.getInt("sold"),
+                TicketStatus.RESERVED.getValue(), TicketStatus.PAID.getValue());
+    }
+}
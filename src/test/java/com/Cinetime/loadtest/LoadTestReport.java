@@ -0,0 +1,228 @@
+package com.Cinetime.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one load test run: throughput, latency percentiles per step, purchase outcomes and
+ * double-booking violations. Written as JSON so a later run can be compared against it.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoadTestReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String startedAt;
+    private Map<String, Object> settings = new LinkedHashMap<>();
+    private double durationSeconds;
+    private long journeys;
+    private double journeysPerSecond;
+    private long requests;
+    private double requestsPerSecond;
+    private long booked;
+    private long seatsBooked;
+    private long purchaseAttempts;
+    private long conflicts;
+    private double conflictRate;
+    private long soldOut;
+    private long errors;
+    private List<String> errorSamples = new ArrayList<>();
+    private long doubleBookings;
+    private List<String> doubleBookedSeats = new ArrayList<>();
+    private Map<String, StepLatency> steps = new LinkedHashMap<>();
+
+    @Data
+    public static class StepLatency {
+        private long count;
+        private double meanMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+    }
+
+    /**
+     * Thread-safe collector filled by the virtual users while the run is in progress.
+     */
+    public static class Recorder {
+
+        private final Map<String, Samples> steps = new ConcurrentHashMap<>();
+        private final LongAdder booked = new LongAdder();
+        private final LongAdder seatsBooked = new LongAdder();
+        private final LongAdder purchaseAttempts = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder soldOut = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final Set<String> errorSamples = ConcurrentHashMap.newKeySet();
+
+        public void recordStep(String step, long elapsedNanos) {
+            steps.computeIfAbsent(step, key -> new Samples()).add(elapsedNanos);
+        }
+
+        public void recordPurchase(boolean successful, int seats) {
+            purchaseAttempts.increment();
+            if (successful) {
+                booked.increment();
+                seatsBooked.add(seats);
+            } else {
+                conflicts.increment();
+            }
+        }
+
+        public void recordSoldOut() {
+            soldOut.increment();
+        }
+
+        public void recordError(Exception e) {
+            errors.increment();
+            //Ayni hata binlerce kez tekrarlaniyor, ilk birkac farkli mesaj yeterli
+            if (errorSamples.size() < 10) {
+                errorSamples.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+
+        public LoadTestReport toReport(long elapsedNanos, long journeys, List<String> stepOrder) {
+            LoadTestReport report = new LoadTestReport();
+            double seconds = elapsedNanos / 1e9;
+            report.setDurationSeconds(round(seconds));
+            report.setJourneys(journeys);
+            report.setJourneysPerSecond(round(journeys / seconds));
+            report.setBooked(booked.sum());
+            report.setSeatsBooked(seatsBooked.sum());
+            report.setPurchaseAttempts(purchaseAttempts.sum());
+            report.setConflicts(conflicts.sum());
+            report.setConflictRate(purchaseAttempts.sum() == 0 ? 0 : round((double) conflicts.sum() / purchaseAttempts.sum()));
+            report.setSoldOut(soldOut.sum());
+            report.setErrors(errors.sum());
+            report.setErrorSamples(new ArrayList<>(errorSamples));
+
+            long requests = 0;
+            for (String step : stepOrder) {
+                Samples samples = steps.get(step);
+                if (samples != null) {
+                    StepLatency latency = samples.toLatency();
+                    report.getSteps().put(step, latency);
+                    if (!step.equals(BookingLoadTest.JOURNEY)) {
+                        requests += latency.getCount();
+                    }
+                }
+            }
+            report.setRequests(requests);
+            report.setRequestsPerSecond(round(requests / seconds));
+            return report;
+        }
+    }
+
+    //Yuzdelikler tahmin degil, tum orneklerden hesaplaniyor
+    private static class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized StepLatency toLatency() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            StepLatency latency = new StepLatency();
+            latency.setCount(size);
+            if (size == 0) {
+                return latency;
+            }
+            latency.setMeanMs(round(Arrays.stream(sorted).average().orElse(0) / 1e6));
+            latency.setP50Ms(millis(percentile(sorted, 50)));
+            latency.setP95Ms(millis(percentile(sorted, 95)));
+            latency.setP99Ms(millis(percentile(sorted, 99)));
+            latency.setMaxMs(millis(sorted[size - 1]));
+            return latency;
+        }
+
+        //Nearest-rank yontemi
+        private static long percentile(long[] sorted, double percentile) {
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public static LoadTestReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    /**
+     * Human readable summary, followed by the change against the baseline when one is given.
+     */
+    public String format(LoadTestReport baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%nBooking load test (%s)%n", settings));
+        out.append(String.format(Locale.ROOT, "  duration %.1f s, %d journeys (%.1f/s), %d requests (%.1f/s)%n",
+                durationSeconds, journeys, journeysPerSecond, requests, requestsPerSecond));
+        out.append(String.format(Locale.ROOT, "  booked %d (%d seats), conflicts %d of %d purchases (%.1f%%), sold out %d, errors %d%n",
+                booked, seatsBooked, conflicts, purchaseAttempts, conflictRate * 100, soldOut, errors));
+        errorSamples.forEach(error -> out.append("    ").append(error).append(System.lineSeparator()));
+        out.append(String.format(Locale.ROOT, "  double bookings %d%s%n", doubleBookings,
+                doubleBookedSeats.isEmpty() ? "" : " " + doubleBookedSeats));
+        out.append(String.format(Locale.ROOT, "  %-14s %8s %9s %9s %9s %9s %9s%n", "step", "count", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        steps.forEach((step, latency) -> out.append(String.format(Locale.ROOT, "  %-14s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                step, latency.getCount(), latency.getMeanMs(), latency.getP50Ms(), latency.getP95Ms(), latency.getP99Ms(), latency.getMaxMs())));
+
+        if (baseline != null) {
+            out.append(String.format(Locale.ROOT, "Against baseline of %s:%n", baseline.getStartedAt()));
+            out.append(String.format(Locale.ROOT, "  journeys/s %+.1f%%, conflict rate %.3f -> %.3f, double bookings %d -> %d%n",
+                    change(baseline.getJourneysPerSecond(), journeysPerSecond),
+                    baseline.getConflictRate(), conflictRate, baseline.getDoubleBookings(), doubleBookings));
+            steps.forEach((step, latency) -> {
+                StepLatency before = baseline.getSteps().get(step);
+                if (before != null) {
+                    out.append(String.format(Locale.ROOT, "  %-14s p50 %+.1f%%, p95 %+.1f%%, p99 %+.1f%%%n", step,
+                            change(before.getP50Ms(), latency.getP50Ms()),
+                            change(before.getP95Ms(), latency.getP95Ms()),
+                            change(before.getP99Ms(), latency.getP99Ms())));
+                }
+            });
+        }
+        return out.toString();
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
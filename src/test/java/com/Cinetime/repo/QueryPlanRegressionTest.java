@@ -0,0 +1,246 @@
+package com.Cinetime.repo;
+
+import com.Cinetime.config.SchemaMigrationConfig;
+import com.Cinetime.entity.User;
+import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.TicketStatus;
+import com.Cinetime.payload.business.TicketExportRow;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN for the hot repository queries on an embedded database built from the versioned migrations
+ * and fails when one of them no longer reads its table through the expected index.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaMigrationConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.schema-migration.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.Cinetime.repo.QueryPlanRegressionTest$SqlCapture"
+})
+@DisplayName("Repository query plans")
+class QueryPlanRegressionTest {
+
+    private static final Pattern PARAMETER = Pattern.compile("(?:\\b(like|escape)\\s*)?\\?", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CinemaRepository cinemaRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    /**
+     * Collects every SQL statement Hibernate prepares, so the plans of the real generated queries are checked.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Occupied seats of a showtime use idx_ticket_showtime_status")
+    void occupiedSeatsByShowtime() throws SQLException {
+        ticketRepository.findOccupiedSeatInfoByShowtimeAndStatus(1L, List.of(TicketStatus.RESERVED, TicketStatus.PAID));
+
+        assertCapturedQueriesUseIndex("ticket", "idx_ticket_showtime_status");
+    }
+
+    @Test
+    @DisplayName("Tickets of a user by status use idx_ticket_user_status")
+    void ticketsByUserAndStatus() throws SQLException {
+        User user = new User();
+        user.setId(1L);
+
+        ticketRepository.findByUserAndStatus(user, TicketStatus.PAID, PageRequest.of(0, 10));
+
+        assertCapturedQueriesUseIndex("ticket", "idx_ticket_user_status");
+    }
+
+    @Test
+    @DisplayName("Movie lookup by title uses idx_movie_title")
+    void movieByTitle() throws SQLException {
+        movieRepository.findByTitle("Inception");
+
+        assertCapturedQueriesUseIndex("movie", "idx_movie_title");
+    }
+
+    @Test
+    @DisplayName("Movies by status use idx_movie_status")
+    void moviesByStatus() throws SQLException {
+        movieRepository.findByStatus(MovieStatus.IN_THEATERS, PageRequest.of(0, 10));
+
+        assertCapturedQueriesUseIndex("movie", "idx_movie_status");
+    }
+
+    @Test
+    @DisplayName("User lookups by phone number use the unique uk_app_user_phone_number")
+    void userByPhoneNumber() throws SQLException {
+        userRepository.findByPhoneNumber("5551234567");
+        userRepository.existsByPhoneNumber("5551234567");
+
+        assertCapturedQueriesUseIndex("app_user", "uk_app_user_phone_number");
+    }
+
+    @Test
+    @DisplayName("Admin search by email or phone prefix uses the search key indexes")
+    void userSearchByPrefix() throws SQLException {
+        userRepository.findBySearchEmailStartingWith("john", PageRequest.of(0, 10));
+        userRepository.countBySearchEmailStartingWith("john");
+        assertPrefixQueriesUseIndex("app_user", "john%", "idx_app_user_search_email");
+
+        SqlCapture.STATEMENTS.clear();
+        userRepository.findBySearchPhoneStartingWith("555", PageRequest.of(0, 10));
+        userRepository.countBySearchPhoneStartingWith("555");
+        assertPrefixQueriesUseIndex("app_user", "555%", "idx_app_user_search_phone");
+    }
+
+    @Test
+    @DisplayName("Ticket export by sale date uses idx_ticket_created_at")
+    void ticketExportByCreatedAt() throws SQLException {
+        try (Stream<TicketExportRow> rows = ticketRepository.streamExportRows(LocalDateTime.now().minusMonths(1),
+                LocalDateTime.now(), null, null)) {
+            assertThat(rows).isEmpty();
+        }
+
+        assertCapturedQueriesUseIndex("ticket", "idx_ticket_created_at");
+    }
+
+    @Test
+    @DisplayName("Active password reset codes are loaded through idx_password_reset_token_expires_at")
+    void activePasswordResetTokens() throws SQLException {
+        passwordResetTokenRepository.findActive(LocalDateTime.now());
+
+        assertCapturedQueriesUseIndex("password_reset_token", "idx_password_reset_token_expires_at");
+    }
+
+    @Test
+    @DisplayName("Cinema lookup by slug uses idx_cinema_slug")
+    void cinemaBySlug() throws SQLException {
+        cinemaRepository.findBySlug("cinetime-kadikoy-imax");
+
+        assertCapturedQueriesUseIndex("cinema", "idx_cinema_slug");
+    }
+
+    @Test
+    @DisplayName("Upcoming showtimes of a movie use idx_showtime_movie_starts_at")
+    void upcomingShowtimesByMovie() throws SQLException {
+        showtimeRepository.findUpcomingShowtimesByMovieId(1L, LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertCapturedQueriesUseIndex("showtime", "idx_showtime_movie_starts_at");
+    }
+
+    @Test
+    @DisplayName("Upcoming showtimes of a movie in a cinema use a starts_at index")
+    void upcomingShowtimesByMovieAndCinema() throws SQLException {
+        showtimeRepository.findUpcomingShowtimesByMovieAndCinema(1L, 1L, LocalDateTime.now(), PageRequest.of(0, 10));
+
+        assertCapturedQueriesUseIndex("showtime", "idx_showtime_cinema_starts_at", "idx_showtime_movie_starts_at");
+    }
+
+    private void assertCapturedQueriesUseIndex(String table, String... expectedIndexes) throws SQLException {
+        assertPrefixQueriesUseIndex(table, null, expectedIndexes);
+    }
+
+    //LIKE NULL sabit FALSE'a indirgeniyor; onek aramalarinda LIKE parametresine ornek bir desen veriliyor
+    private void assertPrefixQueriesUseIndex(String table, String likePattern, String... expectedIndexes) throws SQLException {
+        List<String> plans = new ArrayList<>();
+        for (String sql : SqlCapture.STATEMENTS) {
+            if (sql.toLowerCase(Locale.ROOT).matches("(?s)\\s*select\\b.*\\bfrom\\s+" + table + "\\b.*")) {
+                plans.add(explain(sql, likePattern));
+            }
+        }
+
+        assertThat(plans).as("captured queries on %s", table).isNotEmpty();
+        for (String plan : plans) {
+            assertThat(plan).as("plan of a query on %s", table)
+                    .doesNotContain("public." + table + ".tableScan")
+                    .containsAnyOf(prefixed(expectedIndexes));
+        }
+    }
+
+    //Parametre degerleri plani degistirmiyor (LIKE disinda), digerlerini NULL bagliyoruz
+    private String explain(String sql, String likePattern) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            Matcher parameter = PARAMETER.matcher(sql);
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount && parameter.find(); i++) {
+                String keyword = parameter.group(1) == null ? "" : parameter.group(1).toLowerCase(Locale.ROOT);
+                if (likePattern != null && keyword.equals("like")) {
+                    statement.setString(i, likePattern);
+                } else if (keyword.equals("escape")) {
+                    statement.setString(i, "\\");
+                } else {
+                    statement.setNull(i, Types.NULL);
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static String[] prefixed(String... indexes) {
+        String[] names = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            names[i] = "public." + indexes[i];
+        }
+        return names;
+    }
+}
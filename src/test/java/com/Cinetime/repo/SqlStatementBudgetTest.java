@@ -0,0 +1,144 @@
+package com.Cinetime.repo;
+
+import com.Cinetime.config.SqlStatementConfig;
+import com.Cinetime.entity.*;
+import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.GeoReferenceRegistry;
+import com.Cinetime.helpers.SqlStatementStats;
+import com.Cinetime.support.SqlStatementBudget;
+import com.Cinetime.support.SqlStatementBudgetExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement budgets of catalog reads, counted on an embedded database by the instrumented data source.
+ */
+@DataJpaTest
+@Import(SqlStatementConfig.class)
+@ExtendWith(SqlStatementBudgetExtension.class)
+@DisplayName("SQL statement budgets")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private DistrictRepository districtRepository;
+
+    private Cinema cinema;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Country country = new Country();
+        country.setName("Turkiye");
+        entityManager.persist(country);
+
+        City city = new City();
+        city.setName("Istanbul");
+        city.setCountry(country);
+        entityManager.persist(city);
+
+        District district = new District();
+        district.setName("Kadikoy");
+        district.setCity(city);
+        entityManager.persist(district);
+
+        cinema = Cinema.builder().name("Kadikoy").slug("kadikoy").address("Bahariye Cd.")
+                .city(city).district(district).createdAt(now).updatedAt(now).build();
+        entityManager.persist(cinema);
+
+        Hall hall = Hall.builder().name("Salon 1").seatCapacity(100).cinema(cinema)
+                .createdAt(now).updatedAt(now).build();
+        entityManager.persist(hall);
+
+        for (int i = 1; i <= 3; i++) {
+            Movie movie = Movie.builder().title("Movie " + i).slug("movie-" + i).summary("Summary")
+                    .releaseDate(LocalDate.now()).duration(120).director("Director")
+                    .cast(List.of("Actor")).formats(List.of("2D")).genre(List.of("Drama"))
+                    .status(MovieStatus.IN_THEATERS).build();
+            entityManager.persist(movie);
+
+            entityManager.persist(Showtime.builder().movie(movie).hall(hall)
+                    .date(LocalDate.now().plusDays(1)).startTime(LocalTime.of(10 + i * 3, 0))
+                    .endTime(LocalTime.of(12 + i * 3, 0)).build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @SqlStatementBudget(max = 1)
+    @DisplayName("Upcoming showtimes of cinemas load movie, hall and cinema in one statement")
+    void upcomingShowtimesByCinemaIds() {
+        // When
+        List<Showtime> showtimes = showtimeRepository.findUpcomingShowtimesByCinemaIds(
+                List.of(cinema.getId()), LocalDateTime.now(), LocalDateTime.now().plusDays(7));
+
+        // Then
+        assertThat(showtimes).hasSize(3);
+        assertThat(showtimes).extracting(showtime -> showtime.getMovie().getTitle())
+                .containsExactly("Movie 1", "Movie 2", "Movie 3");
+        assertThat(showtimes).extracting(showtime -> showtime.getHall().getCinema().getName())
+                .containsOnly("Kadikoy");
+        assertThat(SqlStatementStats.current().getRows()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Lazy loading the movie of every showtime is reported as a repeated statement")
+    void lazyLoadingIsReportedAsRepeated() {
+        // When
+        List<Showtime> showtimes = showtimeRepository.findAll();
+        showtimes.forEach(showtime -> showtime.getMovie().getTitle());
+
+        // Then
+        SqlStatementStats stats = SqlStatementStats.current();
+        assertThat(stats.getStatements()).isEqualTo(4);
+        assertThat(stats.getRepeatedStatements(3)).hasSize(1);
+        assertThat(stats.getRepeatedStatements(3).keySet().iterator().next()).containsIgnoringCase("from movie");
+    }
+
+    @Test
+    @SqlStatementBudget(max = 3, maxRepeats = 2)
+    @DisplayName("Geo reference data is read once and then served from memory")
+    void geoReferenceDataIsReadOnce() {
+        // Given
+        GeoReferenceRegistry registry = new GeoReferenceRegistry(countryRepository, cityRepository,
+                districtRepository, new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5));
+
+        // When
+        registry.getGeoData();
+        registry.getGeoData();
+        String cityName = registry.getCityName(cinema.getCity());
+
+        // Then
+        assertThat(cityName).isEqualTo("Istanbul");
+        assertThat(SqlStatementStats.current().getStatements()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,153 @@
+package com.Cinetime.security;
+
+import com.Cinetime.exception.PasswordHashingBusyException;
+import com.Cinetime.helpers.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    //release acilana kadar hash isini bekleten sahte encoder
+    private final PasswordEncoder blockingDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            block();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            block();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void block() {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    };
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the pool and record queue wait and hash time")
+    void encodeAndMatches() {
+        // Given
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blockingDelegate, "login", 1, 1, 5_000, metricsRegistry);
+
+        // When
+        String hash = encoder.encode("secret");
+        boolean matches = encoder.matches("secret", hash);
+
+        // Then
+        assertThat(hash).isEqualTo("hashed:secret");
+        assertThat(matches).isTrue();
+        StringBuilder scrape = new StringBuilder();
+        metricsRegistry.scrape(scrape);
+        assertThat(scrape.toString())
+                .contains("cinetime_password_hash_seconds_count{pool=\"login\",operation=\"encode\"} 1")
+                .contains("cinetime_password_hash_seconds_count{pool=\"login\",operation=\"matches\"} 1")
+                .contains("cinetime_password_hash_queue_wait_seconds_count{pool=\"login\",operation=\"matches\"} 1");
+    }
+
+    @Test
+    @DisplayName("Should reject at once when every thread and queue slot is taken")
+    void matches_QueueFull() {
+        // Given
+        encoder = new BoundedPasswordEncoder(blockingDelegate, "login", 1, 1, 5_000, metricsRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hashed:a"));
+        waitUntil(() -> metricsRegistry
+                .timer("cinetime_password_hash_queue_wait", "", "pool", "login", "operation", "matches").getCount() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hashed:b"));
+        waitUntil(() -> encoder.getQueueSize() == 1);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.matches("c", "hashed:c"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep separate pools independent when one of them is full")
+    void matches_SeparatePools() {
+        // Given
+        encoder = new BoundedPasswordEncoder(blockingDelegate, "login", 1, 1, 5_000, metricsRegistry);
+        BoundedPasswordEncoder other = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), "default", 1, 1, 5_000, metricsRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hashed:a"));
+        waitUntil(() -> metricsRegistry
+                .timer("cinetime_password_hash_queue_wait", "", "pool", "login", "operation", "matches").getCount() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hashed:b"));
+        waitUntil(() -> encoder.getQueueSize() == 1);
+
+        try {
+            // When / Then
+            assertThatThrownBy(() -> encoder.matches("c", "hashed:c"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .hasMessage(BoundedPasswordEncoder.BUSY_MESSAGE);
+            assertThat(other.matches("secret", other.encode("secret"))).isTrue();
+        } finally {
+            other.destroy();
+        }
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should give up after the max wait and drop the queued hash")
+    void encode_Timeout() {
+        // Given
+        encoder = new BoundedPasswordEncoder(blockingDelegate, "login", 1, 4, 100, metricsRegistry);
+        CompletableFuture.runAsync(() -> {
+            try {
+                encoder.encode("a");
+            } catch (PasswordHashingBusyException ignored) {
+                //Bu cagri da zaman asimina ugrayabilir, testin konusu degil
+            }
+        });
+        waitUntil(() -> metricsRegistry
+                .timer("cinetime_password_hash_queue_wait", "", "pool", "login", "operation", "encode").getCount() == 1);
+
+        // When / Then
+        assertThatThrownBy(() -> encoder.encode("b"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(encoder.getQueueSize()).isZero();
+    }
+}
@@ -0,0 +1,233 @@
+package com.Cinetime.security;
+
+import com.Cinetime.entity.Role;
+import com.Cinetime.entity.User;
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.repo.TokenRevocationRepository;
+import com.Cinetime.repo.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthFilter Tests")
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "Y2luZXRpbWUtZmlsdGVyLXRlc3Qtc2VjcmV0LWtleS0zMi1ieXRlcw==";
+    private static final String PHONE_NUMBER = "(555) 123-4567";
+    private static final long USER_ID = 7L;
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    private JwtUtils jwtUtils;
+    private JwtAuthFilter jwtAuthFilter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        useRegistry(new TokenRevocationRegistry(userRepository, tokenRevocationRepository,
+                TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toSeconds(1)));
+
+        user = new User();
+        user.setId(USER_ID);
+        user.setPhoneNumber(PHONE_NUMBER);
+        user.setRole(new Role(RoleName.MEMBER));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void useRegistry(TokenRevocationRegistry registry) {
+        tokenRevocationRegistry = registry;
+        jwtUtils = new JwtUtils(tokenRevocationRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+        jwtAuthFilter = new JwtAuthFilter(userDetailsService, jwtUtils, mock(ObjectProvider.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String login() {
+        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+        return jwtUtils.generateToken(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        return filter("GET", token);
+    }
+
+    private Authentication filter(String method, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tickets");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the token claims without loading the user")
+    void doFilter_ClaimsOnly() throws Exception {
+        // Given
+        String token = login();
+
+        // When
+        Authentication authentication = filter(token);
+
+        // Then
+        assertThat(authentication.getPrincipal()).isEqualTo(new UserPrincipal(USER_ID, PHONE_NUMBER, RoleName.MEMBER));
+        assertThat(authentication.getName()).isEqualTo(PHONE_NUMBER);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_MEMBER");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before a revocation and accept a new login")
+    void doFilter_Revoked() throws Exception {
+        // Given
+        String oldToken = login();
+        tokenRevocationRegistry.revoke(USER_ID);
+
+        // When
+        String newToken = login();
+
+        // Then
+        assertThat(filter(oldToken)).isNull();
+        assertThat(filter(newToken)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens revoked on another instance once the revocations are refreshed")
+    void doFilter_RevokedOnAnotherInstance() throws Exception {
+        // Given: her istekte yenileyen registry, tablo baska instance'in iptalini donduruyor
+        useRegistry(new TokenRevocationRegistry(userRepository, tokenRevocationRepository, TimeUnit.DAYS.toMillis(1), 0));
+        String token = login();
+        when(tokenRevocationRepository.findRevokedAfter(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{USER_ID, LocalDateTime.now()}));
+
+        // When
+        Authentication authentication = filter(token);
+
+        // Then
+        assertThat(authentication).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject write requests of a deleted user and keep rejecting its token without a query")
+    void doFilter_DeletedUser() throws Exception {
+        // Given
+        String token = login();
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        // When
+        Authentication write = filter("POST", token);
+        Authentication read = filter(token);
+
+        // Then
+        assertThat(write).isNull();
+        assertThat(read).isNull();
+        verify(userRepository).existsById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should accept write requests of an existing user")
+    void doFilter_ExistingUserWrite() throws Exception {
+        // Given
+        String token = login();
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        // When
+        Authentication authentication = filter("POST", token);
+
+        // Then
+        assertThat(authentication).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should load the user for tokens issued without the user id claim")
+    void doFilter_LegacyToken() throws Exception {
+        // Given
+        Date now = new Date();
+        String legacyToken = Jwts.builder()
+                .setSubject(PHONE_NUMBER)
+                .claim("role", "MEMBER")
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        when(userDetailsService.loadUserByUsername(PHONE_NUMBER)).thenReturn(new UserDetailsImpl(user));
+
+        // When
+        Authentication authentication = filter(legacyToken);
+
+        // Then
+        assertThat(authentication.getPrincipal()).isEqualTo(new UserPrincipal(USER_ID, PHONE_NUMBER, RoleName.MEMBER));
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve later requests from the cache")
+    void doFilter_CachedVerification() throws Exception {
+        // Given
+        String token = login();
+
+        // When
+        filter(token);
+        Object first = jwtUtils.getVerifiedClaims(token);
+        Object second = jwtUtils.getVerifiedClaims(token);
+
+        // Then
+        assertThat(second).isNotNull().isSameAs(first);
+        assertThat(filter(token)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a tampered token")
+    void doFilter_Tampered() throws Exception {
+        // Given
+        String token = login();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When
+        Authentication authentication = filter(tampered);
+
+        // Then
+        assertThat(authentication).isNull();
+    }
+}
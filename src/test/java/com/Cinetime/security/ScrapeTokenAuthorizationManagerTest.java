@@ -0,0 +1,43 @@
+package com.Cinetime.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ScrapeTokenAuthorizationManager Tests")
+class ScrapeTokenAuthorizationManagerTest {
+
+    private static boolean granted(String token, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/metrics/prometheus");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return new ScrapeTokenAuthorizationManager(token)
+                .check(() -> null, new RequestAuthorizationContext(request))
+                .isGranted();
+    }
+
+    @Test
+    @DisplayName("Should grant a request carrying the scrape token")
+    void check_ValidToken() {
+        assertThat(granted("s3cret", "Bearer s3cret")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should deny a missing or different token")
+    void check_InvalidToken() {
+        assertThat(granted("s3cret", null)).isFalse();
+        assertThat(granted("s3cret", "Bearer other")).isFalse();
+        assertThat(granted("s3cret", "s3cret")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should deny every request when no token is configured")
+    void check_NoTokenConfigured() {
+        assertThat(granted("", "Bearer ")).isFalse();
+        assertThat(granted(null, "Bearer null")).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package com.Cinetime.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static Claims claimsExpiringAt(long expiresAtMillis) {
+        return Jwts.claims().setSubject("(555) 123-4567").setExpiration(new Date(expiresAtMillis));
+    }
+
+    @Test
+    @DisplayName("Should serve the claims of a verified token until it expires")
+    void get_UntilExpiry() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        Claims claims = claimsExpiringAt(NOW + 60_000);
+
+        // When
+        cache.put("token-a", claims, NOW);
+
+        // Then
+        assertThat(cache.get("token-a", NOW + 59_999)).isSameAs(claims);
+        assertThat(cache.get("token-b", NOW)).isNull();
+        assertThat(cache.get("token-a", NOW + 60_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that are expired or never expire")
+    void put_WithoutValidExpiry() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        // When
+        cache.put("expired", claimsExpiringAt(NOW - 1), NOW);
+        cache.put("no-expiry", Jwts.claims().setSubject("(555) 123-4567"), NOW);
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries first and stay within its bound")
+    void put_WhenFull() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(3);
+        cache.put("short-1", claimsExpiringAt(NOW + 1_000), NOW);
+        cache.put("short-2", claimsExpiringAt(NOW + 1_000), NOW);
+        cache.put("long", claimsExpiringAt(NOW + 60_000), NOW);
+
+        // When
+        cache.put("new", claimsExpiringAt(NOW + 60_000), NOW + 2_000);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("long", NOW + 2_000)).isNotNull();
+
+        // When
+        cache.put("fill", claimsExpiringAt(NOW + 60_000), NOW + 2_000);
+        cache.put("overflow", claimsExpiringAt(NOW + 60_000), NOW + 2_000);
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(3);
+        assertThat(cache.get("overflow", NOW + 2_000)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the entries closest to expiry instead of the whole cache")
+    void put_EvictsClosestToExpiry() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(20);
+        for (int i = 0; i < 20; i++) {
+            cache.put("token-" + i, claimsExpiringAt(NOW + 10_000 + i * 1_000L), NOW);
+        }
+
+        // When
+        cache.put("new", claimsExpiringAt(NOW + 60_000), NOW);
+
+        // Then: onda biri, yani en erken bitecek iki token atiliyor
+        assertThat(cache.size()).isEqualTo(19);
+        assertThat(cache.get("token-0", NOW)).isNull();
+        assertThat(cache.get("token-1", NOW)).isNull();
+        assertThat(cache.get("token-2", NOW)).isNotNull();
+        assertThat(cache.get("token-19", NOW)).isNotNull();
+        assertThat(cache.get("new", NOW)).isNotNull();
+    }
+}
@@ -1,19 +1,26 @@
 package com.Cinetime.service.cinemaservice;
 
 import com.Cinetime.entity.Cinema;
-
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.CinemaFeatureIndex;
+import com.Cinetime.helpers.CinemaLocationIndex;
 import com.Cinetime.helpers.PageableHelper;
+import com.Cinetime.payload.business.CinemaHallFeature;
 import com.Cinetime.payload.dto.response.CinemaResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
-
+import com.Cinetime.payload.mappers.CinemaHallMapper;
 import com.Cinetime.payload.mappers.CinemaMapper;
+import com.Cinetime.payload.mappers.HallMapper;
+import com.Cinetime.payload.mappers.ShowtimeMapper;
+import com.Cinetime.repo.CatalogVersionRepository;
 import com.Cinetime.repo.CinemaRepository;
+import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.repo.ShowtimeRepository;
 import com.Cinetime.service.CinemaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -28,7 +35,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +52,21 @@ class GetCinemasByFiltersTest {
     @Mock
     private CinemaMapper cinemaMapper;
 
-    @InjectMocks
+    @Mock
+    private HallMapper hallMapper;
+
+    @Mock
+    private CinemaHallMapper cinemaHallMapper;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private ShowtimeMapper showtimeMapper;
+
     private CinemaService cinemaService;
 
     private Pageable mockPageable;
@@ -55,6 +77,12 @@ class GetCinemasByFiltersTest {
 
     @BeforeEach
     void setUp() {
+        // Real feature index on top of the mocked repository, so the bitmap filtering itself is exercised
+        CinemaFeatureIndex cinemaFeatureIndex = new CinemaFeatureIndex(cinemaRepository, new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5));
+        cinemaService = new CinemaService(cinemaRepository, pageableHelper, hallMapper, cinemaHallMapper,
+                movieRepository, cinemaMapper, cinemaFeatureIndex,
+                new CinemaLocationIndex(cinemaRepository, new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5)), showtimeRepository, showtimeMapper);
+
         mockPageable = PageRequest.of(0, 10);
 
         testCinema1 = Cinema.builder()
@@ -78,6 +106,16 @@ class GetCinemasByFiltersTest {
                 .build();
     }
 
+    // Cinema 1 (city 1): IMAX + standard, cinema 2 (city 1): 4DX, cinema 3 (city 2): IMAX, cinema 4 (city 2): no halls
+    private void givenCinemaHalls() {
+        when(cinemaRepository.findCinemaHallFeatures()).thenReturn(List.of(
+                new CinemaHallFeature(1L, 1L, "IMAX", 1),
+                new CinemaHallFeature(1L, 1L, "Standard 1", 0),
+                new CinemaHallFeature(2L, 1L, "4DX", null),
+                new CinemaHallFeature(3L, 2L, "IMAX Laser", 1),
+                new CinemaHallFeature(4L, 2L, null, null)));
+    }
+
     @Test
     @DisplayName("Should return paginated cinemas when cinemas exist with city filter")
     void getCinemasByFilters_WithCityFilter_ShouldReturnCinemas() {
@@ -89,12 +127,10 @@ class GetCinemasByFiltersTest {
 
         List<Cinema> cinemaList = Arrays.asList(testCinema1, testCinema2);
         Page<Cinema> cinemaPage = new PageImpl<>(cinemaList, mockPageable, 2);
-        Page<CinemaResponse> cinemaResponsePage = new PageImpl<>(
-                Arrays.asList(testCinemaResponse1, testCinemaResponse2), mockPageable, 2);
 
+        givenCinemaHalls();
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(cityId), eq(null), eq(mockPageable)))
-                .thenReturn(cinemaPage);
+        when(cinemaRepository.findByIdIn(List.of(1L, 2L), mockPageable)).thenReturn(cinemaPage);
         when(cinemaMapper.mapCinemaToCinemaResponse(testCinema1)).thenReturn(testCinemaResponse1);
         when(cinemaMapper.mapCinemaToCinemaResponse(testCinema2)).thenReturn(testCinemaResponse2);
 
@@ -110,7 +146,8 @@ class GetCinemasByFiltersTest {
         assertThat(result.getMessage()).isNull();
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(cinemaRepository).findCinemasByFilters(cityId, null, mockPageable);
+        verify(cinemaRepository).findByIdIn(List.of(1L, 2L), mockPageable);
+        verify(cinemaRepository, never()).findCinemasByFilters(any(), any(), any());
     }
 
     @Test
@@ -118,19 +155,15 @@ class GetCinemasByFiltersTest {
     void getCinemasByFilters_WithSpecialHallFilter_ShouldReturnCinemas() {
         // Given
         Long cityId = null;
-        String specialHallName = "IMAX";
-        String formattedSpecialHall = "%IMAX%";
+        String specialHallName = "imax";
         int page = 0, size = 10;
         String sort = "name", type = "asc";
 
-        List<Cinema> cinemaList = Collections.singletonList(testCinema1);
-        Page<Cinema> cinemaPage = new PageImpl<>(cinemaList, mockPageable, 1);
-        Page<CinemaResponse> cinemaResponsePage = new PageImpl<>(
-                Collections.singletonList(testCinemaResponse1), mockPageable, 1);
+        Page<Cinema> cinemaPage = new PageImpl<>(Collections.singletonList(testCinema1), mockPageable, 2);
 
+        givenCinemaHalls();
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(null), eq(formattedSpecialHall), eq(mockPageable)))
-                .thenReturn(cinemaPage);
+        when(cinemaRepository.findByIdIn(List.of(1L, 3L), mockPageable)).thenReturn(cinemaPage);
         when(cinemaMapper.mapCinemaToCinemaResponse(testCinema1)).thenReturn(testCinemaResponse1);
 
         // When
@@ -143,42 +176,35 @@ class GetCinemasByFiltersTest {
         assertThat(result.getObject()).isNotNull();
         assertThat(result.getObject().getContent()).hasSize(1);
 
-        verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(cinemaRepository).findCinemasByFilters(null, formattedSpecialHall, mockPageable);
+        verify(cinemaRepository).findByIdIn(List.of(1L, 3L), mockPageable);
+        verify(cinemaRepository, never()).findCinemasByFilters(any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should return paginated cinemas when cinemas exist with both filters")
+    @DisplayName("Should intersect city and hall feature filters")
     void getCinemasByFilters_WithBothFilters_ShouldReturnCinemas() {
         // Given
-        Long cityId = 1L;
+        Long cityId = 2L;
         String specialHallName = "IMAX";
-        String formattedSpecialHall = "%IMAX%";
         int page = 0, size = 10;
         String sort = "name", type = "asc";
 
-        List<Cinema> cinemaList = Collections.singletonList(testCinema1);
-        Page<Cinema> cinemaPage = new PageImpl<>(cinemaList, mockPageable, 1);
-        Page<CinemaResponse> cinemaResponsePage = new PageImpl<>(
-                Collections.singletonList(testCinemaResponse1), mockPageable, 1);
+        Cinema testCinema3 = Cinema.builder().id(3L).name("Test Cinema 3").build();
+        Page<Cinema> cinemaPage = new PageImpl<>(Collections.singletonList(testCinema3), mockPageable, 1);
 
+        givenCinemaHalls();
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(cityId), eq(formattedSpecialHall), eq(mockPageable)))
-                .thenReturn(cinemaPage);
-        when(cinemaMapper.mapCinemaToCinemaResponse(testCinema1)).thenReturn(testCinemaResponse1);
+        when(cinemaRepository.findByIdIn(List.of(3L), mockPageable)).thenReturn(cinemaPage);
+        when(cinemaMapper.mapCinemaToCinemaResponse(testCinema3)).thenReturn(testCinemaResponse1);
 
         // When
         ResponseMessage<Page<CinemaResponse>> result = cinemaService.getCinemasByFilters(
                 cityId, specialHallName, page, size, sort, type);
 
         // Then
-        assertThat(result).isNotNull();
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getObject()).isNotNull();
         assertThat(result.getObject().getContent()).hasSize(1);
-
-        verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(cinemaRepository).findCinemasByFilters(cityId, formattedSpecialHall, mockPageable);
+        verify(cinemaRepository).findByIdIn(List.of(3L), mockPageable);
     }
 
     @Test
@@ -190,11 +216,8 @@ class GetCinemasByFiltersTest {
         int page = 0, size = 10;
         String sort = "name", type = "asc";
 
-        Page<Cinema> emptyCinemaPage = new PageImpl<>(Collections.emptyList(), mockPageable, 0);
-
+        givenCinemaHalls();
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(cityId), eq(null), eq(mockPageable)))
-                .thenReturn(emptyCinemaPage);
 
         // When
         ResponseMessage<Page<CinemaResponse>> result = cinemaService.getCinemasByFilters(
@@ -206,31 +229,51 @@ class GetCinemasByFiltersTest {
         assertThat(result.getMessage()).isEqualTo("No cinemas found");
         assertThat(result.getObject()).isNull();
 
-        verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(cinemaRepository).findCinemasByFilters(cityId, null, mockPageable);
+        verify(cinemaRepository, never()).findByIdIn(anyCollection(), any());
         verify(cinemaMapper, never()).mapCinemaToCinemaResponse(any());
     }
 
     @Test
-    @DisplayName("Should handle null special hall name correctly")
-    void getCinemasByFilters_WithNullSpecialHall_ShouldPassNullToRepository() {
+    @DisplayName("Should build the feature index once and reuse it while the catalog is unchanged")
+    void getCinemasByFilters_RepeatedCalls_ShouldReuseFeatureIndex() {
+        // Given
+        givenCinemaHalls();
+        when(pageableHelper.pageableSort(0, 10, "name", "asc")).thenReturn(mockPageable);
+        when(cinemaRepository.findByIdIn(List.of(2L), mockPageable))
+                .thenReturn(new PageImpl<>(Collections.singletonList(testCinema2), mockPageable, 1));
+        when(cinemaMapper.mapCinemaToCinemaResponse(testCinema2)).thenReturn(testCinemaResponse2);
+
+        // When
+        cinemaService.getCinemasByFilters(1L, "4dx", 0, 10, "name", "asc");
+        cinemaService.getCinemasByFilters(1L, "4D-X", 0, 10, "name", "asc");
+
+        // Then
+        verify(cinemaRepository, times(1)).findCinemaHallFeatures();
+        verify(cinemaRepository, times(2)).findByIdIn(List.of(2L), mockPageable);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the hall name search for unknown hall formats")
+    void getCinemasByFilters_WithUnknownSpecialHall_ShouldUseNameSearch() {
         // Given
         Long cityId = 1L;
-        String specialHallName = null;
+        String specialHallName = "Dolby";
+        String formattedSpecialHall = "%Dolby%";
         int page = 0, size = 10;
         String sort = "name", type = "asc";
 
         Page<Cinema> emptyCinemaPage = new PageImpl<>(Collections.emptyList(), mockPageable, 0);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(cityId), eq(null), eq(mockPageable)))
+        when(cinemaRepository.findCinemasByFilters(cityId, formattedSpecialHall, mockPageable))
                 .thenReturn(emptyCinemaPage);
 
         // When
         cinemaService.getCinemasByFilters(cityId, specialHallName, page, size, sort, type);
 
         // Then
-        verify(cinemaRepository).findCinemasByFilters(cityId, null, mockPageable);
+        verify(cinemaRepository).findCinemasByFilters(cityId, formattedSpecialHall, mockPageable);
+        verify(cinemaRepository, never()).findCinemaHallFeatures();
     }
 
     @Test
@@ -246,7 +289,7 @@ class GetCinemasByFiltersTest {
         Page<Cinema> emptyCinemaPage = new PageImpl<>(Collections.emptyList(), mockPageable, 0);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(cityId), eq(formattedSpecialHall), eq(mockPageable)))
+        when(cinemaRepository.findCinemasByFilters(cityId, formattedSpecialHall, mockPageable))
                 .thenReturn(emptyCinemaPage);
 
         // When
@@ -257,11 +300,9 @@ class GetCinemasByFiltersTest {
     }
 
     @Test
-    @DisplayName("Should pass correct pagination parameters")
-    void getCinemasByFilters_WithCustomPagination_ShouldPassCorrectParameters() {
+    @DisplayName("Should page over all cinemas when no filter is given")
+    void getCinemasByFilters_WithoutFilters_ShouldPassCorrectParameters() {
         // Given
-        Long cityId = null;
-        String specialHallName = null;
         int page = 2, size = 20;
         String sort = "createdDate", type = "desc";
 
@@ -269,37 +310,14 @@ class GetCinemasByFiltersTest {
         Page<Cinema> emptyCinemaPage = new PageImpl<>(Collections.emptyList(), customPageable, 0);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(customPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(null), eq(null), eq(customPageable)))
-                .thenReturn(emptyCinemaPage);
+        when(cinemaRepository.findAll(customPageable)).thenReturn(emptyCinemaPage);
 
         // When
-        cinemaService.getCinemasByFilters(cityId, specialHallName, page, size, sort, type);
+        cinemaService.getCinemasByFilters(null, null, page, size, sort, type);
 
         // Then
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(cinemaRepository).findCinemasByFilters(null, null, customPageable);
-    }
-
-    @Test
-    @DisplayName("Should handle special characters in special hall name")
-    void getCinemasByFilters_WithSpecialCharactersInHallName_ShouldFormatCorrectly() {
-        // Given
-        Long cityId = null;
-        String specialHallName = "4D-X";
-        String formattedSpecialHall = "%4D-X%";
-        int page = 0, size = 10;
-        String sort = "name", type = "asc";
-
-        Page<Cinema> emptyCinemaPage = new PageImpl<>(Collections.emptyList(), mockPageable, 0);
-
-        when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(mockPageable);
-        when(cinemaRepository.findCinemasByFilters(eq(null), eq(formattedSpecialHall), eq(mockPageable)))
-                .thenReturn(emptyCinemaPage);
-
-        // When
-        cinemaService.getCinemasByFilters(cityId, specialHallName, page, size, sort, type);
-
-        // Then
-        verify(cinemaRepository).findCinemasByFilters(null, formattedSpecialHall, mockPageable);
+        verify(cinemaRepository).findAll(customPageable);
+        verify(cinemaRepository, never()).findCinemasByFilters(any(), anyString(), any());
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,8 @@ package com.Cinetime.service.cinemaservice;
 import com.Cinetime.entity.Cinema;
 import com.Cinetime.entity.City;
 import com.Cinetime.entity.District;
+import com.Cinetime.enums.HallFeature;
+import com.Cinetime.helpers.CinemaFeatureIndex;
 import com.Cinetime.helpers.PageableHelper;
 import com.Cinetime.payload.dto.response.CinemaResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
@@ -47,6 +49,9 @@ class GetCinemasByHallNameTest {
     @Mock
     private CinemaMapper cinemaMapper;
 
+    @Mock
+    private CinemaFeatureIndex cinemaFeatureIndex;
+
     @InjectMocks
     private CinemaService cinemaService;
 
@@ -303,4 +308,28 @@ class GetCinemasByHallNameTest {
         assertThat(result.getMessage()).isEqualTo(ErrorMessages.CINEMA_NOT_FOUND);
         assertThat(result.getObject()).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should use the feature index when the hall name is a known hall format")
+    void getCinemasByHallName_WithHallFeature_ShouldUseFeatureIndex() {
+        // Given
+        String hallName = "imax";
+        int page = 0;
+        int size = 10;
+        String sort = "name";
+        String type = "ASC";
+
+        when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
+        when(cinemaFeatureIndex.findCinemaIds(null, HallFeature.IMAX)).thenReturn(List.of(1L));
+        when(cinemaRepository.findByIdIn(List.of(1L), testPageable)).thenReturn(mockCinemaPage);
+        when(cinemaMapper.mapCinemaToCinemaResponse(testCinema)).thenReturn(testCinemaResponse);
+
+        // When
+        ResponseMessage<Page<CinemaResponse>> result = cinemaService.getCinemasByHallName(hallName, page, size, sort, type);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject().getContent()).containsExactly(testCinemaResponse);
+        verify(cinemaRepository, never()).findCinemasByHallName(anyString(), any());
+    }
+}
@@ -0,0 +1,213 @@
+package com.Cinetime.service.cinemaservice;
+
+import com.Cinetime.entity.Cinema;
+import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Showtime;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.CinemaFeatureIndex;
+import com.Cinetime.helpers.CinemaLocationIndex;
+import com.Cinetime.helpers.PageableHelper;
+import com.Cinetime.payload.business.CinemaLocation;
+import com.Cinetime.payload.dto.response.CinemaResponse;
+import com.Cinetime.payload.dto.response.NearbyCinemaResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.dto.response.ShowtimeResponse;
+import com.Cinetime.payload.mappers.CinemaHallMapper;
+import com.Cinetime.payload.mappers.CinemaMapper;
+import com.Cinetime.payload.mappers.HallMapper;
+import com.Cinetime.payload.mappers.ShowtimeMapper;
+import com.Cinetime.payload.messages.ErrorMessages;
+import com.Cinetime.repo.CatalogVersionRepository;
+import com.Cinetime.repo.CinemaRepository;
+import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.repo.ShowtimeRepository;
+import com.Cinetime.service.CinemaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CinemaService - getNearbyCinemas Tests")
+class GetNearbyCinemasTest {
+
+    //Taksim, Istanbul
+    private static final double LATITUDE = 41.0370;
+    private static final double LONGITUDE = 28.9850;
+
+    @Mock
+    private CinemaRepository cinemaRepository;
+
+    @Mock
+    private PageableHelper pageableHelper;
+
+    @Mock
+    private CinemaMapper cinemaMapper;
+
+    @Mock
+    private HallMapper hallMapper;
+
+    @Mock
+    private CinemaHallMapper cinemaHallMapper;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private CinemaFeatureIndex cinemaFeatureIndex;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private ShowtimeMapper showtimeMapper;
+
+    private CinemaService cinemaService;
+
+    private Cinema kadikoy;
+    private Cinema besiktas;
+    private Cinema ankara;
+
+    @BeforeEach
+    void setUp() {
+        // Real location index on top of the mocked repository, so the grid search itself is exercised
+        cinemaService = new CinemaService(cinemaRepository, pageableHelper, hallMapper, cinemaHallMapper,
+                movieRepository, cinemaMapper, cinemaFeatureIndex,
+                new CinemaLocationIndex(cinemaRepository, new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5)), showtimeRepository, showtimeMapper);
+
+        kadikoy = Cinema.builder().id(1L).name("Kadikoy").latitude(40.9903).longitude(29.0270).build();
+        besiktas = Cinema.builder().id(2L).name("Besiktas").latitude(41.0422).longitude(29.0083).build();
+        ankara = Cinema.builder().id(3L).name("Ankara").latitude(39.9208).longitude(32.8541).build();
+    }
+
+    private void givenCinemaLocations() {
+        when(cinemaRepository.findCinemaLocations()).thenReturn(List.of(
+                new CinemaLocation(1L, kadikoy.getLatitude(), kadikoy.getLongitude()),
+                new CinemaLocation(2L, besiktas.getLatitude(), besiktas.getLongitude()),
+                new CinemaLocation(3L, ankara.getLatitude(), ankara.getLongitude())));
+    }
+
+    private void givenCinemasAreMapped() {
+        when(cinemaRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.of(kadikoy, besiktas, ankara).stream()
+                    .filter(cinema -> ids.contains(cinema.getId()))
+                    .toList();
+        });
+        when(cinemaMapper.mapCinemaToCinemaResponse(any())).thenAnswer(invocation -> {
+            Cinema cinema = invocation.getArgument(0);
+            return CinemaResponse.builder().id(cinema.getId()).name(cinema.getName()).build();
+        });
+    }
+
+    private Showtime showtime(Long id, Cinema cinema, int hour) {
+        return Showtime.builder()
+                .id(id)
+                .hall(Hall.builder().id(id).cinema(cinema).build())
+                .cinemaId(cinema.getId())
+                .date(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(hour, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the nearest cinemas first with their next showtimes")
+    void getNearbyCinemas_Nearest() {
+        // Given
+        givenCinemaLocations();
+        givenCinemasAreMapped();
+        when(showtimeRepository.findUpcomingShowtimesByCinemaIds(eq(List.of(2L, 1L)), any(), any()))
+                .thenReturn(List.of(showtime(10L, besiktas, 12), showtime(11L, besiktas, 15), showtime(12L, kadikoy, 18)));
+        when(showtimeMapper.mapShowtimeToShowtimeResponse(any())).thenAnswer(invocation ->
+                ShowtimeResponse.builder().id(((Showtime) invocation.getArgument(0)).getId()).build());
+
+        // When
+        ResponseMessage<List<NearbyCinemaResponse>> result =
+                cinemaService.getNearbyCinemas(LATITUDE, LONGITUDE, null, 2, 1);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject()).extracting(nearby -> nearby.getCinema().getId()).containsExactly(2L, 1L);
+        assertThat(result.getObject().get(0).getDistanceKm()).isLessThan(result.getObject().get(1).getDistanceKm());
+        assertThat(result.getObject().get(0).getUpcomingShowtimes()).extracting(ShowtimeResponse::getId).containsExactly(10L);
+        assertThat(result.getObject().get(1).getUpcomingShowtimes()).extracting(ShowtimeResponse::getId).containsExactly(12L);
+        verify(showtimeRepository, times(1)).findUpcomingShowtimesByCinemaIds(anyCollection(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should only return cinemas inside the given radius")
+    void getNearbyCinemas_WithinRadius() {
+        // Given
+        givenCinemaLocations();
+        givenCinemasAreMapped();
+        when(showtimeRepository.findUpcomingShowtimesByCinemaIds(anyCollection(), any(), any())).thenReturn(List.of());
+
+        // When
+        ResponseMessage<List<NearbyCinemaResponse>> result =
+                cinemaService.getNearbyCinemas(LATITUDE, LONGITUDE, 20.0, 10, 3);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject()).extracting(nearby -> nearby.getCinema().getId()).containsExactly(2L, 1L);
+        assertThat(result.getObject()).allMatch(nearby -> nearby.getDistanceKm() <= 20.0);
+        assertThat(result.getObject()).allMatch(nearby -> nearby.getUpcomingShowtimes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find the nearest cinema even when it is many grid cells away")
+    void getNearbyCinemas_FarAway() {
+        // Given
+        givenCinemaLocations();
+        givenCinemasAreMapped();
+        when(showtimeRepository.findUpcomingShowtimesByCinemaIds(anyCollection(), any(), any())).thenReturn(List.of());
+
+        // When
+        ResponseMessage<List<NearbyCinemaResponse>> result =
+                cinemaService.getNearbyCinemas(37.8746, 32.4932, null, 1, 3);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject()).extracting(nearby -> nearby.getCinema().getId()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should return NO_CONTENT when no cinema is inside the radius")
+    void getNearbyCinemas_NoneWithinRadius() {
+        // Given
+        givenCinemaLocations();
+
+        // When
+        ResponseMessage<List<NearbyCinemaResponse>> result =
+                cinemaService.getNearbyCinemas(38.4237, 27.1428, 5.0, 10, 3);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(result.getMessage()).isEqualTo(ErrorMessages.CINEMA_NOT_FOUND);
+        verifyNoInteractions(showtimeRepository);
+    }
+
+    @Test
+    @DisplayName("Should return BAD_REQUEST for coordinates out of range")
+    void getNearbyCinemas_InvalidCoordinates() {
+        // When
+        ResponseMessage<List<NearbyCinemaResponse>> result =
+                cinemaService.getNearbyCinemas(91.0, LONGITUDE, null, 10, 3);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(result.getMessage()).isEqualTo(ErrorMessages.INVALID_COORDINATES);
+        verifyNoInteractions(cinemaRepository, showtimeRepository);
+    }
+}
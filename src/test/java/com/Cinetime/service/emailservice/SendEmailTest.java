@@ -3,12 +3,14 @@ package com.Cinetime.service.emailservice;
 import com.Cinetime.payload.dto.request.MailRequest;
 import com.Cinetime.payload.business.SeatInfo;
 import com.Cinetime.service.EmailService;
+import com.Cinetime.helpers.MetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.springframework.mail.MailAuthenticationException;
@@ -34,6 +36,9 @@ class EmailServiceTest {
     @Mock
     private JavaMailSender emailSender;
 
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
     @InjectMocks
     private EmailService emailService;
 
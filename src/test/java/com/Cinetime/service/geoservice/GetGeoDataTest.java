@@ -0,0 +1,131 @@
+package com.Cinetime.service.geoservice;
+
+import com.Cinetime.entity.City;
+import com.Cinetime.entity.Country;
+import com.Cinetime.entity.District;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.GeoReferenceRegistry;
+import com.Cinetime.payload.dto.response.CityResponse;
+import com.Cinetime.payload.dto.response.GeoResponse;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.messages.SuccessMessages;
+import com.Cinetime.repo.CatalogVersionRepository;
+import com.Cinetime.repo.CityRepository;
+import com.Cinetime.repo.CountryRepository;
+import com.Cinetime.repo.DistrictRepository;
+import com.Cinetime.service.GeoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeoService - getGeoData Tests")
+class GetGeoDataTest {
+
+    @Mock
+    private CountryRepository countryRepository;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private DistrictRepository districtRepository;
+
+    private GeoReferenceRegistry geoReferenceRegistry;
+    private GeoService geoService;
+
+    private Country turkey;
+    private City istanbul;
+    private City ankara;
+    private District kadikoy;
+
+    @BeforeEach
+    void setUp() {
+        // Real registry on top of the mocked repositories, so the snapshot itself is exercised
+        geoReferenceRegistry = new GeoReferenceRegistry(countryRepository, cityRepository, districtRepository,
+                new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5));
+        geoService = new GeoService(geoReferenceRegistry);
+
+        turkey = new Country(1L, "Turkey");
+        istanbul = new City(2L, "Istanbul", turkey);
+        ankara = new City(1L, "Ankara", turkey);
+        kadikoy = new District(5L, "Kadikoy", istanbul);
+
+        when(countryRepository.findAll(any(Sort.class))).thenReturn(List.of(turkey));
+        when(cityRepository.findAll(any(Sort.class))).thenReturn(List.of(ankara, istanbul));
+        when(districtRepository.findAll(any(Sort.class))).thenReturn(List.of(kadikoy));
+    }
+
+    @Test
+    @DisplayName("Should return every country, city and district from a single load")
+    void getGeoData_Success() {
+        // When
+        ResponseMessage<GeoResponse> result = geoService.getGeoData();
+        geoService.getGeoData();
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getMessage()).isEqualTo(SuccessMessages.GEO_DATA_FOUND);
+        assertThat(result.getObject().getCountries()).hasSize(1);
+        assertThat(result.getObject().getCities()).extracting(CityResponse::getName).containsExactly("Ankara", "Istanbul");
+        assertThat(result.getObject().getCities()).allMatch(city -> city.getCountryId().equals(1L));
+        assertThat(result.getObject().getDistricts().get(0).getCityId()).isEqualTo(2L);
+        verify(cityRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("Should resolve names by id without touching the entities")
+    void getGeoData_ResolvesNamesById() {
+        // Given
+        City staleIstanbul = new City(2L, null, null);
+        District staleKadikoy = new District(5L, null, null);
+
+        // When
+        String cityName = geoReferenceRegistry.getCityName(staleIstanbul);
+        String districtName = geoReferenceRegistry.getDistrictName(staleKadikoy);
+
+        // Then
+        assertThat(cityName).isEqualTo("Istanbul");
+        assertThat(districtName).isEqualTo("Kadikoy");
+        assertThat(geoReferenceRegistry.getCityName(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the entity name for rows added after the snapshot")
+    void getGeoData_UnknownIdFallsBackToEntity() {
+        // When
+        String cityName = geoReferenceRegistry.getCityName(new City(42L, "Izmir", turkey));
+
+        // Then
+        assertThat(cityName).isEqualTo("Izmir");
+    }
+
+    @Test
+    @DisplayName("Should reload the snapshot on refresh")
+    void refreshGeoData_ReloadsSnapshot() {
+        // Given
+        geoService.getGeoData();
+        City izmir = new City(3L, "Izmir", turkey);
+        when(cityRepository.findAll(any(Sort.class))).thenReturn(List.of(ankara, istanbul, izmir));
+
+        // When
+        ResponseMessage<GeoResponse> result = geoService.refreshGeoData();
+
+        // Then
+        assertThat(result.getMessage()).isEqualTo(SuccessMessages.GEO_DATA_REFRESHED);
+        assertThat(result.getObject().getCities()).hasSize(3);
+        assertThat(geoReferenceRegistry.getCityName(new City(3L, null, null))).isEqualTo("Izmir");
+        verify(cityRepository, times(2)).findAll(any(Sort.class));
+    }
+}
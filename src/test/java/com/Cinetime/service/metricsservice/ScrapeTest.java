@@ -0,0 +1,102 @@
+package com.Cinetime.service.metricsservice;
+
+import com.Cinetime.helpers.MetricsRegistry;
+import com.Cinetime.helpers.SqlStatementMetrics;
+import com.Cinetime.helpers.SqlStatementStats;
+import com.Cinetime.helpers.UserIdentityFilter;
+import com.Cinetime.service.MetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MetricsService - scrape Tests")
+class ScrapeTest {
+
+    private MetricsRegistry metricsRegistry;
+    private SqlStatementMetrics sqlStatementMetrics;
+    private MetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        metricsRegistry = new MetricsRegistry();
+        sqlStatementMetrics = new SqlStatementMetrics();
+        metricsService = new MetricsService(metricsRegistry, sqlStatementMetrics, new UserIdentityFilter(null, false, 0, 0.01));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.stop();
+    }
+
+    @Test
+    @DisplayName("Should export timers as cumulative Prometheus histograms")
+    void scrape_Histogram() {
+        // Given
+        metricsRegistry.timer("cinetime_seat_check", "Seat check").record(TimeUnit.MICROSECONDS.toNanos(300));
+        metricsRegistry.timer("cinetime_seat_check", "Seat check").record(TimeUnit.MILLISECONDS.toNanos(20));
+        metricsRegistry.timer("cinetime_seat_check", "Seat check").record(TimeUnit.SECONDS.toNanos(60));
+
+        // When
+        String scrape = metricsService.scrape();
+
+        // Then
+        assertThat(scrape)
+                .contains("# TYPE cinetime_seat_check_seconds histogram")
+                .contains("cinetime_seat_check_seconds_bucket{le=\"0.0001\"} 0")
+                .contains("cinetime_seat_check_seconds_bucket{le=\"0.0005\"} 1")
+                .contains("cinetime_seat_check_seconds_bucket{le=\"0.025\"} 2")
+                .contains("cinetime_seat_check_seconds_bucket{le=\"30\"} 2")
+                .contains("cinetime_seat_check_seconds_bucket{le=\"+Inf\"} 3")
+                .contains("cinetime_seat_check_seconds_count 3")
+                .contains("cinetime_seat_check_seconds_sum 60.0203")
+                .contains("# TYPE cinetime_seat_check_seconds_max gauge")
+                .contains("cinetime_seat_check_seconds_max 60");
+    }
+
+    @Test
+    @DisplayName("Should keep one series per tag combination and escape label values")
+    void scrape_Tags() {
+        // Given
+        metricsRegistry.timer("http_server_requests", "Requests", "method", "GET", "uri", "/api/movies/{id}").record(1_000);
+        metricsRegistry.timer("http_server_requests", "Requests", "method", "GET", "uri", "/api/movies/{id}").record(1_000);
+        metricsRegistry.timer("http_server_requests", "Requests", "method", "GET", "uri", "/api/\"odd\"").record(1_000);
+
+        // When
+        String scrape = metricsService.scrape();
+
+        // Then
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_count{method=\"GET\",uri=\"/api/movies/{id}\"} 2")
+                .contains("http_server_requests_seconds_count{method=\"GET\",uri=\"/api/\\\"odd\\\"\"} 1")
+                .contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/api/movies/{id}\",le=\"0.00001\"} 2");
+    }
+
+    @Test
+    @DisplayName("Should export the per-route SQL totals")
+    void scrape_SqlMetrics() {
+        // Given
+        SqlStatementStats stats = SqlStatementStats.start();
+        for (int i = 0; i < 6; i++) {
+            stats.recordExecution("select * from movie where id=?", 1_000_000);
+            stats.recordRows(1);
+        }
+        sqlStatementMetrics.record("GET /api/showtimes", stats, true);
+
+        // When
+        String scrape = metricsService.scrape();
+
+        // Then
+        assertThat(scrape)
+                .contains("cinetime_sql_requests_total{route=\"GET /api/showtimes\"} 1")
+                .contains("cinetime_sql_statements_total{route=\"GET /api/showtimes\"} 6")
+                .contains("cinetime_sql_rows_total{route=\"GET /api/showtimes\"} 6")
+                .contains("cinetime_sql_time_seconds_total{route=\"GET /api/showtimes\"} 0.006")
+                .contains("cinetime_sql_suspected_n_plus_one_total{route=\"GET /api/showtimes\"} 1")
+                .contains("cinetime_sql_statements_max{route=\"GET /api/showtimes\"} 6");
+    }
+}
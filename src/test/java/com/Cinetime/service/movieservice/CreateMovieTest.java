@@ -2,6 +2,9 @@ package com.Cinetime.service.movieservice;
 
 import com.Cinetime.entity.Movie;
 import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.PosterStatus;
+import com.Cinetime.exception.PosterUploadBusyException;
+import com.Cinetime.helpers.CatalogVersionTracker;
 import com.Cinetime.helpers.MovieHelper;
 import com.Cinetime.payload.dto.request.MovieRequest;
 import com.Cinetime.payload.dto.response.MovieResponse;
@@ -11,6 +14,8 @@ import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.MovieRepository;
 import com.Cinetime.service.CloudinaryService;
 import com.Cinetime.service.MovieService;
+import com.Cinetime.service.PosterUploadService;
+import com.Cinetime.service.PosterUploadService.StagedPoster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +29,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -48,6 +54,12 @@ class CreateMovieTest {
     @Mock
     private CloudinaryService cloudinaryService;
 
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Mock
+    private PosterUploadService posterUploadService;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -117,19 +129,15 @@ class CreateMovieTest {
     }
 
     @Test
-    @DisplayName("Should create movie successfully with poster image")
+    @DisplayName("Should create movie with a pending poster and queue the upload after a single save")
     void shouldCreateMovieSuccessfullyWithPoster() throws IOException {
         // Given
-        String expectedImageUrl = "https://cloudinary.com/test-image.jpg";
-        Movie savedMovieWithoutPoster = movie.toBuilder().build();
-        Movie savedMovieWithPoster = movie.toBuilder().posterUrl(expectedImageUrl).build();
+        StagedPoster staged = new StagedPoster("upload-1", Path.of("/tmp/upload-1.jpg"));
 
         when(movieMapper.mapMovieRequestToMovie(movieRequest)).thenReturn(movie);
-        when(movieRepository.save(any(Movie.class)))
-                .thenReturn(savedMovieWithoutPoster)  // First save
-                .thenReturn(savedMovieWithPoster);    // Second save with poster URL
-        when(cloudinaryService.uploadMoviePoster(eq(posterImage), eq(1L))).thenReturn(expectedImageUrl);
-        when(movieMapper.mapMovieToMovieResponse(savedMovieWithPoster)).thenReturn(movieResponse);
+        when(posterUploadService.stage(posterImage)).thenReturn(staged);
+        when(movieRepository.save(movie)).thenReturn(movie);
+        when(movieMapper.mapMovieToMovieResponse(movie)).thenReturn(movieResponse);
 
         // When
         ResponseMessage<MovieResponse> result = movieService.createMovie(movieRequest);
@@ -142,18 +150,11 @@ class CreateMovieTest {
 
         // Verify interactions
         verify(movieHelper).validateMovieRequest(movieRequest);
-        verify(cloudinaryService).uploadMoviePoster(eq(posterImage), eq(1L));
-        verify(movieRepository, times(2)).save(any(Movie.class)); // Correctly expect 2 saves
-
-        // Verify the first save (without poster)
-        ArgumentCaptor<Movie> movieCaptor = ArgumentCaptor.forClass(Movie.class);
-        verify(movieRepository, times(2)).save(movieCaptor.capture());
-
-        Movie firstSave = movieCaptor.getAllValues().get(0);
-        Movie secondSave = movieCaptor.getAllValues().get(1);
-
-        assertThat(firstSave.getPosterUrl()).isNull();
-        assertThat(secondSave.getPosterUrl()).isEqualTo(expectedImageUrl);
+        verify(posterUploadService).markPending(movie, staged);
+        verify(posterUploadService).uploadAfterCommit(1L, staged);
+        verify(movieRepository, times(1)).save(any(Movie.class));
+        // Cloudinary is only called by the background upload
+        verifyNoInteractions(cloudinaryService);
     }
 
     @Test
@@ -228,13 +229,12 @@ class CreateMovieTest {
     }
 
     @Test
-    @DisplayName("Should handle image upload failure and return error response")
+    @DisplayName("Should return error response when the poster cannot be staged")
     void shouldHandleImageUploadFailure() throws IOException {
         // Given
         when(movieMapper.mapMovieRequestToMovie(movieRequest)).thenReturn(movie);
-        when(movieRepository.save(any(Movie.class))).thenReturn(movie);
-        when(cloudinaryService.uploadMoviePoster(eq(posterImage), eq(1L)))
-                .thenThrow(new IOException("Cloudinary upload failed"));
+        when(posterUploadService.stage(posterImage))
+                .thenThrow(new IOException("No space left on device"));
 
         // When
         ResponseMessage<MovieResponse> result = movieService.createMovie(movieRequest);
@@ -243,15 +243,61 @@ class CreateMovieTest {
         assertThat(result).isNotNull();
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(result.getMessage()).contains("Failed to upload movie poster");
-        assertThat(result.getMessage()).contains("Cloudinary upload failed");
+        assertThat(result.getMessage()).contains("No space left on device");
         assertThat(result.getObject()).isNull();
 
-        // Verify movie was initially saved (transaction will rollback due to @Transactional)
-        verify(movieRepository, times(1)).save(any(Movie.class));
-        verify(cloudinaryService).uploadMoviePoster(eq(posterImage), eq(1L));
+        // The movie is not saved without its poster
+        verifyNoInteractions(movieRepository);
+        verify(posterUploadService, never()).uploadAfterCommit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should pass a full upload queue on as a retryable error")
+    void shouldRejectWhenUploadQueueIsFull() throws IOException {
+        // Given
+        when(movieMapper.mapMovieRequestToMovie(movieRequest)).thenReturn(movie);
+        when(posterUploadService.stage(posterImage))
+                .thenThrow(new PosterUploadBusyException("Too many poster uploads in progress, please try again later"));
+
+        // When & Then: GlobalExceptionHandler 503 + Retry-After donuyor
+        assertThatThrownBy(() -> movieService.createMovie(movieRequest))
+                .isInstanceOf(PosterUploadBusyException.class);
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should return bad request for an invalid poster file")
+    void shouldRejectInvalidPoster() throws IOException {
+        // Given
+        when(movieMapper.mapMovieRequestToMovie(movieRequest)).thenReturn(movie);
+        when(posterUploadService.stage(posterImage))
+                .thenThrow(new IllegalArgumentException("File must be an image. Provided type: text/plain"));
 
-        // Note: In reality, @Transactional should rollback the first save
-        // but since this is a unit test with mocks, we can't test actual transaction behavior
+        // When
+        ResponseMessage<MovieResponse> result = movieService.createMovie(movieRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(result.getMessage()).contains("File must be an image");
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should delete the staged poster when the movie cannot be saved")
+    void shouldDiscardStagedPosterOnSaveFailure() throws IOException {
+        // Given
+        StagedPoster staged = new StagedPoster("upload-1", Path.of("/tmp/upload-1.jpg"));
+        when(movieMapper.mapMovieRequestToMovie(movieRequest)).thenReturn(movie);
+        when(posterUploadService.stage(posterImage)).thenReturn(staged);
+        when(movieRepository.save(movie)).thenThrow(new RuntimeException("Database connection failed"));
+
+        // When
+        ResponseMessage<MovieResponse> result = movieService.createMovie(movieRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        verify(posterUploadService).discard(staged);
+        verify(posterUploadService, never()).uploadAfterCommit(any(), any());
     }
 
     @Test
@@ -309,17 +355,13 @@ class CreateMovieTest {
     @DisplayName("Should handle successful flow with poster and verify all interactions")
     void shouldHandleCompleteSuccessfulFlow() throws IOException {
         // Given
-        String expectedImageUrl = "https://cloudinary.com/test-image.jpg";
-        Movie movieWithoutPoster = movie.toBuilder().posterUrl(null).build();
-        Movie movieWithPoster = movie.toBuilder().posterUrl(expectedImageUrl).build();
+        StagedPoster staged = new StagedPoster("upload-1", Path.of("/tmp/upload-1.jpg"));
 
         when(movieMapper.mapMovieRequestToMovie(movieRequest)).thenReturn(movie);
-        // Use any() for mocking, then verify with ArgumentCaptor for safety
-        when(movieRepository.save(any(Movie.class)))
-                .thenReturn(movieWithoutPoster)
-                .thenReturn(movieWithPoster);
-        when(cloudinaryService.uploadMoviePoster(posterImage, 1L)).thenReturn(expectedImageUrl);
-        when(movieMapper.mapMovieToMovieResponse(movieWithPoster)).thenReturn(movieResponse);
+        when(posterUploadService.stage(posterImage)).thenReturn(staged);
+        doCallRealMethod().when(posterUploadService).markPending(movie, staged);
+        when(movieRepository.save(any(Movie.class))).thenReturn(movie);
+        when(movieMapper.mapMovieToMovieResponse(movie)).thenReturn(movieResponse);
 
         // When
         ResponseMessage<MovieResponse> result = movieService.createMovie(movieRequest);
@@ -328,21 +370,22 @@ class CreateMovieTest {
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.CREATED);
         assertThat(result.getObject()).isEqualTo(movieResponse);
 
-        // Verify the complete interaction flow
-        var inOrder = inOrder(movieHelper, movieMapper, movieRepository, cloudinaryService);
+        // Verify the complete interaction flow: stage, single save, upload queued for after commit
+        var inOrder = inOrder(movieHelper, movieMapper, posterUploadService, movieRepository);
         inOrder.verify(movieHelper).validateMovieRequest(movieRequest);
         inOrder.verify(movieMapper).mapMovieRequestToMovie(movieRequest);
-        inOrder.verify(movieRepository).save(any(Movie.class)); // First save
-        inOrder.verify(cloudinaryService).uploadMoviePoster(posterImage, 1L);
-        inOrder.verify(movieRepository).save(any(Movie.class)); // Second save
-        inOrder.verify(movieMapper).mapMovieToMovieResponse(movieWithPoster);
+        inOrder.verify(posterUploadService).stage(posterImage);
+        inOrder.verify(posterUploadService).markPending(movie, staged);
+        inOrder.verify(movieRepository).save(any(Movie.class));
+        inOrder.verify(posterUploadService).uploadAfterCommit(1L, staged);
+        inOrder.verify(movieMapper).mapMovieToMovieResponse(movie);
 
-        // Verify the actual values passed to save() using ArgumentCaptor
+        // The saved movie waits for this upload
         ArgumentCaptor<Movie> movieCaptor = ArgumentCaptor.forClass(Movie.class);
-        verify(movieRepository, times(2)).save(movieCaptor.capture());
-
-        List<Movie> savedMovies = movieCaptor.getAllValues();
-        assertThat(savedMovies.get(0).getPosterUrl()).isNull(); // First save should have null poster
-        assertThat(savedMovies.get(1).getPosterUrl()).isEqualTo(expectedImageUrl); // Second save should have poster URL
+        verify(movieRepository).save(movieCaptor.capture());
+        Movie savedMovie = movieCaptor.getValue();
+        assertThat(savedMovie.getPosterUrl()).isNull();
+        assertThat(savedMovie.getPosterStatus()).isEqualTo(PosterStatus.PENDING);
+        assertThat(savedMovie.getPosterUploadId()).isEqualTo("upload-1");
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.Cinetime.service.movieservice;
 
 import com.Cinetime.entity.Movie;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.payload.messages.ErrorMessages;
 import com.Cinetime.payload.messages.SuccessMessages;
@@ -30,6 +33,12 @@ class DeleteMovieByIdTest {
     @Mock
     private CloudinaryService cloudinaryService;
 
+    @Mock
+    private ShowtimeScheduleIndex showtimeScheduleIndex;
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -75,6 +84,8 @@ class DeleteMovieByIdTest {
         assertEquals(SuccessMessages.MOVIE_DELETE, response.getMessage());
         verify(cloudinaryService).deleteMoviePoster(POSTER_URL);
         verify(movieRepository).deleteById(MOVIE_ID);
+        verify(showtimeScheduleIndex).evictMovieAfterCommit(MOVIE_ID);
+        verify(catalogVersionTracker).bumpAfterCommit(CatalogAggregate.MOVIE, CatalogAggregate.SHOWTIME);
     }
 
     @Test
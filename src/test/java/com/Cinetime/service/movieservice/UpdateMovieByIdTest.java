@@ -4,6 +4,8 @@ import com.Cinetime.entity.Hall;
 import com.Cinetime.entity.Movie;
 import com.Cinetime.entity.Showtime;
 import com.Cinetime.enums.MovieStatus;
+import com.Cinetime.enums.PosterStatus;
+import com.Cinetime.helpers.CatalogVersionTracker;
 import com.Cinetime.helpers.MovieHelperUpdate;
 import com.Cinetime.payload.dto.request.MovieRequestUpdate;
 import com.Cinetime.payload.dto.response.MovieResponse;
@@ -15,6 +17,8 @@ import com.Cinetime.repo.MovieRepository;
 import com.Cinetime.repo.ShowtimeRepository;
 import com.Cinetime.service.CloudinaryService;
 import com.Cinetime.service.MovieService;
+import com.Cinetime.service.PosterUploadService;
+import com.Cinetime.service.PosterUploadService.StagedPoster;
 import com.Cinetime.service.ShowtimeService;
 import org.apache.coyote.BadRequestException;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +33,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -61,6 +66,12 @@ class UpdateMovieByIdTest {
     @Mock
     private ShowtimeRepository showtimeRepository;
 
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Mock
+    private PosterUploadService posterUploadService;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -128,8 +139,9 @@ class UpdateMovieByIdTest {
         // Arrange
         when(movieRepository.findById(1L)).thenReturn(Optional.of(existingMovie));
         when(mockFile.isEmpty()).thenReturn(false);
-        when(cloudinaryService.updateMoviePoster(mockFile, 1L, "https://old-image-url.com/image.jpg"))
-                .thenReturn("https://new-image-url.com/image.jpg");
+        StagedPoster staged = new StagedPoster("upload-2", Path.of("/tmp/upload-2.jpg"));
+        when(posterUploadService.stage(mockFile)).thenReturn(staged);
+        doCallRealMethod().when(posterUploadService).markPending(existingMovie, staged);
         when(movieRepository.save(any(Movie.class))).thenReturn(existingMovie);
         when(movieMapper.mapMovieToMovieResponse(existingMovie)).thenReturn(expectedResponse);
 
@@ -157,14 +169,19 @@ class UpdateMovieByIdTest {
         verify(showtimeRepository).findById(100L);
         verify(showtimeService).showtimeUpdateCheck(100L, 1L,
                 LocalDate.now().plusDays(1), LocalTime.of(20, 0), LocalTime.of(22, 0));
-        verify(cloudinaryService).updateMoviePoster(mockFile, 1L, "https://old-image-url.com/image.jpg");
+        verify(posterUploadService).stage(mockFile);
+        verify(posterUploadService).uploadAfterCommit(1L, staged);
+        verifyNoInteractions(cloudinaryService);
         verify(movieRepository).save(existingMovie);
         verify(movieMapper).mapMovieToMovieResponse(existingMovie);
 
         // Verify movie fields were updated
         assertEquals("Updated Title", existingMovie.getTitle());
         assertEquals("Updated summary", existingMovie.getSummary());
-        assertEquals("https://new-image-url.com/image.jpg", existingMovie.getPosterUrl());
+        // Old poster stays until the background upload completes
+        assertEquals("https://old-image-url.com/image.jpg", existingMovie.getPosterUrl());
+        assertEquals(PosterStatus.PENDING, existingMovie.getPosterStatus());
+        assertEquals("upload-2", existingMovie.getPosterUploadId());
         assertNotNull(existingMovie.getUpdatedAt());
     }
 
@@ -192,8 +209,8 @@ class UpdateMovieByIdTest {
         assertEquals(HttpStatus.OK, result.getHttpStatus());
         assertEquals(SuccessMessages.MOVIE_UPDATE, result.getMessage());
 
-        // Verify cloudinary service was not called
-        verify(cloudinaryService, never()).updateMoviePoster(any(), any(), any());
+        // Verify no poster upload was queued
+        verify(posterUploadService, never()).stage(any());
 
         // Original poster URL should remain unchanged
         assertEquals("https://old-image-url.com/image.jpg", existingMovie.getPosterUrl());
@@ -212,7 +229,7 @@ class UpdateMovieByIdTest {
 
         // Assert
         assertEquals(HttpStatus.OK, result.getHttpStatus());
-        verify(cloudinaryService, never()).updateMoviePoster(any(), any(), any());
+        verify(posterUploadService, never()).stage(any());
     }
 
     @Test
@@ -229,7 +246,7 @@ class UpdateMovieByIdTest {
         assertNull(result.getObject());
 
         // Verify no further processing occurred
-        verify(cloudinaryService, never()).updateMoviePoster(any(), any(), any());
+        verify(posterUploadService, never()).stage(any());
         verify(movieRepository, never()).save(any());
     }
 
@@ -257,8 +274,7 @@ class UpdateMovieByIdTest {
         // Arrange
         when(movieRepository.findById(1L)).thenReturn(Optional.of(existingMovie));
         when(mockFile.isEmpty()).thenReturn(false);
-        when(cloudinaryService.updateMoviePoster(mockFile, 1L, "https://old-image-url.com/image.jpg"))
-                .thenThrow(new IOException("Upload failed"));
+        when(posterUploadService.stage(mockFile)).thenThrow(new IOException("Upload failed"));
 
         updateRequest.setShowtimeId(null);
 
@@ -272,6 +288,7 @@ class UpdateMovieByIdTest {
 
         // Verify movie was not saved after image upload failure
         verify(movieRepository, never()).save(any());
+        verify(posterUploadService, never()).uploadAfterCommit(any(), any());
     }
 
     @Test
@@ -367,8 +384,9 @@ class UpdateMovieByIdTest {
         // Arrange - Test all components together
         when(movieRepository.findById(1L)).thenReturn(Optional.of(existingMovie));
         when(mockFile.isEmpty()).thenReturn(false);
-        when(cloudinaryService.updateMoviePoster(mockFile, 1L, "https://old-image-url.com/image.jpg"))
-                .thenReturn("https://new-image-url.com/image.jpg");
+        StagedPoster staged = new StagedPoster("upload-2", Path.of("/tmp/upload-2.jpg"));
+        when(posterUploadService.stage(mockFile)).thenReturn(staged);
+        doCallRealMethod().when(posterUploadService).markPending(existingMovie, staged);
         when(movieRepository.save(any(Movie.class))).thenReturn(existingMovie);
         when(movieMapper.mapMovieToMovieResponse(existingMovie)).thenReturn(expectedResponse);
 
@@ -395,7 +413,9 @@ class UpdateMovieByIdTest {
         verify(showtimeRepository).findById(100L);
         verify(showtimeService).showtimeUpdateCheck(100L, 1L,
                 LocalDate.now().plusDays(1), LocalTime.of(20, 0), LocalTime.of(22, 0));
-        verify(cloudinaryService).updateMoviePoster(mockFile, 1L, "https://old-image-url.com/image.jpg");
+        verify(posterUploadService).stage(mockFile);
+        verify(posterUploadService).uploadAfterCommit(1L, staged);
+        verifyNoInteractions(cloudinaryService);
         verify(movieRepository).save(existingMovie);
         verify(movieMapper).mapMovieToMovieResponse(existingMovie);
     }
@@ -0,0 +1,216 @@
+package com.Cinetime.service.posteruploadservice;
+
+import com.Cinetime.entity.Movie;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.enums.PosterStatus;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.service.CloudinaryService;
+import com.Cinetime.service.PosterUploadService;
+import com.Cinetime.service.PosterUploadService.StagedPoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PosterUploadService Tests")
+class UploadPosterTest {
+
+    private static final String NEW_URL = "https://res.cloudinary.com/demo/image/upload/v1/cinetime/movie-posters/new.jpg";
+    private static final String OLD_URL = "https://res.cloudinary.com/demo/image/upload/v1/cinetime/movie-posters/old.jpg";
+
+    @Mock
+    private CloudinaryService cloudinaryService;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @TempDir
+    private Path stagingDir;
+
+    private PosterUploadService posterUploadService;
+
+    private final MockMultipartFile posterImage =
+            new MockMultipartFile("poster", "Poster.JPG", "image/jpeg", "test image content".getBytes());
+
+    @BeforeEach
+    void setUp() throws IOException {
+        posterUploadService = new PosterUploadService(cloudinaryService, movieRepository, catalogVersionTracker,
+                stagingDir.toString(), 1, 10, 3, 0, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        posterUploadService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should validate the poster and move it to the staging directory")
+    void stage() throws IOException {
+        // When
+        StagedPoster staged = posterUploadService.stage(posterImage);
+
+        // Then
+        verify(cloudinaryService).validatePoster(posterImage);
+        assertThat(staged.path().getParent()).isEqualTo(stagingDir);
+        assertThat(staged.path().getFileName().toString()).isEqualTo(staged.uploadId() + ".jpg");
+        assertThat(Files.readString(staged.path())).isEqualTo("test image content");
+    }
+
+    @Test
+    @DisplayName("Should not stage an invalid poster")
+    void stageInvalid() {
+        // Given
+        doThrow(new IllegalArgumentException("File must be an image")).when(cloudinaryService).validatePoster(posterImage);
+
+        // When & Then
+        assertThatThrownBy(() -> posterUploadService.stage(posterImage)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(stagingDir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should mark the movie as waiting for the upload")
+    void markPending() {
+        // Given
+        Movie movie = new Movie();
+        StagedPoster staged = new StagedPoster("upload-1", stagingDir.resolve("upload-1.jpg"));
+
+        // When
+        posterUploadService.markPending(movie, staged);
+
+        // Then
+        assertThat(movie.getPosterStatus()).isEqualTo(PosterStatus.PENDING);
+        assertThat(movie.getPosterUploadId()).isEqualTo("upload-1");
+    }
+
+    @Test
+    @DisplayName("Should upload in the background, record the URL and delete the previous poster")
+    void uploadCompletes() throws IOException {
+        // Given
+        StagedPoster staged = posterUploadService.stage(posterImage);
+        when(cloudinaryService.uploadMoviePoster(staged.path().toFile(), 1L)).thenReturn(NEW_URL);
+        when(movieRepository.findPosterUrlById(1L)).thenReturn(Optional.of(OLD_URL));
+        when(movieRepository.completePosterUpload(1L, staged.uploadId(), NEW_URL, PosterStatus.UPLOADED)).thenReturn(1);
+        when(cloudinaryService.deleteMoviePoster(OLD_URL)).thenReturn(true);
+
+        // When
+        posterUploadService.uploadAfterCommit(1L, staged);
+
+        // Then
+        verify(cloudinaryService, timeout(5000)).deleteMoviePoster(OLD_URL);
+        verify(catalogVersionTracker).bumpAfterCommit(CatalogAggregate.MOVIE);
+        verify(cloudinaryService, never()).deleteMoviePoster(NEW_URL);
+        assertThat(staged.path()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should retry a failed upload")
+    void uploadRetries() throws IOException {
+        // Given
+        StagedPoster staged = posterUploadService.stage(posterImage);
+        when(cloudinaryService.uploadMoviePoster(any(File.class), eq(1L)))
+                .thenThrow(new IOException("Connection reset"))
+                .thenReturn(NEW_URL);
+        when(movieRepository.findPosterUrlById(1L)).thenReturn(Optional.empty());
+        when(movieRepository.completePosterUpload(1L, staged.uploadId(), NEW_URL, PosterStatus.UPLOADED)).thenReturn(1);
+
+        // When
+        posterUploadService.uploadAfterCommit(1L, staged);
+
+        // Then
+        verify(movieRepository, timeout(5000)).completePosterUpload(1L, staged.uploadId(), NEW_URL, PosterStatus.UPLOADED);
+        verify(cloudinaryService, times(2)).uploadMoviePoster(any(File.class), eq(1L));
+    }
+
+    @Test
+    @DisplayName("Should mark the poster as failed when every attempt fails")
+    void uploadFails() throws IOException {
+        // Given
+        StagedPoster staged = posterUploadService.stage(posterImage);
+        when(cloudinaryService.uploadMoviePoster(any(File.class), eq(1L))).thenThrow(new IOException("Service unavailable"));
+        when(movieRepository.updatePosterStatus(1L, staged.uploadId(), PosterStatus.FAILED)).thenReturn(1);
+
+        // When
+        posterUploadService.uploadAfterCommit(1L, staged);
+
+        // Then
+        verify(movieRepository, timeout(5000)).updatePosterStatus(1L, staged.uploadId(), PosterStatus.FAILED);
+        verify(cloudinaryService, times(3)).uploadMoviePoster(any(File.class), eq(1L));
+        verify(movieRepository, never()).completePosterUpload(any(), any(), any(), any());
+        assertThat(staged.path()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should delete the uploaded image when a newer upload replaced it")
+    void uploadSuperseded() throws IOException {
+        // Given
+        StagedPoster staged = posterUploadService.stage(posterImage);
+        when(cloudinaryService.uploadMoviePoster(staged.path().toFile(), 1L)).thenReturn(NEW_URL);
+        when(movieRepository.findPosterUrlById(1L)).thenReturn(Optional.of(OLD_URL));
+        when(movieRepository.completePosterUpload(1L, staged.uploadId(), NEW_URL, PosterStatus.UPLOADED)).thenReturn(0);
+
+        // When
+        posterUploadService.uploadAfterCommit(1L, staged);
+
+        // Then
+        verify(cloudinaryService, timeout(5000)).deleteMoviePoster(NEW_URL);
+        verify(cloudinaryService, never()).deleteMoviePoster(OLD_URL);
+        verifyNoInteractions(catalogVersionTracker);
+    }
+
+    @Test
+    @DisplayName("Should resume staged uploads of an earlier run and fail the stale ones without a file")
+    void recoverPendingUploads() throws IOException {
+        // Given: onceki calistirmadan kalan iki dosya, biri hicbir filme ait degil
+        FileTime earlierRun = FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        Path resumed = Files.writeString(stagingDir.resolve("upload-1.jpg"), "test image content");
+        Path orphan = Files.writeString(stagingDir.resolve("orphan.jpg"), "test image content");
+        Files.setLastModifiedTime(resumed, earlierRun);
+        Files.setLastModifiedTime(orphan, earlierRun);
+        Path stagedNow = Files.writeString(stagingDir.resolve("upload-4.jpg"), "test image content");
+        when(movieRepository.findPosterUploadsByStatus(PosterStatus.PENDING)).thenReturn(List.of(
+                new Object[]{1L, "upload-1", LocalDateTime.now()},
+                new Object[]{2L, "upload-2", LocalDateTime.now().minusHours(2)},
+                new Object[]{3L, "upload-3", LocalDateTime.now()}));
+        when(movieRepository.updatePosterStatus(2L, "upload-2", PosterStatus.FAILED)).thenReturn(1);
+        when(cloudinaryService.uploadMoviePoster(resumed.toFile(), 1L)).thenReturn(NEW_URL);
+        when(movieRepository.findPosterUrlById(1L)).thenReturn(Optional.empty());
+        when(movieRepository.completePosterUpload(1L, "upload-1", NEW_URL, PosterStatus.UPLOADED)).thenReturn(1);
+
+        // When
+        posterUploadService.recoverPendingUploads();
+
+        // Then
+        verify(movieRepository, timeout(5000)).completePosterUpload(1L, "upload-1", NEW_URL, PosterStatus.UPLOADED);
+        verify(movieRepository, never()).updatePosterStatus(eq(3L), any(), any());
+        verify(catalogVersionTracker, atLeastOnce()).bumpAfterCommit(CatalogAggregate.MOVIE);
+        assertThat(orphan).doesNotExist();
+        assertThat(stagedNow).exists();
+    }
+}
@@ -0,0 +1,142 @@
+package com.Cinetime.service.securityservice;
+
+import com.Cinetime.entity.Role;
+import com.Cinetime.entity.User;
+import com.Cinetime.enums.RoleName;
+import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.UserDetailsImpl;
+import com.Cinetime.security.UserPrincipal;
+import com.Cinetime.service.SecurityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SecurityService current user Tests")
+class GetCurrentUserTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SecurityService securityService;
+
+    private User user;
+    private final UserPrincipal principal = new UserPrincipal(7L, "(555) 123-4567", RoleName.MEMBER);
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleName(RoleName.MEMBER);
+        user = User.builder().id(7L).firstname("John").phoneNumber("(555) 123-4567").role(role).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should return the principal from the token without a query")
+    void principalWithoutQuery() {
+        // Given
+        authenticate(principal);
+
+        // When
+        UserPrincipal result = securityService.getCurrentPrincipal();
+
+        // Then
+        assertThat(result).isSameAs(principal);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should build the principal from a UserDetailsImpl")
+    void principalFromUserDetails() {
+        // Given
+        authenticate(new UserDetailsImpl(user));
+
+        // When & Then
+        assertThat(securityService.getCurrentPrincipal()).isEqualTo(principal);
+    }
+
+    @Test
+    @DisplayName("Should load the user once per request")
+    void memoizedPerRequest() {
+        // Given
+        authenticate(principal);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        // When
+        User first = securityService.getCurrentUser();
+        User second = securityService.getCurrentUser();
+
+        // Then
+        assertThat(first).isSameAs(user);
+        assertThat(second).isSameAs(user);
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should remember a missing user for the rest of the request")
+    void missingUserMemoized() {
+        // Given
+        authenticate(principal);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findById(7L)).thenReturn(Optional.empty());
+
+        // When
+        securityService.getCurrentUser();
+        User result = securityService.getCurrentUser();
+
+        // Then
+        assertThat(result).isNull();
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should load the user on every call outside a request")
+    void notMemoizedOutsideRequest() {
+        // Given
+        authenticate(principal);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        // When
+        securityService.getCurrentUser();
+        securityService.getCurrentUser();
+
+        // Then
+        verify(userRepository, times(2)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should return null when not authenticated")
+    void notAuthenticated() {
+        assertThat(securityService.getCurrentPrincipal()).isNull();
+        assertThat(securityService.getCurrentUser()).isNull();
+        verifyNoInteractions(userRepository);
+    }
+
+    private static void authenticate(UserDetails principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
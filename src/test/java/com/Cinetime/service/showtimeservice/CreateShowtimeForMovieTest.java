@@ -4,7 +4,11 @@ import com.Cinetime.entity.Cinema;
 import com.Cinetime.entity.Hall;
 import com.Cinetime.entity.Movie;
 import com.Cinetime.entity.Showtime;
+import com.Cinetime.enums.CatalogAggregate;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
 import com.Cinetime.helpers.TicketPriceHelper;
+import com.Cinetime.payload.business.ShowtimeSlot;
 import com.Cinetime.payload.dto.request.ShowtimeRequest;
 import com.Cinetime.payload.dto.response.*;
 import com.Cinetime.payload.mappers.ShowtimeMapper;
@@ -27,6 +31,7 @@ import org.springframework.http.HttpStatus;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,6 +56,12 @@ class CreateShowtimeForMovieTest {
     @Mock
     private ShowtimeMapper showtimeMapper;
 
+    @Mock
+    private ShowtimeScheduleIndex showtimeScheduleIndex;
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
     @InjectMocks
     private ShowtimeService showtimeService;
 
@@ -154,7 +165,7 @@ class CreateShowtimeForMovieTest {
     void createShowtime_Success() {
         // Given
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(hallRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(hall));
         when(ticketPriceHelper.calculateTicketPrice(hall, movie,
                 showtimeRequest.getStartTime(), showtimeRequest.getEndTime(),
                 showtimeRequest.getDate())).thenReturn(15.50);
@@ -175,15 +186,46 @@ class CreateShowtimeForMovieTest {
         assertThat(result.getObject().getCinema().getName()).isEqualTo("Test Cinema");
 
         verify(movieRepository).findById(1L);
-        verify(hallRepository).findById(1L);
+        verify(hallRepository).findAllByIdForUpdate(List.of(1L));
         verify(ticketPriceHelper).calculateTicketPrice(hall, movie,
                 showtimeRequest.getStartTime(), showtimeRequest.getEndTime(),
                 showtimeRequest.getDate());
         verify(showtimeMapper).mapShowtimeRequestToShowtime(showtimeRequest, movie, hall, 15.50);
         verify(showtimeRepository).save(showtime);
+        verify(showtimeScheduleIndex).addAfterCommit(List.of(showtime));
+        verify(catalogVersionTracker).bumpAfterCommit(CatalogAggregate.SHOWTIME);
         verify(showtimeMapper).mapShowtimeToShowtimeResponse(showtime);
     }
 
+    @Test
+    @DisplayName("Should return CONFLICT when the hall is already occupied in the requested time range")
+    void createShowtime_TimeSlotConflict() {
+        // Given
+        ShowtimeSlot existingSlot = ShowtimeSlot.builder()
+                .showtimeId(7L)
+                .hallId(1L)
+                .movieId(2L)
+                .date(showtimeRequest.getDate())
+                .startTime(LocalTime.of(13, 0))
+                .endTime(LocalTime.of(15, 0))
+                .build();
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(hallRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(hall));
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(List.of(1L), showtimeRequest.getDate(), showtimeRequest.getDate()))
+                .thenReturn(List.of(existingSlot));
+
+        // When
+        ResponseMessage<ShowtimeResponse> result = showtimeService.createShowtimeForMovie(showtimeRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(result.getMessage()).startsWith(ErrorMessages.SHOWTIME_CONFLICT);
+        assertThat(result.getObject()).isNull();
+
+        verify(ticketPriceHelper, never()).calculateTicketPrice(any(), any(), any(), any(), any());
+        verify(showtimeRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Should return NOT_FOUND when movie does not exist")
     void createShowtime_MovieNotFound() {
@@ -199,7 +241,7 @@ class CreateShowtimeForMovieTest {
         assertThat(result.getObject()).isNull();
 
         verify(movieRepository).findById(1L);
-        verify(hallRepository, never()).findById(anyLong());
+        verify(hallRepository, never()).findAllByIdForUpdate(anyCollection());
         verify(showtimeRepository, never()).save(any());
     }
 
@@ -208,7 +250,7 @@ class CreateShowtimeForMovieTest {
     void createShowtime_HallNotFound() {
         // Given
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(hallRepository.findById(1L)).thenReturn(Optional.empty());
+        when(hallRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of());
 
         // When
         ResponseMessage<ShowtimeResponse> result = showtimeService.createShowtimeForMovie(showtimeRequest);
@@ -219,7 +261,7 @@ class CreateShowtimeForMovieTest {
         assertThat(result.getObject()).isNull();
 
         verify(movieRepository).findById(1L);
-        verify(hallRepository).findById(1L);
+        verify(hallRepository).findAllByIdForUpdate(List.of(1L));
         verify(showtimeRepository, never()).save(any());
     }
 
@@ -238,7 +280,7 @@ class CreateShowtimeForMovieTest {
     void createShowtime_SaveFailure() {
         // Given
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(hallRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(hall));
         when(ticketPriceHelper.calculateTicketPrice(any(), any(), any(), any(), any()))
                 .thenReturn(15.50);
         when(showtimeMapper.mapShowtimeRequestToShowtime(any(), any(), any(), any()))
@@ -258,7 +300,7 @@ class CreateShowtimeForMovieTest {
     void createShowtime_PriceCalculationFailure() {
         // Given
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(hallRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(hall));
         when(ticketPriceHelper.calculateTicketPrice(any(), any(), any(), any(), any()))
                 .thenThrow(new RuntimeException("Price calculation failed"));
 
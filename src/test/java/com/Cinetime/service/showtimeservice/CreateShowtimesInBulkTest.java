@@ -0,0 +1,204 @@
+package com.Cinetime.service.showtimeservice;
+
+import com.Cinetime.entity.Cinema;
+import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Movie;
+import com.Cinetime.entity.Showtime;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.PageableHelper;
+import com.Cinetime.helpers.ShowtimeScheduleGenerator;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
+import com.Cinetime.helpers.TicketPriceHelper;
+import com.Cinetime.payload.business.ShowtimeSlot;
+import com.Cinetime.payload.dto.request.ShowtimeBulkRequest;
+import com.Cinetime.payload.dto.request.ShowtimeRequest;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.dto.response.ShowtimeResponse;
+import com.Cinetime.payload.mappers.ShowtimeMapper;
+import com.Cinetime.payload.messages.ErrorMessages;
+import com.Cinetime.payload.messages.SuccessMessages;
+import com.Cinetime.repo.CatalogVersionRepository;
+import com.Cinetime.repo.HallRepository;
+import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.repo.ShowtimeRepository;
+import com.Cinetime.service.ShowtimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShowtimeService - createShowtimesInBulk Tests")
+class CreateShowtimesInBulkTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private HallRepository hallRepository;
+
+    @Mock
+    private ShowtimeMapper showtimeMapper;
+
+    @Mock
+    private PageableHelper pageableHelper;
+
+    private ShowtimeService showtimeService;
+
+    private Movie movie;
+    private Hall hall;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        // Real index on top of the mocked repository, so the conflict logic itself is exercised
+        ShowtimeScheduleIndex showtimeScheduleIndex = new ShowtimeScheduleIndex(showtimeRepository);
+        showtimeService = new ShowtimeService(showtimeRepository, pageableHelper, showtimeMapper,
+                movieRepository, hallRepository, new TicketPriceHelper(), showtimeScheduleIndex,
+                new ShowtimeScheduleGenerator(showtimeScheduleIndex), new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5));
+
+        Cinema cinema = Cinema.builder().id(1L).name("Test Cinema").build();
+        movie = Movie.builder().id(1L).title("Test Movie").duration(120).build();
+        hall = Hall.builder().id(1L).name("Hall 1").seatCapacity(100).isSpecial(false).cinema(cinema).build();
+        date = LocalDate.now().plusDays(3);
+    }
+
+    private ShowtimeRequest request(int startHour, int endHour) {
+        return ShowtimeRequest.builder()
+                .movieId(1L)
+                .hallId(1L)
+                .date(date)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .build();
+    }
+
+    private void givenMovieAndHallExist() {
+        when(movieRepository.findAllById(Set.of(1L))).thenReturn(List.of(movie));
+        when(hallRepository.findAllByIdForUpdate(Set.of(1L))).thenReturn(List.of(hall));
+    }
+
+    @Test
+    @DisplayName("Should save the whole programme with a single conflict lookup on the locked halls")
+    void createShowtimesInBulk_Success() {
+        // Given
+        givenMovieAndHallExist();
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(anyCollection(), eq(date), eq(date)))
+                .thenReturn(List.of());
+        when(showtimeMapper.mapShowtimeRequestToShowtime(any(), eq(movie), eq(hall), anyDouble()))
+                .thenAnswer(invocation -> {
+                    ShowtimeRequest request = invocation.getArgument(0);
+                    return Showtime.builder()
+                            .movie(movie)
+                            .hall(hall)
+                            .date(request.getDate())
+                            .startTime(request.getStartTime())
+                            .endTime(request.getEndTime())
+                            .build();
+                });
+        when(showtimeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(showtimeMapper.mapShowtimeToShowtimeResponse(any())).thenReturn(ShowtimeResponse.builder().build());
+
+        ShowtimeBulkRequest bulkRequest = new ShowtimeBulkRequest(List.of(request(10, 12), request(12, 14), request(15, 17)));
+
+        // When
+        ResponseMessage<List<ShowtimeResponse>> result = showtimeService.createShowtimesInBulk(bulkRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getMessage()).isEqualTo(SuccessMessages.SHOWTIMES_CREATED_SUCCESSFULLY);
+        assertThat(result.getObject()).hasSize(3);
+        verify(showtimeRepository, times(1)).findSlotsByHallIdsAndDateBetween(anyCollection(), any(), any());
+        verify(showtimeRepository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when two of its showtimes overlap")
+    void createShowtimesInBulk_OverlapInsideBatch() {
+        // Given
+        givenMovieAndHallExist();
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(anyCollection(), eq(date), eq(date)))
+                .thenReturn(List.of());
+
+        ShowtimeBulkRequest bulkRequest = new ShowtimeBulkRequest(List.of(request(14, 17), request(10, 15)));
+
+        // When
+        ResponseMessage<List<ShowtimeResponse>> result = showtimeService.createShowtimesInBulk(bulkRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(result.getMessage()).startsWith(ErrorMessages.SHOWTIME_CONFLICT);
+        verify(showtimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the batch when a showtime overlaps an existing one")
+    void createShowtimesInBulk_OverlapWithExistingShowtime() {
+        // Given
+        givenMovieAndHallExist();
+        ShowtimeSlot existingSlot = new ShowtimeSlot(9L, 1L, 2L, date, LocalTime.of(18, 0), LocalTime.of(20, 0));
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(anyCollection(), eq(date), eq(date)))
+                .thenReturn(List.of(existingSlot));
+
+        ShowtimeBulkRequest bulkRequest = new ShowtimeBulkRequest(List.of(request(10, 12), request(19, 21)));
+
+        // When
+        ResponseMessage<List<ShowtimeResponse>> result = showtimeService.createShowtimesInBulk(bulkRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(result.getMessage()).contains("18:00-20:00");
+        verify(showtimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject showtimes whose end time is not after the start time")
+    void createShowtimesInBulk_InvalidRange() {
+        // Given
+        givenMovieAndHallExist();
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(anyCollection(), eq(date), eq(date)))
+                .thenReturn(List.of());
+
+        ShowtimeBulkRequest bulkRequest = new ShowtimeBulkRequest(List.of(request(16, 14)));
+
+        // When
+        ResponseMessage<List<ShowtimeResponse>> result = showtimeService.createShowtimesInBulk(bulkRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(result.getMessage()).startsWith(ErrorMessages.INVALID_SHOWTIME_RANGE);
+        verify(showtimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should return NOT_FOUND when a hall of the batch does not exist")
+    void createShowtimesInBulk_HallNotFound() {
+        // Given
+        when(movieRepository.findAllById(Set.of(1L))).thenReturn(List.of(movie));
+        when(hallRepository.findAllByIdForUpdate(Set.of(1L))).thenReturn(List.of());
+
+        // When
+        ResponseMessage<List<ShowtimeResponse>> result =
+                showtimeService.createShowtimesInBulk(new ShowtimeBulkRequest(List.of(request(10, 12))));
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getMessage()).isEqualTo(ErrorMessages.HALL_NOT_FOUND);
+        verifyNoInteractions(showtimeRepository);
+    }
+}
@@ -28,6 +28,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -172,8 +173,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
                 .thenReturn(testPageable);
         when(showtimeRepository.findUpcomingShowtimesByMovieId(
                 eq(VALID_MOVIE_ID),
-                any(LocalDate.class),
-                any(LocalTime.class),
+                any(LocalDateTime.class),
                 eq(testPageable)))
                 .thenReturn(showtimePage);
         when(showtimeMapper.mapShowtimePageToShowtimeResponse(showtimePage))
@@ -195,7 +195,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
         var inOrder = inOrder(pageableHelper, showtimeRepository, showtimeMapper);
         inOrder.verify(pageableHelper).pageableSort(DEFAULT_PAGE, DEFAULT_SIZE, DEFAULT_SORT, DEFAULT_TYPE);
         inOrder.verify(showtimeRepository).findUpcomingShowtimesByMovieId(
-                eq(VALID_MOVIE_ID), any(LocalDate.class), any(LocalTime.class), eq(testPageable));
+                eq(VALID_MOVIE_ID), any(LocalDateTime.class), eq(testPageable));
         inOrder.verify(showtimeMapper).mapShowtimePageToShowtimeResponse(showtimePage);
     }
 
@@ -209,8 +209,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
                 .thenReturn(testPageable);
         when(showtimeRepository.findUpcomingShowtimesByMovieId(
                 eq(VALID_MOVIE_ID),
-                any(LocalDate.class),
-                any(LocalTime.class),
+                any(LocalDateTime.class),
                 eq(testPageable)))
                 .thenReturn(emptyPage);
 
@@ -245,8 +244,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
                 .thenReturn(customPageable);
         when(showtimeRepository.findUpcomingShowtimesByMovieId(
                 eq(VALID_MOVIE_ID),
-                any(LocalDate.class),
-                any(LocalTime.class),
+                any(LocalDateTime.class),
                 eq(customPageable)))
                 .thenReturn(showtimePage);
         when(showtimeMapper.mapShowtimePageToShowtimeResponse(showtimePage))
@@ -276,8 +274,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
                 .thenReturn(testPageable);
         when(showtimeRepository.findUpcomingShowtimesByMovieId(
                 eq(VALID_MOVIE_ID),
-                any(LocalDate.class),
-                any(LocalTime.class),
+                any(LocalDateTime.class),
                 eq(testPageable)))
                 .thenReturn(showtimePage);
         when(showtimeMapper.mapShowtimePageToShowtimeResponse(any()))
@@ -290,8 +287,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
         // Then - Verify that current date and time are passed to repository
         verify(showtimeRepository).findUpcomingShowtimesByMovieId(
                 eq(VALID_MOVIE_ID),
-                argThat(date -> date.equals(LocalDate.now())),
-                argThat(time -> time.getHour() >= 0 && time.getHour() <= 23), // Time should be valid current time
+                argThat(now -> now.toLocalDate().equals(LocalDate.now())), // Should be the current date-time
                 eq(testPageable)
         );
     }
@@ -306,8 +302,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
                 .thenReturn(testPageable);
         when(showtimeRepository.findUpcomingShowtimesByMovieId(
                 eq(null),
-                any(LocalDate.class),
-                any(LocalTime.class),
+                any(LocalDateTime.class),
                 eq(testPageable)))
                 .thenReturn(emptyPage);
 
@@ -322,7 +317,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
         assertThat(result.getObject()).isNull();
 
         verify(showtimeRepository).findUpcomingShowtimesByMovieId(
-                eq(null), any(LocalDate.class), any(LocalTime.class), eq(testPageable));
+                eq(null), any(LocalDateTime.class), eq(testPageable));
     }
 
     @Test
@@ -333,7 +328,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
 
         when(pageableHelper.pageableSort(anyInt(), anyInt(), anyString(), anyString()))
                 .thenReturn(testPageable);
-        when(showtimeRepository.findUpcomingShowtimesByMovieId(any(), any(), any(), any()))
+        when(showtimeRepository.findUpcomingShowtimesByMovieId(any(), any(), any()))
                 .thenReturn(showtimePage);
         when(showtimeMapper.mapShowtimePageToShowtimeResponse(any()))
                 .thenReturn(mockShowtimeResponsePage);
@@ -365,7 +360,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
         Page<Showtime> emptyPage = new PageImpl<>(Collections.emptyList(), testPageable, 0);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(showtimeRepository.findUpcomingShowtimesByMovieId(any(), any(), any(), any()))
+        when(showtimeRepository.findUpcomingShowtimesByMovieId(any(), any(), any()))
                 .thenReturn(emptyPage);
 
         // When
@@ -383,7 +378,7 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
 
         when(pageableHelper.pageableSort(anyInt(), anyInt(), anyString(), anyString()))
                 .thenReturn(testPageable);
-        when(showtimeRepository.findUpcomingShowtimesByMovieId(any(), any(), any(), any()))
+        when(showtimeRepository.findUpcomingShowtimesByMovieId(any(), any(), any()))
                 .thenReturn(showtimePage);
         when(showtimeMapper.mapShowtimePageToShowtimeResponse(showtimePage))
                 .thenReturn(mockShowtimeResponsePage);
@@ -399,4 +394,30 @@ class GetUpcomingShowtimesForMovieAndCinemaTest {
                         page.getTotalElements() == 2
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should read upcoming showtimes of a cinema through the cinema/start time query")
+    void getUpcomingShowtimesForMovieAndCinema_WithCinema_ShouldUseCinemaQuery() {
+        // Given
+        Page<Showtime> showtimePage = new PageImpl<>(List.of(testShowtime1), testPageable, 1);
+
+        when(pageableHelper.pageableSort(DEFAULT_PAGE, DEFAULT_SIZE, DEFAULT_SORT, DEFAULT_TYPE))
+                .thenReturn(testPageable);
+        when(showtimeRepository.findUpcomingShowtimesByMovieAndCinema(
+                eq(VALID_MOVIE_ID), eq(testCinema.getId()), any(LocalDateTime.class), eq(testPageable)))
+                .thenReturn(showtimePage);
+        when(showtimeMapper.mapShowtimePageToShowtimeResponse(showtimePage))
+                .thenReturn(mockShowtimeResponsePage);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        ResponseMessage<Page<ShowtimeResponse>> result = showtimeService.getUpcomingShowtimesForMovieAndCinema(
+                DEFAULT_PAGE, DEFAULT_SIZE, DEFAULT_SORT, DEFAULT_TYPE, VALID_MOVIE_ID, testCinema.getId());
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        verify(showtimeRepository).findUpcomingShowtimesByMovieAndCinema(
+                eq(VALID_MOVIE_ID), eq(testCinema.getId()), argThat(now -> !now.isBefore(before)), eq(testPageable));
+        verify(showtimeRepository, never()).findUpcomingShowtimesByMovieId(any(), any(), any());
+    }
+}
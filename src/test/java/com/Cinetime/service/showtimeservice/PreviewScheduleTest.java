@@ -0,0 +1,243 @@
+package com.Cinetime.service.showtimeservice;
+
+import com.Cinetime.entity.Cinema;
+import com.Cinetime.entity.Hall;
+import com.Cinetime.entity.Movie;
+import com.Cinetime.helpers.CatalogVersionTracker;
+import com.Cinetime.helpers.PageableHelper;
+import com.Cinetime.helpers.ShowtimeScheduleGenerator;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
+import com.Cinetime.helpers.TicketPriceHelper;
+import com.Cinetime.payload.business.ShowtimeSlot;
+import com.Cinetime.payload.dto.request.MovieShowTargetRequest;
+import com.Cinetime.payload.dto.request.ScheduleGenerationRequest;
+import com.Cinetime.payload.dto.request.ShowtimeRequest;
+import com.Cinetime.payload.dto.response.ResponseMessage;
+import com.Cinetime.payload.dto.response.ScheduleGenerationResponse;
+import com.Cinetime.payload.mappers.ShowtimeMapper;
+import com.Cinetime.payload.messages.ErrorMessages;
+import com.Cinetime.repo.CatalogVersionRepository;
+import com.Cinetime.repo.HallRepository;
+import com.Cinetime.repo.MovieRepository;
+import com.Cinetime.repo.ShowtimeRepository;
+import com.Cinetime.service.ShowtimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShowtimeService - previewSchedule Tests")
+class PreviewScheduleTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private HallRepository hallRepository;
+
+    @Mock
+    private ShowtimeMapper showtimeMapper;
+
+    @Mock
+    private PageableHelper pageableHelper;
+
+    private ShowtimeService showtimeService;
+
+    private Movie longMovie;
+    private Movie shortMovie;
+    private Hall hall;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        // Real index and generator on top of the mocked repository, so the packing itself is exercised
+        ShowtimeScheduleIndex showtimeScheduleIndex = new ShowtimeScheduleIndex(showtimeRepository);
+        showtimeService = new ShowtimeService(showtimeRepository, pageableHelper, showtimeMapper,
+                movieRepository, hallRepository, new TicketPriceHelper(), showtimeScheduleIndex,
+                new ShowtimeScheduleGenerator(showtimeScheduleIndex), new CatalogVersionTracker(mock(CatalogVersionRepository.class), 5));
+
+        Cinema cinema = Cinema.builder().id(1L).name("Test Cinema").build();
+        longMovie = Movie.builder().id(1L).title("Long Movie").duration(150).build();
+        shortMovie = Movie.builder().id(2L).title("Short Movie").duration(90).build();
+        hall = Hall.builder().id(1L).name("Hall 1").seatCapacity(100).isSpecial(false).cinema(cinema).build();
+        date = LocalDate.now().plusDays(3);
+    }
+
+    private ScheduleGenerationRequest request(int longShows, int shortShows) {
+        return ScheduleGenerationRequest.builder()
+                .cinemaId(1L)
+                .startDate(date)
+                .days(1)
+                .openingTime(LocalTime.of(10, 0))
+                .closingTime(LocalTime.of(23, 30))
+                .cleaningBufferMinutes(20)
+                .movies(List.of(new MovieShowTargetRequest(1L, longShows), new MovieShowTargetRequest(2L, shortShows)))
+                .build();
+    }
+
+    private void givenCinemaWithOneHall(List<ShowtimeSlot> existingSlots) {
+        when(hallRepository.findByCinemaId(1L)).thenReturn(List.of(hall));
+        when(movieRepository.findAllById(anyIterable())).thenReturn(List.of(longMovie, shortMovie));
+        when(showtimeRepository.findSlotsByHallIdsAndDateBetween(anyCollection(), eq(date), eq(date)))
+                .thenReturn(existingSlots);
+    }
+
+    private static void assertNoOverlapWithBuffer(List<ShowtimeRequest> showtimes, int bufferMinutes) {
+        List<ShowtimeRequest> sorted = showtimes.stream()
+                .sorted(Comparator.comparing(ShowtimeRequest::getStartTime))
+                .toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            assertThat(sorted.get(i).getStartTime())
+                    .isAfterOrEqualTo(sorted.get(i - 1).getEndTime().plusMinutes(bufferMinutes));
+        }
+    }
+
+    @Test
+    @DisplayName("Should pack every requested show into the hall with cleaning buffers in between")
+    void previewSchedule_Success() {
+        // Given
+        givenCinemaWithOneHall(List.of());
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(request(2, 2));
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        List<ShowtimeRequest> showtimes = result.getObject().getShowtimes();
+        assertThat(showtimes).hasSize(4);
+        assertThat(result.getObject().getUnscheduledShows()).isEmpty();
+        assertThat(showtimes).allSatisfy(showtime -> {
+            assertThat(showtime.getStartTime()).isAfterOrEqualTo(LocalTime.of(10, 0));
+            assertThat(showtime.getEndTime()).isBeforeOrEqualTo(LocalTime.of(23, 30));
+            assertThat(showtime.getStartTime().getMinute() % 5).isZero();
+        });
+        assertThat(showtimes).filteredOn(showtime -> showtime.getMovieId().equals(1L))
+                .allSatisfy(showtime -> assertThat(showtime.getEndTime()).isEqualTo(showtime.getStartTime().plusMinutes(150)));
+        assertNoOverlapWithBuffer(showtimes, 20);
+        verify(showtimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should schedule around showtimes that already exist in the hall")
+    void previewSchedule_SkipsExistingShowtime() {
+        // Given
+        ShowtimeSlot existingSlot = new ShowtimeSlot(9L, 1L, 3L, date, LocalTime.of(11, 0), LocalTime.of(13, 0));
+        givenCinemaWithOneHall(List.of(existingSlot));
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(request(1, 1));
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject().getShowtimes())
+                .hasSize(2)
+                .allSatisfy(showtime -> assertThat(existingSlot.overlaps(showtime.getStartTime(), showtime.getEndTime())).isFalse());
+        assertThat(result.getObject().getShowtimes())
+                .extracting(ShowtimeRequest::getStartTime)
+                .contains(LocalTime.of(13, 20));
+    }
+
+    @Test
+    @DisplayName("Should keep the cleaning buffer to existing showtimes before and after a generated one")
+    void previewSchedule_BufferAroundExistingShowtimes() {
+        // Given: biri acilista biten, biri 13:20'de baslayan iki mevcut gosterim
+        ShowtimeSlot before = new ShowtimeSlot(8L, 1L, 3L, date, LocalTime.of(8, 0), LocalTime.of(10, 0));
+        ShowtimeSlot after = new ShowtimeSlot(9L, 1L, 3L, date, LocalTime.of(13, 20), LocalTime.of(15, 0));
+        givenCinemaWithOneHall(List.of(before, after));
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(request(0, 2));
+
+        // Then
+        assertThat(result.getObject().getShowtimes())
+                .hasSize(2)
+                .allSatisfy(showtime -> {
+                    LocalTime from = showtime.getStartTime().minusMinutes(20);
+                    LocalTime to = showtime.getEndTime().plusMinutes(20);
+                    assertThat(before.overlaps(from, to)).isFalse();
+                    assertThat(after.overlaps(from, to)).isFalse();
+                });
+        assertThat(result.getObject().getShowtimes())
+                .extracting(ShowtimeRequest::getStartTime)
+                .containsExactly(LocalTime.of(10, 20), LocalTime.of(15, 20));
+    }
+
+    @Test
+    @DisplayName("Should report shows that do not fit into the opening hours")
+    void previewSchedule_ReportsUnscheduledShows() {
+        // Given
+        givenCinemaWithOneHall(List.of());
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(request(6, 0));
+
+        // Then
+        // 10:00-12:30, 12:50-15:20, 15:40-18:10, 18:30-21:00, 21:20-23:50 does not fit before 23:30
+        assertThat(result.getObject().getShowtimes()).hasSize(4);
+        assertThat(result.getObject().getUnscheduledShows()).containsEntry(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Should return BAD_REQUEST when closing time is not after opening time")
+    void previewSchedule_InvalidOpeningHours() {
+        // Given
+        ScheduleGenerationRequest scheduleRequest = request(1, 1);
+        scheduleRequest.setClosingTime(LocalTime.of(9, 0));
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(scheduleRequest);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(result.getMessage()).isEqualTo(ErrorMessages.INVALID_OPENING_HOURS);
+        verifyNoInteractions(hallRepository, showtimeRepository);
+    }
+
+    @Test
+    @DisplayName("Should return NOT_FOUND when the cinema has no halls")
+    void previewSchedule_CinemaNotFound() {
+        // Given
+        when(hallRepository.findByCinemaId(1L)).thenReturn(List.of());
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(request(1, 1));
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getMessage()).isEqualTo(ErrorMessages.CINEMA_NOT_FOUND);
+        verifyNoInteractions(showtimeRepository);
+    }
+
+    @Test
+    @DisplayName("Should return BAD_REQUEST when a movie has no duration")
+    void previewSchedule_MovieWithoutDuration() {
+        // Given
+        shortMovie.setDuration(null);
+        when(hallRepository.findByCinemaId(1L)).thenReturn(List.of(hall));
+        when(movieRepository.findAllById(anyIterable())).thenReturn(List.of(longMovie, shortMovie));
+
+        // When
+        ResponseMessage<ScheduleGenerationResponse> result = showtimeService.previewSchedule(request(1, 1));
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(result.getMessage()).isEqualTo(ErrorMessages.INVALID_MOVIE_DURATION + 2L);
+        verifyNoInteractions(showtimeRepository);
+    }
+}
@@ -1,6 +1,6 @@
 package com.Cinetime.service.showtimeservice;
 
-import com.Cinetime.repo.ShowtimeRepository;
+import com.Cinetime.helpers.ShowtimeScheduleIndex;
 import com.Cinetime.service.ShowtimeService;
 import org.apache.coyote.BadRequestException;
 import org.junit.jupiter.api.DisplayName;
@@ -21,7 +21,7 @@ import static org.mockito.Mockito.*;
 class ShowtimeUpdateCheckTest {
 
     @Mock
-    private ShowtimeRepository showtimeRepository;
+    private ShowtimeScheduleIndex showtimeScheduleIndex;
 
     @InjectMocks
     private ShowtimeService showtimeService;
@@ -36,7 +36,7 @@ class ShowtimeUpdateCheckTest {
         LocalTime startTime = LocalTime.of(14, 0);
         LocalTime endTime = LocalTime.of(16, 30);
 
-        when(showtimeRepository.existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime))
+        when(showtimeScheduleIndex.hasConflict(hallId, date, startTime, endTime, showtimeId))
                 .thenReturn(false);
 
         // Act & Assert
@@ -44,7 +44,7 @@ class ShowtimeUpdateCheckTest {
             showtimeService.showtimeUpdateCheck(showtimeId, hallId, date, startTime, endTime);
         });
 
-        verify(showtimeRepository).existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime);
+        verify(showtimeScheduleIndex).hasConflict(hallId, date, startTime, endTime, showtimeId);
     }
 
     @Test
@@ -57,7 +57,7 @@ class ShowtimeUpdateCheckTest {
         LocalTime startTime = LocalTime.of(14, 0);
         LocalTime endTime = LocalTime.of(16, 30);
 
-        when(showtimeRepository.existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime))
+        when(showtimeScheduleIndex.hasConflict(hallId, date, startTime, endTime, showtimeId))
                 .thenReturn(true);
 
         // Act & Assert
@@ -66,7 +66,7 @@ class ShowtimeUpdateCheckTest {
         });
 
         assertEquals("Bu saat aralığında bu salonda başka bir gösterim mevcut.", exception.getMessage());
-        verify(showtimeRepository).existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime);
+        verify(showtimeScheduleIndex).hasConflict(hallId, date, startTime, endTime, showtimeId);
     }
 
     @Test
@@ -79,7 +79,7 @@ class ShowtimeUpdateCheckTest {
         LocalTime startTime = LocalTime.of(14, 0);
         LocalTime endTime = LocalTime.of(14, 0); // Same as start time
 
-        when(showtimeRepository.existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime))
+        when(showtimeScheduleIndex.hasConflict(hallId, date, startTime, endTime, showtimeId))
                 .thenReturn(false);
 
         // Act & Assert
@@ -87,7 +87,7 @@ class ShowtimeUpdateCheckTest {
             showtimeService.showtimeUpdateCheck(showtimeId, hallId, date, startTime, endTime);
         });
 
-        verify(showtimeRepository).existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime);
+        verify(showtimeScheduleIndex).hasConflict(hallId, date, startTime, endTime, showtimeId);
     }
 
     @Test
@@ -100,7 +100,7 @@ class ShowtimeUpdateCheckTest {
         LocalTime startTime = LocalTime.MIN;
         LocalTime endTime = LocalTime.MAX;
 
-        when(showtimeRepository.existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime))
+        when(showtimeScheduleIndex.hasConflict(hallId, date, startTime, endTime, showtimeId))
                 .thenReturn(false);
 
         // Act & Assert
@@ -108,7 +108,7 @@ class ShowtimeUpdateCheckTest {
             showtimeService.showtimeUpdateCheck(showtimeId, hallId, date, startTime, endTime);
         });
 
-        verify(showtimeRepository).existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime);
+        verify(showtimeScheduleIndex).hasConflict(hallId, date, startTime, endTime, showtimeId);
     }
 
     @Test
@@ -121,7 +121,7 @@ class ShowtimeUpdateCheckTest {
         LocalTime startTime = LocalTime.of(20, 30);
         LocalTime endTime = LocalTime.of(23, 15);
 
-        when(showtimeRepository.existsConflictForUpdate(showtimeId, hallId, date, startTime, endTime))
+        when(showtimeScheduleIndex.hasConflict(hallId, date, startTime, endTime, showtimeId))
                 .thenReturn(false);
 
         // Act
@@ -130,13 +130,13 @@ class ShowtimeUpdateCheckTest {
         });
 
         // Assert - Verify exact parameters were passed
-        verify(showtimeRepository, times(1)).existsConflictForUpdate(
-                eq(123L),
+        verify(showtimeScheduleIndex, times(1)).hasConflict(
                 eq(456L),
                 eq(LocalDate.of(2025, 12, 25)),
                 eq(LocalTime.of(20, 30)),
-                eq(LocalTime.of(23, 15))
+                eq(LocalTime.of(23, 15)),
+                eq(123L)
         );
-        verifyNoMoreInteractions(showtimeRepository);
+        verifyNoMoreInteractions(showtimeScheduleIndex);
     }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.*;
 import com.Cinetime.service.EmailService;
 import com.Cinetime.service.TicketService;
+import com.Cinetime.helpers.MetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
@@ -62,6 +64,9 @@ class BuyTicketAsGuestTest {
     @Mock
     private EmailService emailService;
 
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -175,7 +180,7 @@ class BuyTicketAsGuestTest {
     void buyTicketsAsGuest_Success() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testShowtime));
         when(hallRepository.findById(1L)).thenReturn(Optional.of(testHall));
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
                 .thenReturn(Collections.emptyList());
@@ -205,7 +210,7 @@ class BuyTicketAsGuestTest {
 
         // Verify repository interactions
         verify(movieRepository).findByTitle("Test Movie");
-        verify(showtimeRepository).findById(1L);
+        verify(showtimeRepository).findByIdForUpdate(1L);
         verify(hallRepository).findById(1L);
         verify(ticketRepository).findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED));
         verify(anonymousUserRepository).save(any(AnonymousUser.class));
@@ -251,7 +256,7 @@ class BuyTicketAsGuestTest {
     void buyTicketsAsGuest_ShowtimeNotFound() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(showtimeRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         validRequest.setShowtimeId(999L);
 
@@ -265,7 +270,7 @@ class BuyTicketAsGuestTest {
         assertThat(result.getObject()).isNull();
 
         verify(movieRepository).findByTitle("Test Movie");
-        verify(showtimeRepository).findById(999L);
+        verify(showtimeRepository).findByIdForUpdate(999L);
         verifyNoInteractions(hallRepository, ticketRepository, anonymousUserRepository, paymentRepository);
     }
 
@@ -274,7 +279,7 @@ class BuyTicketAsGuestTest {
     void buyTicketsAsGuest_HallNotFound() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testShowtime));
         when(hallRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When
@@ -287,7 +292,7 @@ class BuyTicketAsGuestTest {
         assertThat(result.getObject()).isNull();
 
         verify(movieRepository).findByTitle("Test Movie");
-        verify(showtimeRepository).findById(1L);
+        verify(showtimeRepository).findByIdForUpdate(1L);
         verify(hallRepository).findById(1L);
         verifyNoInteractions(ticketRepository, anonymousUserRepository, paymentRepository);
     }
@@ -297,7 +302,7 @@ class BuyTicketAsGuestTest {
     void buyTicketsAsGuest_SeatsOccupied() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testShowtime));
         when(hallRepository.findById(1L)).thenReturn(Optional.of(testHall));
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
                 .thenReturn(Arrays.asList("A1", "A2"));
@@ -312,7 +317,7 @@ class BuyTicketAsGuestTest {
         assertThat(result.getObject()).isNull();
 
         verify(movieRepository).findByTitle("Test Movie");
-        verify(showtimeRepository).findById(1L);
+        verify(showtimeRepository).findByIdForUpdate(1L);
         verify(hallRepository).findById(1L);
         verify(ticketRepository).findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED));
         verifyNoInteractions(anonymousUserRepository, paymentRepository);
@@ -323,7 +328,7 @@ class BuyTicketAsGuestTest {
     void buyTicketsAsGuest_EmailSendingFails_ShouldReturnInternalServerError() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testShowtime));
         when(hallRepository.findById(1L)).thenReturn(Optional.of(testHall));
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
                 .thenReturn(Collections.emptyList());
@@ -363,7 +368,7 @@ class BuyTicketAsGuestTest {
         validRequest.setTicketPrice(100.0); // Total price for 2 tickets
 
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testShowtime));
         when(hallRepository.findById(1L)).thenReturn(Optional.of(testHall));
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
                 .thenReturn(Collections.emptyList());
@@ -400,7 +405,7 @@ class BuyTicketAsGuestTest {
     void buyTicketsAsGuest_PartialSeatOccupancy() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testShowtime));
         when(hallRepository.findById(1L)).thenReturn(Optional.of(testHall));
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L, List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
                 .thenReturn(Arrays.asList("A1")); // Only A1 is occupied
@@ -14,12 +14,14 @@ import com.Cinetime.repo.*;
 import com.Cinetime.service.EmailService;
 import com.Cinetime.service.SecurityService;
 import com.Cinetime.service.TicketService;
+import com.Cinetime.helpers.MetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import java.time.LocalDate;
@@ -58,6 +60,9 @@ class BuyTicketTest {
     @Mock
     private EmailService emailService;  // Added missing mock
 
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -137,7 +142,7 @@ class BuyTicketTest {
     void buyTickets_WhenShowtimeNotFound_ShouldReturnNotFoundResponse() {
         // Given
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.empty());
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.empty());
 
         // When
         ResponseMessage<List<TicketResponse>> result = ticketService.buyTickets(request);
@@ -148,7 +153,7 @@ class BuyTicketTest {
         assertNull(result.getObject());
 
         verify(movieRepository).findByTitle(request.getMovieName());
-        verify(showtimeRepository).findById(request.getShowtimeId());
+        verify(showtimeRepository).findByIdForUpdate(request.getShowtimeId());
         verifyNoInteractions(hallRepository, ticketRepository, paymentRepository);
     }
 
@@ -157,7 +162,7 @@ class BuyTicketTest {
         // Given
         request.setSeatInfos(null);
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(hall.getId())).thenReturn(hall);
 
         // When
@@ -174,7 +179,7 @@ class BuyTicketTest {
         // Given
         request.setSeatInfos(Collections.emptyList());
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(hall.getId())).thenReturn(hall);
 
         // When
@@ -190,7 +195,7 @@ class BuyTicketTest {
     void buyTickets_WhenSeatsAlreadyOccupied_ShouldReturnConflictResponse() {
         // Given
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(hall.getId())).thenReturn(hall);
 
         List<String> occupiedSeats = Arrays.asList("A1", "A2");
@@ -213,7 +218,7 @@ class BuyTicketTest {
     void buyTickets_WhenEmailSendingFails_ShouldReturnInternalServerErrorResponse() {
         // Given - Setup successful purchase but make email sending fail
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(hall.getId())).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(
                 showtime.getId(),
@@ -249,7 +254,7 @@ class BuyTicketTest {
     void buyTickets_WhenSuccessful_ShouldReturnSuccessResponse() {
         // Given
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(hall.getId())).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(
                 showtime.getId(),
@@ -321,7 +326,7 @@ class BuyTicketTest {
     void buyTickets_WhenPartialSeatsOccupied_ShouldReturnConflictResponse() {
         // Given
         when(movieRepository.findByTitle(request.getMovieName())).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(request.getShowtimeId())).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(request.getShowtimeId())).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(hall.getId())).thenReturn(hall);
 
         // Only one seat is occupied
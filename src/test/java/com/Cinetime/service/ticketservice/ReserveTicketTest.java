@@ -13,11 +13,13 @@ import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.*;
 import com.Cinetime.service.SecurityService;
 import com.Cinetime.service.TicketService;
+import com.Cinetime.helpers.MetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import java.util.*;
@@ -49,6 +51,9 @@ class ReserveTicketTest {
     @Mock
     private TicketMapper ticketMapper;
 
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
     @InjectMocks
     private TicketService ticketReservationService;
 
@@ -98,7 +103,7 @@ class ReserveTicketTest {
     void reserveTicket_Success() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L,
                 List.of(TicketStatus.PAID, TicketStatus.RESERVED))).thenReturn(List.of());
@@ -174,7 +179,7 @@ class ReserveTicketTest {
     void reserveTicket_ShowtimeNotFound() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         // When
         ResponseMessage<List<TicketResponse>> result = ticketReservationService.reserveTicket(request);
@@ -192,7 +197,7 @@ class ReserveTicketTest {
         // Given
         request.setSeatInfos(null);
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
 
         // When
@@ -211,7 +216,7 @@ class ReserveTicketTest {
         // Given
         request.setSeatInfos(List.of());
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
 
         // When
@@ -227,7 +232,7 @@ class ReserveTicketTest {
     void reserveTicket_SeatsAlreadyOccupied() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L,
                 List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
@@ -249,7 +254,7 @@ class ReserveTicketTest {
     void reserveTicket_PartialSeatsOccupied() {
         // Given
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L,
                 List.of(TicketStatus.PAID, TicketStatus.RESERVED)))
@@ -274,7 +279,7 @@ class ReserveTicketTest {
         request.setTicketPrice(15.0);
 
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L,
                 List.of(TicketStatus.PAID, TicketStatus.RESERVED))).thenReturn(List.of());
@@ -331,7 +336,7 @@ class ReserveTicketTest {
         request.setTicketPrice(30.0);
 
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L,
                 List.of(TicketStatus.PAID, TicketStatus.RESERVED))).thenReturn(List.of());
@@ -382,7 +387,7 @@ class ReserveTicketTest {
         request.setTicketPrice(0.0);
 
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(showtime));
         when(hallRepository.getReferenceById(1L)).thenReturn(hall);
         when(ticketRepository.findOccupiedSeatsByShowtimeAndStatus(1L,
                 List.of(TicketStatus.PAID, TicketStatus.RESERVED))).thenReturn(List.of());
@@ -5,6 +5,7 @@ import com.Cinetime.entity.User;
 import com.Cinetime.enums.Gender;
 import com.Cinetime.enums.RoleName;
 import com.Cinetime.helpers.UniquePropertyValidator;
+import com.Cinetime.helpers.UserIdentityFilter;
 import com.Cinetime.payload.dto.request.user.UserCreateRequest;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
@@ -53,6 +54,9 @@ class CreateUserTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
     @InjectMocks
     private UserService userService;
 
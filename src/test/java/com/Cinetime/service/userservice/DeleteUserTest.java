@@ -3,6 +3,7 @@ package com.Cinetime.service.userservice;
 import com.Cinetime.entity.User;
 import com.Cinetime.enums.Gender;
 import com.Cinetime.helpers.TicketHelper;
+import com.Cinetime.helpers.UserIdentityFilter;
 import com.Cinetime.payload.dto.request.user.UserRequestWithPasswordOnly;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
@@ -10,6 +11,7 @@ import com.Cinetime.payload.mappers.UserMapper;
 import com.Cinetime.payload.messages.ErrorMessages;
 import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.TokenRevocationRegistry;
 import com.Cinetime.service.SecurityService;
 import com.Cinetime.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +50,12 @@ class DeleteUserTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -111,6 +119,7 @@ class DeleteUserTest {
             verify(ticketHelper).canDeleteUser(testUser);
             verify(userMapper).mapUserToBaseUserResponse(testUser);
             verify(userRepository).delete(testUser);
+            verify(tokenRevocationRegistry).revokeAfterCommit(testUser.getId());
 
             // Verify the static method call
             mockedSecurityContext.verify(SecurityContextHolder::clearContext);
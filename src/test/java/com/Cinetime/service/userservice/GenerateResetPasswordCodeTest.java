@@ -8,9 +8,11 @@ import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.UserRepository;
 import com.Cinetime.service.EmailService;
 import com.Cinetime.service.passwordbusiness.PasswordResetService;
+import com.Cinetime.service.passwordbusiness.PasswordResetTokenStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -35,6 +37,9 @@ class GenerateResetPasswordCodeTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordResetTokenStore passwordResetTokenStore;
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -62,7 +67,6 @@ class GenerateResetPasswordCodeTest {
                 .thenReturn(Optional.of(testUser));
         doNothing().when(emailService)
                 .sendPasswordResetEmail(eq(validRequest.getEmail()), anyString());
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.generateResetPasswordCode(validRequest);
@@ -74,11 +78,8 @@ class GenerateResetPasswordCodeTest {
         // Verify email was sent
         verify(emailService).sendPasswordResetEmail(eq(validRequest.getEmail()), anyString());
 
-        // Verify user was saved with reset code
-        verify(userRepository).save(argThat(user ->
-                user.getResetPasswordCode() != null &&
-                        user.getResetPasswordCode().matches("\\d{6}")
-        ));
+        // Verify the code was stored for the user
+        verify(passwordResetTokenStore).issue(eq(testUser), matches("[0-9A-HJKMNP-TV-Z]{10}"));
     }
 
     @Test
@@ -97,8 +98,8 @@ class GenerateResetPasswordCodeTest {
         // Verify no email was sent
         verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString());
 
-        // Verify no user was saved
-        verify(userRepository, never()).save(any(User.class));
+        // Verify no code was stored
+        verify(passwordResetTokenStore, never()).issue(any(User.class), anyString());
     }
 
     @Test
@@ -120,8 +121,8 @@ class GenerateResetPasswordCodeTest {
         // Verify email sending was attempted
         verify(emailService).sendPasswordResetEmail(eq(validRequest.getEmail()), anyString());
 
-        // Verify user was NOT saved since email failed
-        verify(userRepository, never()).save(any(User.class));
+        // Verify the code was NOT stored since email failed
+        verify(passwordResetTokenStore, never()).issue(any(User.class), anyString());
     }
 
     @Test
@@ -131,19 +132,15 @@ class GenerateResetPasswordCodeTest {
                 .thenReturn(Optional.of(testUser));
         doNothing().when(emailService)
                 .sendPasswordResetEmail(eq(validRequest.getEmail()), anyString());
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // When
         passwordResetService.generateResetPasswordCode(validRequest);
 
         // Then
-        verify(userRepository).save(argThat(user -> {
-            String code = user.getResetPasswordCode();
+        verify(passwordResetTokenStore).issue(eq(testUser), argThat(code -> {
             return code != null &&
-                    code.length() == 6 &&
-                    code.matches("\\d{6}") &&
-                    Integer.parseInt(code) >= 0 &&
-                    Integer.parseInt(code) <= 999999;
+                    code.length() == 10 &&
+                    code.matches("[0-9A-HJKMNP-TV-Z]{10}");
         }));
     }
 
@@ -164,29 +161,26 @@ class GenerateResetPasswordCodeTest {
         assertThat(result.getMessage()).isEqualTo(SuccessMessages.GENERATE_PASSWORD_HAS_BEEN_SENT);
 
         verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(passwordResetTokenStore, never()).issue(any(User.class), anyString());
     }
 
     @Test
-    void generateResetPasswordCode_ShouldOverwriteExistingResetCode() {
+    void generateResetPasswordCode_ShouldSkipCodesThatAreStillActive() {
         // Given
-        testUser.setResetPasswordCode("123456"); // Existing code
+        when(passwordResetTokenStore.isActive(anyString()))
+                .thenReturn(true)
+                .thenReturn(false);
         when(userRepository.findByEmail(validRequest.getEmail()))
                 .thenReturn(Optional.of(testUser));
-        doNothing().when(emailService)
-                .sendPasswordResetEmail(eq(validRequest.getEmail()), anyString());
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        ArgumentCaptor<String> emailedCode = ArgumentCaptor.forClass(String.class);
 
         // When
         passwordResetService.generateResetPasswordCode(validRequest);
 
         // Then
-        verify(userRepository).save(argThat(user -> {
-            String newCode = user.getResetPasswordCode();
-            return newCode != null &&
-                    !newCode.equals("123456") && // Should be different from original
-                    newCode.matches("\\d{6}");
-        }));
+        verify(passwordResetTokenStore, times(2)).isActive(anyString());
+        verify(emailService).sendPasswordResetEmail(eq(validRequest.getEmail()), emailedCode.capture());
+        verify(passwordResetTokenStore).issue(testUser, emailedCode.getValue());
     }
 
     @Test
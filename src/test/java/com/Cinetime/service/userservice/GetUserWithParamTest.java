@@ -18,9 +18,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
@@ -130,14 +131,14 @@ class GetUserWithParamTest {
         String sort = "id", type = "asc";
 
         List<User> userList = Arrays.asList(testUser1);
-        Page<User> userPage = new PageImpl<>(userList, testPageable, 1);
+        Slice<User> userPage = new SliceImpl<>(userList, testPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(userPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable)).thenReturn(userPage);
         when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -146,10 +147,10 @@ class GetUserWithParamTest {
         assertThat(result.getObject()).isNotNull();
         assertThat(result.getObject().getContent()).hasSize(1);
         assertThat(result.getObject().getContent().get(0)).isEqualTo(userResponse1);
-        assertThat(result.getObject().getTotalElements()).isEqualTo(1);
+        assertThat(((Page<BaseUserResponse>) result.getObject()).getTotalElements()).isEqualTo(1);
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable);
         verify(userMapper).mapUserToBaseUserResponse(testUser1);
     }
 
@@ -162,15 +163,15 @@ class GetUserWithParamTest {
         String sort = "firstname", type = "asc";
 
         List<User> userList = Arrays.asList(testUser1, testUser2);
-        Page<User> userPage = new PageImpl<>(userList, testPageable, 2);
+        Slice<User> userPage = new SliceImpl<>(userList, testPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(userPage);
+        when(userRepository.findAllBy(testPageable)).thenReturn(userPage);
         when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
         when(userMapper.mapUserToBaseUserResponse(testUser2)).thenReturn(userResponse2);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -181,7 +182,7 @@ class GetUserWithParamTest {
         assertThat(result.getObject().getContent()).containsExactly(userResponse1, userResponse2);
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findAllBy(testPageable);
         verify(userMapper, times(2)).mapUserToBaseUserResponse(any(User.class));
     }
 
@@ -193,13 +194,13 @@ class GetUserWithParamTest {
         int page = 0, size = 10;
         String sort = "id", type = "asc";
 
-        Page<User> emptyPage = new PageImpl<>(Collections.emptyList(), testPageable, 0);
+        Slice<User> emptyPage = new SliceImpl<>(Collections.emptyList(), testPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(emptyPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable)).thenReturn(emptyPage);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -207,10 +208,10 @@ class GetUserWithParamTest {
         assertThat(result.getMessage()).isEqualTo("Users retrieved successfully");
         assertThat(result.getObject()).isNotNull();
         assertThat(result.getObject().getContent()).isEmpty();
-        assertThat(result.getObject().getTotalElements()).isEqualTo(0);
+        assertThat(((Page<BaseUserResponse>) result.getObject()).getTotalElements()).isEqualTo(0);
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable);
         verify(userMapper, never()).mapUserToBaseUserResponse(any(User.class));
     }
 
@@ -224,14 +225,14 @@ class GetUserWithParamTest {
 
         Pageable customPageable = PageRequest.of(page, size, Sort.by("lastname").descending());
         List<User> userList = Arrays.asList(testUser1);
-        Page<User> userPage = new PageImpl<>(userList, customPageable, 1);
+        Slice<User> userPage = new SliceImpl<>(userList, customPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(customPageable);
-        when(userRepository.searchUsers(searchQuery, customPageable)).thenReturn(userPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, customPageable)).thenReturn(userPage);
         when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -240,7 +241,7 @@ class GetUserWithParamTest {
         assertThat(result.getObject().getSize()).isEqualTo(5);
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, customPageable);
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, customPageable);
     }
 
     @Test
@@ -252,22 +253,22 @@ class GetUserWithParamTest {
         String sort = "id", type = "asc";
 
         List<User> userList = Arrays.asList(testUser1, testUser2);
-        Page<User> userPage = new PageImpl<>(userList, testPageable, 2);
+        Slice<User> userPage = new SliceImpl<>(userList, testPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(userPage);
+        when(userRepository.findAllBy(testPageable)).thenReturn(userPage);
         when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
         when(userMapper.mapUserToBaseUserResponse(testUser2)).thenReturn(userResponse2);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
         assertThat(result.getObject().getContent()).hasSize(2);
 
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findAllBy(testPageable);
     }
 
     @Test
@@ -279,11 +280,11 @@ class GetUserWithParamTest {
         String sort = "id", type = "asc";
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable))
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -292,7 +293,7 @@ class GetUserWithParamTest {
         assertThat(result.getObject()).isNull();
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable);
         verify(userMapper, never()).mapUserToBaseUserResponse(any(User.class));
     }
 
@@ -308,7 +309,7 @@ class GetUserWithParamTest {
                 .thenThrow(new IllegalArgumentException("Invalid page number"));
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -317,7 +318,7 @@ class GetUserWithParamTest {
         assertThat(result.getObject()).isNull();
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository, never()).searchUsers(any(), any());
+        verify(userRepository, never()).findBySearchNameStartingWithOrSearchLastNameStartingWith(any(), any(), any());
         verify(userMapper, never()).mapUserToBaseUserResponse(any(User.class));
     }
 
@@ -330,15 +331,15 @@ class GetUserWithParamTest {
         String sort = "id", type = "asc";
 
         List<User> userList = Arrays.asList(testUser1);
-        Page<User> userPage = new PageImpl<>(userList, testPageable, 1);
+        Slice<User> userPage = new SliceImpl<>(userList, testPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(userPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable)).thenReturn(userPage);
         when(userMapper.mapUserToBaseUserResponse(testUser1))
                 .thenThrow(new RuntimeException("Mapping failed"));
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -347,7 +348,7 @@ class GetUserWithParamTest {
         assertThat(result.getObject()).isNull();
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable);
         verify(userMapper).mapUserToBaseUserResponse(testUser1);
     }
 
@@ -360,17 +361,17 @@ class GetUserWithParamTest {
         String sort = "email", type = "desc";
 
         Pageable expectedPageable = PageRequest.of(page, size, Sort.by("email").descending());
-        Page<User> userPage = new PageImpl<>(Collections.emptyList(), expectedPageable, 0);
+        Slice<User> userPage = new SliceImpl<>(Collections.emptyList(), expectedPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(expectedPageable);
-        when(userRepository.searchUsers(searchQuery, expectedPageable)).thenReturn(userPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, expectedPageable)).thenReturn(userPage);
 
         // When
-        userService.getUserWithParam(searchQuery, page, size, sort, type);
+        userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         verify(pageableHelper).pageableSort(eq(page), eq(size), eq(sort), eq(type));
-        verify(userRepository).searchUsers(eq(searchQuery), eq(expectedPageable));
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(eq(searchQuery), eq(searchQuery), eq(expectedPageable));
     }
 
     @Test
@@ -382,10 +383,10 @@ class GetUserWithParamTest {
         String sort = "id", type = "asc";
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(null);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable)).thenReturn(null);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then
         assertThat(result).isNotNull();
@@ -394,7 +395,7 @@ class GetUserWithParamTest {
         assertThat(result.getObject()).isNull();
 
         verify(pageableHelper).pageableSort(page, size, sort, type);
-        verify(userRepository).searchUsers(searchQuery, testPageable);
+        verify(userRepository).findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable);
     }
 
     @Test
@@ -406,14 +407,14 @@ class GetUserWithParamTest {
         String sort = "id", type = "asc";
 
         List<User> userList = Arrays.asList(testUser1);
-        Page<User> userPage = new PageImpl<>(userList, testPageable, 1);
+        Slice<User> userPage = new SliceImpl<>(userList, testPageable, false);
 
         when(pageableHelper.pageableSort(page, size, sort, type)).thenReturn(testPageable);
-        when(userRepository.searchUsers(searchQuery, testPageable)).thenReturn(userPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith(searchQuery, searchQuery, testPageable)).thenReturn(userPage);
         when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
 
         // When
-        ResponseMessage<Page<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type);
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(searchQuery, page, size, sort, type, true);
 
         // Then - Verify ResponseMessage structure
         assertThat(result).isNotNull();
@@ -422,10 +423,70 @@ class GetUserWithParamTest {
         assertThat(result.getObject()).isNotNull();
 
         // Verify Page structure
-        Page<BaseUserResponse> responsePage = result.getObject();
+        Page<BaseUserResponse> responsePage = (Page<BaseUserResponse>) result.getObject();
         assertThat(responsePage.getContent()).isNotNull();
         assertThat(responsePage.getTotalElements()).isNotNegative();
         assertThat(responsePage.getNumber()).isNotNegative();
         assertThat(responsePage.getSize()).isPositive();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should search emails by the lower-cased prefix when the query contains @")
+    void shouldSearchByEmailPrefix() {
+        // Given
+        when(pageableHelper.pageableSort(0, 10, "id", "asc")).thenReturn(testPageable);
+        when(userRepository.findBySearchEmailStartingWith("john.doe@test", testPageable))
+                .thenReturn(new SliceImpl<>(List.of(testUser1), testPageable, false));
+        when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
+
+        // When
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam(" John.Doe@Test", 0, 10, "id", "asc", true);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject().getContent()).containsExactly(userResponse1);
+        verify(userRepository, never()).findBySearchNameStartingWithOrSearchLastNameStartingWith(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should search phone numbers by their digits")
+    void shouldSearchByPhoneDigits() {
+        // Given
+        when(pageableHelper.pageableSort(0, 10, "id", "asc")).thenReturn(testPageable);
+        when(userRepository.findBySearchPhoneStartingWith("123456", testPageable))
+                .thenReturn(new SliceImpl<>(List.of(testUser1), testPageable, false));
+        when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
+
+        // When
+        ResponseMessage<Slice<BaseUserResponse>> result = userService.getUserWithParam("(123) 456", 0, 10, "id", "asc", true);
+
+        // Then
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getObject().getContent()).containsExactly(userResponse1);
+    }
+
+    @Test
+    @DisplayName("Should count matches only when the page is full and a total is requested")
+    void shouldCountOnlyWhenTotalIsNeeded() {
+        // Given
+        Pageable smallPage = PageRequest.of(0, 2, Sort.by("id").ascending());
+        when(pageableHelper.pageableSort(0, 2, "id", "asc")).thenReturn(smallPage);
+        when(userRepository.findBySearchNameStartingWithOrSearchLastNameStartingWith("j", "j", smallPage))
+                .thenReturn(new SliceImpl<>(List.of(testUser1, testUser2), smallPage, true));
+        when(userRepository.countBySearchNameStartingWithOrSearchLastNameStartingWith("j", "j")).thenReturn(7L);
+        when(userMapper.mapUserToBaseUserResponse(testUser1)).thenReturn(userResponse1);
+        when(userMapper.mapUserToBaseUserResponse(testUser2)).thenReturn(userResponse2);
+
+        // When
+        ResponseMessage<Slice<BaseUserResponse>> counted = userService.getUserWithParam("J", 0, 2, "id", "asc", true);
+        ResponseMessage<Slice<BaseUserResponse>> countFree = userService.getUserWithParam("J", 0, 2, "id", "asc", false);
+
+        // Then
+        assertThat(counted.getObject()).isInstanceOf(Page.class);
+        assertThat(((Page<BaseUserResponse>) counted.getObject()).getTotalElements()).isEqualTo(7);
+        assertThat(countFree.getObject()).isNotInstanceOf(Page.class);
+        assertThat(countFree.getObject().hasNext()).isTrue();
+        assertThat(countFree.getObject().getContent()).containsExactly(userResponse1, userResponse2);
+        verify(userRepository, times(1)).countBySearchNameStartingWithOrSearchLastNameStartingWith("j", "j");
+    }
+}
@@ -0,0 +1,156 @@
+package com.Cinetime.service.userservice;
+
+import com.Cinetime.entity.PasswordResetToken;
+import com.Cinetime.entity.User;
+import com.Cinetime.repo.PasswordResetTokenRepository;
+import com.Cinetime.service.passwordbusiness.PasswordResetTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PasswordResetTokenStore Tests")
+class PasswordResetTokenStoreTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only-do-not-use-in-production";
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private PasswordResetTokenStore store;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        store = new PasswordResetTokenStore(passwordResetTokenRepository, SECRET, 15, 3);
+        user = User.builder()
+                .id(1L)
+                .firstname("John")
+                .email("john.doe@example.com")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store a keyed hash of the code and resolve the code to its user")
+    void issue_ThenVerify() {
+        // When
+        store.issue(user, "123456");
+
+        // Then
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(passwordResetTokenRepository).deleteByUserId(1L);
+        verify(passwordResetTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash()).matches("[0-9a-f]{64}").doesNotContain("123456");
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(14));
+
+        assertThat(store.verify("123456")).isEqualTo(1L);
+        assertThat(store.verify("654321")).isNull();
+        assertThat(store.verify(null)).isNull();
+        verify(passwordResetTokenRepository).incrementAttempts(saved.getValue().getTokenHash());
+    }
+
+    @Test
+    @DisplayName("Should replace the previous code of the user")
+    void issue_ReplacesPreviousCode() {
+        // Given
+        store.issue(user, "111111");
+
+        // When
+        store.issue(user, "222222");
+
+        // Then
+        assertThat(store.isActive("111111")).isFalse();
+        assertThat(store.verify("222222")).isEqualTo(1L);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the code once its attempts are used up")
+    void verify_MaxAttempts() {
+        // Given
+        store.issue(user, "123456");
+
+        // When
+        List<Long> results = List.of(store.verify("123456"), store.verify("123456"), store.verify("123456"));
+        Long fourth = store.verify("123456");
+
+        // Then
+        assertThat(results).containsOnly(1L);
+        assertThat(fourth).isNull();
+        assertThat(store.isActive("123456")).isFalse();
+        verify(passwordResetTokenRepository).deleteByTokenHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should let a code be used only once")
+    void consume_SingleUse() {
+        // Given: satiri yalnizca ilk silme buluyor
+        store.issue(user, "123456");
+        when(passwordResetTokenRepository.deleteByTokenHash(anyString())).thenReturn(1, 0);
+
+        // When
+        boolean first = store.consume("123456");
+        boolean second = store.consume("123456");
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(store.verify("123456")).isNull();
+        verify(passwordResetTokenRepository, times(2)).deleteByTokenHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject expired codes and restore active ones at startup")
+    void expiryAndReload() {
+        // Given
+        PasswordResetTokenStore expiringStore = new PasswordResetTokenStore(passwordResetTokenRepository, SECRET, 0, 3);
+        expiringStore.issue(user, "123456");
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(passwordResetTokenRepository).save(saved.capture());
+        when(passwordResetTokenRepository.findActive(any(LocalDateTime.class))).thenReturn(List.<Object[]>of(
+                new Object[]{saved.getValue().getTokenHash(), 1L, LocalDateTime.now().plusMinutes(10), 2}));
+
+        // When
+        Long expired = expiringStore.verify("123456");
+        store.loadActiveTokens();
+
+        // Then
+        assertThat(expired).isNull();
+        assertThat(store.verify("123456")).isEqualTo(1L);
+        assertThat(store.verify("123456")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should look up and cache a code issued on another instance")
+    void verify_IssuedOnAnotherInstance() {
+        // Given
+        PasswordResetTokenStore otherInstance = new PasswordResetTokenStore(passwordResetTokenRepository, SECRET, 15, 3);
+        otherInstance.issue(user, "K7M2P9QX4A");
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(passwordResetTokenRepository).save(saved.capture());
+        when(passwordResetTokenRepository.findActiveByTokenHash(eq(saved.getValue().getTokenHash()), any(LocalDateTime.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, saved.getValue().getExpiresAt(), 0}));
+
+        // When
+        Long first = store.verify(" k7m2p9qx4a ");
+        Long second = store.verify("K7M2P9QX4A");
+
+        // Then
+        assertThat(first).isEqualTo(1L);
+        assertThat(second).isEqualTo(1L);
+        verify(passwordResetTokenRepository, times(1)).findActiveByTokenHash(anyString(), any(LocalDateTime.class));
+    }
+}
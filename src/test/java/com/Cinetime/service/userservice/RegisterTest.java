@@ -5,6 +5,7 @@ import com.Cinetime.entity.User;
 import com.Cinetime.enums.Gender;
 import com.Cinetime.enums.RoleName;
 import com.Cinetime.helpers.UniquePropertyValidator;
+import com.Cinetime.helpers.UserIdentityFilter;
 import com.Cinetime.payload.dto.request.user.UserRegisterRequest;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
@@ -50,6 +51,9 @@ public class RegisterTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -5,7 +5,9 @@ import com.Cinetime.payload.dto.request.ResetPasswordRequest;
 import com.Cinetime.payload.dto.response.PasswordResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.TokenRevocationRegistry;
 import com.Cinetime.service.passwordbusiness.PasswordResetService;
+import com.Cinetime.service.passwordbusiness.PasswordResetTokenStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,12 @@ class ResetPasswordTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private PasswordResetTokenStore passwordResetTokenStore;
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -53,7 +61,6 @@ class ResetPasswordTest {
                 .email("john.doe@example.com")
                 .phoneNumber("(555) 123-4567")
                 .password(OLD_PASSWORD_HASH)
-                .resetPasswordCode(RESET_CODE)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -68,10 +75,14 @@ class ResetPasswordTest {
     @DisplayName("Should successfully reset password with valid reset code")
     void resetPassword_WithValidResetCode_ShouldResetPasswordSuccessfully() {
         // Given
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(NEW_PASSWORD, OLD_PASSWORD_HASH))
                 .thenReturn(false);
+        when(passwordResetTokenStore.consume(RESET_CODE))
+                .thenReturn(true);
         when(passwordEncoder.encode(NEW_PASSWORD))
                 .thenReturn(NEW_PASSWORD_HASH);
         when(userRepository.save(any(User.class)))
@@ -91,13 +102,14 @@ class ResetPasswordTest {
 
         User savedUser = userCaptor.getValue();
         assertThat(savedUser.getPassword()).isEqualTo(NEW_PASSWORD_HASH);
-        assertThat(savedUser.getResetPasswordCode()).isNull();
 
         // Verify interactions
-        verify(userRepository).findByResetPasswordCode(RESET_CODE);
+        verify(userRepository).findById(testUser.getId());
+        verify(passwordResetTokenStore).consume(RESET_CODE);
         verify(passwordEncoder).matches(NEW_PASSWORD, OLD_PASSWORD_HASH);
         verify(passwordEncoder).encode(NEW_PASSWORD);
         verify(userRepository).save(testUser);
+        verify(tokenRevocationRegistry).revokeAfterCommit(testUser.getId());
         verifyNoMoreInteractions(userRepository, passwordEncoder);
     }
 
@@ -111,8 +123,8 @@ class ResetPasswordTest {
                 .resetCode(invalidCode)
                 .build();
 
-        when(userRepository.findByResetPasswordCode(invalidCode))
-                .thenReturn(Optional.empty());
+        when(passwordResetTokenStore.verify(invalidCode))
+                .thenReturn(null);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.resetPassword(invalidRequest);
@@ -124,7 +136,7 @@ class ResetPasswordTest {
         assertThat(result.getObject()).isNull();
 
         // Verify interactions
-        verify(userRepository).findByResetPasswordCode(invalidCode);
+        verify(passwordResetTokenStore).verify(invalidCode);
         verify(passwordEncoder, never()).matches(anyString(), anyString());
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
@@ -134,7 +146,9 @@ class ResetPasswordTest {
     @DisplayName("Should return error when new password is same as old password")
     void resetPassword_WithSamePassword_ShouldReturnError() {
         // Given
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(NEW_PASSWORD, OLD_PASSWORD_HASH))
                 .thenReturn(true); // Same password
@@ -149,9 +163,10 @@ class ResetPasswordTest {
         assertThat(result.getObject()).isNull();
 
         // Verify interactions
-        verify(userRepository).findByResetPasswordCode(RESET_CODE);
+        verify(userRepository).findById(testUser.getId());
         verify(passwordEncoder).matches(NEW_PASSWORD, OLD_PASSWORD_HASH);
         verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordResetTokenStore, never()).consume(anyString());
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -164,8 +179,8 @@ class ResetPasswordTest {
                 .resetCode(null)
                 .build();
 
-        when(userRepository.findByResetPasswordCode(null))
-                .thenReturn(Optional.empty());
+        when(passwordResetTokenStore.verify(null))
+                .thenReturn(null);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.resetPassword(nullCodeRequest);
@@ -175,7 +190,7 @@ class ResetPasswordTest {
         assertThat(result.getMessage()).isEqualTo("Invalid reset code or already used");
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
 
-        verify(userRepository).findByResetPasswordCode(null);
+        verify(passwordResetTokenStore).verify(null);
         verifyNoMoreInteractions(passwordEncoder, userRepository);
     }
 
@@ -188,8 +203,8 @@ class ResetPasswordTest {
                 .resetCode("")
                 .build();
 
-        when(userRepository.findByResetPasswordCode(""))
-                .thenReturn(Optional.empty());
+        when(passwordResetTokenStore.verify(""))
+                .thenReturn(null);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.resetPassword(emptyCodeRequest);
@@ -199,50 +214,42 @@ class ResetPasswordTest {
         assertThat(result.getMessage()).isEqualTo("Invalid reset code or already used");
         assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
 
-        verify(userRepository).findByResetPasswordCode("");
+        verify(passwordResetTokenStore).verify("");
         verifyNoMoreInteractions(passwordEncoder, userRepository);
     }
 
     @Test
-    @DisplayName("Should handle user with null reset password code")
-    void resetPassword_WithUserHavingNullResetCode_ShouldStillWork() {
+    @DisplayName("Should reject the reset when the code was used by a concurrent request")
+    void resetPassword_WhenCodeAlreadyConsumed_ShouldReturnError() {
         // Given
-        User userWithNullCode = User.builder()
-                .id(1L)
-                .firstname("John")
-                .lastname("Doe")
-                .email("john.doe@example.com")
-                .password(OLD_PASSWORD_HASH)
-                .resetPasswordCode(null) // User's reset code is null
-                .build();
-
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
-                .thenReturn(Optional.of(userWithNullCode));
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
+                .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(NEW_PASSWORD, OLD_PASSWORD_HASH))
                 .thenReturn(false);
-        when(passwordEncoder.encode(NEW_PASSWORD))
-                .thenReturn(NEW_PASSWORD_HASH);
+        when(passwordResetTokenStore.consume(RESET_CODE))
+                .thenReturn(false);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.resetPassword(validRequest);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result.getMessage()).isEqualTo("Password has been changed successfully");
-        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.OK);
-
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        assertThat(result.getMessage()).isEqualTo("Invalid reset code or already used");
+        assertThat(result.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
 
-        User savedUser = userCaptor.getValue();
-        assertThat(savedUser.getResetPasswordCode()).isNull();
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+        verify(tokenRevocationRegistry, never()).revokeAfterCommit(any());
     }
 
     @Test
     @DisplayName("Should handle repository exception gracefully")
     void resetPassword_WhenRepositoryThrowsException_ShouldPropagateException() {
         // Given
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // When & Then
@@ -252,7 +259,7 @@ class ResetPasswordTest {
             assertThat(e.getMessage()).isEqualTo("Database connection failed");
         }
 
-        verify(userRepository).findByResetPasswordCode(RESET_CODE);
+        verify(userRepository).findById(testUser.getId());
         verifyNoMoreInteractions(passwordEncoder, userRepository);
     }
 
@@ -260,7 +267,9 @@ class ResetPasswordTest {
     @DisplayName("Should handle password encoder exception gracefully")
     void resetPassword_WhenPasswordEncoderThrowsException_ShouldPropagateException() {
         // Given
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(NEW_PASSWORD, OLD_PASSWORD_HASH))
                 .thenThrow(new RuntimeException("Password encoding failed"));
@@ -272,7 +281,7 @@ class ResetPasswordTest {
             assertThat(e.getMessage()).isEqualTo("Password encoding failed");
         }
 
-        verify(userRepository).findByResetPasswordCode(RESET_CODE);
+        verify(userRepository).findById(testUser.getId());
         verify(passwordEncoder).matches(NEW_PASSWORD, OLD_PASSWORD_HASH);
         verify(userRepository, never()).save(any(User.class));
     }
@@ -281,10 +290,14 @@ class ResetPasswordTest {
     @DisplayName("Should reset password code to null after successful reset")
     void resetPassword_AfterSuccessfulReset_ShouldClearResetCode() {
         // Given
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(NEW_PASSWORD, OLD_PASSWORD_HASH))
                 .thenReturn(false);
+        when(passwordResetTokenStore.consume(RESET_CODE))
+                .thenReturn(true);
         when(passwordEncoder.encode(NEW_PASSWORD))
                 .thenReturn(NEW_PASSWORD_HASH);
 
@@ -296,18 +309,22 @@ class ResetPasswordTest {
         verify(userRepository).save(userCaptor.capture());
 
         User savedUser = userCaptor.getValue();
-        assertThat(savedUser.getResetPasswordCode()).isNull();
         assertThat(savedUser.getPassword()).isEqualTo(NEW_PASSWORD_HASH);
+        verify(passwordResetTokenStore).consume(RESET_CODE);
     }
 
     @Test
     @DisplayName("Should preserve all other user data during password reset")
     void resetPassword_ShouldPreserveAllOtherUserData() {
         // Given
-        when(userRepository.findByResetPasswordCode(RESET_CODE))
+        when(passwordResetTokenStore.verify(RESET_CODE))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(NEW_PASSWORD, OLD_PASSWORD_HASH))
                 .thenReturn(false);
+        when(passwordResetTokenStore.consume(RESET_CODE))
+                .thenReturn(true);
         when(passwordEncoder.encode(NEW_PASSWORD))
                 .thenReturn(NEW_PASSWORD_HASH);
 
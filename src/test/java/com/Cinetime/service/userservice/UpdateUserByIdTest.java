@@ -8,6 +8,7 @@ import com.Cinetime.helpers.PageableHelper;
 import com.Cinetime.helpers.SecurityHelper;
 import com.Cinetime.helpers.TicketHelper;
 import com.Cinetime.helpers.UniquePropertyValidator;
+import com.Cinetime.helpers.UserIdentityFilter;
 import com.Cinetime.helpers.UpdateUserHelper;
 import com.Cinetime.payload.dto.request.user.UserUpdateRequest;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
@@ -16,6 +17,7 @@ import com.Cinetime.payload.mappers.UserMapper;
 import com.Cinetime.payload.messages.ErrorMessages;
 import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.TokenRevocationRegistry;
 import com.Cinetime.service.RoleService;
 import com.Cinetime.service.SecurityService;
 import com.Cinetime.service.UserService;
@@ -70,6 +72,12 @@ class UpdateUserByIdTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
     @InjectMocks
     private UserService userService;
 
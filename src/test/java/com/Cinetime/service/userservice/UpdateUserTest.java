@@ -5,6 +5,7 @@ import com.Cinetime.entity.User;
 import com.Cinetime.enums.Gender;
 import com.Cinetime.enums.RoleName;
 import com.Cinetime.helpers.UniquePropertyValidator;
+import com.Cinetime.helpers.UserIdentityFilter;
 import com.Cinetime.helpers.UpdateUserHelper;
 import com.Cinetime.payload.dto.request.user.UserUpdateRequest;
 import com.Cinetime.payload.dto.response.BaseUserResponse;
@@ -13,6 +14,7 @@ import com.Cinetime.payload.mappers.UserMapper;
 import com.Cinetime.payload.messages.ErrorMessages;
 import com.Cinetime.payload.messages.SuccessMessages;
 import com.Cinetime.repo.UserRepository;
+import com.Cinetime.security.TokenRevocationRegistry;
 import com.Cinetime.service.SecurityService;
 import com.Cinetime.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +52,12 @@ class UpdateUserTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserIdentityFilter userIdentityFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -6,6 +6,7 @@ import com.Cinetime.payload.dto.response.PasswordResponse;
 import com.Cinetime.payload.dto.response.ResponseMessage;
 import com.Cinetime.repo.UserRepository;
 import com.Cinetime.service.passwordbusiness.PasswordResetService;
+import com.Cinetime.service.passwordbusiness.PasswordResetTokenStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +29,9 @@ class ValidateResetPasswordCodeTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PasswordResetTokenStore passwordResetTokenStore;
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -49,7 +54,6 @@ class ValidateResetPasswordCodeTest {
                 .firstname("John")
                 .lastname("Doe")
                 .email("test@example.com")
-                .resetPasswordCode("123456")
                 .build();
     }
 
@@ -57,7 +61,9 @@ class ValidateResetPasswordCodeTest {
     @DisplayName("Should return success response when reset code is valid")
     void validateResetPasswordCode_ValidCode_ReturnsSuccessResponse() {
         // Given
-        when(userRepository.findByResetPasswordCode("123456"))
+        when(passwordResetTokenStore.verify("123456"))
+                .thenReturn(testUser.getId());
+        when(userRepository.findById(testUser.getId()))
                 .thenReturn(Optional.of(testUser));
 
         // When
@@ -70,15 +76,16 @@ class ValidateResetPasswordCodeTest {
         assertThat(result.getObject()).isNotNull();
         assertThat(result.getObject().getEmail()).isEqualTo("test@example.com");
 
-        verify(userRepository).findByResetPasswordCode("123456");
+        verify(passwordResetTokenStore).verify("123456");
+        verify(userRepository).findById(testUser.getId());
     }
 
     @Test
     @DisplayName("Should return error response when reset code is invalid")
     void validateResetPasswordCode_InvalidCode_ReturnsErrorResponse() {
         // Given
-        when(userRepository.findByResetPasswordCode("invalid_code"))
-                .thenReturn(Optional.empty());
+        when(passwordResetTokenStore.verify("invalid_code"))
+                .thenReturn(null);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.validateResetPasswordCode(invalidRequest);
@@ -89,7 +96,8 @@ class ValidateResetPasswordCodeTest {
         assertThat(result.getMessage()).isEqualTo("Invalid or expired reset code");
         assertThat(result.getObject()).isNull();
 
-        verify(userRepository).findByResetPasswordCode("invalid_code");
+        verify(passwordResetTokenStore).verify("invalid_code");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -100,8 +108,8 @@ class ValidateResetPasswordCodeTest {
                 .resetCode(null)
                 .build();
 
-        when(userRepository.findByResetPasswordCode(null))
-                .thenReturn(Optional.empty());
+        when(passwordResetTokenStore.verify(null))
+                .thenReturn(null);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.validateResetPasswordCode(nullRequest);
@@ -121,8 +129,8 @@ class ValidateResetPasswordCodeTest {
                 .resetCode("")
                 .build();
 
-        when(userRepository.findByResetPasswordCode(""))
-                .thenReturn(Optional.empty());
+        when(passwordResetTokenStore.verify(""))
+                .thenReturn(null);
 
         // When
         ResponseMessage<PasswordResponse> result = passwordResetService.validateResetPasswordCode(emptyRequest);
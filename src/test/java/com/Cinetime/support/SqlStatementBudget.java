@@ -0,0 +1,25 @@
+package com.Cinetime.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when its body executes more SQL statements than {@link #max()},
+ * or repeats one statement {@link #maxRepeats()} times or more.
+ * <p>
+ * Statements are counted by the data source of {@code SqlStatementConfig}, so the test needs a Spring context
+ * with a real database that imports it. Test setup in {@code @BeforeEach} methods is not counted.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface SqlStatementBudget {
+
+    int max();
+
+    int maxRepeats() default Integer.MAX_VALUE;
+}
@@ -0,0 +1,49 @@
+package com.Cinetime.support;
+
+import com.Cinetime.helpers.SqlStatementStats;
+import org.junit.jupiter.api.extension.*;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records the SQL statements executed by each test body and checks them against {@link SqlStatementBudget}.
+ * While the test body runs, {@link SqlStatementStats#current()} returns its recording for direct assertions.
+ */
+public class SqlStatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlStatementBudgetExtension.class);
+    private static final String STATS_KEY = "stats";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(STATS_KEY, SqlStatementStats.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementStats.stop();
+        SqlStatementStats stats = context.getStore(NAMESPACE).remove(STATS_KEY, SqlStatementStats.class);
+
+        Optional<SqlStatementBudget> budget = findBudget(context);
+        if (budget.isEmpty() || stats == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        if (stats.getStatements() > budget.get().max()) {
+            throw new AssertionError("Expected at most " + budget.get().max() + " SQL statements but executed "
+                    + stats);
+        }
+        Map<String, Integer> repeated = stats.getRepeatedStatements(budget.get().maxRepeats());
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Statements repeated " + budget.get().maxRepeats()
+                    + " times or more (likely N+1): " + repeated);
+        }
+    }
+
+    private static Optional<SqlStatementBudget> findBudget(ExtensionContext context) {
+        Optional<SqlStatementBudget> budget = AnnotationSupport.findAnnotation(context.getTestMethod(), SqlStatementBudget.class);
+        return budget.isPresent() ? budget : AnnotationSupport.findAnnotation(context.getTestClass(), SqlStatementBudget.class);
+    }
+}